@@ -47,6 +47,7 @@ import org.tron.core.vm.VMConstant;
 import org.tron.core.vm.VMUtils;
 import org.tron.core.vm.config.ConfigLoader;
 import org.tron.core.vm.config.VMConfig;
+import org.tron.core.vm.program.EnergyTrace;
 import org.tron.core.vm.program.Program;
 import org.tron.core.vm.program.Program.JVMStackOverFlowException;
 import org.tron.core.vm.program.Program.OutOfTimeException;
@@ -97,11 +98,22 @@ public class VMActuator implements Actuator2 {
 
   private LogInfoTriggerParser logInfoTriggerParser;
 
+  private EnergyTrace energyTrace;
+
   public VMActuator(boolean isConstantCall) {
     this.isConstantCall = isConstantCall;
     this.maxEnergyLimit = CommonParameter.getInstance().maxEnergyLimitForConstant;
   }
 
+  /**
+   * Traces the energy limit the execution needs into {@code energyTrace}, dropping what it
+   * traced before. Call it before {@link #validate(Object)}.
+   */
+  public void traceEnergy(EnergyTrace energyTrace) {
+    energyTrace.reset();
+    this.energyTrace = energyTrace;
+  }
+
   private static long getEnergyFee(long callerEnergyUsage, long callerEnergyFrozen,
       long callerEnergyTotal) {
     if (callerEnergyTotal <= 0) {
@@ -222,6 +234,10 @@ public class VMActuator implements Actuator2 {
           }
         }
 
+        if (energyTrace != null && result.getException() == null) {
+          energyTrace.complete(program);
+        }
+
         if (isConstantCall) {
           if (result.getException() != null) {
             result.setRuntimeError(result.getException().getMessage());
@@ -424,6 +440,7 @@ public class VMActuator implements Actuator2 {
       if (VMConfig.allowTvmCompatibleEvm()) {
         this.program.setContractVersion(1);
       }
+      this.program.setEnergyTrace(energyTrace);
       byte[] txId = TransactionUtil.getTransactionId(trx).getBytes();
       this.program.setRootTransactionId(txId);
       if (enableEventListener && isCheckTransaction()) {
@@ -539,6 +556,7 @@ public class VMActuator implements Actuator2 {
       if (VMConfig.allowTvmCompatibleEvm()) {
         this.program.setContractVersion(deployedContract.getContractVersion());
       }
+      this.program.setEnergyTrace(energyTrace);
       byte[] txId = TransactionUtil.getTransactionId(trx).getBytes();
       this.program.setRootTransactionId(txId);
 
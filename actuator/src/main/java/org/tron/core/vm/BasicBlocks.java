@@ -0,0 +1,213 @@
+package org.tron.core.vm;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.tron.core.vm.program.Program;
+
+/**
+ * The runs of code whose opcodes only work on the stack and have a fixed energy cost, decoded
+ * once per code and {@link JumpTable}. {@link VM#play} charges the energy of such a block and
+ * checks its stack bounds once before running it, instead of before every opcode.
+ *
+ * <p>A block is only run that way when it can not fail: its stack bounds hold, the energy left
+ * covers all of it and every opcode in it is enabled. Otherwise the interpreter steps through
+ * it opcode by opcode as before, so it fails at the same opcode with the same error. A block
+ * never spans a {@code JUMPDEST}, a jump can only enter one at its start.</p>
+ */
+public final class BasicBlocks {
+
+  private static final boolean[] STATIC = new boolean[256];
+  // not enabled before some proposal, checked whenever a block holding them is entered
+  private static final boolean[] GATED = new boolean[256];
+  private static final int MIN_OPS = 2;
+
+  static {
+    int[] ops = {
+        Op.ADD, Op.MUL, Op.SUB, Op.DIV, Op.SDIV, Op.MOD, Op.SMOD, Op.ADDMOD, Op.MULMOD,
+        Op.SIGNEXTEND, Op.LT, Op.GT, Op.SLT, Op.SGT, Op.EQ, Op.ISZERO, Op.AND, Op.OR, Op.XOR,
+        Op.NOT, Op.BYTE, Op.SHL, Op.SHR, Op.SAR, Op.CLZ, Op.ADDRESS, Op.CALLER, Op.CALLVALUE,
+        Op.CALLDATALOAD, Op.CALLDATASIZE, Op.POP, Op.PC, Op.JUMPDEST, Op.PUSH0
+    };
+    for (int op : ops) {
+      STATIC[op] = true;
+    }
+    for (int op = Op.PUSH1; op <= Op.SWAP16; op++) {
+      // PUSH1..PUSH32, DUP1..DUP16 and SWAP1..SWAP16
+      STATIC[op] = true;
+    }
+    for (int op : new int[] {Op.SHL, Op.SHR, Op.SAR, Op.CLZ, Op.PUSH0}) {
+      GATED[op] = true;
+    }
+  }
+
+  private final JumpTable table;
+  private final long[] starts;
+  private final Block[] blocks;
+
+  private BasicBlocks(JumpTable table, long[] starts, Block[] blocks) {
+    this.table = table;
+    this.starts = starts;
+    this.blocks = blocks;
+  }
+
+  public static BasicBlocks decode(byte[] ops, JumpTable table) {
+    long[] starts = new long[(ops.length + 63) >>> 6];
+    List<Block> blocks = new ArrayList<>();
+    List<Operation> decoded = new ArrayList<>();
+    int start = 0;
+    for (int pc = 0; ; ) {
+      int op = pc < ops.length ? ops[pc] & 0xff : -1;
+      if (op < 0 || !STATIC[op] || op == Op.JUMPDEST) {
+        if (decoded.size() >= MIN_OPS) {
+          starts[start >>> 6] |= 1L << start;
+          blocks.add(new Block(start, decoded));
+        }
+        decoded.clear();
+        start = pc;
+        if (op < 0) {
+          break;
+        }
+        if (!STATIC[op]) {
+          pc += width(op);
+          start = pc;
+          continue;
+        }
+      }
+      decoded.add(table.get(op));
+      pc += width(op);
+    }
+    return new BasicBlocks(table, starts, blocks.toArray(new Block[0]));
+  }
+
+  private static int width(int op) {
+    return op >= Op.PUSH1 && op <= Op.PUSH32 ? op - Op.PUSH1 + 2 : 1;
+  }
+
+  public JumpTable getTable() {
+    return table;
+  }
+
+  /**
+   * @return the block starting at {@code pc}, null if none does
+   */
+  public Block get(int pc) {
+    if (pc < 0 || (pc >>> 6) >= starts.length || (starts[pc >>> 6] & (1L << pc)) == 0) {
+      return null;
+    }
+    int low = 0;
+    int high = blocks.length - 1;
+    while (low <= high) {
+      int mid = (low + high) >>> 1;
+      int start = blocks[mid].start;
+      if (start < pc) {
+        low = mid + 1;
+      } else if (start > pc) {
+        high = mid - 1;
+      } else {
+        return blocks[mid];
+      }
+    }
+    return null;
+  }
+
+  public static final class Block {
+
+    private final int start;
+    private final Operation[] ops;
+    private final long energy;
+    // the stack size the block needs to start with, and how far above that it grows
+    private final int minStack;
+    private final int maxGrowth;
+    // how many of the opcodes cost i energy, for the dynamic energy penalty
+    private final int[] costs;
+    private final Operation[] gated;
+
+    private Block(int start, List<Operation> ops) {
+      this.start = start;
+      this.ops = ops.toArray(new Operation[0]);
+      long total = 0;
+      int height = 0;
+      int min = 0;
+      int max = 0;
+      int[] counts = new int[0];
+      List<Operation> proposals = new ArrayList<>();
+      for (Operation op : this.ops) {
+        // the tier costs of the opcodes above do not look at the program
+        int cost = (int) op.getEnergyCost(null);
+        total += cost;
+        if (cost >= counts.length) {
+          counts = Arrays.copyOf(counts, cost + 1);
+        }
+        counts[cost]++;
+        if (op.getRequire() - height > min) {
+          min = op.getRequire() - height;
+        }
+        height += op.getRet() - op.getRequire();
+        if (height > max) {
+          max = height;
+        }
+        if (GATED[op.getOpcode()] && !proposals.contains(op)) {
+          proposals.add(op);
+        }
+      }
+      this.energy = total;
+      this.minStack = min;
+      this.maxGrowth = max;
+      this.costs = counts;
+      this.gated = proposals.toArray(new Operation[0]);
+    }
+
+    public int getStart() {
+      return start;
+    }
+
+    public long getEnergy() {
+      return energy;
+    }
+
+    public Operation getFirst() {
+      return ops[0];
+    }
+
+    /**
+     * The penalty the opcodes of the block add up to, each of them charged
+     * {@code cost * factor / decimal - cost} on top of its cost.
+     */
+    public long getPenalty(long factor, long decimal) {
+      long penalty = 0;
+      for (int cost = 0; cost < costs.length; cost++) {
+        if (costs[cost] != 0) {
+          long each = cost * factor / decimal - cost;
+          if (each > 0) {
+            penalty += each * costs[cost];
+          }
+        }
+      }
+      return penalty;
+    }
+
+    /**
+     * @return true if none of the opcodes fails for the stack or being disabled
+     */
+    public boolean fits(int stackSize, int maxStackSize) {
+      if (stackSize < minStack || stackSize + maxGrowth > maxStackSize) {
+        return false;
+      }
+      for (Operation op : gated) {
+        if (!op.isEnabled()) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    public void execute(Program program) {
+      for (Operation op : ops) {
+        program.setLastOp((byte) op.getOpcode());
+        op.execute(program);
+      }
+      program.setPreviouslyExecutedOp((byte) ops[ops.length - 1].getOpcode());
+    }
+  }
+}
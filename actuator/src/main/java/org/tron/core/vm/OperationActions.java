@@ -23,94 +23,52 @@ public class OperationActions {
   }
 
   public static void addAction(Program program) {
-    DataWord word1 = program.stackPop();
-    DataWord word2 = program.stackPop();
-
-    word1.add(word2);
-    program.stackPush(word1);
+    program.getStack().operate(2, (a, b, c) -> a.add(b));
     program.step();
   }
 
   public static void mulAction(Program program) {
-    DataWord word1 = program.stackPop();
-    DataWord word2 = program.stackPop();
-
-    word1.mul(word2);
-    program.stackPush(word1);
+    program.getStack().operate(2, (a, b, c) -> a.mul(b));
     program.step();
   }
 
   public static void subAction(Program program) {
-    DataWord word1 = program.stackPop();
-    DataWord word2 = program.stackPop();
-
-    word1.sub(word2);
-    program.stackPush(word1);
+    program.getStack().operate(2, (a, b, c) -> a.sub(b));
     program.step();
   }
 
   public static void divAction(Program program) {
-    DataWord word1 = program.stackPop();
-    DataWord word2 = program.stackPop();
-
-    word1.div(word2);
-    program.stackPush(word1);
+    program.getStack().operate(2, (a, b, c) -> a.div(b));
     program.step();
   }
 
   public static void sdivAction(Program program) {
-    DataWord word1 = program.stackPop();
-    DataWord word2 = program.stackPop();
-
-    word1.sDiv(word2);
-    program.stackPush(word1);
+    program.getStack().operate(2, (a, b, c) -> a.sdiv(b));
     program.step();
   }
 
   public static void modAction(Program program) {
-    DataWord word1 = program.stackPop();
-    DataWord word2 = program.stackPop();
-
-    word1.mod(word2);
-    program.stackPush(word1);
+    program.getStack().operate(2, (a, b, c) -> a.mod(b));
     program.step();
   }
 
   public static void sModAction(Program program) {
-    DataWord word1 = program.stackPop();
-    DataWord word2 = program.stackPop();
-
-    word1.sMod(word2);
-    program.stackPush(word1);
+    program.getStack().operate(2, (a, b, c) -> a.smod(b));
     program.step();
   }
 
   public static void addModAction(Program program) {
-    DataWord word1 = program.stackPop();
-    DataWord word2 = program.stackPop();
-    DataWord word3 = program.stackPop();
-
-    word1.addmod(word2, word3);
-    program.stackPush(word1);
+    program.getStack().operate(3, (a, b, c) -> a.addmod(b, c));
     program.step();
   }
 
   public static void mulModAction(Program program) {
-    DataWord word1 = program.stackPop();
-    DataWord word2 = program.stackPop();
-    DataWord word3 = program.stackPop();
-
-    word1.mulmod(word2, word3);
-    program.stackPush(word1);
+    program.getStack().operate(3, (a, b, c) -> a.mulmod(b, c));
     program.step();
   }
 
   public static void expAction(Program program) {
-    DataWord word1 = program.stackPop();
-    DataWord word2 = program.stackPop();
-
-    word1.exp(word2);
-    program.stackPush(word1);
+    program.getStack().operate(2, (a, b, c) -> a.exp(b));
     program.step();
   }
 
@@ -127,119 +85,52 @@ public class OperationActions {
   }
 
   public static void ltAction(Program program) {
-    DataWord word1 = program.stackPop();
-    DataWord word2 = program.stackPop();
-
-    if (word1.value().compareTo(word2.value()) < 0) {
-      word1.and(DataWord.ZERO);
-      word1.getData()[31] = 1;
-    } else {
-      word1.and(DataWord.ZERO);
-    }
-    program.stackPush(word1);
+    program.getStack().operate(2, (a, b, c) -> a.set(a.compareTo(b) < 0 ? 1 : 0));
     program.step();
   }
 
   public static void gtAction(Program program) {
-    DataWord word1 = program.stackPop();
-    DataWord word2 = program.stackPop();
-
-    if (word1.value().compareTo(word2.value()) > 0) {
-      word1.and(DataWord.ZERO);
-      word1.getData()[31] = 1;
-    } else {
-      word1.and(DataWord.ZERO);
-    }
-    program.stackPush(word1);
+    program.getStack().operate(2, (a, b, c) -> a.set(a.compareTo(b) > 0 ? 1 : 0));
     program.step();
   }
 
   public static void sltAction(Program program) {
-    DataWord word1 = program.stackPop();
-    DataWord word2 = program.stackPop();
-
-    if (word1.sValue().compareTo(word2.sValue()) < 0) {
-      word1.and(DataWord.ZERO);
-      word1.getData()[31] = 1;
-    } else {
-      word1.and(DataWord.ZERO);
-    }
-    program.stackPush(word1);
+    program.getStack().operate(2, (a, b, c) -> a.set(a.signedCompareTo(b) < 0 ? 1 : 0));
     program.step();
   }
 
   public static void sgtAction(Program program) {
-    DataWord word1 = program.stackPop();
-    DataWord word2 = program.stackPop();
-
-    if (word1.sValue().compareTo(word2.sValue()) > 0) {
-      word1.and(DataWord.ZERO);
-      word1.getData()[31] = 1;
-    } else {
-      word1.and(DataWord.ZERO);
-    }
-    program.stackPush(word1);
+    program.getStack().operate(2, (a, b, c) -> a.set(a.signedCompareTo(b) > 0 ? 1 : 0));
     program.step();
   }
 
   public static void eqAction(Program program) {
-    DataWord word1 = program.stackPop();
-    DataWord word2 = program.stackPop();
-
-    if (word1.xor(word2).isZero()) {
-      word1.and(DataWord.ZERO);
-      word1.getData()[31] = 1;
-    } else {
-      word1.and(DataWord.ZERO);
-    }
-    program.stackPush(word1);
+    program.getStack().operate(2, (a, b, c) -> a.set(a.compareTo(b) == 0 ? 1 : 0));
     program.step();
   }
 
   public static void isZeroAction(Program program) {
-    DataWord word1 = program.stackPop();
-    if (word1.isZero()) {
-      word1.getData()[31] = 1;
-    } else {
-      word1.and(DataWord.ZERO);
-    }
-
-    program.stackPush(word1);
+    program.getStack().operate(1, (a, b, c) -> a.set(a.isZero() ? 1 : 0));
     program.step();
   }
 
   public static void andAction(Program program) {
-    DataWord word1 = program.stackPop();
-    DataWord word2 = program.stackPop();
-
-    word1.and(word2);
-    program.stackPush(word1);
+    program.getStack().operate(2, (a, b, c) -> a.and(b));
     program.step();
   }
 
   public static void orAction(Program program) {
-    DataWord word1 = program.stackPop();
-    DataWord word2 = program.stackPop();
-
-    word1.or(word2);
-    program.stackPush(word1);
+    program.getStack().operate(2, (a, b, c) -> a.or(b));
     program.step();
   }
 
   public static void xorAction(Program program) {
-    DataWord word1 = program.stackPop();
-    DataWord word2 = program.stackPop();
-
-    word1.xor(word2);
-    program.stackPush(word1);
+    program.getStack().operate(2, (a, b, c) -> a.xor(b));
     program.step();
   }
 
   public static void notAction(Program program) {
-    DataWord word1 = program.stackPop();
-    word1.bnot();
-
-    program.stackPush(word1);
+    program.getStack().operate(1, (a, b, c) -> a.not());
     program.step();
   }
 
@@ -262,29 +153,17 @@ public class OperationActions {
   }
 
   public static void shlAction(Program program) {
-    DataWord word1 = program.stackPop();
-    DataWord word2 = program.stackPop();
-
-    final DataWord result = word2.shiftLeft(word1);
-    program.stackPush(result);
+    program.getStack().operate(2, (a, b, c) -> b.shl(a.intValueCapped(DataWord.MAX_POW)));
     program.step();
   }
 
   public static void shrAction(Program program) {
-    DataWord word1 = program.stackPop();
-    DataWord word2 = program.stackPop();
-
-    final DataWord result = word2.shiftRight(word1);
-    program.stackPush(result);
+    program.getStack().operate(2, (a, b, c) -> b.shr(a.intValueCapped(DataWord.MAX_POW)));
     program.step();
   }
 
   public static void sarAction(Program program) {
-    DataWord word1 = program.stackPop();
-    DataWord word2 = program.stackPop();
-
-    final DataWord result = word2.shiftRightSigned(word1);
-    program.stackPush(result);
+    program.getStack().operate(2, (a, b, c) -> b.sar(a.intValueCapped(DataWord.MAX_POW)));
     program.step();
   }
 
@@ -645,6 +524,7 @@ public class OperationActions {
   }
 
   public static void gasAction(Program program) {
+    program.traceEnergyLeftRead();
     DataWord energy = program.getEnergyLimitLeft();
 
     program.stackPush(energy);
@@ -708,17 +588,13 @@ public class OperationActions {
   public static void pushAction(Program program) {
     int n = program.getCurrentOpIntValue() - Op.PUSH1 + 1;
     program.step();
-    byte[] data = program.sweep(n);
-
-    program.stackPush(new DataWord(data));
+    program.stackPushSweep(n);
   }
 
   public static void dupAction(Program program) {
-    Stack stack = program.getStack();
     int n = program.getCurrentOpIntValue() - Op.DUP1 + 1;
-    DataWord word_1 = stack.get(stack.size() - n);
-
-    program.stackPush(word_1.clone());
+    program.verifyStackOverflow(0, 1); //Sanity Check
+    program.getStack().dup(n);
     program.step();
   }
 
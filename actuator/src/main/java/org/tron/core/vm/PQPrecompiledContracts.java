@@ -11,17 +11,17 @@ import java.util.Map;
 import java.util.concurrent.Callable;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutionException;
-import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.tuple.Pair;
+import org.tron.common.crypto.PQVerificationService;
+import org.tron.common.crypto.SignatureCache;
 import org.tron.common.crypto.pqc.FNDSA512;
 import org.tron.common.crypto.pqc.MLDSA44;
 import org.tron.common.crypto.pqc.PQSchemeRegistry;
-import org.tron.common.es.ExecutorServiceManager;
 import org.tron.common.math.StrictMathWrapper;
 import org.tron.common.parameter.CommonParameter;
 import org.tron.common.runtime.vm.DataWord;
@@ -218,7 +218,7 @@ public class PQPrecompiledContracts {
           return Pair.of(true, DataWord.ZERO().getData());
         }
         byte[] pk = copyOfRange(data, sigEnd, INPUT_LEN);
-        boolean ok = FNDSA512.verify(pk, msg, sig);
+        boolean ok = SignatureCache.verify(PQScheme.FN_DSA_512, pk, msg, sig);
         return Pair.of(true, ok ? DataWord.ONE().getData() : DataWord.ZERO().getData());
       } catch (Throwable t) {
         return Pair.of(true, DataWord.ZERO().getData());
@@ -250,20 +250,12 @@ public class PQPrecompiledContracts {
    * for cross-precompile consistency; {@link #falconSlotToHeaderedSig} recovers the
    * headerless body and re-inserts the {@code 0x39} header before BC verification.
    *
-   * <p>Uses a dedicated thread pool when not in a constant call and enforces
-   * {@code getCPUTimeLeftInNanoSecond()} timeout. {@code MAX_SIZE = 16}. Energy is
+   * <p>Uses the shared {@code PQVerificationService} pool when not in a constant call and
+   * enforces {@code getCPUTimeLeftInNanoSecond()} timeout. {@code MAX_SIZE = 16}. Energy is
    * {@code cnt × 2400}.
    */
   public static class BatchValidateFnDsa512 extends PrecompiledContracts.PrecompiledContract {
 
-    private static final ExecutorService workers;
-    private static final String workersName = "pq-batch-validate-fndsa512";
-
-    static {
-      workers = ExecutorServiceManager.newFixedThreadPool(workersName,
-          Runtime.getRuntime().availableProcessors() / 2 + 1);
-    }
-
     private static final int MAX_SIZE = 16;
     // hash, sigArrayOffset, pkArrayOffset, addrArrayOffset.
     private static final int ABI_HEAD_WORDS = 4;
@@ -340,15 +332,12 @@ public class PQPrecompiledContracts {
         }
       } else {
         CountDownLatch countDownLatch = new CountDownLatch(cnt);
-        List<Future<PqVerifyResult>> futures = new ArrayList<>(cnt);
-
+        List<PqVerifyTask> tasks = new ArrayList<>(cnt);
         for (int i = 0; i < cnt; i++) {
-          Future<PqVerifyResult> future =
-              workers.submit(
-                  new PqVerifyTask(countDownLatch, hash, signatures[i],
-                      publicKeys[i], addresses[i], i));
-          futures.add(future);
+          tasks.add(new PqVerifyTask(countDownLatch, hash, signatures[i],
+              publicKeys[i], addresses[i], i));
         }
+        List<Future<PqVerifyResult>> futures = PQVerificationService.submit(tasks);
 
         boolean withNoTimeout = countDownLatch
             .await(getCPUTimeLeftInNanoSecond(), TimeUnit.NANOSECONDS);
@@ -385,7 +374,7 @@ public class PQPrecompiledContracts {
         if (!DataWord.equalAddressByteArray(derived, expectedAddr)) {
           return false;
         }
-        return FNDSA512.verify(pk, hash, canonicalSig);
+        return SignatureCache.verify(PQScheme.FN_DSA_512, pk, hash, canonicalSig);
       } catch (Throwable t) {
         return false;
       }
@@ -454,7 +443,7 @@ public class PQPrecompiledContracts {
         byte[] msg = copyOfRange(data, 0, MSG_LEN);
         byte[] sig = copyOfRange(data, MSG_LEN, MSG_LEN + MLDSA44.SIGNATURE_LENGTH);
         byte[] pk = copyOfRange(data, MSG_LEN + MLDSA44.SIGNATURE_LENGTH, INPUT_LEN);
-        boolean ok = MLDSA44.verify(pk, msg, sig);
+        boolean ok = SignatureCache.verify(PQScheme.ML_DSA_44, pk, msg, sig);
         return Pair.of(true,
             ok ? DataWord.ONE().getData() : DataWord.ZERO().getData());
       } catch (Throwable t) {
@@ -472,14 +461,6 @@ public class PQPrecompiledContracts {
    */
   public static class BatchValidateMlDsa44 extends PrecompiledContracts.PrecompiledContract {
 
-    private static final ExecutorService workers;
-    private static final String workersName = "pq-batch-validate-mldsa44";
-
-    static {
-      workers = ExecutorServiceManager.newFixedThreadPool(workersName,
-          Runtime.getRuntime().availableProcessors() / 2 + 1);
-    }
-
     private static final int MAX_SIZE = 16;
     // hash, sigArrayOffset, pkArrayOffset, addrArrayOffset.
     private static final int ABI_HEAD_WORDS = 4;
@@ -555,14 +536,12 @@ public class PQPrecompiledContracts {
         }
       } else {
         CountDownLatch countDownLatch = new CountDownLatch(cnt);
-        List<Future<PqVerifyResult>> futures = new ArrayList<>(cnt);
-
+        List<PqVerifyTask> tasks = new ArrayList<>(cnt);
         for (int i = 0; i < cnt; i++) {
-          Future<PqVerifyResult> future =
-              workers.submit(new PqVerifyTask(countDownLatch, hash, signatures[i],
-                      publicKeys[i], addresses[i], i));
-          futures.add(future);
+          tasks.add(new PqVerifyTask(countDownLatch, hash, signatures[i],
+              publicKeys[i], addresses[i], i));
         }
+        List<Future<PqVerifyResult>> futures = PQVerificationService.submit(tasks);
 
         boolean withNoTimeout = countDownLatch
             .await(getCPUTimeLeftInNanoSecond(), TimeUnit.NANOSECONDS);
@@ -593,7 +572,7 @@ public class PQPrecompiledContracts {
         if (!DataWord.equalAddressByteArray(derived, expectedAddr)) {
           return false;
         }
-        return MLDSA44.verify(pk, hash, sig);
+        return SignatureCache.verify(PQScheme.ML_DSA_44, pk, hash, sig);
       } catch (Throwable t) {
         return false;
       }
@@ -842,7 +821,7 @@ public class PQPrecompiledContracts {
           if (weight == 0) {
             return Pair.of(true, DATA_FALSE);
           }
-          if (!PQSchemeRegistry.verify(scheme, pk, hash, sig)) {
+          if (!SignatureCache.verify(scheme, pk, hash, sig)) {
             return Pair.of(true, DATA_FALSE);
           }
           totalWeight += weight;
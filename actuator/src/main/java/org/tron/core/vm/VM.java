@@ -12,6 +12,8 @@ import org.tron.core.vm.program.Program;
 import org.tron.core.vm.program.Program.JVMStackOverFlowException;
 import org.tron.core.vm.program.Program.OutOfTimeException;
 import org.tron.core.vm.program.Program.TransferException;
+import org.tron.core.vm.program.Stack;
+import org.tron.core.vm.trace.ExecutionTracer;
 
 @Slf4j(topic = "VM")
 public class VM {
@@ -20,6 +22,11 @@ public class VM {
       Op.DELEGATECALL, Op.CALLCODE, Op.CALLTOKEN);
 
   public static void play(Program program, JumpTable jumpTable) {
+    // looked up once per frame, an execution nothing traces only checks it for null per opcode
+    final ExecutionTracer tracer = ExecutionTracer.current();
+    if (tracer != null) {
+      tracer.enter(program);
+    }
     try {
       long factor = DYNAMIC_ENERGY_FACTOR_DECIMAL;
       long energyUsage = 0L;
@@ -30,12 +37,38 @@ public class VM {
         factor = program.updateContextContractFactor();
       }
 
+      // blocks are charged as a whole, which the traces that follow every opcode can not see
+      BasicBlocks blocks = VMConfig.basicBlockMetering() && !VMConfig.vmTrace()
+          && tracer == null && !program.isFullTraceEnabled()
+          ? program.getBasicBlocks(jumpTable) : null;
+
       while (!program.isStopped()) {
         if (VMConfig.vmTrace()) {
           program.saveOpTrace();
         }
 
         try {
+          BasicBlocks.Block block = blocks == null ? null : blocks.get(program.getPC());
+          if (block != null && block.fits(program.getStack().size(), Stack.MAX_SIZE)) {
+            long energy = block.getEnergy();
+            long penalty = allowDynamicEnergy && factor > DYNAMIC_ENERGY_FACTOR_DECIMAL
+                ? block.getPenalty(factor, DYNAMIC_ENERGY_FACTOR_DECIMAL) : 0;
+            if (program.getEnergylimitLeftLong() >= energy + penalty) {
+              String opName = Op.getNameOf(block.getFirst().getOpcode());
+              if (allowDynamicEnergy) {
+                energyUsage += energy;
+              }
+              if (penalty > 0) {
+                program.spendEnergyWithPenalty(energy + penalty, penalty, opName);
+              } else {
+                program.spendEnergy(energy, opName);
+              }
+              program.checkCPUTimeLimit(opName);
+              block.execute(program);
+              continue;
+            }
+          }
+
           Operation op = jumpTable.get(program.getCurrentOpIntValue());
           if (!op.isEnabled()) {
             throw Program.Exception.invalidOpCode(program.getCurrentOp());
@@ -82,6 +115,9 @@ public class VM {
             program.spendEnergy(energy, opName);
           }
 
+          if (tracer != null) {
+            tracer.step(program, op.getOpcode(), energy);
+          }
 
           /* check if cpu time out */
           program.checkCPUTimeLimit(opName);
@@ -123,6 +159,10 @@ public class VM {
     } catch (StackOverflowError soe) {
       logger.info("\n !!! StackOverflowError: update your java run command with -Xss !!!\n", soe);
       throw new JVMStackOverFlowException();
+    } finally {
+      if (tracer != null) {
+        tracer.exit(program);
+      }
     }
   }
 }
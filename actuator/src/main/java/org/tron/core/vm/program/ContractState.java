@@ -178,11 +178,6 @@ public class ContractState implements Repository, ProgramListenerAware {
     return repository.newRepositoryChild();
   }
 
-  @Override
-  public void setParent(Repository repository) {
-    this.repository.setParent(repository);
-  }
-
   @Override
   public void commit() {
     repository.commit();
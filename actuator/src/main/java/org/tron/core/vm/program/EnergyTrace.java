@@ -0,0 +1,85 @@
+package org.tron.core.vm.program;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Records, over one execution, the least energy limit the execution could have run with and
+ * still done exactly what it did, so an estimation does not have to search for it.
+ *
+ * <p>Energy only goes back to a frame when a call or create it made returns what the callee did
+ * not use, so the energy a frame needs is the most of what it used at its end and of what it
+ * needed while each callee ran: what it used before the call, plus the energy it must have left
+ * for the callee to get all the energy the callee needs, after the 1/64 a frame of a compatible
+ * contract keeps back. An execution that reads how much energy it has left, or lets a callee run
+ * out of energy, would do something else with another limit, and is marked {@link
+ * #isLimitDependent() limit dependent} instead.</p>
+ */
+@Slf4j(topic = "VM")
+public class EnergyTrace {
+
+  private long required = -1;
+  private boolean limitDependent;
+
+  /**
+   * @return the least energy limit the execution needs, -1 if it did not complete or depends on
+   *     its limit
+   */
+  public long getRequired() {
+    return limitDependent ? -1 : required;
+  }
+
+  public boolean isLimitDependent() {
+    return limitDependent;
+  }
+
+  public void reset() {
+    required = -1;
+    limitDependent = false;
+  }
+
+  /**
+   * Traces what {@code other} traced, as if the execution it traced ran again.
+   */
+  public void copyFrom(EnergyTrace other) {
+    required = other.required;
+    limitDependent = other.limitDependent;
+  }
+
+  void limitDependent(String reason) {
+    if (!limitDependent) {
+      logger.debug("Execution depends on its energy limit: {}.", reason);
+      limitDependent = true;
+    }
+  }
+
+  /**
+   * Completes the trace of the execution {@code program} runs at the top.
+   */
+  public void complete(Program program) {
+    required = program.getEnergyNeeded();
+  }
+
+  /**
+   * @return the least energy a frame must have left to forward {@code needed} energy to a callee
+   */
+  static long toForward(long needed, boolean retained) {
+    if (needed <= 0) {
+      return 0;
+    }
+    if (!retained) {
+      return needed;
+    }
+    // the least a with a - a / 64 >= needed, which lies between needed and needed * 64 / 63
+    long low = needed;
+    long high = needed + needed / 63 + 1;
+    while (low < high) {
+      long mid = (low + high) >>> 1;
+      if (mid - mid / 64 >= needed) {
+        high = mid;
+      } else {
+        low = mid + 1;
+      }
+    }
+    return low;
+  }
+}
@@ -3,23 +3,36 @@ package org.tron.core.vm.program;
 import static java.lang.String.format;
 import static org.tron.common.math.Maths.addExact;
 import static org.tron.common.math.Maths.ceil;
+import static org.tron.common.math.Maths.max;
 import static org.tron.common.math.Maths.min;
 import static org.tron.common.utils.ByteUtil.EMPTY_BYTE_ARRAY;
 import static org.tron.common.utils.ByteUtil.oneByteToHexString;
 
-import java.util.LinkedList;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import org.tron.common.runtime.vm.DataWord;
 import org.tron.core.vm.config.VMConfig;
 import org.tron.core.vm.program.listener.ProgramListener;
 import org.tron.core.vm.program.listener.ProgramListenerAware;
 
+/**
+ * The memory of a {@link Program}, one contiguous array that grows geometrically, so every
+ * access is a bounds check and a single copy whatever the size of the memory.
+ *
+ * <p>{@link #size()} is the size the program sees and pays energy for, it grows word by word.
+ * {@link #internalSize()} is what was asked for rounded up to {@value #CHUNK_SIZE} bytes, as
+ * when memory was a list of chunks; the array behind it may be larger.</p>
+ */
 public class Memory implements ProgramListenerAware {
 
   private static final int CHUNK_SIZE = 1024;
   private static final int WORD_SIZE = 32;
+  // the largest array the JVMs in use hand out
+  private static final int MAX_CAPACITY = Integer.MAX_VALUE - 8;
 
-  private List<byte[]> chunks = new LinkedList<>();
+  private byte[] buffer = EMPTY_BYTE_ARRAY;
+  private int internalSize;
   private int softSize;
   private ProgramListener programListener;
 
@@ -35,25 +48,7 @@ public class Memory implements ProgramListenerAware {
 
     extend(address, size);
     byte[] data = new byte[size];
-
-    int chunkIndex = address / CHUNK_SIZE;
-    int chunkOffset = address % CHUNK_SIZE;
-
-    int toGrab = data.length;
-    int start = 0;
-
-    while (toGrab > 0) {
-      int copied = grabMax(chunkIndex, chunkOffset, toGrab, data, start);
-
-      // read next chunk from the start
-      ++chunkIndex;
-      chunkOffset = 0;
-
-      // mark remind
-      toGrab -= copied;
-      start += copied;
-    }
-
+    System.arraycopy(buffer, address, data, 0, size);
     return data;
   }
 
@@ -67,9 +62,6 @@ public class Memory implements ProgramListenerAware {
       extend(address, dataSize);
     }
 
-    int chunkIndex = address / CHUNK_SIZE;
-    int chunkOffset = address % CHUNK_SIZE;
-
     int toCapture = 0;
     if (limited) {
       toCapture = (address + dataSize > softSize) ? softSize - address : dataSize;
@@ -77,17 +69,8 @@ public class Memory implements ProgramListenerAware {
       toCapture = dataSize;
     }
 
-    int start = 0;
-    while (toCapture > 0) {
-      int captured = captureMax(chunkIndex, chunkOffset, toCapture, data, start);
-
-      // capture next chunk
-      ++chunkIndex;
-      chunkOffset = 0;
-
-      // mark remind
-      toCapture -= captured;
-      start += captured;
+    if (toCapture > 0) {
+      System.arraycopy(data, 0, buffer, address, toCapture);
     }
 
     if (programListener != null) {
@@ -106,9 +89,11 @@ public class Memory implements ProgramListenerAware {
       return;
     }
     final int newSize = addExact(address, size, VMConfig.disableJavaLangMath());
-    int toAllocate = newSize - internalSize();
+    int toAllocate = newSize - internalSize;
     if (toAllocate > 0) {
-      addChunks((int) ceil((double) toAllocate / CHUNK_SIZE, VMConfig.disableJavaLangMath()));
+      internalSize = addExact(internalSize, (int) ceil((double) toAllocate / CHUNK_SIZE,
+          VMConfig.disableJavaLangMath()) * CHUNK_SIZE, VMConfig.disableJavaLangMath());
+      ensureCapacity(internalSize);
     }
 
     toAllocate = newSize - softSize;
@@ -124,18 +109,16 @@ public class Memory implements ProgramListenerAware {
   }
 
   public DataWord readWord(int address) {
-    return new DataWord(read(address, 32));
+    extend(address, WORD_SIZE);
+    return new DataWord(Arrays.copyOfRange(buffer, address, address + WORD_SIZE));
   }
 
   // just access expecting all data valid
   public byte readByte(int address) {
-
-    int chunkIndex = address / CHUNK_SIZE;
-    int chunkOffset = address % CHUNK_SIZE;
-
-    byte[] chunk = chunks.get(chunkIndex);
-
-    return chunk[chunkOffset];
+    if (address >= internalSize) {
+      throw new IndexOutOfBoundsException("Index: " + address + ", Size: " + internalSize);
+    }
+    return buffer[address];
   }
 
   @Override
@@ -176,11 +159,18 @@ public class Memory implements ProgramListenerAware {
   }
 
   public int internalSize() {
-    return chunks.size() * CHUNK_SIZE;
+    return internalSize;
   }
 
+  /**
+   * A copy of the memory cut into chunks of {@value #CHUNK_SIZE} bytes.
+   */
   public List<byte[]> getChunks() {
-    return new LinkedList<>(chunks);
+    List<byte[]> chunks = new ArrayList<>(internalSize / CHUNK_SIZE);
+    for (int from = 0; from < internalSize; from += CHUNK_SIZE) {
+      chunks.add(Arrays.copyOfRange(buffer, from, from + CHUNK_SIZE));
+    }
+    return chunks;
   }
 
   public void copy(int destPos, int srcPos, int size) {
@@ -191,28 +181,12 @@ public class Memory implements ProgramListenerAware {
     write(destPos, data, size, false);
   }
 
-  private int captureMax(int chunkIndex, int chunkOffset, int size, byte[] src, int srcPos) {
-
-    byte[] chunk = chunks.get(chunkIndex);
-    int toCapture = min(size, chunk.length - chunkOffset, VMConfig.disableJavaLangMath());
-
-    System.arraycopy(src, srcPos, chunk, chunkOffset, toCapture);
-    return toCapture;
-  }
-
-  private int grabMax(int chunkIndex, int chunkOffset, int size, byte[] dest, int destPos) {
-
-    byte[] chunk = chunks.get(chunkIndex);
-    int toGrab = min(size, chunk.length - chunkOffset, VMConfig.disableJavaLangMath());
-
-    System.arraycopy(chunk, chunkOffset, dest, destPos, toGrab);
-
-    return toGrab;
-  }
-
-  private void addChunks(int num) {
-    for (int i = 0; i < num; ++i) {
-      chunks.add(new byte[CHUNK_SIZE]);
+  private void ensureCapacity(int capacity) {
+    if (capacity <= buffer.length) {
+      return;
     }
+    boolean strict = VMConfig.disableJavaLangMath();
+    long grown = max((long) buffer.length * 2, capacity, strict);
+    buffer = Arrays.copyOf(buffer, (int) min(grown, max(capacity, MAX_CAPACITY, strict), strict));
   }
 }
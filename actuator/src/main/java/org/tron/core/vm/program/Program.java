@@ -17,6 +17,8 @@ import static org.tron.protos.contract.Common.ResourceCode.ENERGY;
 import static org.tron.protos.contract.Common.ResourceCode.TRON_POWER;
 import static org.tron.protos.contract.Common.ResourceCode.UNRECOGNIZED;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.protobuf.ByteString;
 import java.math.BigInteger;
 import java.util.Arrays;
@@ -28,7 +30,6 @@ import lombok.Getter;
 import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.collections4.CollectionUtils;
-import org.apache.commons.collections4.map.LRUMap;
 import org.apache.commons.lang3.ArrayUtils;
 import org.apache.commons.lang3.tuple.Pair;
 import org.bouncycastle.util.encoders.Hex;
@@ -53,11 +54,14 @@ import org.tron.core.capsule.VotesCapsule;
 import org.tron.core.capsule.WitnessCapsule;
 import org.tron.core.db.BandwidthProcessor;
 import org.tron.core.db.EnergyProcessor;
+import org.tron.core.db2.core.ReadWriteSet;
 import org.tron.core.exception.ContractExeException;
 import org.tron.core.exception.ContractValidateException;
 import org.tron.core.exception.TronException;
 import org.tron.core.utils.TransactionUtil;
+import org.tron.core.vm.BasicBlocks;
 import org.tron.core.vm.EnergyCost;
+import org.tron.core.vm.JumpTable;
 import org.tron.core.vm.MessageCall;
 import org.tron.core.vm.Op;
 import org.tron.core.vm.OperationRegistry;
@@ -93,6 +97,7 @@ import org.tron.core.vm.program.listener.ProgramListenerAware;
 import org.tron.core.vm.program.listener.ProgramStorageChangeListener;
 import org.tron.core.vm.repository.Key;
 import org.tron.core.vm.repository.Repository;
+import org.tron.core.vm.trace.ExecutionTracer;
 import org.tron.core.vm.trace.ProgramTrace;
 import org.tron.core.vm.trace.ProgramTraceListener;
 import org.tron.core.vm.utils.MUtil;
@@ -108,15 +113,16 @@ public class Program {
 
   private static final int MAX_DEPTH = 64;
   //Max size for stack checks
-  private static final int MAX_STACK_SIZE = 1024;
+  private static final int MAX_STACK_SIZE = Stack.MAX_SIZE;
   private static final String VALIDATE_FOR_SMART_CONTRACT_FAILURE =
       "validateForSmartContract failure:%s";
   private static final String INVALID_TOKEN_ID_MSG = "not valid token id";
   private static final String REFUND_ENERGY_FROM_MESSAGE_CALL = "refund energy from message call";
   private static final String CALL_PRE_COMPILED = "call pre-compiled";
   private static final int lruCacheSize = CommonParameter.getInstance().getSafeLruCacheSize();
-  private static final LRUMap<Key, ProgramPrecompile> programPrecompileLRUMap
-      = new LRUMap<>(lruCacheSize);
+  // shared by block execution, constant calls and energy estimation
+  private static final Cache<Key, ProgramPrecompile> programPrecompileCache
+      = CacheBuilder.newBuilder().maximumSize(lruCacheSize).build();
   private long nonce;
   private byte[] rootTransactionId;
   private InternalTransaction internalTransaction;
@@ -146,6 +152,11 @@ public class Program {
   @Getter
   @Setter
   private long callPenaltyEnergy;
+  @Getter
+  @Setter
+  private EnergyTrace energyTrace;
+  // the most energy the frame needed while a callee ran, only traced with an energy trace
+  private long energyNeeded;
 
   public Program(byte[] ops, byte[] codeAddress, ProgramInvoke programInvoke,
                  InternalTransaction internalTransaction) {
@@ -173,6 +184,17 @@ public class Program {
     return ret.toString();
   }
 
+  public InternalTransaction getInternalTransaction() {
+    return internalTransaction;
+  }
+
+  /**
+   * @return the address the code runs from, which a delegate call does not run in
+   */
+  public byte[] getCodeAddress() {
+    return codeAddress.clone();
+  }
+
   public byte[] getRootTransactionId() {
     return rootTransactionId.clone();
   }
@@ -206,19 +228,14 @@ public class Program {
   }
 
   public ProgramPrecompile getProgramPrecompile() {
-    if (isConstantCall()) {
-      if (programPrecompile == null) {
-        programPrecompile = ProgramPrecompile.compile(ops);
-      }
-      return programPrecompile;
-    }
     if (programPrecompile == null) {
       Key key = getJumpDestAnalysisCacheKey();
-      if (programPrecompileLRUMap.containsKey(key)) {
-        programPrecompile = programPrecompileLRUMap.get(key);
+      ProgramPrecompile cached = programPrecompileCache.getIfPresent(key);
+      if (cached != null && cached.getCodeLength() == ops.length) {
+        programPrecompile = cached;
       } else {
         programPrecompile = ProgramPrecompile.compile(ops);
-        programPrecompileLRUMap.put(key, programPrecompile);
+        programPrecompileCache.put(key, programPrecompile);
       }
     }
     return programPrecompile;
@@ -307,6 +324,25 @@ public class Program {
     stack.push(stackWord);
   }
 
+  /**
+   * Pushes the next {@code n} bytes of code as one word, {@link #sweep(int)} without copying
+   * them out first.
+   */
+  public void stackPushSweep(int n) {
+    if (pc + n > ops.length) {
+      stop();
+    }
+
+    int from = pc;
+    pc += n;
+    if (pc >= ops.length) {
+      stop();
+    }
+
+    verifyStackOverflow(0, 1); //Sanity Check
+    stack.push(ops, from, n);
+  }
+
   public void stackPushZero() {
     stackPush(DataWord.ZERO());
   }
@@ -885,6 +921,7 @@ public class Program {
       newBalance = deposit.addBalance(newAddress, endowment);
     }
 
+    long usedBeforeCreate = getResult().getEnergyUsed();
     // actual energy subtract
     DataWord energyLimit = this.getCreateEnergy(getEnergyLimitLeft());
     spendEnergy(energyLimit.longValue(), "internal call");
@@ -903,6 +940,7 @@ public class Program {
       programInvoke.setConstantCall();
     }
     ProgramResult createResult = ProgramResult.createEmpty();
+    long createNeeded = 0;
 
     if (contractAlreadyExists) {
       createResult.setException(new BytecodeExecutionException(
@@ -914,8 +952,10 @@ public class Program {
       if (VMConfig.allowTvmCompatibleEvm()) {
         program.setContractVersion(getContractVersion());
       }
+      program.setEnergyTrace(energyTrace);
       VM.play(program, OperationRegistry.getTable());
       createResult = program.getResult();
+      createNeeded = program.getEnergyNeeded();
       getTrace().merge(program.getTrace());
       // always commit nonce
       this.nonce = program.nonce;
@@ -943,6 +983,10 @@ public class Program {
         deposit.saveCode(newAddress, code);
       }
     }
+    if (energyTrace != null) {
+      traceCallee(usedBeforeCreate, max(createNeeded, createResult.getEnergyUsed(),
+          VMConfig.disableJavaLangMath()), createResult);
+    }
 
     getResult().merge(createResult);
 
@@ -999,6 +1043,7 @@ public class Program {
    */
   public void callToAddress(MessageCall msg) {
     returnDataBuffer = null; // reset return buffer right before the call
+    long usedBeforeCall = energyTrace == null ? 0 : traceCall(msg);
 
     if (getCallDeep() == MAX_DEPTH) {
       stackPushZero();
@@ -1146,8 +1191,12 @@ public class Program {
         program.setContractVersion(invoke.getDeposit()
             .getContract(codeAddress).getContractVersion());
       }
+      program.setEnergyTrace(energyTrace);
       VM.play(program, OperationRegistry.getTable());
       callResult = program.getResult();
+      if (energyTrace != null) {
+        traceCallee(usedBeforeCall, program.getEnergyNeeded() - callStipend(msg), callResult);
+      }
 
       getTrace().merge(program.getTrace());
       getResult().merge(callResult);
@@ -1180,6 +1229,7 @@ public class Program {
       // 4. THE FLAG OF SUCCESS IS ONE PUSHED INTO THE STACK
       deposit.commit();
       stackPushOne();
+      traceFramelessCall(msg, data, EMPTY_BYTE_ARRAY, 0, true);
     }
 
     // 3. APPLY RESULTS: result.getHReturn() into out_memory allocated
@@ -1269,6 +1319,59 @@ public class Program {
     getResult().refundEnergy(energyValue);
   }
 
+  /**
+   * @return the least energy limit the frame could have run with as it did, once it stopped
+   */
+  public long getEnergyNeeded() {
+    return max(energyNeeded, getResult().getEnergyUsed(), VMConfig.disableJavaLangMath());
+  }
+
+  /**
+   * Notes that the code reads the energy it has left, which depends on the energy limit, unless
+   * it is only handed to the call right after as the energy to forward, asking for all there is.
+   */
+  public void traceEnergyLeftRead() {
+    if (energyTrace == null) {
+      return;
+    }
+    int next = pc + 1 < ops.length ? ops[pc + 1] & 0xff : -1;
+    if (next != Op.CALL && next != Op.CALLCODE && next != Op.DELEGATECALL
+        && next != Op.STATICCALL && next != Op.CALLTOKEN) {
+      energyTrace.limitDependent("energy left read");
+    }
+  }
+
+  private void traceFramelessCall(MessageCall msg, byte[] input, byte[] output, long energyUsed,
+      boolean success) {
+    ExecutionTracer tracer = ExecutionTracer.current();
+    if (tracer != null) {
+      tracer.call(this, msg, input, output, energyUsed, success);
+    }
+  }
+
+  // what the frame used before the energy it forwards with msg, all it needs for an early return
+  private long traceCall(MessageCall msg) {
+    long usedBefore = getResult().getEnergyUsed() - msg.getEnergy().longValueSafe()
+        + callStipend(msg);
+    traceCallee(usedBefore, 0, null);
+    return usedBefore;
+  }
+
+  // the energy a call transferring value gives its callee on top of the energy it forwards
+  private static long callStipend(MessageCall msg) {
+    return msg.getEndowment().isZero() ? 0 : EnergyCost.getStipendCallCost();
+  }
+
+  private void traceCallee(long usedBefore, long calleeNeeded, ProgramResult calleeResult) {
+    if (calleeResult != null && calleeResult.getException() != null) {
+      // it used all it was forwarded, which is less with a lower limit
+      energyTrace.limitDependent("callee failed: " + calleeResult.getException().getMessage());
+      return;
+    }
+    energyNeeded = max(energyNeeded, usedBefore + EnergyTrace.toForward(calleeNeeded,
+        retainsEnergy()), VMConfig.disableJavaLangMath());
+  }
+
 //  public void futureRefundEnergy(long energyValue) {
 //    logger.debug("Future refund added: [{}]", energyValue);
 //    getResult().addFutureRefund(energyValue);
@@ -1316,6 +1419,10 @@ public class Program {
     }
   }
 
+  public BasicBlocks getBasicBlocks(JumpTable table) {
+    return getProgramPrecompile().getBasicBlocks(ops, table);
+  }
+
   public byte[] getCodeHash() {
     ContractCapsule contract = getContractState().getContract(codeAddress);
     byte[] codeHash;
@@ -1501,8 +1608,12 @@ public class Program {
     return memory.toString();
   }
 
+  public boolean isFullTraceEnabled() {
+    return logger.isTraceEnabled() || listener != null;
+  }
+
   public void fullTrace() {
-    if (logger.isTraceEnabled() || listener != null) {
+    if (isFullTraceEnabled()) {
 
       StringBuilder stackData = new StringBuilder();
       for (int i = 0; i < stack.size(); ++i) {
@@ -1658,7 +1769,13 @@ public class Program {
 
   public void callToPrecompiledAddress(MessageCall msg,
       PrecompiledContracts.PrecompiledContract contract) {
+    ReadWriteSet speculation = ReadWriteSet.current();
+    if (speculation != null && !speculation.isDiscarded()) {
+      // the precompiled contracts are shared instances, only the block thread runs them
+      throw speculation.abort("precompiled contract call");
+    }
     returnDataBuffer = null; // reset return buffer right before the call
+    long usedBeforeCall = energyTrace == null ? 0 : traceCall(msg);
 
     if (getCallDeep() == MAX_DEPTH) {
       stackPushZero();
@@ -1726,6 +1843,10 @@ public class Program {
       // regard as consumed the energy
       this.refundEnergy(0, CALL_PRE_COMPILED); //matches cpp logic
       this.stackPushZero();
+      if (energyTrace != null) {
+        energyTrace.limitDependent("precompiled contract out of energy");
+      }
+      traceFramelessCall(msg, data, EMPTY_BYTE_ARRAY, msg.getEnergy().longValue(), false);
     } else {
       // Delegate or not. if is delegated, we will use msg sender, otherwise use contract address
       if (msg.getOpCode() == Op.DELEGATECALL) {
@@ -1742,13 +1863,21 @@ public class Program {
 
       if (out.getLeft()) { // success
         this.refundEnergy(msg.getEnergy().longValue() - requiredEnergy, CALL_PRE_COMPILED);
+        if (energyTrace != null) {
+          traceCallee(usedBeforeCall, requiredEnergy - callStipend(msg), null);
+        }
         this.stackPushOne();
         returnDataBuffer = out.getRight();
         deposit.commit();
+        traceFramelessCall(msg, data, out.getRight(), requiredEnergy, true);
       } else {
         // spend all energy on failure, push zero and revert state changes
         this.refundEnergy(0, CALL_PRE_COMPILED);
         this.stackPushZero();
+        if (energyTrace != null) {
+          energyTrace.limitDependent("precompiled contract failed");
+        }
+        traceFramelessCall(msg, data, out.getRight(), msg.getEnergy().longValue(), false);
         if (Objects.nonNull(this.result.getException())) {
           throw result.getException();
         }
@@ -1840,7 +1969,7 @@ public class Program {
   }
 
   public DataWord getCallEnergy(DataWord requestedEnergy, DataWord availableEnergy) {
-    if (VMConfig.allowTvmCompatibleEvm() && getContractVersion() == 1) {
+    if (retainsEnergy()) {
       DataWord availableEnergyReduce = availableEnergy.clone();
       availableEnergyReduce.div(new DataWord(64));
       availableEnergy.sub(availableEnergyReduce);
@@ -1849,7 +1978,7 @@ public class Program {
   }
 
   public DataWord getCreateEnergy(DataWord availableEnergy) {
-    if (VMConfig.allowTvmCompatibleEvm() && getContractVersion() == 1) {
+    if (retainsEnergy()) {
       DataWord availableEnergyReduce = availableEnergy.clone();
       availableEnergyReduce.div(new DataWord(64));
       availableEnergy.sub(availableEnergyReduce);
@@ -1857,6 +1986,11 @@ public class Program {
     return availableEnergy;
   }
 
+  // a frame of a compatible contract keeps 1/64 of its energy back from a callee
+  private boolean retainsEnergy() {
+    return VMConfig.allowTvmCompatibleEvm() && getContractVersion() == 1;
+  }
+
   /**
    * . used mostly for testing reasons
    */
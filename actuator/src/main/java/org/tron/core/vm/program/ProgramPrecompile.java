@@ -1,24 +1,35 @@
 package org.tron.core.vm.program;
 
-import java.util.HashSet;
-import java.util.Set;
 import lombok.extern.slf4j.Slf4j;
 import org.tron.common.runtime.vm.DataWord;
+import org.tron.core.vm.BasicBlocks;
+import org.tron.core.vm.JumpTable;
 import org.tron.core.vm.Op;
 import org.tron.core.vm.config.VMConfig;
 
+/**
+ * The jump destinations of a piece of code, one bit per code offset. Instances are immutable
+ * once compiled and are shared between the programs that run the same code.
+ */
 @Slf4j(topic = "VM")
 public class ProgramPrecompile {
 
-  private final Set<Integer> jumpDest = new HashSet<>();
+  private final int codeLength;
+  private final long[] jumpDest;
+  private volatile BasicBlocks basicBlocks;
+
+  private ProgramPrecompile(int codeLength) {
+    this.codeLength = codeLength;
+    this.jumpDest = new long[(codeLength + 63) >>> 6];
+  }
 
   public static ProgramPrecompile compile(byte[] ops) {
-    ProgramPrecompile ret = new ProgramPrecompile();
+    ProgramPrecompile ret = new ProgramPrecompile(ops.length);
     for (int i = 0; i < ops.length; ++i) {
       int op = ops[i] & 0xff;
 
       if (op == Op.JUMPDEST) {
-        ret.jumpDest.add(i);
+        ret.jumpDest[i >>> 6] |= 1L << i;
       }
 
       if (op >= Op.PUSH1 && op <= Op.PUSH32) {
@@ -54,6 +65,23 @@ public class ProgramPrecompile {
   }
 
   public boolean hasJumpDest(int pc) {
-    return jumpDest.contains(pc);
+    return pc >= 0 && pc < codeLength && (jumpDest[pc >>> 6] & (1L << pc)) != 0;
+  }
+
+  public int getCodeLength() {
+    return codeLength;
+  }
+
+  /**
+   * The basic blocks of {@code ops}, the code this was compiled from, decoded for
+   * {@code table} on first use.
+   */
+  public BasicBlocks getBasicBlocks(byte[] ops, JumpTable table) {
+    BasicBlocks blocks = basicBlocks;
+    if (blocks == null || blocks.getTable() != table) {
+      blocks = BasicBlocks.decode(ops, table);
+      basicBlocks = blocks;
+    }
+    return blocks;
   }
 }
@@ -1,35 +1,120 @@
 package org.tron.core.vm.program;
 
+import java.util.Arrays;
+import java.util.EmptyStackException;
 import java.util.Objects;
+import org.tron.common.math.StrictMathWrapper;
 import org.tron.common.runtime.vm.DataWord;
+import org.tron.common.runtime.vm.UInt256;
 import org.tron.core.vm.program.listener.ProgramListener;
 import org.tron.core.vm.program.listener.ProgramListenerAware;
 
-public class Stack extends java.util.Stack<DataWord> implements ProgramListenerAware {
+/**
+ * The operand stack of a {@link Program}, at most {@value #MAX_SIZE} words kept in an array. A
+ * program runs on a single thread, nothing here is synchronized.
+ *
+ * <p>A word returned by {@link #pop()} belongs to the caller from then on. The words that
+ * {@link #operate(int, Operation)}, {@link #dup(int)} and {@link #push(byte[], int, int)} work
+ * on never leave the stack: results are written into the words of the operands they replace,
+ * and the words dropped that way are written again by the next pushes, so once the stack has
+ * been that deep these operations allocate nothing. Words returned by {@link #peek()} and
+ * {@link #get(int)} are only valid until the stack changes.</p>
+ */
+public class Stack implements ProgramListenerAware {
 
-  private static final long serialVersionUID = 1;
+  public static final int MAX_SIZE = 1024;
 
-  private transient ProgramListener programListener;
+  // from the bottom up; the words from size on were dropped and are written again
+  private final DataWord[] words = new DataWord[MAX_SIZE];
+  private int size;
+  private final UInt256[] operands = {new UInt256(), new UInt256(), new UInt256()};
+
+  private ProgramListener programListener;
 
   @Override
   public void setProgramListener(ProgramListener listener) {
     this.programListener = listener;
   }
 
-  @Override
-  public synchronized DataWord pop() {
+  public DataWord push(DataWord item) {
+    if (size == MAX_SIZE) {
+      throw new ArrayIndexOutOfBoundsException(size);
+    }
     if (programListener != null) {
-      programListener.onStackPop();
+      programListener.onStackPush(item);
     }
-    return super.pop();
+    words[size++] = item;
+    return item;
   }
 
-  @Override
-  public DataWord push(DataWord item) {
+  /**
+   * Pushes {@code length} bytes of {@code code} from {@code offset} as one word, right aligned
+   * and padded with zeros past the end of the code.
+   */
+  public void push(byte[] code, int offset, int length) {
+    DataWord word = spare();
+    byte[] data = word.getData();
+    int start = DataWord.WORD_SIZE - length;
+    int available = StrictMathWrapper.max(0, StrictMathWrapper.min(length, code.length - offset));
+    Arrays.fill(data, 0, start, (byte) 0);
+    System.arraycopy(code, offset, data, start, available);
+    Arrays.fill(data, start + available, DataWord.WORD_SIZE, (byte) 0);
+    push(word);
+  }
+
+  /**
+   * Pushes a copy of the {@code n}-th word from the top, 1 for the top itself.
+   */
+  public void dup(int n) {
+    DataWord source = words[size - n];
+    if (source.getData().length != DataWord.WORD_SIZE) {
+      push(source.clone());
+      return;
+    }
+    DataWord word = spare();
+    System.arraycopy(source.getData(), 0, word.getData(), 0, DataWord.WORD_SIZE);
+    push(word);
+  }
+
+  public DataWord pop() {
+    if (size == 0) {
+      throw new EmptyStackException();
+    }
     if (programListener != null) {
-      programListener.onStackPush(item);
+      programListener.onStackPop();
+    }
+    DataWord word = words[--size];
+    words[size] = null;
+    return word;
+  }
+
+  /**
+   * Pops {@code count} words, at most three, and pushes the result of {@code operation} on them
+   * in their place. The result is written into the word that was on top.
+   */
+  public void operate(int count, Operation operation) {
+    if (size < count) {
+      throw new EmptyStackException();
+    }
+    for (int i = 0; i < count; i++) {
+      operands[i].set(words[size - 1 - i].getData());
+      if (programListener != null) {
+        programListener.onStackPop();
+      }
+    }
+    UInt256 result = operation.apply(operands[0], operands[1], operands[2]);
+    DataWord top = words[size - 1];
+    if (top.getData().length == DataWord.WORD_SIZE) {
+      result.toBytes(top.getData());
+    } else {
+      top = new DataWord(result.toBytes());
     }
-    return super.push(item);
+    // the top word moves down to the result, the one it replaces is left to be written again
+    DataWord dropped = words[size - count];
+    words[size - count] = top;
+    words[size - 1] = dropped;
+    size -= count;
+    push(top);
   }
 
   public void swap(int from, int to) {
@@ -37,11 +122,45 @@ public class Stack extends java.util.Stack<DataWord> implements ProgramListenerA
       if (programListener != null) {
         programListener.onStackSwap(from, to);
       }
-      DataWord tmp = get(from);
-      set(from, set(to, tmp));
+      DataWord tmp = words[from];
+      words[from] = words[to];
+      words[to] = tmp;
     }
   }
 
+  public DataWord peek() {
+    if (size == 0) {
+      throw new EmptyStackException();
+    }
+    return words[size - 1];
+  }
+
+  public DataWord get(int index) {
+    if (index < 0 || index >= size) {
+      throw new ArrayIndexOutOfBoundsException(index);
+    }
+    return words[index];
+  }
+
+  public int size() {
+    return size;
+  }
+
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  /**
+   * The word dropped at the top, or a new one if there is none to write again.
+   */
+  private DataWord spare() {
+    DataWord word = words[size];
+    if (word == null || word.getData().length != DataWord.WORD_SIZE) {
+      word = new DataWord();
+    }
+    return word;
+  }
+
   private boolean isAccessible(int from) {
     return from >= 0 && from < size();
   }
@@ -57,16 +176,39 @@ public class Stack extends java.util.Stack<DataWord> implements ProgramListenerA
     if (o.getClass() != this.getClass()) {
       return false;
     }
-    if (!super.equals(o)) {
+    Stack dataWords = (Stack) o;
+    if (size != dataWords.size) {
       return false;
     }
-    Stack dataWords = (Stack) o;
+    for (int i = 0; i < size; i++) {
+      if (!Objects.equals(words[i], dataWords.words[i])) {
+        return false;
+      }
+    }
     return Objects.equals(programListener, dataWords.programListener);
   }
 
-
   @Override
   public int hashCode() {
-    return Objects.hash(super.hashCode(), programListener);
+    int result = 1;
+    for (int i = 0; i < size; i++) {
+      result = 31 * result + words[i].hashCode();
+    }
+    return Objects.hash(result, programListener);
+  }
+
+  /**
+   * An operation on the top words of the stack, handed over from the top down. Operands past
+   * the count asked for hold nothing meaningful.
+   *
+   * @see #operate(int, Operation)
+   */
+  @FunctionalInterface
+  public interface Operation {
+
+    /**
+     * @return the operand holding the result
+     */
+    UInt256 apply(UInt256 first, UInt256 second, UInt256 third);
   }
 }
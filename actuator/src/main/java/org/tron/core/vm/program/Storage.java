@@ -25,22 +25,52 @@ public class Storage {
   private byte[] address;
   @Setter
   private int contractVersion;
+  // the storage this one was made from, its rows are shared until they are written here
+  private final Storage base;
 
   public Storage(byte[] address, StorageRowStore store) {
-    addrHash = addrHash(address);
     this.address = address;
     this.store = store;
+    this.base = null;
+    addrHash = addrHash(address, null);
   }
 
+  /**
+   * A copy of {@code storage} for a nested call. Rows are copied when they are first written
+   * here, until then they are read from {@code storage}, which is not written meanwhile.
+   */
   public Storage(Storage storage) {
     this.addrHash = storage.addrHash.clone();
     this.address = storage.getAddress().clone();
     this.store = storage.store;
     this.contractVersion = storage.contractVersion;
-    storage.getRowCache().forEach((DataWord rowKey, StorageRowCapsule row) -> {
-      StorageRowCapsule newRow = new StorageRowCapsule(row);
-      this.rowCache.put(rowKey.clone(), newRow);
-    });
+    this.base = storage.rowCache.isEmpty() ? storage.base : storage;
+  }
+
+  /**
+   * @return true if {@code storage} is what this one was made from
+   */
+  public boolean isCopyOf(Storage storage) {
+    return base == storage;
+  }
+
+  /**
+   * Takes over the rows and state of {@code copy}, a {@link #isCopyOf(Storage) copy} of this one.
+   */
+  public void merge(Storage copy) {
+    rowCache.putAll(copy.rowCache);
+    addrHash = copy.addrHash;
+    contractVersion = copy.contractVersion;
+  }
+
+  private StorageRowCapsule getRow(DataWord key) {
+    for (Storage storage = this; storage != null; storage = storage.base) {
+      StorageRowCapsule row = storage.rowCache.get(key);
+      if (row != null) {
+        return row;
+      }
+    }
+    return null;
   }
 
   private byte[] compose(byte[] key, byte[] addrHash) {
@@ -53,12 +83,11 @@ public class Storage {
     return result;
   }
 
-  // 32 bytes
-  private static byte[] addrHash(byte[] address) {
-    return Hash.sha3(address);
-  }
-
-  private static byte[] addrHash(byte[] address, byte[] trxHash) {
+  // 32 bytes, remembered by the store while a block is executed
+  private byte[] addrHash(byte[] address, byte[] trxHash) {
+    if (store != null) {
+      return store.getBlockCache().addrHash(address, trxHash);
+    }
     if (ByteUtil.isNullOrZeroArray(trxHash)) {
       return Hash.sha3(address);
     }
@@ -71,8 +100,9 @@ public class Storage {
   }
 
   public DataWord getValue(DataWord key) {
-    if (rowCache.containsKey(key)) {
-      return new DataWord(rowCache.get(key).getValue());
+    StorageRowCapsule cached = getRow(key);
+    if (cached != null) {
+      return new DataWord(cached.getValue());
     } else {
       StorageRowCapsule row = store.get(compose(key.getData(), addrHash));
       if (row == null || row.getInstance() == null) {
@@ -84,8 +114,13 @@ public class Storage {
   }
 
   public void put(DataWord key, DataWord value) {
-    if (rowCache.containsKey(key)) {
-      rowCache.get(key).setValue(value.getData());
+    StorageRowCapsule cached = rowCache.get(key);
+    if (cached == null && base != null && (cached = base.getRow(key)) != null) {
+      cached = new StorageRowCapsule(cached);
+      rowCache.put(key.clone(), cached);
+    }
+    if (cached != null) {
+      cached.setValue(value.getData());
     } else {
       byte[] rowKey = compose(key.getData(), addrHash);
       StorageRowCapsule row = new StorageRowCapsule(rowKey, value.getData());
@@ -94,7 +129,14 @@ public class Storage {
   }
 
   public void commit() {
-    rowCache.forEach((DataWord rowKey, StorageRowCapsule row) -> {
+    Map<DataWord, StorageRowCapsule> rows = rowCache;
+    if (base != null) {
+      rows = new HashMap<>();
+      for (Storage storage = this; storage != null; storage = storage.base) {
+        storage.rowCache.forEach(rows::putIfAbsent);
+      }
+    }
+    rows.forEach((DataWord rowKey, StorageRowCapsule row) -> {
       if (row.isDirty()) {
         if (new DataWord(row.getValue()).isZero()) {
           this.store.delete(row.getRowKey());
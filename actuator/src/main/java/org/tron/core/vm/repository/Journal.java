@@ -0,0 +1,225 @@
+package org.tron.core.vm.repository;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Predicate;
+
+/**
+ * The state a root {@link RepositoryImpl} and all the repositories nested in it share. Every
+ * value is kept once, in an entry tagged with the depth of the repository that wrote it. A write
+ * of a nested repository pushes its entry on top of the ones below it, a read returns the
+ * topmost entry at or below the depth of the reader.
+ *
+ * <p>Each nested repository is a checkpoint: it records the keys it wrote, so that committing
+ * it folds its entries into its parent and reverting it drops them, both at the cost of the
+ * writes it did instead of the size of the state. A repository that is neither committed nor
+ * reverted, as a failed call leaves it, is reverted once its parent commits or opens another
+ * child. Until then its entries are only skipped.</p>
+ */
+final class Journal {
+
+  // the keys written at each depth but the root's, which never reverts
+  private final List<List<Written>> levels = new ArrayList<>();
+  private final List<RepositoryImpl> owners = new ArrayList<>();
+
+  Journal(RepositoryImpl root) {
+    levels.add(null);
+    owners.add(root);
+  }
+
+  <K> Table<K> newTable(Predicate<Object> propagates) {
+    return new Table<>(propagates);
+  }
+
+  /**
+   * @return the depth of the new checkpoint
+   */
+  int push(RepositoryImpl owner) {
+    levels.add(new ArrayList<>());
+    owners.add(owner);
+    return levels.size() - 1;
+  }
+
+  /**
+   * Reverts every checkpoint above {@code depth}.
+   */
+  void revertAbove(int depth) {
+    for (int top = levels.size() - 1; top > depth; top--) {
+      List<Written> written = levels.remove(top);
+      for (int i = written.size() - 1; i >= 0; i--) {
+        written.get(i).unlink(top);
+      }
+      owners.remove(top).close();
+    }
+  }
+
+  /**
+   * Folds the checkpoint at {@code depth}, the topmost one, into the one below it.
+   */
+  void commit(int depth) {
+    revertAbove(depth);
+    List<Written> written = levels.remove(depth);
+    List<Written> below = depth == 1 ? null : levels.get(depth - 1);
+    for (Written w : written) {
+      w.fold(depth, below);
+    }
+    owners.remove(depth).close();
+  }
+
+  private static final class Entry {
+
+    private Object value;
+    private int depth;
+    private Entry previous;
+
+    private Entry(Object value, int depth, Entry previous) {
+      this.value = value;
+      this.depth = depth;
+      this.previous = previous;
+    }
+  }
+
+  private static final class Written {
+
+    private final Table<Object> table;
+    private final Object key;
+
+    @SuppressWarnings("unchecked")
+    private Written(Table<?> table, Object key) {
+      this.table = (Table<Object>) table;
+      this.key = key;
+    }
+
+    private void unlink(int depth) {
+      table.unlink(key, depth);
+    }
+
+    private void fold(int depth, List<Written> below) {
+      table.fold(key, depth, below);
+    }
+  }
+
+  /**
+   * The entries of one kind of value.
+   */
+  final class Table<K> {
+
+    private final Map<K, Entry> entries = new HashMap<>();
+    // whether a value is handed to the parent on commit, as opposed to only being cached
+    private final Predicate<Object> propagates;
+
+    private Table(Predicate<Object> propagates) {
+      this.propagates = propagates;
+    }
+
+    /**
+     * @return the value {@code depth} sees, null if it has none cached
+     */
+    Object get(K key, int depth) {
+      Entry entry = entries.get(key);
+      while (entry != null && entry.depth > depth) {
+        entry = entry.previous;
+      }
+      return entry == null ? null : entry.value;
+    }
+
+    void put(K key, Object value, int depth) {
+      Entry head = entries.get(key);
+      Entry above = null;
+      Entry entry = head;
+      while (entry != null && entry.depth > depth) {
+        above = entry;
+        entry = entry.previous;
+      }
+      if (entry != null && entry.depth == depth) {
+        entry.value = value;
+        return;
+      }
+      Entry written = new Entry(value, depth, entry);
+      if (above == null) {
+        entries.put(key, written);
+      } else {
+        above.previous = written;
+      }
+      if (depth > 0) {
+        levels.get(depth).add(new Written(this, key));
+      }
+    }
+
+    /**
+     * Keeps a value read from the stores for every depth, beneath what was written over it.
+     */
+    void cache(K key, Object value) {
+      Entry head = entries.get(key);
+      if (head == null) {
+        entries.put(key, new Entry(value, 0, null));
+        return;
+      }
+      Entry last = head;
+      while (last.previous != null) {
+        last = last.previous;
+      }
+      if (last.depth > 0) {
+        last.previous = new Entry(value, 0, null);
+      }
+    }
+
+    /**
+     * Passes every value the root sees to {@code action}.
+     */
+    void forEach(BiConsumer<K, Object> action) {
+      entries.forEach((key, head) -> {
+        Entry entry = head;
+        while (entry != null && entry.depth > 0) {
+          entry = entry.previous;
+        }
+        if (entry != null) {
+          action.accept(key, entry.value);
+        }
+      });
+    }
+
+    private void unlink(K key, int depth) {
+      Entry above = null;
+      Entry entry = entries.get(key);
+      while (entry != null && entry.depth > depth) {
+        above = entry;
+        entry = entry.previous;
+      }
+      if (entry == null || entry.depth != depth) {
+        return;
+      }
+      if (above != null) {
+        above.previous = entry.previous;
+      } else if (entry.previous != null) {
+        entries.put(key, entry.previous);
+      } else {
+        entries.remove(key);
+      }
+    }
+
+    private void fold(K key, int depth, List<Written> below) {
+      Entry entry = entries.get(key);
+      while (entry != null && entry.depth > depth) {
+        entry = entry.previous;
+      }
+      if (entry == null || entry.depth != depth) {
+        return;
+      }
+      if (!propagates.test(entry.value)) {
+        unlink(key, depth);
+        return;
+      }
+      Entry previous = entry.previous;
+      if (previous != null && previous.depth == depth - 1) {
+        entry.previous = previous.previous;
+      } else if (below != null) {
+        below.add(new Written(this, key));
+      }
+      entry.depth = depth - 1;
+    }
+  }
+}
@@ -95,8 +95,6 @@ public interface Repository {
 
   Repository newRepositoryChild();
 
-  void setParent(Repository deposit);
-
   void commit();
 
   void putAccount(Key key, Value value);
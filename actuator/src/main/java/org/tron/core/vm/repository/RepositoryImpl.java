@@ -6,12 +6,12 @@ import static org.tron.common.math.Maths.round;
 import static org.tron.core.config.Parameter.ChainConstant.BLOCK_PRODUCED_INTERVAL;
 import static org.tron.core.config.Parameter.ChainConstant.TRX_PRECISION;
 
-import com.google.common.collect.HashBasedTable;
 import com.google.protobuf.ByteString;
 import java.math.BigInteger;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.Optional;
+import java.util.function.BiConsumer;
+import java.util.function.Predicate;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.tuple.Pair;
@@ -122,23 +122,26 @@ public class RepositoryImpl implements Repository {
   @Getter
   private DelegatedResourceAccountIndexStore delegatedResourceAccountIndexStore;
 
-  private Repository parent = null;
-
-  private final HashMap<Key, Value<Account>> accountCache = new HashMap<>();
-  private final HashMap<Key, Value<byte[]>> codeCache = new HashMap<>();
-  private final HashMap<Key, Value<SmartContract>> contractCache = new HashMap<>();
-  private final HashMap<Key, Value<ContractState>> contractStateCache
-      = new HashMap<>();
-  private final HashMap<Key, Storage> storageCache = new HashMap<>();
-
-  private final HashMap<Key, Value<AssetIssueContract>> assetIssueCache = new HashMap<>();
-  private final HashMap<Key, Value<byte[]>> dynamicPropertiesCache = new HashMap<>();
-  private final HashMap<Key, Value<DelegatedResource>> delegatedResourceCache = new HashMap<>();
-  private final HashMap<Key, Value<Votes>> votesCache = new HashMap<>();
-  private final HashMap<Key, Value<byte[]>> delegationCache = new HashMap<>();
-  private final HashMap<Key, Value<DelegatedResourceAccountIndex>> delegatedResourceAccountIndexCache = new HashMap<>();
-  private final HashBasedTable<Key, Key, Value<byte[]>> transientStorage = HashBasedTable.create();
-  private final HashSet<Key> newContractCache = new HashSet<>();
+  private RepositoryImpl parent = null;
+  // shared with the parent, this repository is the checkpoint at depth in it
+  private Journal journal;
+  private int depth;
+  private boolean closed;
+
+  private Journal.Table<Key> accountCache;
+  private Journal.Table<Key> codeCache;
+  private Journal.Table<Key> contractCache;
+  private Journal.Table<Key> contractStateCache;
+  private HashMap<Key, Storage> storageCache;
+
+  private Journal.Table<Key> assetIssueCache;
+  private Journal.Table<Key> dynamicPropertiesCache;
+  private Journal.Table<Key> delegatedResourceCache;
+  private Journal.Table<Key> votesCache;
+  private Journal.Table<Key> delegationCache;
+  private Journal.Table<Key> delegatedResourceAccountIndexCache;
+  private Journal.Table<Pair<Key, Key>> transientStorage;
+  private Journal.Table<Key> newContractCache;
 
   public static void removeLruCache(byte[] address) {
   }
@@ -174,6 +177,77 @@ public class RepositoryImpl implements Repository {
       delegatedResourceAccountIndexStore = manager.getDelegatedResourceAccountIndexStore();
     }
     this.parent = parent;
+    if (parent == null) {
+      journal = new Journal(this);
+      depth = 0;
+      Predicate<Object> dirty = v -> ((Value<?>) v).getType().isCreate()
+          || ((Value<?>) v).getType().isDirty();
+      accountCache = journal.newTable(dirty);
+      codeCache = journal.newTable(dirty);
+      contractCache = journal.newTable(dirty);
+      contractStateCache = journal.newTable(dirty);
+      assetIssueCache = journal.newTable(dirty);
+      dynamicPropertiesCache = journal.newTable(dirty);
+      delegatedResourceCache = journal.newTable(dirty);
+      votesCache = journal.newTable(dirty);
+      delegationCache = journal.newTable(dirty);
+      delegatedResourceAccountIndexCache = journal.newTable(dirty);
+      transientStorage = journal.newTable(dirty);
+      newContractCache = journal.newTable(v -> true);
+    } else {
+      RepositoryImpl open = parent.open();
+      journal = open.journal;
+      journal.revertAbove(open.depth);
+      depth = journal.push(this);
+      accountCache = parent.accountCache;
+      codeCache = parent.codeCache;
+      contractCache = parent.contractCache;
+      contractStateCache = parent.contractStateCache;
+      assetIssueCache = parent.assetIssueCache;
+      dynamicPropertiesCache = parent.dynamicPropertiesCache;
+      delegatedResourceCache = parent.delegatedResourceCache;
+      votesCache = parent.votesCache;
+      delegationCache = parent.delegationCache;
+      delegatedResourceAccountIndexCache = parent.delegatedResourceAccountIndexCache;
+      transientStorage = parent.transientStorage;
+      newContractCache = parent.newContractCache;
+    }
+  }
+
+  /**
+   * @return this repository, or if it was committed or reverted already the closest ancestor
+   *     that was not, which it reads and writes through from then on
+   */
+  private RepositoryImpl open() {
+    RepositoryImpl repository = this;
+    while (repository.closed) {
+      repository = repository.parent;
+    }
+    return repository;
+  }
+
+  private int level() {
+    return closed ? open().depth : depth;
+  }
+
+  void close() {
+    closed = true;
+  }
+
+  @SuppressWarnings("unchecked")
+  private <T> Value<T> lookup(Journal.Table<Key> table, Key key) {
+    return (Value<T>) table.get(key, level());
+  }
+
+  private void write(Journal.Table<Key> table, Key key, Value<?> value) {
+    table.put(key, value, level());
+  }
+
+  private HashMap<Key, Storage> storageCache() {
+    if (storageCache == null) {
+      storageCache = new HashMap<>();
+    }
+    return storageCache;
   }
 
   @Override
@@ -268,20 +342,16 @@ public class RepositoryImpl implements Repository {
   public AssetIssueCapsule getAssetIssue(byte[] tokenId) {
     byte[] tokenIdWithoutLeadingZero = ByteUtil.stripLeadingZeroes(tokenId);
     Key key = Key.create(tokenIdWithoutLeadingZero);
-    if (assetIssueCache.containsKey(key)) {
-      return new AssetIssueCapsule(assetIssueCache.get(key).getValue());
+    Value<AssetIssueContract> value = lookup(assetIssueCache, key);
+    if (value != null) {
+      return new AssetIssueCapsule(value.getValue());
     }
 
-    AssetIssueCapsule assetIssueCapsule;
-    if (this.parent != null) {
-      assetIssueCapsule = parent.getAssetIssue(tokenIdWithoutLeadingZero);
-    } else {
-      assetIssueCapsule = Commons
-          .getAssetIssueStoreFinal(dynamicPropertiesStore, assetIssueStore, assetIssueV2Store)
-          .get(tokenIdWithoutLeadingZero);
-    }
+    AssetIssueCapsule assetIssueCapsule = Commons
+        .getAssetIssueStoreFinal(dynamicPropertiesStore, assetIssueStore, assetIssueV2Store)
+        .get(tokenIdWithoutLeadingZero);
     if (assetIssueCapsule != null) {
-      assetIssueCache.put(key, Value.create(assetIssueCapsule));
+      assetIssueCache.cache(key, Value.create(assetIssueCapsule));
     }
     return assetIssueCapsule;
   }
@@ -290,7 +360,7 @@ public class RepositoryImpl implements Repository {
   public AccountCapsule createAccount(byte[] address, Protocol.AccountType type) {
     Key key = new Key(address);
     AccountCapsule account = new AccountCapsule(ByteString.copyFrom(address), type);
-    accountCache.put(key, Value.create(account, Type.CREATE));
+    write(accountCache, key, Value.create(account, Type.CREATE));
     return account;
   }
 
@@ -301,26 +371,21 @@ public class RepositoryImpl implements Repository {
     AccountCapsule account = new AccountCapsule(ByteString.copyFrom(address),
         ByteString.copyFromUtf8(accountName),
         type);
-    accountCache.put(key, Value.create(account, Type.CREATE));
+    write(accountCache, key, Value.create(account, Type.CREATE));
     return account;
   }
 
   @Override
   public AccountCapsule getAccount(byte[] address) {
     Key key = new Key(address);
-    if (accountCache.containsKey(key)) {
-      return new AccountCapsule(accountCache.get(key).getValue());
-    }
-
-    AccountCapsule accountCapsule;
-    if (parent != null) {
-      accountCapsule = parent.getAccount(address);
-    } else {
-      accountCapsule = getAccountStore().get(address);
+    Value<Account> value = lookup(accountCache, key);
+    if (value != null) {
+      return new AccountCapsule(value.getValue());
     }
 
+    AccountCapsule accountCapsule = getAccountStore().get(address);
     if (accountCapsule != null) {
-      accountCache.put(key, Value.create(accountCapsule));
+      accountCache.cache(key, Value.create(accountCapsule));
     }
     return accountCapsule;
   }
@@ -328,24 +393,21 @@ public class RepositoryImpl implements Repository {
   @Override
   public BytesCapsule getDynamicProperty(byte[] word) {
     Key key = Key.create(word);
-    if (dynamicPropertiesCache.containsKey(key)) {
-      return new BytesCapsule(dynamicPropertiesCache.get(key).getValue());
+    Value<byte[]> value = lookup(dynamicPropertiesCache, key);
+    if (value != null) {
+      return new BytesCapsule(value.getValue());
     }
 
     BytesCapsule bytesCapsule;
-    if (parent != null) {
-      bytesCapsule = parent.getDynamicProperty(word);
-    } else {
-      try {
-        bytesCapsule = getDynamicPropertiesStore().get(word);
-      } catch (BadItemException | ItemNotFoundException e) {
-        logger.warn("Not found dynamic property:" + Strings.fromUTF8ByteArray(word));
-        bytesCapsule = null;
-      }
+    try {
+      bytesCapsule = getDynamicPropertiesStore().get(word);
+    } catch (BadItemException | ItemNotFoundException e) {
+      logger.warn("Not found dynamic property:" + Strings.fromUTF8ByteArray(word));
+      bytesCapsule = null;
     }
 
     if (bytesCapsule != null) {
-      dynamicPropertiesCache.put(key, Value.create(bytesCapsule.getData()));
+      dynamicPropertiesCache.cache(key, Value.create(bytesCapsule.getData()));
     }
     return bytesCapsule;
   }
@@ -353,19 +415,14 @@ public class RepositoryImpl implements Repository {
   @Override
   public DelegatedResourceCapsule getDelegatedResource(byte[] key) {
     Key cacheKey = new Key(key);
-    if (delegatedResourceCache.containsKey(cacheKey)) {
-      return new DelegatedResourceCapsule(delegatedResourceCache.get(cacheKey).getValue());
-    }
-
-    DelegatedResourceCapsule delegatedResourceCapsule;
-    if (parent != null) {
-      delegatedResourceCapsule = parent.getDelegatedResource(key);
-    } else {
-      delegatedResourceCapsule = getDelegatedResourceStore().get(key);
+    Value<DelegatedResource> value = lookup(delegatedResourceCache, cacheKey);
+    if (value != null) {
+      return new DelegatedResourceCapsule(value.getValue());
     }
 
+    DelegatedResourceCapsule delegatedResourceCapsule = getDelegatedResourceStore().get(key);
     if (delegatedResourceCapsule != null) {
-      delegatedResourceCache.put(cacheKey, Value.create(delegatedResourceCapsule));
+      delegatedResourceCache.cache(cacheKey, Value.create(delegatedResourceCapsule));
     }
     return delegatedResourceCapsule;
   }
@@ -373,19 +430,14 @@ public class RepositoryImpl implements Repository {
   @Override
   public VotesCapsule getVotes(byte[] address) {
     Key cacheKey = new Key(address);
-    if (votesCache.containsKey(cacheKey)) {
-      return new VotesCapsule(votesCache.get(cacheKey).getValue());
-    }
-
-    VotesCapsule votesCapsule;
-    if (parent != null) {
-      votesCapsule = parent.getVotes(address);
-    } else {
-      votesCapsule = getVotesStore().get(address);
+    Value<Votes> value = lookup(votesCache, cacheKey);
+    if (value != null) {
+      return new VotesCapsule(value.getValue());
     }
 
+    VotesCapsule votesCapsule = getVotesStore().get(address);
     if (votesCapsule != null) {
-      votesCache.put(cacheKey, Value.create(votesCapsule));
+      votesCache.cache(cacheKey, Value.create(votesCapsule));
     }
     return votesCapsule;
   }
@@ -424,17 +476,13 @@ public class RepositoryImpl implements Repository {
 
   @Override
   public BytesCapsule getDelegation(Key key) {
-    if (delegationCache.containsKey(key)) {
-      return new BytesCapsule(delegationCache.get(key).getValue());
-    }
-    BytesCapsule bytesCapsule;
-    if (parent != null) {
-      bytesCapsule = parent.getDelegation(key);
-    } else {
-      bytesCapsule = getDelegationStore().get(key.getData());
+    Value<byte[]> value = lookup(delegationCache, key);
+    if (value != null) {
+      return new BytesCapsule(value.getValue());
     }
+    BytesCapsule bytesCapsule = getDelegationStore().get(key.getData());
     if (bytesCapsule != null) {
-      delegationCache.put(key, Value.create(bytesCapsule.getData()));
+      delegationCache.cache(key, Value.create(bytesCapsule.getData()));
     }
     return bytesCapsule;
   }
@@ -442,44 +490,25 @@ public class RepositoryImpl implements Repository {
   @Override
   public DelegatedResourceAccountIndexCapsule getDelegatedResourceAccountIndex(byte[] key) {
     Key cacheKey = new Key(key);
-    if (delegatedResourceAccountIndexCache.containsKey(cacheKey)) {
-      return new DelegatedResourceAccountIndexCapsule(
-          delegatedResourceAccountIndexCache.get(cacheKey).getValue());
-    }
-
-    DelegatedResourceAccountIndexCapsule delegatedResourceAccountIndexCapsule;
-    if (parent != null) {
-      delegatedResourceAccountIndexCapsule = parent.getDelegatedResourceAccountIndex(key);
-    } else {
-      delegatedResourceAccountIndexCapsule = getDelegatedResourceAccountIndexStore().get(key);
+    Value<DelegatedResourceAccountIndex> value =
+        lookup(delegatedResourceAccountIndexCache, cacheKey);
+    if (value != null) {
+      return new DelegatedResourceAccountIndexCapsule(value.getValue());
     }
 
+    DelegatedResourceAccountIndexCapsule delegatedResourceAccountIndexCapsule =
+        getDelegatedResourceAccountIndexStore().get(key);
     if (delegatedResourceAccountIndexCapsule != null) {
-      delegatedResourceAccountIndexCache.put(
+      delegatedResourceAccountIndexCache.cache(
           cacheKey, Value.create(delegatedResourceAccountIndexCapsule));
     }
     return delegatedResourceAccountIndexCapsule;
   }
 
   public byte[] getTransientStorageValue(byte[] address, byte[] key) {
-    Key cacheAddress = new Key(address);
-    Key cacheKey = new Key(key);
-    if (transientStorage.contains(cacheAddress, cacheKey)) {
-      return transientStorage.get(cacheAddress, cacheKey).getValue();
-    }
-
-    byte[] value;
-    if (parent != null) {
-      value = parent.getTransientStorageValue(address, key);
-    } else {
-      value = null;
-    }
-
-    if (value != null) {
-      transientStorage.put(cacheAddress, cacheKey, Value.create(value));
-    }
-
-    return value;
+    Value<?> value = (Value<?>) transientStorage.get(
+        Pair.of(new Key(address), new Key(key)), level());
+    return value == null ? null : (byte[]) value.getValue();
   }
 
 
@@ -492,27 +521,21 @@ public class RepositoryImpl implements Repository {
 
   @Override
   public void createContract(byte[] address, ContractCapsule contractCapsule) {
-    contractCache.put(Key.create(address),
-        Value.create(contractCapsule, Type.CREATE));
+    write(contractCache, Key.create(address), Value.create(contractCapsule, Type.CREATE));
     putNewContract(address);
   }
 
   @Override
   public ContractCapsule getContract(byte[] address) {
     Key key = Key.create(address);
-    if (contractCache.containsKey(key)) {
-      return new ContractCapsule(contractCache.get(key).getValue());
-    }
-
-    ContractCapsule contractCapsule;
-    if (parent != null) {
-      contractCapsule = parent.getContract(address);
-    } else {
-      contractCapsule = getContractStore().get(address);
+    Value<SmartContract> value = lookup(contractCache, key);
+    if (value != null) {
+      return new ContractCapsule(value.getValue());
     }
 
+    ContractCapsule contractCapsule = getContractStore().get(address);
     if (contractCapsule != null) {
-      contractCache.put(key, Value.create(contractCapsule));
+      contractCache.cache(key, Value.create(contractCapsule));
     }
     return contractCapsule;
   }
@@ -520,81 +543,60 @@ public class RepositoryImpl implements Repository {
   @Override
   public ContractStateCapsule getContractState(byte[] address) {
     Key key = Key.create(address);
-    if (contractStateCache.containsKey(key)) {
-      return new ContractStateCapsule(contractStateCache.get(key).getValue());
-    }
-
-    ContractStateCapsule contractStateCapsule;
-    if (parent != null) {
-      contractStateCapsule = parent.getContractState(address);
-    } else {
-      contractStateCapsule = getContractStateStore().get(address);
+    Value<ContractState> value = lookup(contractStateCache, key);
+    if (value != null) {
+      return new ContractStateCapsule(value.getValue());
     }
 
+    ContractStateCapsule contractStateCapsule = getContractStateStore().get(address);
     if (contractStateCapsule != null) {
-      contractStateCache.put(key, Value.create(contractStateCapsule));
+      contractStateCache.cache(key, Value.create(contractStateCapsule));
     }
     return contractStateCapsule;
   }
 
   @Override
   public void updateContract(byte[] address, ContractCapsule contractCapsule) {
-    contractCache.put(Key.create(address),
-        Value.create(contractCapsule, Type.DIRTY));
+    write(contractCache, Key.create(address), Value.create(contractCapsule, Type.DIRTY));
   }
 
   @Override
   public void updateContractState(byte[] address, ContractStateCapsule contractStateCapsule) {
-    contractStateCache.put(Key.create(address),
+    write(contractStateCache, Key.create(address),
         Value.create(contractStateCapsule, Type.DIRTY));
   }
 
   @Override
   public void putNewContract(byte[] address) {
-    newContractCache.add(Key.create(address));
+    newContractCache.put(Key.create(address), Boolean.TRUE, level());
   }
 
   @Override
   public boolean isNewContract(byte[] address) {
-    Key key = Key.create(address);
-    if (newContractCache.contains(key)) {
-      return true;
-    }
-
-    if (parent != null) {
-      boolean isNew = parent.isNewContract(address);
-      if (isNew) {
-        newContractCache.add(key);
-      }
-      return isNew;
-    } else {
-      return false;
-    }
+    return newContractCache.get(Key.create(address), level()) != null;
   }
 
   @Override
   public void updateAccount(byte[] address, AccountCapsule accountCapsule) {
-    accountCache.put(Key.create(address),
-        Value.create(accountCapsule, Type.DIRTY));
+    write(accountCache, Key.create(address), Value.create(accountCapsule, Type.DIRTY));
   }
 
   @Override
   public void updateDynamicProperty(byte[] word, BytesCapsule bytesCapsule) {
-    dynamicPropertiesCache.put(Key.create(word),
+    write(dynamicPropertiesCache, Key.create(word),
         Value.create(bytesCapsule.getData(), Type.DIRTY));
   }
 
   @Override
   public void updateDelegatedResource(byte[] word,
       DelegatedResourceCapsule delegatedResourceCapsule) {
-    delegatedResourceCache.put(Key.create(word),
+    write(delegatedResourceCache, Key.create(word),
         Value.create(delegatedResourceCapsule, Type.DIRTY));
   }
 
   @Override
   public void updateVotes(byte[] word, VotesCapsule votesCapsule) {
-    votesCache.put(Key.create(word),
-        Value.create(votesCapsule, Type.DIRTY));
+    write(votesCache, Key.create(word), Value.create(votesCapsule, Type.DIRTY));
   }
 
   @Override
@@ -618,25 +620,25 @@ public class RepositoryImpl implements Repository {
 
   @Override
   public void updateDelegation(byte[] word, BytesCapsule bytesCapsule) {
-    delegationCache.put(Key.create(word),
-        Value.create(bytesCapsule.getData(), Type.DIRTY));
+    write(delegationCache, Key.create(word), Value.create(bytesCapsule.getData(), Type.DIRTY));
   }
 
   @Override
   public void updateDelegatedResourceAccountIndex(
       byte[] word, DelegatedResourceAccountIndexCapsule delegatedResourceAccountIndexCapsule) {
-    delegatedResourceAccountIndexCache.put(
-        Key.create(word), Value.create(delegatedResourceAccountIndexCapsule, Type.DIRTY));
+    write(delegatedResourceAccountIndexCache, Key.create(word),
+        Value.create(delegatedResourceAccountIndexCapsule, Type.DIRTY));
   }
 
   @Override
   public void updateTransientStorageValue(byte[] address, byte[] key, byte[] value) {
-    transientStorage.put(Key.create(address), Key.create(key), Value.create(value, Type.DIRTY));
+    transientStorage.put(Pair.of(Key.create(address), Key.create(key)),
+        Value.create(value, Type.DIRTY), level());
   }
 
   @Override
   public void saveCode(byte[] address, byte[] code) {
-    codeCache.put(Key.create(address), Value.create(code, Type.CREATE));
+    write(codeCache, Key.create(address), Value.create(code, Type.CREATE));
 
     if (VMConfig.allowTvmConstantinople()) {
       ContractCapsule contract = getContract(address);
@@ -649,22 +651,19 @@ public class RepositoryImpl implements Repository {
   @Override
   public byte[] getCode(byte[] address) {
     Key key = Key.create(address);
-    if (codeCache.containsKey(key)) {
-      return codeCache.get(key).getValue();
+    Value<byte[]> value = lookup(codeCache, key);
+    if (value != null) {
+      return value.getValue();
     }
 
     byte[] code;
-    if (parent != null) {
-      code = parent.getCode(address);
+    if (null == getCodeStore().get(address)) {
+      code = null;
     } else {
-      if (null == getCodeStore().get(address)) {
-        code = null;
-      } else {
-        code = getCodeStore().get(address).getData();
-      }
+      code = getCodeStore().get(address).getData();
     }
     if (code != null) {
-      codeCache.put(key, Value.create(code));
+      codeCache.cache(key, Value.create(code));
     }
     return code;
   }
@@ -689,10 +688,8 @@ public class RepositoryImpl implements Repository {
       return null;
     }
     Key addressKey = Key.create(address);
-    Storage storage;
-    if (storageCache.containsKey(addressKey)) {
-      storage = storageCache.get(addressKey);
-    } else {
+    Storage storage = storageCache().get(addressKey);
+    if (storage == null) {
       storage = getStorage(address);
       storageCache.put(addressKey, storage);
     }
@@ -702,14 +699,14 @@ public class RepositoryImpl implements Repository {
   @Override
   public Storage getStorage(byte[] address) {
     Key key = Key.create(address);
-    if (storageCache.containsKey(key)) {
-      return storageCache.get(key);
+    Storage storage = storageCache == null ? null : storageCache.get(key);
+    if (storage != null) {
+      return storage;
     }
-    Storage storage;
     if (this.parent != null) {
       Storage parentStorage = parent.getStorage(address);
       if (StorageUtils.getEnergyLimitHardFork()) {
-        // deep copy
+        // copied on write
         storage = new Storage(parentStorage);
       } else {
         storage = parentStorage;
@@ -752,95 +749,101 @@ public class RepositoryImpl implements Repository {
     }
     accountCapsule.setBalance(addExact(balance, value, VMConfig.disableJavaLangMath()));
     Key key = Key.create(address);
-    accountCache.put(key, Value.create(accountCapsule,
-         accountCache.get(key).getType().addType(Type.DIRTY)));
+    write(accountCache, key, Value.create(accountCapsule,
+        lookup(accountCache, key).getType().clone().addType(Type.DIRTY)));
     return accountCapsule.getBalance();
   }
 
-  @Override
-  public void setParent(Repository repository) {
-    parent = repository;
-  }
-
+  /**
+   * Hands what this repository wrote to its parent, or to the stores for the root one. A nested
+   * repository is closed afterwards, it reads and writes through its parent from then on.
+   */
   @Override
   public void commit() {
-    Repository repository = null;
+    if (closed) {
+      return;
+    }
     if (parent != null) {
-      repository = parent;
+      commitStorageCache(parent);
+      journal.commit(depth);
+      return;
     }
-    commitAccountCache(repository);
-    commitCodeCache(repository);
-    commitContractCache(repository);
-    commitContractStateCache(repository);
-    commitStorageCache(repository);
-    commitDynamicCache(repository);
-    commitDelegatedResourceCache(repository);
-    commitVotesCache(repository);
-    commitDelegationCache(repository);
-    commitDelegatedResourceAccountIndexCache(repository);
-    commitTransientStorage(repository);
-    commitNewContractCache(repository);
+    journal.revertAbove(0);
+    commitAccountCache();
+    commitCodeCache();
+    commitContractCache();
+    commitContractStateCache();
+    commitStorageCache(null);
+    commitDynamicCache();
+    commitDelegatedResourceCache();
+    commitVotesCache();
+    commitDelegationCache();
+    commitDelegatedResourceAccountIndexCache();
   }
 
   @Override
   public void putAccount(Key key, Value value) {
-    accountCache.put(key, value);
+    write(accountCache, key, value);
   }
 
   @Override
   public void putCode(Key key, Value value) {
-    codeCache.put(key, value);
+    write(codeCache, key, value);
   }
 
   @Override
   public void putContract(Key key, Value value) {
-    contractCache.put(key, value);
+    write(contractCache, key, value);
   }
 
   @Override
   public void putContractState(Key key, Value value) {
-    contractStateCache.put(key, value);
+    write(contractStateCache, key, value);
   }
 
   @Override
   public void putStorage(Key key, Storage cache) {
-    storageCache.put(key, cache);
+    Storage storage = storageCache().get(key);
+    if (storage != null && cache.isCopyOf(storage)) {
+      storage.merge(cache);
+    } else {
+      storageCache.put(key, cache);
+    }
   }
 
   @Override
   public void putAccountValue(byte[] address, AccountCapsule accountCapsule) {
-    accountCache.put(new Key(address),
-        Value.create(accountCapsule, Type.CREATE));
+    write(accountCache, new Key(address), Value.create(accountCapsule, Type.CREATE));
   }
 
   @Override
   public void putDynamicProperty(Key key, Value value) {
-    dynamicPropertiesCache.put(key, value);
+    write(dynamicPropertiesCache, key, value);
   }
 
   @Override
   public void putDelegatedResource(Key key, Value value) {
-    delegatedResourceCache.put(key, value);
+    write(delegatedResourceCache, key, value);
   }
 
   @Override
   public void putVotes(Key key, Value value) {
-    votesCache.put(key, value);
+    write(votesCache, key, value);
   }
 
   @Override
   public void putDelegation(Key key, Value value) {
-    delegationCache.put(key, value);
+    write(delegationCache, key, value);
   }
 
   @Override
   public void putDelegatedResourceAccountIndex(Key key, Value value) {
-    delegatedResourceAccountIndexCache.put(key, value);
+    write(delegatedResourceAccountIndexCache, key, value);
   }
 
   @Override
   public void putTransientStorageValue(Key address, Key key, Value value) {
-    transientStorage.put(address, key, value);
+    transientStorage.put(Pair.of(address, key), value, level());
   }
 
   @Override
@@ -869,8 +872,8 @@ public class RepositoryImpl implements Repository {
               getAssetIssueStore());
     }
     Key key = Key.create(address);
-    accountCache.put(key, Value.create(accountCapsule,
-         accountCache.get(key).getType().addType(Type.DIRTY)));
+    write(accountCache, key, Value.create(accountCapsule,
+        lookup(accountCache, key).getType().clone().addType(Type.DIRTY)));
     return accountCapsule.getAssetV2(new String(tokenIdWithoutLeadingZero));
   }
 
@@ -994,60 +997,45 @@ public class RepositoryImpl implements Repository {
         / BLOCK_PRODUCED_INTERVAL;
   }
 
-  private void commitAccountCache(Repository deposit) {
-    accountCache.forEach((key, value) -> {
+  private <T> void forEachDirty(Journal.Table<Key> table, BiConsumer<Key, Value<T>> action) {
+    table.forEach((key, v) -> {
+      @SuppressWarnings("unchecked")
+      Value<T> value = (Value<T>) v;
       if (value.getType().isCreate() || value.getType().isDirty()) {
-        if (deposit != null) {
-          deposit.putAccount(key, value);
-        } else {
-          getAccountStore().put(key.getData(), new AccountCapsule(value.getValue()));
-        }
+        action.accept(key, value);
       }
     });
   }
 
-  private void commitCodeCache(Repository deposit) {
-    codeCache.forEach(((key, value) -> {
-      if (value.getType().isDirty() || value.getType().isCreate()) {
-        if (deposit != null) {
-          deposit.putCode(key, value);
-        } else {
-          getCodeStore().put(key.getData(), new CodeCapsule(value.getValue()));
-        }
-      }
-    }));
-  }
-
-  private void commitContractCache(Repository deposit) {
-    contractCache.forEach(((key, value) -> {
-      if (value.getType().isDirty() || value.getType().isCreate()) {
-        if (deposit != null) {
-          deposit.putContract(key, value);
-        } else {
-          ContractCapsule contractCapsule = new ContractCapsule(value.getValue());
-          if (!abiStore.has(key.getData())) {
-            abiStore.put(key.getData(), new AbiCapsule(contractCapsule));
-          }
-          getContractStore().put(key.getData(), contractCapsule);
-        }
-      }
-    }));
-  }
-
-  private void commitContractStateCache(Repository deposit) {
-    contractStateCache.forEach(((key, value) -> {
-      if (value.getType().isDirty() || value.getType().isCreate()) {
-        if (deposit != null) {
-          deposit.putContractState(key, value);
-        } else {
-          ContractStateCapsule contractStateCapsule = new ContractStateCapsule(value.getValue());
-          getContractStateStore().put(key.getData(), contractStateCapsule);
-        }
+  private void commitAccountCache() {
+    this.<Account>forEachDirty(accountCache, (key, value) ->
+        getAccountStore().put(key.getData(), new AccountCapsule(value.getValue())));
+  }
+
+  private void commitCodeCache() {
+    this.<byte[]>forEachDirty(codeCache, (key, value) ->
+        getCodeStore().put(key.getData(), new CodeCapsule(value.getValue())));
+  }
+
+  private void commitContractCache() {
+    this.<SmartContract>forEachDirty(contractCache, (key, value) -> {
+      ContractCapsule contractCapsule = new ContractCapsule(value.getValue());
+      if (!abiStore.has(key.getData())) {
+        abiStore.put(key.getData(), new AbiCapsule(contractCapsule));
       }
-    }));
+      getContractStore().put(key.getData(), contractCapsule);
+    });
+  }
+
+  private void commitContractStateCache() {
+    this.<ContractState>forEachDirty(contractStateCache, (key, value) ->
+        getContractStateStore().put(key.getData(), new ContractStateCapsule(value.getValue())));
   }
 
   private void commitStorageCache(Repository deposit) {
+    if (storageCache == null) {
+      return;
+    }
     storageCache.forEach((Key address, Storage storage) -> {
       if (deposit != null) {
         // write to parent cache
@@ -1060,86 +1048,37 @@ public class RepositoryImpl implements Repository {
 
   }
 
-  private void commitDynamicCache(Repository deposit) {
-    dynamicPropertiesCache.forEach(((key, value) -> {
-      if (value.getType().isDirty() || value.getType().isCreate()) {
-        if (deposit != null) {
-          deposit.putDynamicProperty(key, value);
-        } else {
-          getDynamicPropertiesStore().put(key.getData(), new BytesCapsule(value.getValue()));
-        }
-      }
-    }));
+  private void commitDynamicCache() {
+    this.<byte[]>forEachDirty(dynamicPropertiesCache, (key, value) ->
+        getDynamicPropertiesStore().put(key.getData(), new BytesCapsule(value.getValue())));
   }
 
-  private void commitDelegatedResourceCache(Repository deposit) {
-    delegatedResourceCache.forEach(((key, value) -> {
-      if (value.getType().isDirty() || value.getType().isCreate()) {
-        if (deposit != null) {
-          deposit.putDelegatedResource(key, value);
-        } else {
-          getDelegatedResourceStore().put(key.getData(), new DelegatedResourceCapsule(value.getValue()));
-        }
-      }
-    }));
+  private void commitDelegatedResourceCache() {
+    this.<DelegatedResource>forEachDirty(delegatedResourceCache, (key, value) ->
+        getDelegatedResourceStore().put(key.getData(),
+            new DelegatedResourceCapsule(value.getValue())));
   }
 
-  private void commitVotesCache(Repository deposit) {
-    votesCache.forEach(((key, value) -> {
-      if (value.getType().isDirty() || value.getType().isCreate()) {
-        if (deposit != null) {
-          deposit.putVotes(key, value);
-        } else {
-          getVotesStore().put(key.getData(), new VotesCapsule(value.getValue()));
-        }
-      }
-    }));
+  private void commitVotesCache() {
+    this.<Votes>forEachDirty(votesCache, (key, value) ->
+        getVotesStore().put(key.getData(), new VotesCapsule(value.getValue())));
   }
 
-  private void commitDelegationCache(Repository deposit) {
-    delegationCache.forEach((key, value) -> {
-      if (value.getType().isDirty() || value.getType().isCreate()) {
-        if (deposit != null) {
-          deposit.putDelegation(key, value);
-        } else {
-          getDelegationStore().put(key.getData(), new BytesCapsule(value.getValue()));
-        }
-      }
-    });
+  private void commitDelegationCache() {
+    this.<byte[]>forEachDirty(delegationCache, (key, value) ->
+        getDelegationStore().put(key.getData(), new BytesCapsule(value.getValue())));
   }
 
-  private void commitDelegatedResourceAccountIndexCache(Repository deposit) {
-    delegatedResourceAccountIndexCache.forEach(((key, value) -> {
-      if (value.getType().isDirty() || value.getType().isCreate()) {
-        if (deposit != null) {
-          deposit.putDelegatedResourceAccountIndex(key, value);
-        } else {
+  private void commitDelegatedResourceAccountIndexCache() {
+    this.<DelegatedResourceAccountIndex>forEachDirty(delegatedResourceAccountIndexCache,
+        (key, value) -> {
           if (ByteUtil.isNullOrZeroArray(value.getValue().toByteArray())) {
             getDelegatedResourceAccountIndexStore().delete(key.getData());
           } else {
             getDelegatedResourceAccountIndexStore().put(key.getData(),
                 new DelegatedResourceAccountIndexCapsule(value.getValue()));
           }
-        }
-      }
-    }));
-  }
-
-  public void commitTransientStorage(Repository deposit) {
-    if (deposit != null) {
-      transientStorage.cellSet().forEach(cell -> {
-        if (cell.getValue().getType().isDirty() || cell.getValue().getType().isCreate()) {
-          deposit.putTransientStorageValue(
-              cell.getRowKey(), cell.getColumnKey(), cell.getValue());
-        }
-      });
-    }
-  }
-
-  public void commitNewContractCache(Repository deposit) {
-    if (deposit != null) {
-      newContractCache.forEach(key -> deposit.putNewContract(key.getData()));
-    }
+        });
   }
 
   /**
@@ -1158,7 +1097,7 @@ public class RepositoryImpl implements Repository {
         getDynamicPropertiesStore().getLatestBlockHeaderTimestamp(), withDefaultPermission,
         getDynamicPropertiesStore());
 
-    accountCache.put(key, Value.create(account, Type.CREATE));
+    write(accountCache, key, Value.create(account, Type.CREATE));
     return account;
   }
 
@@ -0,0 +1,158 @@
+package org.tron.core.vm.trace;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import lombok.AccessLevel;
+import lombok.Getter;
+import org.tron.common.runtime.ProgramResult;
+import org.tron.common.runtime.vm.DataWord;
+import org.tron.common.utils.ByteArray;
+import org.tron.core.vm.MessageCall;
+import org.tron.core.vm.Op;
+import org.tron.core.vm.program.Program;
+
+/**
+ * Records the tree of calls and creates the execution makes, each with what it was given and
+ * what it returned, as the callTracer of debug_traceTransaction does.
+ */
+public class CallTracer extends ExecutionTracer {
+
+  // stands in for a frame the sink had no room for, and for the frames under it
+  private static final Frame DROPPED = new Frame(null, null, null, null, null, 0, null);
+
+  private final TraceSink<Frame> frames;
+  private final Deque<Frame> running = new ArrayDeque<>();
+  private Frame root;
+  // the opcode run last, which for a frame that just entered is the one that made it
+  private int lastOp;
+
+  public CallTracer(int limit) {
+    this.frames = new TraceSink<>(limit);
+  }
+
+  @Override
+  public void enter(Program program) {
+    Frame parent = running.peek();
+    if (parent == DROPPED || !frames.accepts()) {
+      running.push(DROPPED);
+      return;
+    }
+    boolean create = "create".equals(program.getInternalTransaction().getNote());
+    String type;
+    byte[] from;
+    if (parent == null) {
+      type = create ? Op.getNameOf(Op.CREATE) : Op.getNameOf(Op.CALL);
+      from = program.getCallerAddress().toTronAddress();
+    } else {
+      type = Op.getNameOf(lastOp);
+      from = parent.context;
+    }
+    byte[] input = create ? program.getCode()
+        : program.getDataCopy(DataWord.ZERO(), program.getDataSize());
+    Frame frame = new Frame(type, program.getContextAddress(), from, program.getCodeAddress(),
+        program.getCallValue(), program.getEnergylimitLeftLong(), input);
+    frames.add(frame);
+    if (parent == null) {
+      root = frame;
+    } else {
+      parent.calls().add(frame);
+    }
+    running.push(frame);
+  }
+
+  @Override
+  public void step(Program program, int op, long energy) {
+    lastOp = op;
+  }
+
+  @Override
+  public void exit(Program program) {
+    Frame frame = running.pop();
+    if (frame == DROPPED) {
+      return;
+    }
+    ProgramResult result = program.getResult();
+    String error = null;
+    if (result.getException() != null) {
+      error = result.getException().getMessage();
+    } else if (result.isRevert()) {
+      error = "execution reverted";
+    }
+    frame.end(result.getEnergyUsed(), result.getHReturn(), error);
+  }
+
+  @Override
+  public void call(Program caller, MessageCall msg, byte[] input, byte[] output, long energyUsed,
+      boolean success) {
+    Frame parent = running.peek();
+    if (parent == null || parent == DROPPED || !frames.accepts()) {
+      return;
+    }
+    byte[] to = msg.getCodeAddress().toTronAddress();
+    Frame frame = new Frame(Op.getNameOf(msg.getOpCode()), to, parent.context, to,
+        msg.getEndowment(), msg.getEnergy().longValueSafe(), input);
+    frame.end(energyUsed, output, success ? null : "call failed");
+    frames.add(frame);
+    parent.calls().add(frame);
+  }
+
+  /**
+   * @return the root call, null if the execution ran no code
+   */
+  @Override
+  public Frame getResult() {
+    if (root != null && frames.isTruncated()) {
+      root.truncated = Boolean.TRUE;
+    }
+    return root;
+  }
+
+  @Getter
+  @JsonInclude(Include.NON_NULL)
+  public static class Frame {
+
+    private final String type;
+    private final String from;
+    private final String to;
+    private final String value;
+    private final String gas;
+    private String gasUsed;
+    private final String input;
+    private String output;
+    private String error;
+    private List<Frame> calls;
+    // only set on the root, once frames were dropped
+    private Boolean truncated;
+    // the address the frame runs in, whose calls it makes
+    @Getter(AccessLevel.NONE)
+    private final byte[] context;
+
+    private Frame(String type, byte[] context, byte[] from, byte[] to, DataWord value,
+        long energy, byte[] input) {
+      this.type = type;
+      this.context = context;
+      this.from = ByteArray.toJsonHexAddress(from);
+      this.to = ByteArray.toJsonHexAddress(to);
+      this.value = value == null ? null : "0x" + value.value().toString(16);
+      this.gas = ByteArray.toJsonHex(energy);
+      this.input = ByteArray.toJsonHex(input);
+    }
+
+    private void end(long energyUsed, byte[] output, String error) {
+      this.gasUsed = ByteArray.toJsonHex(energyUsed);
+      this.output = ByteArray.toJsonHex(output);
+      this.error = error;
+    }
+
+    private List<Frame> calls() {
+      if (calls == null) {
+        calls = new ArrayList<>();
+      }
+      return calls;
+    }
+  }
+}
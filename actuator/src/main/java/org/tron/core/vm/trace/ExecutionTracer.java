@@ -0,0 +1,72 @@
+package org.tron.core.vm.trace;
+
+import org.tron.core.vm.MessageCall;
+import org.tron.core.vm.program.Program;
+
+/**
+ * Follows one execution of the TVM as it runs, frame by frame and opcode by opcode, and keeps
+ * what it needs of it, as the {@link CallTracer call tree} or the {@link StructLogTracer struct
+ * logs} of a transaction.
+ *
+ * <p>A tracer is {@link #install(ExecutionTracer) installed} on the thread that executes the
+ * transaction. {@link org.tron.core.vm.VM#play} looks it up once per frame, so an execution
+ * nothing traces only checks a local for null per opcode. Unlike the {@link ProgramTrace} kept
+ * for every execution with {@link org.tron.core.vm.config.VMConfig#vmTrace()}, a tracer keeps
+ * what it records in a {@link TraceSink}, which bounds it.</p>
+ */
+public abstract class ExecutionTracer {
+
+  private static final ThreadLocal<ExecutionTracer> CURRENT = new ThreadLocal<>();
+
+  /**
+   * Traces the executions on the calling thread with {@code tracer} until {@link #uninstall()}.
+   */
+  public static void install(ExecutionTracer tracer) {
+    if (CURRENT.get() != null) {
+      throw new IllegalStateException("A tracer is already installed on this thread");
+    }
+    CURRENT.set(tracer);
+  }
+
+  /**
+   * @return the tracer installed on the calling thread, null if there is none
+   */
+  public static ExecutionTracer current() {
+    return CURRENT.get();
+  }
+
+  public static void uninstall() {
+    CURRENT.remove();
+  }
+
+  /**
+   * The frame {@code program} starts running its code, the root frame first.
+   */
+  public void enter(Program program) {
+  }
+
+  /**
+   * {@code program} has spent the {@code energy} {@code op} costs and is about to run it.
+   */
+  public void step(Program program, int op, long energy) {
+  }
+
+  /**
+   * The frame {@code program} stopped. Its result is final, but for the energy its caller is
+   * refunded.
+   */
+  public void exit(Program program) {
+  }
+
+  /**
+   * {@code caller} called an account without code or a precompiled contract, which run no frame.
+   */
+  public void call(Program caller, MessageCall msg, byte[] input, byte[] output, long energyUsed,
+      boolean success) {
+  }
+
+  /**
+   * @return what the tracer recorded, as the debug API returns it
+   */
+  public abstract Object getResult();
+}
@@ -0,0 +1,111 @@
+package org.tron.core.vm.trace;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.Getter;
+import org.tron.common.runtime.ProgramResult;
+import org.tron.common.runtime.vm.DataWord;
+import org.tron.common.utils.ByteArray;
+import org.tron.core.vm.Op;
+import org.tron.core.vm.program.Program;
+import org.tron.core.vm.program.Stack;
+
+/**
+ * Logs every opcode the execution runs, with the energy it had and spent and, unless disabled,
+ * the stack it ran on, as the default tracer of debug_traceTransaction does.
+ */
+public class StructLogTracer extends ExecutionTracer {
+
+  private final TraceSink<StructLog> logs;
+  private final boolean disableStack;
+  private long energyUsed;
+  private boolean failed;
+  private String returnValue = ByteArray.toJsonHex(new byte[0]);
+
+  public StructLogTracer(int limit, boolean disableStack) {
+    this.logs = new TraceSink<>(limit);
+    this.disableStack = disableStack;
+  }
+
+  @Override
+  public void step(Program program, int op, long energy) {
+    if (!logs.accepts()) {
+      return;
+    }
+    List<String> stack = null;
+    if (!disableStack) {
+      Stack words = program.getStack();
+      stack = new ArrayList<>(words.size());
+      for (int i = 0; i < words.size(); i++) {
+        stack.add(toQuantity(words.get(i)));
+      }
+    }
+    logs.add(new StructLog(program.getPC(), Op.getNameOf(op),
+        program.getEnergylimitLeftLong() + energy, energy, program.getCallDeep() + 1, stack));
+  }
+
+  @Override
+  public void exit(Program program) {
+    if (program.getCallDeep() != 0) {
+      return;
+    }
+    ProgramResult result = program.getResult();
+    energyUsed = result.getEnergyUsed();
+    failed = result.getException() != null || result.isRevert();
+    returnValue = ByteArray.toJsonHex(result.getHReturn());
+  }
+
+  @Override
+  public Result getResult() {
+    return new Result(energyUsed, failed, returnValue, logs.getEntries(),
+        logs.isTruncated() ? Boolean.TRUE : null);
+  }
+
+  private static String toQuantity(DataWord word) {
+    return "0x" + word.value().toString(16);
+  }
+
+  @Getter
+  @JsonInclude(Include.NON_NULL)
+  public static class StructLog {
+
+    private final int pc;
+    private final String op;
+    private final long gas;
+    private final long gasCost;
+    private final int depth;
+    private final List<String> stack;
+
+    StructLog(int pc, String op, long gas, long gasCost, int depth, List<String> stack) {
+      this.pc = pc;
+      this.op = op;
+      this.gas = gas;
+      this.gasCost = gasCost;
+      this.depth = depth;
+      this.stack = stack;
+    }
+  }
+
+  @Getter
+  @JsonInclude(Include.NON_NULL)
+  public static class Result {
+
+    private final long gas;
+    private final boolean failed;
+    private final String returnValue;
+    private final List<StructLog> structLogs;
+    // only set once logs were dropped
+    private final Boolean truncated;
+
+    Result(long gas, boolean failed, String returnValue, List<StructLog> structLogs,
+        Boolean truncated) {
+      this.gas = gas;
+      this.failed = failed;
+      this.returnValue = returnValue;
+      this.structLogs = structLogs;
+      this.truncated = truncated;
+    }
+  }
+}
@@ -0,0 +1,53 @@
+package org.tron.core.vm.trace;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Holds what a tracer records as the execution goes, up to a limit. Past it the rest is dropped
+ * and the trace reported truncated, so tracing a long execution takes a bounded amount of memory.
+ */
+public class TraceSink<T> {
+
+  private final int limit;
+  private final List<T> entries = new ArrayList<>();
+  private boolean truncated;
+
+  public TraceSink(int limit) {
+    if (limit <= 0) {
+      throw new IllegalArgumentException("limit must be positive, got: " + limit);
+    }
+    this.limit = limit;
+  }
+
+  /**
+   * @return false, marking the trace truncated, if the sink is full, so a tracer need not build
+   *     an entry it would drop
+   */
+  public boolean accepts() {
+    if (entries.size() < limit) {
+      return true;
+    }
+    truncated = true;
+    return false;
+  }
+
+  /**
+   * @return false if the sink is full and dropped {@code entry}
+   */
+  public boolean add(T entry) {
+    if (!accepts()) {
+      return false;
+    }
+    entries.add(entry);
+    return true;
+  }
+
+  public List<T> getEntries() {
+    return entries;
+  }
+
+  public boolean isTruncated() {
+    return truncated;
+  }
+}
@@ -20,12 +20,14 @@ import static org.fusesource.leveldbjni.JniDBFactory.factory;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.Sets;
 import com.google.common.primitives.Bytes;
+import com.google.common.primitives.UnsignedBytes;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
@@ -224,6 +226,29 @@ public class LevelDbDataSourceImpl extends DbStat implements DbSourceInter<byte[
     }
   }
 
+  /**
+   * Reads the keys in key order, so keys sharing a block are read back to back while the block
+   * is still cached.
+   */
+  @Override
+  public Map<WrappedByteArray, byte[]> getAll(Collection<byte[]> keys) {
+    List<byte[]> sorted = new ArrayList<>(keys);
+    sorted.sort(UnsignedBytes.lexicographicalComparator());
+    resetDbLock.readLock().lock();
+    try {
+      Map<WrappedByteArray, byte[]> result = new HashMap<>();
+      for (byte[] key : sorted) {
+        byte[] value = database.get(key);
+        if (value != null) {
+          result.put(WrappedByteArray.of(key), value);
+        }
+      }
+      return result;
+    } finally {
+      resetDbLock.readLock().unlock();
+    }
+  }
+
   @Override
   public void putData(byte[] key, byte[] value) {
     resetDbLock.readLock().lock();
@@ -401,9 +426,10 @@ public class LevelDbDataSourceImpl extends DbStat implements DbSourceInter<byte[
     }
   }
 
-  private void updateByBatchInner(Map<byte[], byte[]> rows, WriteOptions options) throws Exception {
+  private void updateByBatchInner(List<Map<byte[], byte[]>> batches, WriteOptions options)
+      throws Exception {
     try (WriteBatch batch = database.createWriteBatch()) {
-      innerBatchUpdate(rows,batch);
+      batches.forEach(rows -> innerBatchUpdate(rows, batch));
       database.write(batch, options);
     }
   }
@@ -429,12 +455,21 @@ public class LevelDbDataSourceImpl extends DbStat implements DbSourceInter<byte[
   }
 
   private void updateByBatch(Map<byte[], byte[]> rows, WriteOptions options) {
+    updateByBatch(Collections.singletonList(rows), options);
+  }
+
+  @Override
+  public void updateByBatch(List<Map<byte[], byte[]>> batches, WriteOptionsWrapper options) {
+    this.updateByBatch(batches, options.level);
+  }
+
+  private void updateByBatch(List<Map<byte[], byte[]>> batches, WriteOptions options) {
     resetDbLock.readLock().lock();
     try {
-      updateByBatchInner(rows, options);
+      updateByBatchInner(batches, options);
     } catch (Exception e) {
       try {
-        updateByBatchInner(rows, options);
+        updateByBatchInner(batches, options);
       } catch (Exception e1) {
         throw new RuntimeException(e1);
       }
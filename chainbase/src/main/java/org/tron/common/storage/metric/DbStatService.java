@@ -1,13 +1,17 @@
 package org.tron.common.storage.metric;
 
+import io.prometheus.client.CollectorRegistry;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
+import javax.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 import org.tron.common.es.ExecutorServiceManager;
 import org.tron.common.prometheus.Metrics;
+import org.tron.common.storage.rocksdb.RocksDbDataSourceImpl;
 import org.tron.core.db.common.DbSourceInter;
 import org.tron.core.db2.common.DB;
+import org.tron.core.db2.common.RocksDB;
 
 @Slf4j(topic = "metrics")
 @Component
@@ -15,21 +19,41 @@ public class DbStatService {
   private final String esName = "db-stats";
   private final ScheduledExecutorService statExecutor  =
       ExecutorServiceManager.newSingleThreadScheduledExecutor(esName);
+  private final RocksDbExports rocksDbExports = new RocksDbExports();
+
+  @PostConstruct
+  private void init() {
+    if (Metrics.enabled()) {
+      try {
+        rocksDbExports.register(CollectorRegistry.defaultRegistry);
+      } catch (IllegalArgumentException e) {
+        // a previous instance in this JVM was not shut down
+        logger.warn("RocksDB metrics already registered: {}", e.getMessage());
+      }
+    }
+  }
 
   public  void register(DB<byte[], byte[]> db) {
     if (Metrics.enabled()) {
       statExecutor.scheduleWithFixedDelay(db::stat, 0, 6, TimeUnit.HOURS);
+      if (db instanceof RocksDB) {
+        rocksDbExports.add(((RocksDB) db).getDb());
+      }
     }
   }
 
   public  void register(DbSourceInter<byte[]> db) {
     if (Metrics.enabled()) {
       statExecutor.scheduleWithFixedDelay(db::stat, 0, 6, TimeUnit.HOURS);
+      if (db instanceof RocksDbDataSourceImpl) {
+        rocksDbExports.add((RocksDbDataSourceImpl) db);
+      }
     }
   }
 
   public void shutdown() {
     if (Metrics.enabled()) {
+      CollectorRegistry.defaultRegistry.unregister(rocksDbExports);
       ExecutorServiceManager.shutdownAndAwaitTermination(statExecutor, esName);
     }
   }
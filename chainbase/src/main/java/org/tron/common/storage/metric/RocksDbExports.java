@@ -0,0 +1,136 @@
+package org.tron.common.storage.metric;
+
+import static io.prometheus.client.SampleNameFilter.ALLOW_ALL;
+
+import io.prometheus.client.Collector;
+import io.prometheus.client.GaugeMetricFamily;
+import io.prometheus.client.Predicate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArraySet;
+import org.rocksdb.HistogramType;
+import org.rocksdb.TickerType;
+import org.tron.common.storage.rocksdb.RocksDbDataSourceImpl;
+
+/**
+ * Exports what RocksDB knows about itself, read at scrape time from the registered databases.
+ * <p>
+ * Example metrics being exported:
+ * <pre>
+ *   tron:rocksdb_property{db="account",property="estimate-num-keys"} 1.2E8
+ *   tron:rocksdb_block_cache_bytes{type="usage"} 1.0737E9
+ *   tron:rocksdb_ticker{db="account",ticker="block_cache_hit"} 3000
+ *   tron:rocksdb_latency_micros{db="account",op="get",quantile="0.99"} 35.2
+ * </pre>
+ * Ticker and latency metrics are only exported with {@code storage.dbSettings.enableStatistics}.
+ */
+public class RocksDbExports extends Collector {
+
+  private static final String TRON_ROCKSDB_PROPERTY = "tron:rocksdb_property";
+  private static final String TRON_ROCKSDB_BLOCK_CACHE_BYTES = "tron:rocksdb_block_cache_bytes";
+  private static final String TRON_ROCKSDB_TICKER = "tron:rocksdb_ticker";
+  private static final String TRON_ROCKSDB_LATENCY_MICROS = "tron:rocksdb_latency_micros";
+
+  private static final String PREFIX = "rocksdb.";
+  private static final List<String> PROPERTIES = Arrays.asList(
+      PREFIX + "estimate-num-keys",
+      PREFIX + "estimate-live-data-size",
+      PREFIX + "total-sst-files-size",
+      PREFIX + "cur-size-all-mem-tables",
+      PREFIX + "estimate-table-readers-mem",
+      PREFIX + "estimate-pending-compaction-bytes");
+  // the block cache is shared, any database reports the same values
+  private static final List<String> BLOCK_CACHE_PROPERTIES = Arrays.asList(
+      PREFIX + "block-cache-usage",
+      PREFIX + "block-cache-pinned-usage",
+      PREFIX + "block-cache-capacity");
+  private static final List<TickerType> TICKERS = Arrays.asList(
+      TickerType.BLOCK_CACHE_HIT,
+      TickerType.BLOCK_CACHE_MISS,
+      TickerType.BLOOM_FILTER_USEFUL,
+      TickerType.BLOOM_FILTER_PREFIX_USEFUL,
+      TickerType.MEMTABLE_HIT,
+      TickerType.MEMTABLE_MISS,
+      TickerType.NUMBER_KEYS_READ,
+      TickerType.NUMBER_KEYS_WRITTEN,
+      TickerType.BYTES_READ,
+      TickerType.BYTES_WRITTEN,
+      TickerType.COMPACT_READ_BYTES,
+      TickerType.COMPACT_WRITE_BYTES,
+      TickerType.STALL_MICROS);
+  private static final List<HistogramType> HISTOGRAMS = Arrays.asList(
+      HistogramType.DB_GET,
+      HistogramType.DB_WRITE);
+
+  private final Set<RocksDbDataSourceImpl> dbs = new CopyOnWriteArraySet<>();
+
+  public void add(RocksDbDataSourceImpl db) {
+    dbs.add(db);
+  }
+
+  void addPropertyMetrics(List<MetricFamilySamples> sampleFamilies,
+                          Predicate<String> nameFilter) {
+    if (nameFilter.test(TRON_ROCKSDB_PROPERTY)) {
+      GaugeMetricFamily property = new GaugeMetricFamily(
+          TRON_ROCKSDB_PROPERTY,
+          "Integer property of a RocksDB database.",
+          Arrays.asList("db", "property"));
+      dbs.forEach(db -> db.getLongProperties(PROPERTIES).forEach((k, v) -> property
+          .addMetric(Arrays.asList(db.getName(), k.substring(PREFIX.length())), v)));
+      sampleFamilies.add(property);
+    }
+    if (nameFilter.test(TRON_ROCKSDB_BLOCK_CACHE_BYTES)) {
+      GaugeMetricFamily blockCache = new GaugeMetricFamily(
+          TRON_ROCKSDB_BLOCK_CACHE_BYTES,
+          "Bytes of the block cache shared by all RocksDB databases.",
+          Collections.singletonList("type"));
+      dbs.stream().filter(RocksDbDataSourceImpl::isAlive).findAny()
+          .ifPresent(db -> db.getLongProperties(BLOCK_CACHE_PROPERTIES).forEach((k, v) ->
+              blockCache.addMetric(Collections.singletonList(
+                  k.substring((PREFIX + "block-cache-").length())), v)));
+      sampleFamilies.add(blockCache);
+    }
+  }
+
+  void addStatisticsMetrics(List<MetricFamilySamples> sampleFamilies,
+                            Predicate<String> nameFilter) {
+    if (nameFilter.test(TRON_ROCKSDB_TICKER)) {
+      GaugeMetricFamily ticker = new GaugeMetricFamily(
+          TRON_ROCKSDB_TICKER,
+          "Ticker count of a RocksDB database.",
+          Arrays.asList("db", "ticker"));
+      dbs.forEach(db -> db.getTickers(TICKERS).forEach((k, v) -> ticker
+          .addMetric(Arrays.asList(db.getName(), k.name().toLowerCase()), v)));
+      sampleFamilies.add(ticker);
+    }
+    if (nameFilter.test(TRON_ROCKSDB_LATENCY_MICROS)) {
+      GaugeMetricFamily latency = new GaugeMetricFamily(
+          TRON_ROCKSDB_LATENCY_MICROS,
+          "Latency quantiles of reads and writes of a RocksDB database, in microseconds.",
+          Arrays.asList("db", "op", "quantile"));
+      dbs.forEach(db -> db.getHistograms(HISTOGRAMS).forEach((k, v) -> {
+        String op = k == HistogramType.DB_GET ? "get" : "write";
+        latency.addMetric(Arrays.asList(db.getName(), op, "0.5"), v.getMedian());
+        latency.addMetric(Arrays.asList(db.getName(), op, "0.95"), v.getPercentile95());
+        latency.addMetric(Arrays.asList(db.getName(), op, "0.99"), v.getPercentile99());
+      }));
+      sampleFamilies.add(latency);
+    }
+  }
+
+  @Override
+  public List<MetricFamilySamples> collect() {
+    return collect(null);
+  }
+
+  @Override
+  public List<MetricFamilySamples> collect(Predicate<String> nameFilter) {
+    List<MetricFamilySamples> mfs = new ArrayList<>();
+    addPropertyMetrics(mfs, nameFilter == null ? ALLOW_ALL : nameFilter);
+    addStatisticsMetrics(mfs, nameFilter == null ? ALLOW_ALL : nameFilter);
+    return mfs;
+  }
+}
@@ -10,8 +10,11 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.EnumMap;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -22,12 +25,16 @@ import java.util.stream.Collectors;
 import lombok.NoArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.rocksdb.Checkpoint;
+import org.rocksdb.HistogramData;
+import org.rocksdb.HistogramType;
 import org.rocksdb.Options;
 import org.rocksdb.ReadOptions;
 import org.rocksdb.RocksDB;
 import org.rocksdb.RocksDBException;
 import org.rocksdb.RocksIterator;
+import org.rocksdb.Statistics;
 import org.rocksdb.Status;
+import org.rocksdb.TickerType;
 import org.rocksdb.WriteBatch;
 import org.rocksdb.WriteOptions;
 import org.tron.common.error.TronDBException;
@@ -53,6 +60,8 @@ public class RocksDbDataSourceImpl extends DbStat implements DbSourceInter<byte[
   private String parentPath;
   private ReadWriteLock resetDbLock = new ReentrantReadWriteLock();
   private Options options;
+  private Statistics statistics;
+  private int prefixLength;
 
   public RocksDbDataSourceImpl(String parentPath, String name) {
     this.dataBaseName = name;
@@ -82,6 +91,10 @@ public class RocksDbDataSourceImpl extends DbStat implements DbSourceInter<byte[
       if (this.options != null) {
         this.options.close();
       }
+      if (this.statistics != null) {
+        this.statistics.close();
+        this.statistics = null;
+      }
       database.close();
       alive = false;
     } catch (Exception e) {
@@ -200,6 +213,8 @@ public class RocksDbDataSourceImpl extends DbStat implements DbSourceInter<byte[
               TronError.ErrCode.ROCKSDB_INIT);
           this.options = RocksDbSettings.getOptionsByDbName(dataBaseName);
           database = RocksDB.open(this.options, dbPath.toString());
+          this.statistics = this.options.statistics();
+          this.prefixLength = RocksDbSettings.getSettings().getPrefixLength(dataBaseName);
         } catch (RocksDBException e) {
           if (Objects.equals(e.getStatus().getCode(), Status.Code.Corruption)) {
             logger.error("Database {} corrupted, please delete database directory({}) "
@@ -255,6 +270,38 @@ public class RocksDbDataSourceImpl extends DbStat implements DbSourceInter<byte[
     }
   }
 
+  /**
+   * Reads all keys with one MultiGet, the keys are looked up in parallel by RocksDB and only
+   * cross the JNI boundary once.
+   */
+  @Override
+  public Map<WrappedByteArray, byte[]> getAll(Collection<byte[]> keys) {
+    resetDbLock.readLock().lock();
+    try {
+      throwIfNotAlive();
+      List<byte[]> keyList = new ArrayList<>(keys);
+      keyList.forEach(key -> checkArgNotNull(key, "key"));
+      Map<WrappedByteArray, byte[]> result = new HashMap<>();
+      if (keyList.isEmpty()) {
+        return result;
+      }
+      List<byte[]> values;
+      try (ReadOptions readOptions = new ReadOptions()) {
+        values = MultiGetWrapper.multiGet(database, readOptions, keyList);
+      }
+      for (int i = 0; i < keyList.size(); i++) {
+        if (values.get(i) != null) {
+          result.put(WrappedByteArray.of(keyList.get(i)), values.get(i));
+        }
+      }
+      return result;
+    } catch (RocksDBException e) {
+      throw new RuntimeException(dataBaseName, e);
+    } finally {
+      resetDbLock.readLock().unlock();
+    }
+  }
+
   @Override
   public void deleteData(byte[] key) {
     resetDbLock.readLock().lock();
@@ -298,15 +345,17 @@ public class RocksDbDataSourceImpl extends DbStat implements DbSourceInter<byte[
     return new RockStoreIterator(getRocksIterator(readOptions), readOptions);
   }
 
-  private void updateByBatchInner(Map<byte[], byte[]> rows, WriteOptions options)
+  private void updateByBatchInner(List<Map<byte[], byte[]>> batches, WriteOptions options)
       throws Exception {
     try (WriteBatch batch = new WriteBatch()) {
-      for (Map.Entry<byte[], byte[]> entry : rows.entrySet()) {
-        checkArgNotNull(entry.getKey(), "key");
-        if (entry.getValue() == null) {
-          batch.delete(entry.getKey());
-        } else {
-          batch.put(entry.getKey(), entry.getValue());
+      for (Map<byte[], byte[]> rows : batches) {
+        for (Map.Entry<byte[], byte[]> entry : rows.entrySet()) {
+          checkArgNotNull(entry.getKey(), "key");
+          if (entry.getValue() == null) {
+            batch.delete(entry.getKey());
+          } else {
+            batch.put(entry.getKey(), entry.getValue());
+          }
         }
       }
       throwIfNotAlive();
@@ -327,12 +376,22 @@ public class RocksDbDataSourceImpl extends DbStat implements DbSourceInter<byte[
   }
 
   private void updateByBatch(Map<byte[], byte[]> rows, WriteOptions options) {
+    updateByBatch(Collections.singletonList(rows), options);
+  }
+
+  @Override
+  public void updateByBatch(List<Map<byte[], byte[]>> batches,
+      WriteOptionsWrapper optionsWrapper) {
+    this.updateByBatch(batches, optionsWrapper.rocks);
+  }
+
+  private void updateByBatch(List<Map<byte[], byte[]>> batches, WriteOptions options) {
     resetDbLock.readLock().lock();
     try {
-      updateByBatchInner(rows, options);
+      updateByBatchInner(batches, options);
     } catch (Exception e) {
       try {
-        updateByBatchInner(rows, options);
+        updateByBatchInner(batches, options);
       } catch (Exception e1) {
         throw new RuntimeException(dataBaseName, e1);
       }
@@ -381,7 +440,7 @@ public class RocksDbDataSourceImpl extends DbStat implements DbSourceInter<byte[
   public Map<WrappedByteArray, byte[]> prefixQuery(byte[] key) {
     resetDbLock.readLock().lock();
     try (final ReadOptions readOptions = getReadOptions();
-         final RocksIterator iterator = getRocksIterator(readOptions)) {
+         final RocksIterator iterator = getRocksIterator(prefixMode(readOptions, key))) {
       Map<WrappedByteArray, byte[]> result = new HashMap<>();
       for (iterator.seek(key); iterator.isValid(); iterator.next()) {
         if (Bytes.indexOf(iterator.key(), key) == 0) {
@@ -482,7 +541,75 @@ public class RocksDbDataSourceImpl extends DbStat implements DbSourceInter<byte[
    */
   private ReadOptions getReadOptions() {
     throwIfNotAlive();
-    return new ReadOptions().setFillCache(false);
+    // a db with a prefix extractor would otherwise only seek within the prefix of the target
+    return new ReadOptions().setFillCache(false).setTotalOrderSeek(true);
+  }
+
+  /**
+   * Lets an iterator over the keys starting with {@code key} use the prefix bloom filters,
+   * when the db has a prefix extractor and {@code key} covers a whole prefix.
+   */
+  private ReadOptions prefixMode(ReadOptions readOptions, byte[] key) {
+    if (prefixLength > 0 && key.length >= prefixLength) {
+      readOptions.setTotalOrderSeek(false).setPrefixSameAsStart(true);
+    }
+    return readOptions;
+  }
+
+  /**
+   * @return the integer values of the given RocksDB properties, such as
+   *     {@code rocksdb.estimate-num-keys}, leaving out the ones this RocksDB does not support
+   */
+  public Map<String, Long> getLongProperties(List<String> properties) {
+    resetDbLock.readLock().lock();
+    try {
+      Map<String, Long> values = new LinkedHashMap<>();
+      if (!isAlive()) {
+        return values;
+      }
+      for (String property : properties) {
+        try {
+          values.put(property, database.getLongProperty(property));
+        } catch (RocksDBException e) {
+          logger.debug("DB {} has no property {}.", dataBaseName, property);
+        }
+      }
+      return values;
+    } finally {
+      resetDbLock.readLock().unlock();
+    }
+  }
+
+  /**
+   * @return the counts of the given tickers, empty unless statistics are enabled
+   */
+  public Map<TickerType, Long> getTickers(List<TickerType> tickers) {
+    resetDbLock.readLock().lock();
+    try {
+      Map<TickerType, Long> values = new EnumMap<>(TickerType.class);
+      if (isAlive() && statistics != null) {
+        tickers.forEach(ticker -> values.put(ticker, statistics.getTickerCount(ticker)));
+      }
+      return values;
+    } finally {
+      resetDbLock.readLock().unlock();
+    }
+  }
+
+  /**
+   * @return the given histograms, empty unless statistics are enabled
+   */
+  public Map<HistogramType, HistogramData> getHistograms(List<HistogramType> histograms) {
+    resetDbLock.readLock().lock();
+    try {
+      Map<HistogramType, HistogramData> values = new EnumMap<>(HistogramType.class);
+      if (isAlive() && statistics != null) {
+        histograms.forEach(type -> values.put(type, statistics.getHistogramData(type)));
+      }
+      return values;
+    } finally {
+      resetDbLock.readLock().unlock();
+    }
   }
 
   public boolean deleteDbBakPath(String dir) {
@@ -56,6 +56,8 @@ import org.tron.protos.contract.AccountContract.AccountUpdateContract;
 public class AccountCapsule implements ProtoCapsule<Account>, Comparable<AccountCapsule> {
 
   private Account account;
+  /** Serialized account of a {@link #lazy(byte[])} capsule, parsed on first access. */
+  private byte[] unparsed;
   private boolean flag = false;
 
   /**
@@ -69,6 +71,32 @@ public class AccountCapsule implements ProtoCapsule<Account>, Comparable<Account
     }
   }
 
+  private AccountCapsule() {
+  }
+
+  /**
+   * get account from bytes data, parsing them only when the account is first accessed.
+   * Until then {@link #getData()} returns {@code data} itself.
+   */
+  public static AccountCapsule lazy(byte[] data) {
+    AccountCapsule capsule = new AccountCapsule();
+    capsule.unparsed = data;
+    return capsule;
+  }
+
+  private Account account() {
+    Account current = account;
+    if (current == null && unparsed != null) {
+      try {
+        current = Account.parseFrom(unparsed);
+        account = current;
+      } catch (InvalidProtocolBufferException e) {
+        logger.debug(e.getMessage());
+      }
+    }
+    return current;
+  }
+
   /**
    * initial account capsule.
    */
@@ -251,12 +279,16 @@ public class AccountCapsule implements ProtoCapsule<Account>, Comparable<Account
   }
 
   public byte[] getData() {
-    return this.account.toByteArray();
+    Account current = account;
+    if (current == null && unparsed != null) {
+      return unparsed;
+    }
+    return current.toByteArray();
   }
 
   @Override
   public Account getInstance() {
-    return this.account;
+    return account();
   }
 
   public void setInstance(Account account) {
@@ -264,7 +296,7 @@ public class AccountCapsule implements ProtoCapsule<Account>, Comparable<Account
   }
 
   public ByteString getAddress() {
-    return this.account.getAddress();
+    return account().getAddress();
   }
 
   public byte[] createDbKey() {
@@ -276,39 +308,39 @@ public class AccountCapsule implements ProtoCapsule<Account>, Comparable<Account
   }
 
   public AccountType getType() {
-    return this.account.getType();
+    return account().getType();
   }
 
   public ByteString getAccountName() {
-    return this.account.getAccountName();
+    return account().getAccountName();
   }
 
   /**
    * set account name
    */
   public void setAccountName(byte[] name) {
-    this.account = this.account.toBuilder().setAccountName(ByteString.copyFrom(name)).build();
+    this.account = account().toBuilder().setAccountName(ByteString.copyFrom(name)).build();
   }
 
   public ByteString getAccountId() {
-    return this.account.getAccountId();
+    return account().getAccountId();
   }
 
   /**
    * set account id
    */
   public void setAccountId(byte[] id) {
-    this.account = this.account.toBuilder().setAccountId(ByteString.copyFrom(id)).build();
+    this.account = account().toBuilder().setAccountId(ByteString.copyFrom(id)).build();
   }
 
   public void setDefaultWitnessPermission(DynamicPropertiesStore dynamicPropertiesStore) {
-    Builder builder = this.account.toBuilder();
+    Builder builder = account().toBuilder();
     Permission witness = createDefaultWitnessPermission(this.getAddress());
-    if (!this.account.hasOwnerPermission()) {
+    if (!account().hasOwnerPermission()) {
       Permission owner = createDefaultOwnerPermission(this.getAddress());
       builder.setOwnerPermission(owner);
     }
-    if (this.account.getActivePermissionCount() == 0) {
+    if (account().getActivePermissionCount() == 0) {
       Permission active = createDefaultActivePermission(this.getAddress(), dynamicPropertiesStore);
       builder.addActivePermission(active);
     }
@@ -316,61 +348,61 @@ public class AccountCapsule implements ProtoCapsule<Account>, Comparable<Account
   }
 
   public byte[] getWitnessPermissionAddress() {
-    if (this.account.getWitnessPermission().getKeysCount() == 0) {
+    if (account().getWitnessPermission().getKeysCount() == 0) {
       return getAddress().toByteArray();
     } else {
-      return this.account.getWitnessPermission().getKeys(0).getAddress().toByteArray();
+      return account().getWitnessPermission().getKeys(0).getAddress().toByteArray();
     }
   }
 
   public long getBalance() {
-    return this.account.getBalance();
+    return account().getBalance();
   }
 
   public void setBalance(long balance) {
-    this.account = this.account.toBuilder().setBalance(balance).build();
+    this.account = account().toBuilder().setBalance(balance).build();
   }
 
   public long getLatestOperationTime() {
-    return this.account.getLatestOprationTime();
+    return account().getLatestOprationTime();
   }
 
   public void setLatestOperationTime(long latestTime) {
-    this.account = this.account.toBuilder().setLatestOprationTime(latestTime).build();
+    this.account = account().toBuilder().setLatestOprationTime(latestTime).build();
   }
 
   public long getLatestConsumeTime() {
-    return this.account.getLatestConsumeTime();
+    return account().getLatestConsumeTime();
   }
 
   public void setLatestConsumeTime(long latestTime) {
-    this.account = this.account.toBuilder().setLatestConsumeTime(latestTime).build();
+    this.account = account().toBuilder().setLatestConsumeTime(latestTime).build();
   }
 
   public long getLatestConsumeFreeTime() {
-    return this.account.getLatestConsumeFreeTime();
+    return account().getLatestConsumeFreeTime();
   }
 
   public void setLatestConsumeFreeTime(long latestTime) {
-    this.account = this.account.toBuilder().setLatestConsumeFreeTime(latestTime).build();
+    this.account = account().toBuilder().setLatestConsumeFreeTime(latestTime).build();
   }
 
   public void addDelegatedFrozenBalanceForBandwidth(long balance) {
-    this.account = this.account.toBuilder().setDelegatedFrozenBalanceForBandwidth(
-        this.account.getDelegatedFrozenBalanceForBandwidth() + balance).build();
+    this.account = account().toBuilder().setDelegatedFrozenBalanceForBandwidth(
+        account().getDelegatedFrozenBalanceForBandwidth() + balance).build();
   }
 
   public void addDelegatedFrozenV2BalanceForBandwidth(long balance) {
-    this.account = this.account.toBuilder().setDelegatedFrozenV2BalanceForBandwidth(
-            this.account.getDelegatedFrozenV2BalanceForBandwidth() + balance).build();
+    this.account = account().toBuilder().setDelegatedFrozenV2BalanceForBandwidth(
+            account().getDelegatedFrozenV2BalanceForBandwidth() + balance).build();
   }
 
   public long getAcquiredDelegatedFrozenBalanceForBandwidth() {
-    return this.account.getAcquiredDelegatedFrozenBalanceForBandwidth();
+    return account().getAcquiredDelegatedFrozenBalanceForBandwidth();
   }
 
   public long getAcquiredDelegatedFrozenV2BalanceForBandwidth() {
-    return this.account.getAcquiredDelegatedFrozenV2BalanceForBandwidth();
+    return account().getAcquiredDelegatedFrozenV2BalanceForBandwidth();
   }
 
   public long getTotalAcquiredDelegatedFrozenBalanceForBandwidth() {
@@ -382,37 +414,37 @@ public class AccountCapsule implements ProtoCapsule<Account>, Comparable<Account
   }
 
   public void setAcquiredDelegatedFrozenBalanceForBandwidth(long balance) {
-    this.account = this.account.toBuilder().setAcquiredDelegatedFrozenBalanceForBandwidth(balance)
+    this.account = account().toBuilder().setAcquiredDelegatedFrozenBalanceForBandwidth(balance)
         .build();
   }
 
   public void setAcquiredDelegatedFrozenV2BalanceForBandwidth(long balance) {
-    this.account = this.account.toBuilder().setAcquiredDelegatedFrozenV2BalanceForBandwidth(balance)
+    this.account = account().toBuilder().setAcquiredDelegatedFrozenV2BalanceForBandwidth(balance)
         .build();
   }
 
   public void addAcquiredDelegatedFrozenBalanceForBandwidth(long balance) {
-    this.account = this.account.toBuilder().setAcquiredDelegatedFrozenBalanceForBandwidth(
-        this.account.getAcquiredDelegatedFrozenBalanceForBandwidth() + balance)
+    this.account = account().toBuilder().setAcquiredDelegatedFrozenBalanceForBandwidth(
+        account().getAcquiredDelegatedFrozenBalanceForBandwidth() + balance)
         .build();
   }
 
   public void addAcquiredDelegatedFrozenV2BalanceForBandwidth(long balance) {
-    this.account = this.account.toBuilder().setAcquiredDelegatedFrozenV2BalanceForBandwidth(
-            this.account.getAcquiredDelegatedFrozenV2BalanceForBandwidth() + balance).build();
+    this.account = account().toBuilder().setAcquiredDelegatedFrozenV2BalanceForBandwidth(
+            account().getAcquiredDelegatedFrozenV2BalanceForBandwidth() + balance).build();
   }
 
   public void safeAddAcquiredDelegatedFrozenBalanceForBandwidth(long balance, boolean useStrict) {
-    this.account = this.account.toBuilder().setAcquiredDelegatedFrozenBalanceForBandwidth(
-        max(0, this.account.getAcquiredDelegatedFrozenBalanceForBandwidth() + balance,
+    this.account = account().toBuilder().setAcquiredDelegatedFrozenBalanceForBandwidth(
+        max(0, account().getAcquiredDelegatedFrozenBalanceForBandwidth() + balance,
             useStrict))
         .build();
   }
 
   @SuppressWarnings("unused")
   public void safeAddAcquiredDelegatedFrozenV2BalanceForBandwidth(long balance, boolean useStrict) {
-    this.account = this.account.toBuilder().setAcquiredDelegatedFrozenV2BalanceForBandwidth(
-            max(0, this.account.getAcquiredDelegatedFrozenV2BalanceForBandwidth() + balance,
+    this.account = account().toBuilder().setAcquiredDelegatedFrozenV2BalanceForBandwidth(
+            max(0, account().getAcquiredDelegatedFrozenV2BalanceForBandwidth() + balance,
                 useStrict))
             .build();
   }
@@ -433,7 +465,7 @@ public class AccountCapsule implements ProtoCapsule<Account>, Comparable<Account
     AccountResource newAccountResource = getAccountResource().toBuilder()
         .setAcquiredDelegatedFrozenBalanceForEnergy(balance).build();
 
-    this.account = this.account.toBuilder()
+    this.account = account().toBuilder()
         .setAccountResource(newAccountResource)
         .build();
   }
@@ -441,7 +473,7 @@ public class AccountCapsule implements ProtoCapsule<Account>, Comparable<Account
   public void setAcquiredDelegatedFrozenV2BalanceForEnergy(long balance) {
     AccountResource newAccountResource = getAccountResource().toBuilder()
             .setAcquiredDelegatedFrozenV2BalanceForEnergy(balance).build();
-    this.account = this.account.toBuilder().setAccountResource(newAccountResource).build();
+    this.account = account().toBuilder().setAccountResource(newAccountResource).build();
   }
 
   public long getDelegatedFrozenBalanceForEnergy() {
@@ -457,11 +489,11 @@ public class AccountCapsule implements ProtoCapsule<Account>, Comparable<Account
   }
 
   public long getDelegatedFrozenBalanceForBandwidth() {
-    return this.account.getDelegatedFrozenBalanceForBandwidth();
+    return account().getDelegatedFrozenBalanceForBandwidth();
   }
 
   public long getDelegatedFrozenV2BalanceForBandwidth() {
-    return this.account.getDelegatedFrozenV2BalanceForBandwidth();
+    return account().getDelegatedFrozenV2BalanceForBandwidth();
   }
 
   public long getTotalDelegatedFrozenBalanceForBandwidth() {
@@ -469,7 +501,7 @@ public class AccountCapsule implements ProtoCapsule<Account>, Comparable<Account
   }
 
   public void setDelegatedFrozenBalanceForBandwidth(long balance) {
-    this.account = this.account.toBuilder()
+    this.account = account().toBuilder()
         .setDelegatedFrozenBalanceForBandwidth(balance)
         .build();
   }
@@ -478,7 +510,7 @@ public class AccountCapsule implements ProtoCapsule<Account>, Comparable<Account
     AccountResource newAccountResource = getAccountResource().toBuilder()
         .setDelegatedFrozenBalanceForEnergy(balance).build();
 
-    this.account = this.account.toBuilder()
+    this.account = account().toBuilder()
         .setAccountResource(newAccountResource)
         .build();
   }
@@ -488,7 +520,7 @@ public class AccountCapsule implements ProtoCapsule<Account>, Comparable<Account
         .setAcquiredDelegatedFrozenBalanceForEnergy(
             getAccountResource().getAcquiredDelegatedFrozenBalanceForEnergy() + balance).build();
 
-    this.account = this.account.toBuilder()
+    this.account = account().toBuilder()
         .setAccountResource(newAccountResource)
         .build();
   }
@@ -497,7 +529,7 @@ public class AccountCapsule implements ProtoCapsule<Account>, Comparable<Account
     AccountResource newAccountResource = getAccountResource().toBuilder()
             .setAcquiredDelegatedFrozenV2BalanceForEnergy(getAccountResource()
                     .getAcquiredDelegatedFrozenV2BalanceForEnergy() + balance).build();
-    this.account = this.account.toBuilder().setAccountResource(newAccountResource).build();
+    this.account = account().toBuilder().setAccountResource(newAccountResource).build();
   }
 
   public void safeAddAcquiredDelegatedFrozenBalanceForEnergy(long balance, boolean useStrict) {
@@ -507,7 +539,7 @@ public class AccountCapsule implements ProtoCapsule<Account>, Comparable<Account
                 useStrict))
         .build();
 
-    this.account = this.account.toBuilder()
+    this.account = account().toBuilder()
         .setAccountResource(newAccountResource)
         .build();
   }
@@ -517,7 +549,7 @@ public class AccountCapsule implements ProtoCapsule<Account>, Comparable<Account
     AccountResource newAccountResource = getAccountResource().toBuilder()
             .setAcquiredDelegatedFrozenV2BalanceForEnergy(max(0, getAccountResource()
                     .getAcquiredDelegatedFrozenV2BalanceForEnergy() + balance, useStrict)).build();
-    this.account = this.account.toBuilder().setAccountResource(newAccountResource).build();
+    this.account = account().toBuilder().setAccountResource(newAccountResource).build();
   }
 
   public void addDelegatedFrozenBalanceForEnergy(long balance) {
@@ -525,7 +557,7 @@ public class AccountCapsule implements ProtoCapsule<Account>, Comparable<Account
         .setDelegatedFrozenBalanceForEnergy(
             getAccountResource().getDelegatedFrozenBalanceForEnergy() + balance).build();
 
-    this.account = this.account.toBuilder()
+    this.account = account().toBuilder()
         .setAccountResource(newAccountResource)
         .build();
   }
@@ -535,7 +567,7 @@ public class AccountCapsule implements ProtoCapsule<Account>, Comparable<Account
             .setDelegatedFrozenV2BalanceForEnergy(
                     getAccountResource().getDelegatedFrozenV2BalanceForEnergy() + balance).build();
 
-    this.account = this.account.toBuilder().setAccountResource(newAccountResource).build();
+    this.account = account().toBuilder().setAccountResource(newAccountResource).build();
   }
 
   public void addFrozenBalanceForEnergyV2(long balance) {
@@ -544,9 +576,9 @@ public class AccountCapsule implements ProtoCapsule<Account>, Comparable<Account
 
   private void addFrozenBalanceForResource(ResourceCode type, long balance) {
     boolean doUpdate = false;
-    for (int i = 0; i < this.account.getFrozenV2List().size(); i++) {
-      if (this.account.getFrozenV2List().get(i).getType().equals(type)) {
-        long newAmount = this.account.getFrozenV2(i).getAmount() + balance;
+    for (int i = 0; i < account().getFrozenV2List().size(); i++) {
+      if (account().getFrozenV2List().get(i).getType().equals(type)) {
+        long newAmount = account().getFrozenV2(i).getAmount() + balance;
         FreezeV2 freezeV2 = FreezeV2.newBuilder()
                 .setType(type)
                 .setAmount(newAmount)
@@ -568,36 +600,36 @@ public class AccountCapsule implements ProtoCapsule<Account>, Comparable<Account
 
   @Override
   public String toString() {
-    return this.account.toString();
+    return account().toString();
   }
 
   /**
    * set votes.
    */
   public void addVotes(ByteString voteAddress, long voteAdd) {
-    this.account = this.account.toBuilder()
+    this.account = account().toBuilder()
         .addVotes(Vote.newBuilder().setVoteAddress(voteAddress).setVoteCount(voteAdd).build())
         .build();
   }
 
   public void addAllVotes(List<Vote> votesToAdd) {
-    this.account = this.account.toBuilder().addAllVotes(votesToAdd).build();
+    this.account = account().toBuilder().addAllVotes(votesToAdd).build();
   }
 
   public void clearLatestAssetOperationTimeV2() {
-    this.account = this.account.toBuilder()
+    this.account = account().toBuilder()
         .clearLatestAssetOperationTimeV2()
         .build();
   }
 
   public void clearFreeAssetNetUsageV2() {
-    this.account = this.account.toBuilder()
+    this.account = account().toBuilder()
         .clearFreeAssetNetUsageV2()
         .build();
   }
 
   public void clearVotes() {
-    this.account = this.account.toBuilder()
+    this.account = account().toBuilder()
         .clearVotes()
         .build();
   }
@@ -606,41 +638,41 @@ public class AccountCapsule implements ProtoCapsule<Account>, Comparable<Account
    * get votes.
    */
   public List<Vote> getVotesList() {
-    return this.account.getVotesList();
+    return account().getVotesList();
   }
 
   public long getTronPowerUsage() {
     if (getVotesList().isEmpty()) {
       return 0L;
     }
-    return this.account.getVotesList().stream().mapToLong(Vote::getVoteCount).sum();
+    return account().getVotesList().stream().mapToLong(Vote::getVoteCount).sum();
   }
 
   //tp:Tron_Power
   public long getTronPower() {
     long tp = 0;
-    for (int i = 0; i < account.getFrozenCount(); ++i) {
-      tp += account.getFrozen(i).getFrozenBalance();
+    for (int i = 0; i < account().getFrozenCount(); ++i) {
+      tp += account().getFrozen(i).getFrozenBalance();
     }
 
-    tp += account.getAccountResource().getFrozenBalanceForEnergy().getFrozenBalance();
-    tp += account.getDelegatedFrozenBalanceForBandwidth();
-    tp += account.getAccountResource().getDelegatedFrozenBalanceForEnergy();
+    tp += account().getAccountResource().getFrozenBalanceForEnergy().getFrozenBalance();
+    tp += account().getDelegatedFrozenBalanceForBandwidth();
+    tp += account().getAccountResource().getDelegatedFrozenBalanceForEnergy();
 
     tp += getFrozenV2List().stream().filter(o -> o.getType() != TRON_POWER)
             .mapToLong(FreezeV2::getAmount).sum();
-    tp += account.getDelegatedFrozenV2BalanceForBandwidth();
-    tp += account.getAccountResource().getDelegatedFrozenV2BalanceForEnergy();
+    tp += account().getDelegatedFrozenV2BalanceForBandwidth();
+    tp += account().getAccountResource().getDelegatedFrozenV2BalanceForEnergy();
     return tp;
   }
 
   public long getAllTronPower() {
-    if (account.getOldTronPower() == -1) {
+    if (account().getOldTronPower() == -1) {
       return getTronPowerFrozenBalance() + getTronPowerFrozenV2Balance();
-    } else if (account.getOldTronPower() == 0) {
+    } else if (account().getOldTronPower() == 0) {
       return getTronPower() + getTronPowerFrozenBalance() + getTronPowerFrozenV2Balance();
     } else {
-      return account.getOldTronPower() + getTronPowerFrozenBalance()
+      return account().getOldTronPower() + getTronPowerFrozenBalance()
           + getTronPowerFrozenV2Balance();
     }
   }
@@ -648,22 +680,22 @@ public class AccountCapsule implements ProtoCapsule<Account>, Comparable<Account
 
 
   public List<FreezeV2> getFrozenV2List() {
-    return account.getFrozenV2List();
+    return account().getFrozenV2List();
   }
 
   public List<UnFreezeV2> getUnfrozenV2List() {
-    return account.getUnfrozenV2List();
+    return account().getUnfrozenV2List();
   }
 
   public void updateFrozenV2List(int index, FreezeV2 frozenV2) {
     if (Objects.isNull(frozenV2)) {
       return;
     }
-    this.account = this.account.toBuilder().setFrozenV2(index, frozenV2).build();
+    this.account = account().toBuilder().setFrozenV2(index, frozenV2).build();
   }
 
   public void addFrozenV2List(FreezeV2 frozenV2) {
-    this.account = this.account.toBuilder().addFrozenV2(frozenV2).build();
+    this.account = account().toBuilder().addFrozenV2(frozenV2).build();
   }
 
   public void addUnfrozenV2List(ResourceCode type, long unfreezeAmount, long expireTime) {
@@ -672,13 +704,13 @@ public class AccountCapsule implements ProtoCapsule<Account>, Comparable<Account
             .setUnfreezeAmount(unfreezeAmount)
             .setUnfreezeExpireTime(expireTime)
             .build();
-    this.account = this.account.toBuilder().addUnfrozenV2(unFreezeV2).build();
+    this.account = account().toBuilder().addUnfrozenV2(unFreezeV2).build();
   }
 
 
   public int getUnfreezingV2Count(long now) {
     int count = 0;
-    List<UnFreezeV2> unFreezeV2List = account.getUnfrozenV2List();
+    List<UnFreezeV2> unFreezeV2List = account().getUnfrozenV2List();
     for (UnFreezeV2 item : unFreezeV2List) {
       if (item.getUnfreezeExpireTime() > now) {
         count++;
@@ -691,11 +723,11 @@ public class AccountCapsule implements ProtoCapsule<Account>, Comparable<Account
   /*************************** start asset ****************************************/
 
   public boolean getAssetOptimized() {
-    return this.account.getAssetOptimized();
+    return account().getAssetOptimized();
   }
 
   public void setAssetOptimized(boolean flag) {
-    this.account = this.account.toBuilder().setAssetOptimized(flag).build();
+    this.account = account().toBuilder().setAssetOptimized(flag).build();
   }
 
   public boolean assetBalanceEnoughV2(byte[] key, long amount,
@@ -705,12 +737,12 @@ public class AccountCapsule implements ProtoCapsule<Account>, Comparable<Account
     String nameKey;
     Long currentAmount;
     if (dynamicPropertiesStore.getAllowSameTokenName() == 0) {
-      assetMap = this.account.getAssetMap();
+      assetMap = account().getAssetMap();
       nameKey = ByteArray.toStr(key);
       currentAmount = assetMap.get(nameKey);
     } else {
       String tokenID = ByteArray.toStr(key);
-      assetMap = this.account.getAssetV2Map();
+      assetMap = account().getAssetV2Map();
       currentAmount = assetMap.get(tokenID);
     }
 
@@ -718,13 +750,13 @@ public class AccountCapsule implements ProtoCapsule<Account>, Comparable<Account
   }
 
   public boolean addAssetAmount(byte[] key, long amount, boolean useStrict) {
-    Map<String, Long> assetMap = this.account.getAssetMap();
+    Map<String, Long> assetMap = account().getAssetMap();
     String nameKey = ByteArray.toStr(key);
     Long currentAmount = assetMap.get(nameKey);
     if (currentAmount == null) {
       currentAmount = 0L;
     }
-    this.account = this.account.toBuilder().putAsset(nameKey,
+    this.account = account().toBuilder().putAsset(nameKey,
             addExact(currentAmount, amount, useStrict))
         .build();
     return true;
@@ -736,7 +768,7 @@ public class AccountCapsule implements ProtoCapsule<Account>, Comparable<Account
     boolean disableJavaLangMath = dynamicPropertiesStore.disableJavaLangMath();
     //key is token name
     if (dynamicPropertiesStore.getAllowSameTokenName() == 0) {
-      Map<String, Long> assetMap = this.account.getAssetMap();
+      Map<String, Long> assetMap = account().getAssetMap();
       AssetIssueCapsule assetIssueCapsule = assetIssueStore.get(key);
       String tokenID = assetIssueCapsule.getId();
       String nameKey = ByteArray.toStr(key);
@@ -744,7 +776,7 @@ public class AccountCapsule implements ProtoCapsule<Account>, Comparable<Account
       if (currentAmount == null) {
         currentAmount = 0L;
       }
-      this.account = this.account.toBuilder()
+      this.account = account().toBuilder()
           .putAsset(nameKey, addExact(currentAmount, amount, disableJavaLangMath))
           .putAssetV2(tokenID, addExact(currentAmount, amount, disableJavaLangMath))
           .build();
@@ -752,12 +784,12 @@ public class AccountCapsule implements ProtoCapsule<Account>, Comparable<Account
     //key is token id
     if (dynamicPropertiesStore.getAllowSameTokenName() == 1) {
       String tokenIDStr = ByteArray.toStr(key);
-      Map<String, Long> assetMapV2 = this.account.getAssetV2Map();
+      Map<String, Long> assetMapV2 = account().getAssetV2Map();
       Long currentAmount = assetMapV2.get(tokenIDStr);
       if (currentAmount == null) {
         currentAmount = 0L;
       }
-      this.account = this.account.toBuilder()
+      this.account = account().toBuilder()
           .putAssetV2(tokenIDStr, addExact(currentAmount, amount, disableJavaLangMath))
           .build();
     }
@@ -765,11 +797,11 @@ public class AccountCapsule implements ProtoCapsule<Account>, Comparable<Account
   }
 
   public boolean reduceAssetAmount(byte[] key, long amount, boolean disableJavaLangMath) {
-    Map<String, Long> assetMap = this.account.getAssetMap();
+    Map<String, Long> assetMap = account().getAssetMap();
     String nameKey = ByteArray.toStr(key);
     Long currentAmount = assetMap.get(nameKey);
     if (amount > 0 && null != currentAmount && amount <= currentAmount) {
-      this.account = this.account.toBuilder()
+      this.account = account().toBuilder()
               .putAsset(nameKey, subtractExact(currentAmount, amount, disableJavaLangMath)).build();
       return true;
     }
@@ -783,13 +815,13 @@ public class AccountCapsule implements ProtoCapsule<Account>, Comparable<Account
     //key is token name
     boolean disableJavaLangMath = dynamicPropertiesStore.disableJavaLangMath();
     if (dynamicPropertiesStore.getAllowSameTokenName() == 0) {
-      Map<String, Long> assetMap = this.account.getAssetMap();
+      Map<String, Long> assetMap = account().getAssetMap();
       AssetIssueCapsule assetIssueCapsule = assetIssueStore.get(key);
       String tokenID = assetIssueCapsule.getId();
       String nameKey = ByteArray.toStr(key);
       Long currentAmount = assetMap.get(nameKey);
       if (amount > 0 && null != currentAmount && amount <= currentAmount) {
-        this.account = this.account.toBuilder()
+        this.account = account().toBuilder()
                 .putAsset(nameKey, subtractExact(currentAmount, amount, disableJavaLangMath))
                 .putAssetV2(tokenID, subtractExact(currentAmount, amount, disableJavaLangMath))
                 .build();
@@ -799,10 +831,10 @@ public class AccountCapsule implements ProtoCapsule<Account>, Comparable<Account
     //key is token id
     if (dynamicPropertiesStore.getAllowSameTokenName() == 1) {
       String tokenID = ByteArray.toStr(key);
-      Map<String, Long> assetMapV2 = this.account.getAssetV2Map();
+      Map<String, Long> assetMapV2 = account().getAssetV2Map();
       Long currentAmount = assetMapV2.get(tokenID);
       if (amount > 0 && null != currentAmount && amount <= currentAmount) {
-        this.account = this.account.toBuilder()
+        this.account = account().toBuilder()
                 .putAssetV2(tokenID, subtractExact(currentAmount, amount, disableJavaLangMath))
                 .build();
         return true;
@@ -813,62 +845,62 @@ public class AccountCapsule implements ProtoCapsule<Account>, Comparable<Account
   }
 
   public void clearAssetV2() {
-    this.account = this.account.toBuilder()
+    this.account = account().toBuilder()
             .clearAssetV2()
             .build();
   }
 
   public void clearAsset() {
-    this.account = this.account.toBuilder()
+    this.account = account().toBuilder()
             .clearAsset()
             .clearAssetV2()
             .build();
   }
 
   public boolean addAsset(byte[] key, long value) {
-    Map<String, Long> assetMap = this.account.getAssetMap();
+    Map<String, Long> assetMap = account().getAssetMap();
     String nameKey = ByteArray.toStr(key);
     if (!assetMap.isEmpty() && assetMap.containsKey(nameKey)) {
       return false;
     }
-    this.account = this.account.toBuilder().putAsset(nameKey, value).build();
+    this.account = account().toBuilder().putAsset(nameKey, value).build();
     return true;
   }
 
   public boolean addAssetV2(byte[] key, long value) {
-    if (AssetUtil.hasAssetV2(this.account, key)) {
+    if (AssetUtil.hasAssetV2(account(), key)) {
       return false;
     }
 
-    this.account = this.account.toBuilder()
+    this.account = account().toBuilder()
         .putAssetV2(ByteArray.toStr(key), value)
         .build();
     return true;
   }
 
   public void addAssetMapV2(Map<String, Long> assetMap) {
-    this.account = this.account.toBuilder().putAllAssetV2(assetMap).build();
+    this.account = account().toBuilder().putAllAssetV2(assetMap).build();
   }
 
   public Long getAsset(DynamicPropertiesStore dynamicStore, String key) {
     Long balance;
     if (dynamicStore.getAllowSameTokenName() == 0) {
-      balance = this.account.getAssetMap().get(key);
+      balance = account().getAssetMap().get(key);
     } else {
       importAsset(key.getBytes());
-      balance = this.account.getAssetV2Map().get(key);
+      balance = account().getAssetV2Map().get(key);
     }
     return balance;
   }
 
   public long getAssetV2(String key) {
     importAsset(key.getBytes());
-    Long balance = this.account.getAssetV2Map().get(key);
+    Long balance = account().getAssetV2Map().get(key);
     return balance == null ? 0 : balance;
   }
 
   public Map<String, Long> getAssetMap() {
-    Map<String, Long> assetMap = this.account.getAssetMap();
+    Map<String, Long> assetMap = account().getAssetMap();
     if (assetMap.isEmpty()) {
       assetMap = Maps.newHashMap();
     }
@@ -877,7 +909,7 @@ public class AccountCapsule implements ProtoCapsule<Account>, Comparable<Account
 
   public Map<String, Long> getAssetMapV2() {
     importAllAsset();
-    Map<String, Long> assetMap = this.account.getAssetV2Map();
+    Map<String, Long> assetMap = account().getAssetV2Map();
     if (assetMap.isEmpty()) {
       assetMap = Maps.newHashMap();
     }
@@ -895,31 +927,31 @@ public class AccountCapsule implements ProtoCapsule<Account>, Comparable<Account
   /*************************** end asset ****************************************/
 
   public void addAllLatestAssetOperationTimeV2(Map<String, Long> map) {
-    this.account = this.account.toBuilder().putAllLatestAssetOperationTimeV2(map).build();
+    this.account = account().toBuilder().putAllLatestAssetOperationTimeV2(map).build();
   }
 
   public Map<String, Long> getLatestAssetOperationTimeMap() {
-    return this.account.getLatestAssetOperationTimeMap();
+    return account().getLatestAssetOperationTimeMap();
   }
 
   public Map<String, Long> getLatestAssetOperationTimeMapV2() {
-    return this.account.getLatestAssetOperationTimeV2Map();
+    return account().getLatestAssetOperationTimeV2Map();
   }
 
   public long getLatestAssetOperationTime(String assetName) {
-    return this.account.getLatestAssetOperationTimeOrDefault(assetName, 0);
+    return account().getLatestAssetOperationTimeOrDefault(assetName, 0);
   }
 
   public long getLatestAssetOperationTimeV2(String assetName) {
-    return this.account.getLatestAssetOperationTimeV2OrDefault(assetName, 0);
+    return account().getLatestAssetOperationTimeV2OrDefault(assetName, 0);
   }
 
   public void putLatestAssetOperationTimeMap(String key, Long value) {
-    this.account = this.account.toBuilder().putLatestAssetOperationTime(key, value).build();
+    this.account = account().toBuilder().putLatestAssetOperationTime(key, value).build();
   }
 
   public void putLatestAssetOperationTimeMapV2(String key, Long value) {
-    this.account = this.account.toBuilder().putLatestAssetOperationTimeV2(key, value).build();
+    this.account = account().toBuilder().putLatestAssetOperationTimeV2(key, value).build();
   }
 
   public int getFrozenCount() {
@@ -974,7 +1006,7 @@ public class AccountCapsule implements ProtoCapsule<Account>, Comparable<Account
 
   public void setAssetIssuedName(byte[] nameKey) {
     ByteString assetIssuedName = ByteString.copyFrom(nameKey);
-    this.account = this.account.toBuilder().setAssetIssuedName(assetIssuedName).build();
+    this.account = account().toBuilder().setAssetIssuedName(assetIssuedName).build();
   }
 
   public ByteString getAssetIssuedID() {
@@ -983,7 +1015,7 @@ public class AccountCapsule implements ProtoCapsule<Account>, Comparable<Account
 
   public void setAssetIssuedID(byte[] id) {
     ByteString assetIssuedID = ByteString.copyFrom(id);
-    this.account = this.account.toBuilder().setAssetIssuedID(assetIssuedID).build();
+    this.account = account().toBuilder().setAssetIssuedID(assetIssuedID).build();
   }
 
   public long getAllowance() {
@@ -991,7 +1023,7 @@ public class AccountCapsule implements ProtoCapsule<Account>, Comparable<Account
   }
 
   public void setAllowance(long allowance) {
-    this.account = this.account.toBuilder().setAllowance(allowance).build();
+    this.account = account().toBuilder().setAllowance(allowance).build();
   }
 
   public long getLatestWithdrawTime() {
@@ -1000,7 +1032,7 @@ public class AccountCapsule implements ProtoCapsule<Account>, Comparable<Account
 
   //for test only
   public void setLatestWithdrawTime(long latestWithdrawTime) {
-    this.account = this.account.toBuilder()
+    this.account = account().toBuilder()
         .setLatestWithdrawTime(latestWithdrawTime)
         .build();
   }
@@ -1010,7 +1042,7 @@ public class AccountCapsule implements ProtoCapsule<Account>, Comparable<Account
   }
 
   public void setIsWitness(boolean isWitness) {
-    this.account = this.account.toBuilder().setIsWitness(isWitness).build();
+    this.account = account().toBuilder().setIsWitness(isWitness).build();
   }
 
   public boolean getIsCommittee() {
@@ -1018,7 +1050,7 @@ public class AccountCapsule implements ProtoCapsule<Account>, Comparable<Account
   }
 
   public void setIsCommittee(boolean isCommittee) {
-    this.account = this.account.toBuilder().setIsCommittee(isCommittee).build();
+    this.account = account().toBuilder().setIsCommittee(isCommittee).build();
   }
 
   public void setFrozenForBandwidth(long frozenBalance, long expireTime) {
@@ -1048,30 +1080,30 @@ public class AccountCapsule implements ProtoCapsule<Account>, Comparable<Account
         .setExpireTime(expireTime)
         .build();
 
-    this.account = this.account.toBuilder()
+    this.account = account().toBuilder()
         .addFrozen(newFrozen)
         .build();
   }
 
   public long getNetUsage() {
-    return this.account.getNetUsage();
+    return account().getNetUsage();
   }
 
   public long getUsage(ResourceCode resourceCode) {
     if (resourceCode == BANDWIDTH) {
-      return this.account.getNetUsage();
+      return account().getNetUsage();
     } else {
-      return this.account.getAccountResource().getEnergyUsage();
+      return account().getAccountResource().getEnergyUsage();
     }
   }
 
   public void setNetUsage(long netUsage) {
-    this.account = this.account.toBuilder()
+    this.account = account().toBuilder()
         .setNetUsage(netUsage).build();
   }
 
   public AccountResource getAccountResource() {
-    return this.account.getAccountResource();
+    return account().getAccountResource();
   }
 
   public void setFrozenForEnergy(long newFrozenBalanceForEnergy, long time) {
@@ -1083,13 +1115,13 @@ public class AccountCapsule implements ProtoCapsule<Account>, Comparable<Account
     AccountResource newAccountResource = getAccountResource().toBuilder()
         .setFrozenBalanceForEnergy(newFrozenForEnergy).build();
 
-    this.account = this.account.toBuilder()
+    this.account = account().toBuilder()
         .setAccountResource(newAccountResource)
         .build();
   }
 
   public long getEnergyFrozenBalance() {
-    return this.account.getAccountResource().getFrozenBalanceForEnergy().getFrozenBalance();
+    return account().getAccountResource().getFrozenBalanceForEnergy().getFrozenBalance();
   }
 
   public long getFrozenV2BalanceForEnergy() {
@@ -1102,11 +1134,11 @@ public class AccountCapsule implements ProtoCapsule<Account>, Comparable<Account
   }
 
   public boolean oldTronPowerIsNotInitialized() {
-    return this.account.getOldTronPower() == 0;
+    return account().getOldTronPower() == 0;
   }
 
   public boolean oldTronPowerIsInvalid() {
-    return this.account.getOldTronPower() == -1;
+    return account().getOldTronPower() == -1;
   }
 
   public void initializeOldTronPower() {
@@ -1148,7 +1180,7 @@ public class AccountCapsule implements ProtoCapsule<Account>, Comparable<Account
   }
 
   public long getTronPowerFrozenBalance() {
-    return this.account.getTronPower().getFrozenBalance();
+    return account().getTronPower().getFrozenBalance();
   }
 
   public long getTronPowerFrozenV2Balance() {
@@ -1157,13 +1189,13 @@ public class AccountCapsule implements ProtoCapsule<Account>, Comparable<Account
   }
 
   public long getEnergyUsage() {
-    return this.account.getAccountResource().getEnergyUsage();
+    return account().getAccountResource().getEnergyUsage();
   }
 
   public void setEnergyUsage(long energyUsage) {
-    this.account = this.account.toBuilder()
+    this.account = account().toBuilder()
         .setAccountResource(
-            this.account.getAccountResource().toBuilder().setEnergyUsage(energyUsage).build())
+            account().getAccountResource().toBuilder().setEnergyUsage(energyUsage).build())
         .build();
   }
 
@@ -1173,76 +1205,76 @@ public class AccountCapsule implements ProtoCapsule<Account>, Comparable<Account
   }
 
   public long getLatestConsumeTimeForEnergy() {
-    return this.account.getAccountResource().getLatestConsumeTimeForEnergy();
+    return account().getAccountResource().getLatestConsumeTimeForEnergy();
   }
 
   public void setLatestConsumeTimeForEnergy(long latestTime) {
-    this.account = this.account.toBuilder()
+    this.account = account().toBuilder()
         .setAccountResource(
-            this.account.getAccountResource().toBuilder().setLatestConsumeTimeForEnergy(latestTime)
+            account().getAccountResource().toBuilder().setLatestConsumeTimeForEnergy(latestTime)
                 .build()).build();
   }
 
   public long getFreeNetUsage() {
-    return this.account.getFreeNetUsage();
+    return account().getFreeNetUsage();
   }
 
   public void setFreeNetUsage(long freeNetUsage) {
-    this.account = this.account.toBuilder().setFreeNetUsage(freeNetUsage).build();
+    this.account = account().toBuilder().setFreeNetUsage(freeNetUsage).build();
   }
 
   public void addAllFreeAssetNetUsageV2(Map<String, Long> map) {
-    this.account = this.account.toBuilder().putAllFreeAssetNetUsageV2(map).build();
+    this.account = account().toBuilder().putAllFreeAssetNetUsageV2(map).build();
   }
 
   public long getFreeAssetNetUsage(String assetName) {
-    return this.account.getFreeAssetNetUsageOrDefault(assetName, 0);
+    return account().getFreeAssetNetUsageOrDefault(assetName, 0);
   }
 
   public long getFreeAssetNetUsageV2(String assetName) {
-    return this.account.getFreeAssetNetUsageV2OrDefault(assetName, 0);
+    return account().getFreeAssetNetUsageV2OrDefault(assetName, 0);
   }
 
   public Map<String, Long> getAllFreeAssetNetUsage() {
-    return this.account.getFreeAssetNetUsageMap();
+    return account().getFreeAssetNetUsageMap();
   }
 
   public Map<String, Long> getAllFreeAssetNetUsageV2() {
-    return this.account.getFreeAssetNetUsageV2Map();
+    return account().getFreeAssetNetUsageV2Map();
   }
 
   public void putFreeAssetNetUsage(String s, long freeAssetNetUsage) {
-    this.account = this.account.toBuilder()
+    this.account = account().toBuilder()
         .putFreeAssetNetUsage(s, freeAssetNetUsage).build();
   }
 
   public void putFreeAssetNetUsageV2(String s, long freeAssetNetUsage) {
-    this.account = this.account.toBuilder()
+    this.account = account().toBuilder()
         .putFreeAssetNetUsageV2(s, freeAssetNetUsage).build();
   }
 
   public long getStorageLimit() {
-    return this.account.getAccountResource().getStorageLimit();
+    return account().getAccountResource().getStorageLimit();
   }
 
   public void setStorageLimit(long limit) {
-    AccountResource accountResource = this.account.getAccountResource();
+    AccountResource accountResource = account().getAccountResource();
     accountResource = accountResource.toBuilder().setStorageLimit(limit).build();
 
-    this.account = this.account.toBuilder()
+    this.account = account().toBuilder()
         .setAccountResource(accountResource)
         .build();
   }
 
   public long getStorageUsage() {
-    return this.account.getAccountResource().getStorageUsage();
+    return account().getAccountResource().getStorageUsage();
   }
 
   public void setStorageUsage(long usage) {
-    AccountResource accountResource = this.account.getAccountResource();
+    AccountResource accountResource = account().getAccountResource();
     accountResource = accountResource.toBuilder().setStorageUsage(usage).build();
 
-    this.account = this.account.toBuilder()
+    this.account = account().toBuilder()
         .setAccountResource(accountResource)
         .build();
   }
@@ -1252,14 +1284,14 @@ public class AccountCapsule implements ProtoCapsule<Account>, Comparable<Account
   }
 
   public long getLatestExchangeStorageTime() {
-    return this.account.getAccountResource().getLatestExchangeStorageTime();
+    return account().getAccountResource().getLatestExchangeStorageTime();
   }
 
   public void setLatestExchangeStorageTime(long time) {
-    AccountResource accountResource = this.account.getAccountResource();
+    AccountResource accountResource = account().getAccountResource();
     accountResource = accountResource.toBuilder().setLatestExchangeStorageTime(time).build();
 
-    this.account = this.account.toBuilder()
+    this.account = account().toBuilder()
         .setAccountResource(accountResource)
         .build();
   }
@@ -1268,29 +1300,29 @@ public class AccountCapsule implements ProtoCapsule<Account>, Comparable<Account
     if (storageUsage <= 0) {
       return;
     }
-    AccountResource accountResource = this.account.getAccountResource();
+    AccountResource accountResource = account().getAccountResource();
     accountResource = accountResource.toBuilder()
         .setStorageUsage(accountResource.getStorageUsage() + storageUsage).build();
 
-    this.account = this.account.toBuilder()
+    this.account = account().toBuilder()
         .setAccountResource(accountResource)
         .build();
   }
 
   public Permission getPermissionById(int id) {
     if (id == 0) {
-      if (this.account.hasOwnerPermission()) {
-        return this.account.getOwnerPermission();
+      if (account().hasOwnerPermission()) {
+        return account().getOwnerPermission();
       }
-      return getDefaultPermission(this.account.getAddress());
+      return getDefaultPermission(account().getAddress());
     }
     if (id == 1) {
-      if (this.account.hasWitnessPermission()) {
-        return this.account.getWitnessPermission();
+      if (account().hasWitnessPermission()) {
+        return account().getWitnessPermission();
       }
       return null;
     }
-    for (Permission permission : this.account.getActivePermissionList()) {
+    for (Permission permission : account().getActivePermissionList()) {
       if (id == permission.getId()) {
         return permission;
       }
@@ -1299,7 +1331,7 @@ public class AccountCapsule implements ProtoCapsule<Account>, Comparable<Account
   }
 
   public void updatePermissions(Permission owner, Permission witness, List<Permission> actives) {
-    Builder builder = this.account.toBuilder();
+    Builder builder = account().toBuilder();
 
     owner = owner.toBuilder().setId(0).build();
     builder.setOwnerPermission(owner);
@@ -1320,12 +1352,12 @@ public class AccountCapsule implements ProtoCapsule<Account>, Comparable<Account
   }
 
   public void updateAccountType(AccountType accountType) {
-    this.account = this.account.toBuilder().setType(accountType).build();
+    this.account = account().toBuilder().setType(accountType).build();
   }
 
   // just for vm create2 instruction
   public void clearDelegatedResource() {
-    Builder builder = account.toBuilder();
+    Builder builder = account().toBuilder();
     AccountResource newAccountResource = getAccountResource().toBuilder()
         .setAcquiredDelegatedFrozenBalanceForEnergy(0L)
             .setAcquiredDelegatedFrozenV2BalanceForEnergy(0L)
@@ -1337,12 +1369,12 @@ public class AccountCapsule implements ProtoCapsule<Account>, Comparable<Account
   }
 
   public void importAsset(byte[] key) {
-    this.account = AssetUtil.importAsset(this.account, key);
+    this.account = AssetUtil.importAsset(account(), key);
   }
 
   public void importAllAsset() {
     if (!flag) {
-      this.account = AssetUtil.importAllAsset(this.account);
+      this.account = AssetUtil.importAllAsset(account());
       flag = true;
     }
   }
@@ -1351,29 +1383,29 @@ public class AccountCapsule implements ProtoCapsule<Account>, Comparable<Account
     if (Objects.isNull(unfrozenV2)) {
       return;
     }
-    this.account = this.account.toBuilder().addUnfrozenV2(unfrozenV2).build();
+    this.account = account().toBuilder().addUnfrozenV2(unfrozenV2).build();
   }
 
   public void addAllUnfrozenV2(List<UnFreezeV2> unFreezeV2List) {
     if (CollectionUtils.isEmpty(unFreezeV2List)) {
       return;
     }
-    this.account = this.account.toBuilder().addAllUnfrozenV2(unFreezeV2List).build();
+    this.account = account().toBuilder().addAllUnfrozenV2(unFreezeV2List).build();
   }
 
   public void clearUnfrozenV2() {
-    this.account = this.account.toBuilder().clearUnfrozenV2().build();
+    this.account = account().toBuilder().clearUnfrozenV2().build();
   }
 
   public void clearFrozenV2() {
-    this.account = this.account.toBuilder().clearFrozenV2().build();
+    this.account = account().toBuilder().clearFrozenV2().build();
   }
 
   public void setNewWindowSize(ResourceCode resourceCode, long newWindowSize) {
     if (resourceCode == BANDWIDTH) {
-      this.account = this.account.toBuilder().setNetWindowSize(newWindowSize).build();
+      this.account = account().toBuilder().setNetWindowSize(newWindowSize).build();
     } else {
-      this.account = this.account.toBuilder().setAccountResource(this.account.getAccountResource()
+      this.account = account().toBuilder().setAccountResource(account().getAccountResource()
               .toBuilder().setEnergyWindowSize(newWindowSize).build()).build();
     }
   }
@@ -1382,11 +1414,11 @@ public class AccountCapsule implements ProtoCapsule<Account>, Comparable<Account
     long windowSize;
     boolean windowOptimized;
     if (resourceCode == BANDWIDTH) {
-      windowSize = this.account.getNetWindowSize();
-      windowOptimized = this.account.getNetWindowOptimized();
+      windowSize = account().getNetWindowSize();
+      windowOptimized = account().getNetWindowOptimized();
     } else {
-      windowSize = this.account.getAccountResource().getEnergyWindowSize();
-      windowOptimized = this.account.getAccountResource().getEnergyWindowOptimized();
+      windowSize = account().getAccountResource().getEnergyWindowSize();
+      windowOptimized = account().getAccountResource().getEnergyWindowOptimized();
     }
     if (windowSize == 0) {
       return WINDOW_SIZE_MS / BLOCK_PRODUCED_INTERVAL;
@@ -1403,11 +1435,11 @@ public class AccountCapsule implements ProtoCapsule<Account>, Comparable<Account
     long windowSize;
     boolean windowOptimized;
     if (resourceCode == BANDWIDTH) {
-      windowSize = this.account.getNetWindowSize();
-      windowOptimized = this.account.getNetWindowOptimized();
+      windowSize = account().getNetWindowSize();
+      windowOptimized = account().getNetWindowOptimized();
     } else {
-      windowSize = this.account.getAccountResource().getEnergyWindowSize();
-      windowOptimized = this.account.getAccountResource().getEnergyWindowOptimized();
+      windowSize = account().getAccountResource().getEnergyWindowSize();
+      windowOptimized = account().getAccountResource().getEnergyWindowOptimized();
     }
     if (windowSize == 0) {
       return WINDOW_SIZE_MS / BLOCK_PRODUCED_INTERVAL * WINDOW_SIZE_PRECISION;
@@ -1422,27 +1454,27 @@ public class AccountCapsule implements ProtoCapsule<Account>, Comparable<Account
   public boolean getWindowOptimized(ResourceCode resourceCode) {
     boolean windowOptimized;
     if (resourceCode == BANDWIDTH) {
-      windowOptimized = this.account.getNetWindowOptimized();
+      windowOptimized = account().getNetWindowOptimized();
     } else {
-      windowOptimized = this.account.getAccountResource().getEnergyWindowOptimized();
+      windowOptimized = account().getAccountResource().getEnergyWindowOptimized();
     }
     return windowOptimized;
   }
 
   public void setWindowOptimized(ResourceCode resourceCode, boolean windowOptimized) {
     if (resourceCode == BANDWIDTH) {
-      this.account = this.account.toBuilder().setNetWindowOptimized(windowOptimized).build();
+      this.account = account().toBuilder().setNetWindowOptimized(windowOptimized).build();
     } else {
-      this.account = this.account.toBuilder().setAccountResource(this.account.getAccountResource()
+      this.account = account().toBuilder().setAccountResource(account().getAccountResource()
           .toBuilder().setEnergyWindowOptimized(windowOptimized).build()).build();
     }
   }
 
   public long getLastConsumeTime(ResourceCode resourceCode) {
     if (resourceCode == BANDWIDTH) {
-      return this.account.getLatestConsumeTime();
+      return account().getLatestConsumeTime();
     } else {
-      return this.account.getAccountResource().getLatestConsumeTimeForEnergy();
+      return account().getAccountResource().getLatestConsumeTimeForEnergy();
     }
   }
 
@@ -34,6 +34,7 @@ import org.apache.commons.collections4.CollectionUtils;
 import org.tron.common.bloom.Bloom;
 import org.tron.common.crypto.SignInterface;
 import org.tron.common.crypto.SignUtils;
+import org.tron.common.crypto.SignatureCache;
 import org.tron.common.crypto.pqc.PQAuthSigValidator;
 import org.tron.common.crypto.pqc.PQSchemeRegistry;
 import org.tron.common.parameter.CommonParameter;
@@ -285,7 +286,7 @@ public class BlockCapsule implements ProtoCapsule<Block> {
     }
 
     byte[] digest = getRawHash().getBytes();
-    return PQSchemeRegistry.verify(scheme, publicKey, digest, signature);
+    return SignatureCache.verify(scheme, publicKey, digest, signature);
   }
 
   public BlockId getBlockId() {
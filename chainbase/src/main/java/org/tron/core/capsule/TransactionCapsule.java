@@ -20,6 +20,7 @@ import static org.tron.common.utils.WalletUtil.checkPermissionOperations;
 import static org.tron.core.Constant.MAX_CONTRACT_RESULT_SIZE;
 import static org.tron.core.exception.P2pException.TypeEnum.PROTOBUF_ERROR;
 
+import com.google.common.base.Throwables;
 import com.google.common.primitives.Bytes;
 import com.google.protobuf.Any;
 import com.google.protobuf.ByteString;
@@ -36,6 +37,8 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
@@ -45,9 +48,11 @@ import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.ArrayUtils;
 import org.tron.common.crypto.ECKey.ECDSASignature;
+import org.tron.common.crypto.PQVerificationService;
 import org.tron.common.crypto.Rsv;
 import org.tron.common.crypto.SignInterface;
 import org.tron.common.crypto.SignUtils;
+import org.tron.common.crypto.SignatureCache;
 import org.tron.common.crypto.pqc.PQAuthSigValidator;
 import org.tron.common.crypto.pqc.PQSchemeRegistry;
 import org.tron.common.es.ExecutorServiceManager;
@@ -111,6 +116,10 @@ public class TransactionCapsule implements ProtoCapsule<Transaction> {
   @Setter
   @Getter
   private long blockNum = -1;
+  /** Offset of the transaction in its serialized block, -1 if unknown. */
+  @Setter
+  @Getter
+  private int blockOffset = -1;
   @Getter
   @Setter
   private TransactionTrace trxTrace;
@@ -529,6 +538,32 @@ public class TransactionCapsule implements ProtoCapsule<Transaction> {
         .build();
   }
 
+  /**
+   * A copy to execute the transaction on, so that what executing it sets on the capsule can be
+   * dropped along with the execution. See {@link #executedAs(TransactionCapsule)}.
+   */
+  public TransactionCapsule copyForExecution() {
+    TransactionCapsule copy = new TransactionCapsule(transaction);
+    copy.id = getTransactionId();
+    copy.ownerAddress = ownerAddress;
+    copy.isVerified = isVerified;
+    copy.blockNum = blockNum;
+    copy.blockOffset = blockOffset;
+    copy.time = time;
+    copy.isInBlock = isInBlock;
+    return copy;
+  }
+
+  /**
+   * Takes over what executing the transaction set on {@code executed}, a copy of this capsule.
+   */
+  public void executedAs(TransactionCapsule executed) {
+    this.transaction = executed.transaction;
+    this.trxTrace = executed.trxTrace;
+    this.order = executed.order;
+    this.isInBlock = executed.isInBlock;
+  }
+
   public void setReference(long blockNum, byte[] blockHash) {
     byte[] refBlockNum = ByteArray.fromLong(blockNum);
     Transaction.raw rawData = this.transaction.getRawData().toBuilder()
@@ -745,46 +780,84 @@ public class TransactionCapsule implements ProtoCapsule<Transaction> {
               + " exceeds permission key count " + permission.getKeysCount());
     }
 
-    long weight = 0L;
+    // The signatures that pass the checks are verified as one batch. A check that fails reports
+    // after the signatures before it, as if each signature were verified right after its checks.
+    List<Callable<Boolean>> verifications = new ArrayList<>(pqAuthSigList.size());
+    List<Key> matchedKeys = new ArrayList<>(pqAuthSigList.size());
+    Exception failedCheck = null;
     for (PQAuthSig witness : pqAuthSigList) {
-      // Keep consensus and ingress handling of PQAuthSig wire fields aligned.
-      if (PQAuthSigValidator.hasUnknownFields(witness)) {
-        throw new SignatureFormatException("pq_auth_sig contains unknown fields");
-      }
-      PQScheme scheme = witness.getScheme();
-      if (!dynamicPropertiesStore.isPqSchemeAllowed(scheme)) {
-        throw new PermissionException(scheme + " is not allowed");
-      }
-      byte[] pk = witness.getPublicKey().toByteArray();
-      byte[] sig = witness.getSignature().toByteArray();
-      if (pk.length != PQSchemeRegistry.getPublicKeyLength(scheme)
-          || !PQSchemeRegistry.isValidSignatureLength(scheme, sig.length)) {
-        throw new SignatureFormatException("public key or signature length mismatch");
-      }
-      byte[] derivedAddr = PQSchemeRegistry.computeAddress(scheme, pk);
-      ByteString addrBs = ByteString.copyFrom(derivedAddr);
-      if (!signedAddresses.add(addrBs)) {
-        throw new PermissionException(encode58Check(derivedAddr) + " has signed twice!");
+      try {
+        // Keep consensus and ingress handling of PQAuthSig wire fields aligned.
+        if (PQAuthSigValidator.hasUnknownFields(witness)) {
+          throw new SignatureFormatException("pq_auth_sig contains unknown fields");
+        }
+        PQScheme scheme = witness.getScheme();
+        if (!dynamicPropertiesStore.isPqSchemeAllowed(scheme)) {
+          throw new PermissionException(scheme + " is not allowed");
+        }
+        byte[] pk = witness.getPublicKey().toByteArray();
+        byte[] sig = witness.getSignature().toByteArray();
+        if (pk.length != PQSchemeRegistry.getPublicKeyLength(scheme)
+            || !PQSchemeRegistry.isValidSignatureLength(scheme, sig.length)) {
+          throw new SignatureFormatException("public key or signature length mismatch");
+        }
+        byte[] derivedAddr = PQSchemeRegistry.computeAddress(scheme, pk);
+        ByteString addrBs = ByteString.copyFrom(derivedAddr);
+        if (!signedAddresses.add(addrBs)) {
+          throw new PermissionException(encode58Check(derivedAddr) + " has signed twice!");
+        }
+        matchedKeys.add(permission.getKeysList().stream()
+            .filter(k -> k.getAddress().equals(addrBs))
+            .findFirst()
+            .orElseThrow(() -> new PermissionException(
+                "pq_auth_sig public key derives to " + encode58Check(derivedAddr)
+                    + " but it is not contained of permission.")));
+        verifications.add(() -> SignatureCache.verify(scheme, pk, digest, sig));
+      } catch (PermissionException | SignatureFormatException | RuntimeException e) {
+        failedCheck = e;
+        break;
       }
-      Key matched = permission.getKeysList().stream()
-          .filter(k -> k.getAddress().equals(addrBs))
-          .findFirst()
-          .orElseThrow(() -> new PermissionException(
-              "pq_auth_sig public key derives to " + encode58Check(derivedAddr)
-                  + " but it is not contained of permission."));
-      if (!PQSchemeRegistry.verify(scheme, pk, digest, sig)) {
+    }
+
+    List<Boolean> verified = verifyAll(verifications);
+    long weight = 0L;
+    for (int i = 0; i < verified.size(); i++) {
+      if (!verified.get(i)) {
         throw new SignatureException("pq sig invalid");
       }
+      Key matched = matchedKeys.get(i);
       try {
         weight = StrictMathWrapper.addExact(weight, matched.getWeight());
       } catch (ArithmeticException e) {
         throw new PermissionException("weight overflow");
       }
-      approveList.add(addrBs);
+      approveList.add(matched.getAddress());
+    }
+    if (failedCheck instanceof PermissionException) {
+      throw (PermissionException) failedCheck;
+    }
+    if (failedCheck instanceof SignatureFormatException) {
+      throw (SignatureFormatException) failedCheck;
+    }
+    if (failedCheck != null) {
+      throw (RuntimeException) failedCheck;
     }
     return weight;
   }
 
+  private static List<Boolean> verifyAll(List<Callable<Boolean>> verifications)
+      throws SignatureException {
+    try {
+      return PQVerificationService.invokeAll(verifications);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new SignatureException("pq sig verification interrupted");
+    } catch (ExecutionException e) {
+      Throwables.throwIfUnchecked(e.getCause());
+      throw new SignatureException(e.getCause());
+    }
+  }
+
   private static Sha256Hash computeRawHash(Transaction transaction) {
     return Sha256Hash.of(CommonParameter.getInstance().isECKeyCryptoEngine(),
         transaction.getRawData().toByteArray());
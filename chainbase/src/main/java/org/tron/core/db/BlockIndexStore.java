@@ -22,7 +22,7 @@ public class BlockIndexStore extends TronStoreWithRevoking<BytesCapsule> {
 
   @Autowired
   public BlockIndexStore(@Value("block-index") String dbName) {
-    super(dbName);
+    super(dbName, BytesCapsule::new);
 
   }
 
@@ -35,7 +35,7 @@ public class BlockStore extends TronStoreWithRevoking<BlockCapsule> {
 
   @Autowired
   private BlockStore(@Value("block") String dbName) {
-    super(dbName);
+    super(dbName, BlockCapsule::new);
   }
 
   public List<BlockCapsule> getLimitNumber(long startNumber, long limit) {
@@ -43,6 +43,16 @@ public class BlockStore extends TronStoreWithRevoking<BlockCapsule> {
     return pack(revokingDB.getValuesNext(startBlockId.getBytes(), limit));
   }
 
+  /**
+   * Serialized form of the first block stored at or after {@code startNumber}, for callers
+   * that only need a part of it. Null if there is none.
+   */
+  public byte[] getDataByNumber(long startNumber) {
+    BlockId startBlockId = new BlockId(Sha256Hash.ZERO_HASH, startNumber);
+    Set<byte[]> values = revokingDB.getValuesNext(startBlockId.getBytes(), 1);
+    return values.isEmpty() ? null : values.iterator().next();
+  }
+
   public List<BlockCapsule> getBlockByLatestNum(long getNum) {
     return pack(revokingDB.getlatestValues(getNum));
   }
@@ -0,0 +1,44 @@
+package org.tron.core.db;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import org.tron.core.capsule.ProtoCapsule;
+import org.tron.core.exception.BadItemException;
+
+/**
+ * Turns the bytes a {@link TronStoreWithRevoking} reads back into its capsule type. Stores
+ * register a direct factory, usually the capsule's {@code byte[]} constructor, such as
+ * {@code AccountCapsule::new}.
+ *
+ * <p>A codec does not have to parse eagerly: it may hand out a capsule that keeps the raw
+ * bytes and only parses them when a field is first read, see {@code AccountCapsule#lazy}.</p>
+ */
+@FunctionalInterface
+public interface CapsuleCodec<T extends ProtoCapsule> {
+
+  T decode(byte[] data) throws BadItemException;
+
+  /**
+   * Codec for stores that register none, calling the {@code byte[]} constructor of
+   * {@code type} through reflection. The constructor is looked up once, not per read.
+   */
+  static <T extends ProtoCapsule> CapsuleCodec<T> reflective(Class<? super T> type) {
+    Constructor<? super T> constructor;
+    try {
+      constructor = type.getConstructor(byte[].class);
+    } catch (NoSuchMethodException e) {
+      return data -> {
+        throw new BadItemException(e.getMessage());
+      };
+    }
+    return data -> {
+      try {
+        @SuppressWarnings("unchecked")
+        T t = (T) constructor.newInstance((Object) data);
+        return t;
+      } catch (IllegalAccessException | InstantiationException | InvocationTargetException e) {
+        throw new BadItemException(e.getMessage());
+      }
+    };
+  }
+}
@@ -11,7 +11,7 @@ public class RecentTransactionStore extends TronStoreWithRevoking<BytesCapsule>
 
   @Autowired
   private RecentTransactionStore(@Value("recent-transaction") String dbName) {
-    super(dbName);
+    super(dbName, BytesCapsule::new);
   }
 
   @Override
@@ -1,8 +1,10 @@
 package org.tron.core.db;
 
+import java.util.Map;
 import org.tron.core.db2.ISession;
 import org.tron.core.db2.common.IRevokingDB;
 import org.tron.core.db2.core.Chainbase;
+import org.tron.core.db2.core.Snapshot;
 import org.tron.core.exception.RevokingStoreIllegalStateException;
 
 public interface RevokingDatabase {
@@ -31,6 +33,12 @@ public interface RevokingDatabase {
 
   int size();
 
+  /**
+   * @return the snapshot every database is at now, for reading them as they are at this point
+   *     while later sessions are built on top
+   */
+  Map<Chainbase, Snapshot> getHeads();
+
   void check();
 
   void setMaxSize(int maxSize);
@@ -16,7 +16,8 @@ public class TransactionCache extends TronStoreWithRevoking<BytesCapsule> {
   public TransactionCache(@Value("trans-cache") String dbName,
                           @Autowired RecentTransactionStore recentTransactionStore,
                           @Autowired DynamicPropertiesStore dynamicPropertiesStore) {
-    super(new TxCacheDB(dbName, recentTransactionStore, dynamicPropertiesStore));
+    super(new TxCacheDB(dbName, recentTransactionStore, dynamicPropertiesStore),
+        BytesCapsule::new);
   }
 
   public void initCache() {
@@ -0,0 +1,144 @@
+package org.tron.core.db;
+
+import com.google.common.primitives.Ints;
+import com.google.common.primitives.Longs;
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.InvalidProtocolBufferException;
+import com.google.protobuf.WireFormat;
+import java.io.IOException;
+import java.util.Arrays;
+import org.tron.common.parameter.CommonParameter;
+import org.tron.common.utils.Sha256Hash;
+import org.tron.protos.Protocol.Block;
+import org.tron.protos.Protocol.Transaction;
+
+/**
+ * Where a transaction sits in its block, the value {@link TransactionStore} keeps for a
+ * transaction that made it into a block: block number (8 bytes) and offset of its field in the
+ * serialized block (4 bytes).
+ *
+ * <p>Resolving a locator slices that one transaction out of the stored block bytes and only
+ * hashes its raw data to check it is the one asked for, the block itself is never parsed.
+ * Entries written before locators existed hold just the block number; they are resolved by
+ * {@link #scan(byte[], byte[])}, which walks the serialized block the same way.</p>
+ */
+final class TransactionLocator {
+
+  static final int LENGTH = 12;
+
+  private static final int TRANSACTION_TAG = tag(Block.TRANSACTIONS_FIELD_NUMBER);
+  private static final int RAW_DATA_TAG = tag(Transaction.RAW_DATA_FIELD_NUMBER);
+
+  private TransactionLocator() {
+  }
+
+  static byte[] encode(long blockNum, int offset) {
+    byte[] locator = new byte[LENGTH];
+    System.arraycopy(Longs.toByteArray(blockNum), 0, locator, 0, Long.BYTES);
+    System.arraycopy(Ints.toByteArray(offset), 0, locator, 8, Integer.BYTES);
+    return locator;
+  }
+
+  static long blockNum(byte[] locator) {
+    return Longs.fromBytes(locator[0], locator[1], locator[2], locator[3],
+        locator[4], locator[5], locator[6], locator[7]);
+  }
+
+  static int offset(byte[] locator) {
+    return Ints.fromBytes(locator[8], locator[9], locator[10], locator[11]);
+  }
+
+  /**
+   * @return the offset of every transaction field in {@code block.toByteArray()}. Transactions
+   *     are field 1 of a block, so they are serialized first and in order.
+   */
+  static int[] offsets(Block block) {
+    int[] offsets = new int[block.getTransactionsCount()];
+    int offset = 0;
+    for (int i = 0; i < offsets.length; i++) {
+      offsets[i] = offset;
+      int size = block.getTransactions(i).getSerializedSize();
+      offset += CodedOutputStream.computeUInt32SizeNoTag(TRANSACTION_TAG)
+          + CodedOutputStream.computeUInt32SizeNoTag(size) + size;
+    }
+    return offsets;
+  }
+
+  /**
+   * @return the transaction whose field starts at {@code offset} of the serialized block, or
+   *     null if the field there is not a transaction with id {@code id}.
+   */
+  static Transaction slice(byte[] block, int offset, byte[] id) {
+    if (offset < 0 || offset >= block.length) {
+      return null;
+    }
+    try {
+      CodedInputStream input = CodedInputStream.newInstance(block, offset, block.length - offset);
+      if (input.readTag() != TRANSACTION_TAG) {
+        return null;
+      }
+      return read(block, offset, input, id);
+    } catch (IOException e) {
+      return null;
+    }
+  }
+
+  /**
+   * @return the transaction with id {@code id} in the serialized block, null if it has none.
+   */
+  static Transaction scan(byte[] block, byte[] id) {
+    try {
+      CodedInputStream input = CodedInputStream.newInstance(block);
+      for (int tag = input.readTag(); tag != 0; tag = input.readTag()) {
+        if (tag != TRANSACTION_TAG) {
+          input.skipField(tag);
+          continue;
+        }
+        Transaction transaction = read(block, 0, input, id);
+        if (transaction != null) {
+          return transaction;
+        }
+      }
+    } catch (IOException e) {
+      return null;
+    }
+    return null;
+  }
+
+  /**
+   * Reads the transaction field {@code input} is positioned in, right after its tag, and
+   * leaves {@code input} after it.
+   */
+  private static Transaction read(byte[] block, int base, CodedInputStream input, byte[] id)
+      throws IOException {
+    int length = input.readRawVarint32();
+    int start = base + input.getTotalBytesRead();
+    if (length < 0 || length > block.length - start) {
+      throw new InvalidProtocolBufferException("transaction runs past the end of the block");
+    }
+    input.skipRawBytes(length);
+    if (!Arrays.equals(rawDataHash(block, start, length), id)) {
+      return null;
+    }
+    return Transaction.parseFrom(CodedInputStream.newInstance(block, start, length));
+  }
+
+  private static int tag(int lengthDelimitedField) {
+    return lengthDelimitedField << 3 | WireFormat.WIRETYPE_LENGTH_DELIMITED;
+  }
+
+  private static byte[] rawDataHash(byte[] block, int start, int length) throws IOException {
+    CodedInputStream input = CodedInputStream.newInstance(block, start, length);
+    for (int tag = input.readTag(); tag != 0; tag = input.readTag()) {
+      if (tag == RAW_DATA_TAG) {
+        return Sha256Hash.of(CommonParameter.getInstance().isECKeyCryptoEngine(),
+            input.readByteArray()).getBytes();
+      }
+      input.skipField(tag);
+    }
+    // a transaction without raw data hashes like an empty one
+    return Sha256Hash.of(CommonParameter.getInstance().isECKeyCryptoEngine(),
+        new byte[0]).getBytes();
+  }
+}
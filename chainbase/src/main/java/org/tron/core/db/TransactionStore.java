@@ -9,10 +9,10 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import org.tron.common.utils.ByteArray;
 import org.tron.common.utils.Sha256Hash;
-import org.tron.core.capsule.BlockCapsule;
 import org.tron.core.capsule.TransactionCapsule;
 import org.tron.core.db.KhaosDatabase.KhaosBlock;
 import org.tron.core.exception.BadItemException;
+import org.tron.protos.Protocol.Transaction;
 
 @Slf4j(topic = "DB")
 @Component
@@ -26,28 +26,35 @@ public class TransactionStore extends TronStoreWithRevoking<TransactionCapsule>
 
   @Autowired
   private TransactionStore(@Value("trans") String dbName) {
-    super(dbName);
+    super(dbName, TransactionCapsule::new);
   }
 
   @Override
   public void put(byte[] key, TransactionCapsule item) {
     if (Objects.isNull(item) || item.getBlockNum() == -1) {
       super.put(key, item);
+    } else if (item.getBlockOffset() >= 0) {
+      revokingDB.put(key, TransactionLocator.encode(item.getBlockNum(), item.getBlockOffset()));
     } else {
       revokingDB.put(key, ByteArray.fromLong(item.getBlockNum()));
     }
   }
 
-  private TransactionCapsule getTransactionFromBlockStore(byte[] key, long blockNum) {
-    List<BlockCapsule> blocksList = blockStore.getLimitNumber(blockNum, 1);
-    if (blocksList.size() != 0) {
-      for (TransactionCapsule e : blocksList.get(0).getTransactions()) {
-        if (e.getTransactionId().equals(Sha256Hash.wrap(key))) {
-          return e;
-        }
-      }
+  /**
+   * @param offset offset of the transaction in the serialized block, -1 for entries that only
+   *     recorded the block number.
+   */
+  private TransactionCapsule getTransactionFromBlockStore(byte[] key, long blockNum,
+      int offset) {
+    byte[] block = blockStore.getDataByNumber(blockNum);
+    if (block == null) {
+      return null;
     }
-    return null;
+    Transaction transaction = TransactionLocator.slice(block, offset, key);
+    if (transaction == null) {
+      transaction = TransactionLocator.scan(block, key);
+    }
+    return transaction == null ? null : new TransactionCapsule(transaction);
   }
 
   private TransactionCapsule getTransactionFromKhaosDatabase(byte[] key, long high) {
@@ -74,6 +81,9 @@ public class TransactionStore extends TronStoreWithRevoking<TransactionCapsule>
     if (value.length == 8) {
       return ByteArray.toLong(value);
     }
+    if (value.length == TransactionLocator.LENGTH) {
+      return TransactionLocator.blockNum(value);
+    }
     TransactionCapsule transactionCapsule = new TransactionCapsule(value);
     return transactionCapsule.getBlockNum();
   }
@@ -88,9 +98,15 @@ public class TransactionStore extends TronStoreWithRevoking<TransactionCapsule>
     TransactionCapsule transactionCapsule = null;
     long blockHigh = -1;
 
-    if (value.length == 8) {
-      blockHigh = ByteArray.toLong(value);
-      transactionCapsule = getTransactionFromBlockStore(key, blockHigh);
+    if (value.length == 8 || value.length == TransactionLocator.LENGTH) {
+      int offset = -1;
+      if (value.length == 8) {
+        blockHigh = ByteArray.toLong(value);
+      } else {
+        blockHigh = TransactionLocator.blockNum(value);
+        offset = TransactionLocator.offset(value);
+      }
+      transactionCapsule = getTransactionFromBlockStore(key, blockHigh, offset);
       if (transactionCapsule == null) {
         transactionCapsule = getTransactionFromKhaosDatabase(key, blockHigh);
       }
@@ -3,6 +3,7 @@ package org.tron.core.db;
 import com.google.protobuf.InvalidProtocolBufferException;
 import java.nio.file.Paths;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -60,8 +61,19 @@ public abstract class TronDatabase<T> implements ITronChainBase<T> {
     return dbSource;
   }
 
+  /**
+   * The options batches are written with.
+   */
+  protected WriteOptionsWrapper getWriteOptions() {
+    return writeOptions;
+  }
+
   public void updateByBatch(Map<byte[], byte[]> rows) {
-    this.dbSource.updateByBatch(rows, writeOptions);
+    this.dbSource.updateByBatch(rows, getWriteOptions());
+  }
+
+  public void updateByBatch(List<Map<byte[], byte[]>> batches) {
+    this.dbSource.updateByBatch(batches, getWriteOptions());
   }
 
   /**
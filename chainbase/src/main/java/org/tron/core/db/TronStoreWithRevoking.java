@@ -5,9 +5,9 @@ import com.google.common.collect.Maps;
 import com.google.common.collect.Streams;
 import com.google.common.reflect.TypeToken;
 import java.io.IOException;
-import java.lang.reflect.Constructor;
-import java.lang.reflect.InvocationTargetException;
 import java.nio.file.Paths;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Locale;
 import java.util.Map;
@@ -41,8 +41,7 @@ public abstract class TronStoreWithRevoking<T extends ProtoCapsule> implements I
 
   @Getter
   protected IRevokingDB revokingDB;
-  private TypeToken<T> token = new TypeToken<T>(getClass()) {
-  };
+  private final CapsuleCodec<T> codec;
 
   @Autowired
   private RevokingDatabase revokingDatabase;
@@ -54,6 +53,15 @@ public abstract class TronStoreWithRevoking<T extends ProtoCapsule> implements I
   private final DB<byte[], byte[]> db;
 
   protected TronStoreWithRevoking(String dbName) {
+    this(dbName, null);
+  }
+
+  /**
+   * @param codec decodes the values read back, null to call the capsule's {@code byte[]}
+   *     constructor through reflection.
+   */
+  protected TronStoreWithRevoking(String dbName, CapsuleCodec<T> codec) {
+    this.codec = codec != null ? codec : reflectiveCodec();
     String dbEngine = CommonParameter.getInstance().getStorage().getDbEngine();
     if ("LEVELDB".equals(dbEngine.toUpperCase(Locale.ROOT))) {
       this.db =  new LevelDB(
@@ -70,6 +78,11 @@ public abstract class TronStoreWithRevoking<T extends ProtoCapsule> implements I
   }
 
   protected TronStoreWithRevoking(DB<byte[], byte[]> db) {
+    this(db, null);
+  }
+
+  protected TronStoreWithRevoking(DB<byte[], byte[]> db, CapsuleCodec<T> codec) {
+    this.codec = codec != null ? codec : reflectiveCodec();
     this.db = db;
     this.revokingDB = new Chainbase(new SnapshotRoot(db));
   }
@@ -121,17 +134,38 @@ public abstract class TronStoreWithRevoking<T extends ProtoCapsule> implements I
 
   }
 
+  /**
+   * Reads many keys at once, see {@link IRevokingDB#getAll(Collection)}. Values that fail to
+   * decode are left out, as {@link #getUnchecked(byte[])} returns null for them.
+   *
+   * @return the item of every key that is present
+   */
+  public Map<WrappedByteArray, T> getAll(Collection<byte[]> keys) {
+    Map<WrappedByteArray, T> result = new HashMap<>();
+    revokingDB.getAll(keys).forEach((k, v) -> {
+      try {
+        result.put(k, of(v));
+      } catch (BadItemException e) {
+        logger.debug("Skip bad item of {} in {}.", k, getName());
+      }
+    });
+    return result;
+  }
+
   public T of(byte[] value) throws BadItemException {
     try {
-      Constructor constructor = token.getRawType().getConstructor(byte[].class);
-      @SuppressWarnings("unchecked")
-      T t = (T) constructor.newInstance(value);
-      return t;
-    } catch (NoSuchMethodException | IllegalAccessException | InstantiationException | InvocationTargetException e) {
+      return codec.decode(value);
+    } catch (RuntimeException e) {
+      // what the reflective codec reports for a constructor that throws
       throw new BadItemException(e.getMessage());
     }
   }
 
+  private CapsuleCodec<T> reflectiveCodec() {
+    return CapsuleCodec.reflective(new TypeToken<T>(getClass()) {
+    }.getRawType());
+  }
+
   @Override
   public boolean has(byte[] key) {
     return revokingDB.has(key);
@@ -3,6 +3,7 @@ package org.tron.core.db.accountstate;
 import java.util.ArrayList;
 import java.util.List;
 import org.tron.core.capsule.AccountCapsule;
+import org.tron.core.db2.core.ReadWriteSet;
 
 public class AccountStateCallBackUtils {
 
@@ -11,7 +12,8 @@ public class AccountStateCallBackUtils {
   protected List<TrieEntry> trieEntryList = new ArrayList<>();
 
   public void accountCallBack(byte[] key, AccountCapsule item) {
-    if (!exe()) {
+    // a speculative execution hands its account writes over once it is applied
+    if (ReadWriteSet.current() != null || !exe()) {
       return;
     }
     if (item == null) {
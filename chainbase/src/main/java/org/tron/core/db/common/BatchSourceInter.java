@@ -18,6 +18,7 @@
 
 package org.tron.core.db.common;
 
+import java.util.List;
 import java.util.Map;
 import org.tron.common.storage.WriteOptionsWrapper;
 
@@ -27,4 +28,9 @@ public interface BatchSourceInter<K, V> extends SourceInter<K, V> {
   void updateByBatch(Map<K, V> rows);
 
   void updateByBatch(Map<K, V> rows, WriteOptionsWrapper writeOptions);
+
+  /**
+   * Writes all batches in one atomic write, in list order.
+   */
+  void updateByBatch(List<Map<K, V>> batches, WriteOptionsWrapper writeOptions);
 }
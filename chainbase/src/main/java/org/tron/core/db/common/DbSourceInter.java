@@ -22,6 +22,8 @@ import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Strings;
 import java.io.File;
 import java.nio.file.Paths;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
 import org.tron.common.utils.FileUtil;
@@ -63,6 +65,22 @@ public interface DbSourceInter<V> extends BatchSourceInter<byte[], V>,
 
   Map<WrappedByteArray, byte[]> prefixQuery(byte[] key);
 
+  /**
+   * Reads many keys at once, engines override this to read them in one batch.
+   *
+   * @return the value of every key that is present
+   */
+  default Map<WrappedByteArray, V> getAll(Collection<byte[]> keys) {
+    Map<WrappedByteArray, V> result = new HashMap<>();
+    for (byte[] key : keys) {
+      V value = getData(key);
+      if (value != null) {
+        result.put(WrappedByteArray.of(key), value);
+      }
+    }
+    return result;
+  }
+
   static void checkOrInitEngine(String expectedEngine, String dir, TronError.ErrCode errCode) {
     String engineFile = Paths.get(dir, ENGINE_FILE).toString();
     File currentFile = new File(dir, "CURRENT");
@@ -0,0 +1,314 @@
+package org.tron.core.db2.common;
+
+import com.google.common.collect.Maps;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Snapshot layer storage that keeps entries as records in a few large buffers instead of one
+ * {@link Key}, {@link Value} and map node per entry, an alternative to {@link HashDB}.
+ *
+ * <p>Records are appended to fixed size chunks, heap arrays or direct buffers, and located by
+ * an open addressing table of primitive arrays: the record address and the key hash per slot,
+ * probed linearly. Overwriting a key appends a new record and repoints its slot, the old
+ * record stays in the arena until the layer is dropped; layers only live until they are
+ * flushed, so the waste is bounded by one block's rewrites.</p>
+ *
+ * <p>Record layout: key length (int), value length (int, -1 for a null value), operator
+ * (byte), key bytes, value bytes.</p>
+ *
+ * <p>{@link #get(Key)} returns a fresh {@link Value} on every call. Iteration is weakly
+ * consistent like {@link HashDB}'s: it walks the slots as they were when it started.</p>
+ */
+public class ArenaDB implements DB<Key, Value> {
+
+  private static final int CHUNK_SIZE = 256 * 1024;
+  private static final int HEADER = 9;
+  private static final int INITIAL_CAPACITY = 64;
+
+  private final String name;
+  private final boolean direct;
+  private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+  // address + 1 of the record in each slot, 0 for an empty slot
+  private long[] addresses = new long[INITIAL_CAPACITY];
+  private int[] hashes = new int[INITIAL_CAPACITY];
+  private int size;
+
+  private ByteBuffer[] chunks = new ByteBuffer[4];
+  private int chunkCount;
+  private int position = CHUNK_SIZE;
+
+  /**
+   * @param direct allocate the arena off-heap. Direct chunks are released when the layer is
+   *     garbage collected, the JVM direct memory limit has to leave room for them.
+   */
+  public ArenaDB(String name, boolean direct) {
+    this.name = name;
+    this.direct = direct;
+  }
+
+  @Override
+  public Value get(Key key) {
+    byte[] k = key.bytes();
+    int hash = hash(k);
+    lock.readLock().lock();
+    try {
+      int slot = find(k, hash);
+      return slot < 0 ? null : decodeValue(chunks, addresses[slot] - 1);
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  @Override
+  public void put(Key key, Value value) {
+    byte[] k = key.bytes();
+    int hash = hash(k);
+    lock.writeLock().lock();
+    try {
+      long address = append(k, value);
+      int slot = find(k, hash);
+      if (slot >= 0) {
+        addresses[slot] = address + 1;
+        return;
+      }
+      if ((size + 1) * 4 > addresses.length * 3) {
+        resize();
+      }
+      slot = hash & (addresses.length - 1);
+      while (addresses[slot] != 0) {
+        slot = (slot + 1) & (addresses.length - 1);
+      }
+      addresses[slot] = address + 1;
+      hashes[slot] = hash;
+      size++;
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  @Override
+  public long size() {
+    lock.readLock().lock();
+    try {
+      return size;
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return size() == 0;
+  }
+
+  @Override
+  public void remove(Key key) {
+    byte[] k = key.bytes();
+    int hash = hash(k);
+    lock.writeLock().lock();
+    try {
+      int slot = find(k, hash);
+      if (slot < 0) {
+        return;
+      }
+      // backward shift, so probes never need tombstones
+      int mask = addresses.length - 1;
+      int hole = slot;
+      for (int next = (hole + 1) & mask; addresses[next] != 0; next = (next + 1) & mask) {
+        int home = hashes[next] & mask;
+        if (((next - home) & mask) >= ((next - hole) & mask)) {
+          addresses[hole] = addresses[next];
+          hashes[hole] = hashes[next];
+          hole = next;
+        }
+      }
+      addresses[hole] = 0;
+      hashes[hole] = 0;
+      size--;
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  @Override
+  public String getDbName() {
+    return name;
+  }
+
+  @Override
+  public Iterator<Map.Entry<Key, Value>> iterator() {
+    long[] slots;
+    ByteBuffer[] arena;
+    lock.readLock().lock();
+    try {
+      slots = Arrays.copyOf(addresses, addresses.length);
+      arena = chunks;
+    } finally {
+      lock.readLock().unlock();
+    }
+    return new Iterator<Map.Entry<Key, Value>>() {
+      private int slot = advance(0);
+
+      private int advance(int from) {
+        while (from < slots.length && slots[from] == 0) {
+          from++;
+        }
+        return from;
+      }
+
+      @Override
+      public boolean hasNext() {
+        return slot < slots.length;
+      }
+
+      @Override
+      public Map.Entry<Key, Value> next() {
+        if (!hasNext()) {
+          throw new NoSuchElementException();
+        }
+        long address = slots[slot] - 1;
+        slot = advance(slot + 1);
+        return Maps.immutableEntry(Key.of(decodeKey(arena, address)),
+            decodeValue(arena, address));
+      }
+    };
+  }
+
+  @Override
+  public void close() {
+    lock.writeLock().lock();
+    try {
+      addresses = new long[INITIAL_CAPACITY];
+      hashes = new int[INITIAL_CAPACITY];
+      size = 0;
+      chunks = new ByteBuffer[4];
+      chunkCount = 0;
+      position = CHUNK_SIZE;
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  @Override
+  public ArenaDB newInstance() {
+    return new ArenaDB(name, direct);
+  }
+
+  @Override
+  public void stat() {
+
+  }
+
+  private int find(byte[] key, int hash) {
+    int mask = addresses.length - 1;
+    for (int slot = hash & mask; addresses[slot] != 0; slot = (slot + 1) & mask) {
+      if (hashes[slot] == hash && keyEquals(addresses[slot] - 1, key)) {
+        return slot;
+      }
+    }
+    return -1;
+  }
+
+  private void resize() {
+    long[] oldAddresses = addresses;
+    int[] oldHashes = hashes;
+    addresses = new long[oldAddresses.length << 1];
+    hashes = new int[oldHashes.length << 1];
+    int mask = addresses.length - 1;
+    for (int i = 0; i < oldAddresses.length; i++) {
+      if (oldAddresses[i] != 0) {
+        int slot = oldHashes[i] & mask;
+        while (addresses[slot] != 0) {
+          slot = (slot + 1) & mask;
+        }
+        addresses[slot] = oldAddresses[i];
+        hashes[slot] = oldHashes[i];
+      }
+    }
+  }
+
+  private long append(byte[] key, Value value) {
+    byte[] data = value.bytes();
+    int length = HEADER + key.length + (data == null ? 0 : data.length);
+    ByteBuffer chunk;
+    if (length > CHUNK_SIZE - position) {
+      // a record larger than a chunk gets a chunk of its own, filled up at once
+      chunk = allocate(Math.max(length, CHUNK_SIZE));
+      position = 0;
+    } else {
+      chunk = chunks[chunkCount - 1];
+    }
+    long address = ((long) (chunkCount - 1) << 32) | position;
+    ByteBuffer record = chunk.duplicate();
+    record.position(position);
+    record.putInt(key.length);
+    record.putInt(data == null ? -1 : data.length);
+    record.put(value.getOperator().getValue());
+    record.put(key);
+    if (data != null) {
+      record.put(data);
+    }
+    position += length;
+    return address;
+  }
+
+  private ByteBuffer allocate(int capacity) {
+    if (chunkCount == chunks.length) {
+      chunks = Arrays.copyOf(chunks, chunkCount << 1);
+    }
+    ByteBuffer chunk = direct ? ByteBuffer.allocateDirect(capacity) : ByteBuffer.allocate(capacity);
+    chunks[chunkCount++] = chunk;
+    return chunk;
+  }
+
+  private boolean keyEquals(long address, byte[] key) {
+    ByteBuffer chunk = chunks[(int) (address >>> 32)];
+    int offset = (int) address;
+    if (chunk.getInt(offset) != key.length) {
+      return false;
+    }
+    offset += HEADER;
+    for (int i = 0; i < key.length; i++) {
+      if (chunk.get(offset + i) != key[i]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static byte[] decodeKey(ByteBuffer[] arena, long address) {
+    ByteBuffer record = arena[(int) (address >>> 32)].duplicate();
+    record.position((int) address);
+    byte[] key = new byte[record.getInt()];
+    record.position(record.position() + 5);
+    record.get(key);
+    return key;
+  }
+
+  private static Value decodeValue(ByteBuffer[] arena, long address) {
+    ByteBuffer record = arena[(int) (address >>> 32)].duplicate();
+    record.position((int) address);
+    int keyLength = record.getInt();
+    int valueLength = record.getInt();
+    Value.Operator operator = Value.Operator.valueOf(record.get());
+    if (valueLength < 0) {
+      return Value.of(operator, null);
+    }
+    byte[] value = new byte[valueLength];
+    record.position(record.position() + keyLength);
+    record.get(value);
+    return Value.of(operator, value);
+  }
+
+  private static int hash(byte[] key) {
+    int h = Arrays.hashCode(key);
+    return h ^ (h >>> 16);
+  }
+}
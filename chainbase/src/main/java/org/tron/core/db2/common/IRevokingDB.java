@@ -1,5 +1,6 @@
 package org.tron.core.db2.common;
 
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
@@ -21,6 +22,14 @@ public interface IRevokingDB extends Iterable<Map.Entry<byte[], byte[]>> {
 
   byte[] getUnchecked(byte[] key);
 
+  /**
+   * Reads many keys at once: the snapshot layers are checked first and the keys they do not
+   * hold are read from the database in one batch.
+   *
+   * @return the value of every key that is present
+   */
+  Map<WrappedByteArray, byte[]> getAll(Collection<byte[]> keys);
+
   void close();
 
   void reset();
@@ -28,4 +28,11 @@ public final class Key {
 
     return Arrays.copyOf(key, key.length);
   }
+
+  /**
+   * @return the key bytes without a defensive copy, callers must not modify them.
+   */
+  byte[] bytes() {
+    return data.getBytes();
+  }
 }
@@ -53,6 +53,13 @@ public final class Value {
     return Arrays.copyOf(value, value.length);
   }
 
+  /**
+   * @return the value bytes without a defensive copy, callers must not modify them.
+   */
+  byte[] bytes() {
+    return data.getBytes();
+  }
+
   public enum Operator {
     CREATE((byte) 0),
     MODIFY((byte) 1),
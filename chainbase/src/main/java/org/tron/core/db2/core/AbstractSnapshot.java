@@ -17,6 +17,9 @@ public abstract class AbstractSnapshot<K, V> implements Snapshot {
 
   protected boolean isOptimized;
 
+  @Getter
+  protected volatile long version;
+
   @Override
   public Snapshot advance() {
     return new SnapshotImpl(this);
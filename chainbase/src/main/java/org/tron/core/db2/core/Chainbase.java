@@ -3,6 +3,7 @@ package org.tron.core.db2.core;
 import com.google.common.collect.Maps;
 import com.google.common.collect.Streams;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -120,12 +121,30 @@ public class Chainbase implements IRevokingDB {
   }
 
   @Override
-  public synchronized void put(byte[] key, byte[] value) {
+  public void put(byte[] key, byte[] value) {
+    ReadWriteSet set = ReadWriteSet.current();
+    if (set != null) {
+      set.put(this, key, value);
+      return;
+    }
+    putHead(key, value);
+  }
+
+  private synchronized void putHead(byte[] key, byte[] value) {
     head().put(key, value);
   }
 
   @Override
-  public synchronized void delete(byte[] key) {
+  public void delete(byte[] key) {
+    ReadWriteSet set = ReadWriteSet.current();
+    if (set != null) {
+      set.put(this, key, null);
+      return;
+    }
+    deleteHead(key);
+  }
+
+  private synchronized void deleteHead(byte[] key) {
     head().remove(key);
   }
 
@@ -141,6 +160,7 @@ public class Chainbase implements IRevokingDB {
 
   @Override
   public byte[] getFromRoot(byte[] key) throws ItemNotFoundException {
+    unsupported("getFromRoot");
     byte[] value = head().getRoot().get(key);
     if (value == null) {
       throw new ItemNotFoundException();
@@ -150,9 +170,39 @@ public class Chainbase implements IRevokingDB {
 
   @Override
   public byte[] getUnchecked(byte[] key) {
+    ReadWriteSet set = ReadWriteSet.current();
+    if (set != null) {
+      return set.get(this, key);
+    }
     return head().get(key);
   }
 
+  @Override
+  public Map<WrappedByteArray, byte[]> getAll(Collection<byte[]> keys) {
+    ReadWriteSet set = ReadWriteSet.current();
+    if (set != null) {
+      Map<WrappedByteArray, byte[]> result = new HashMap<>();
+      for (byte[] key : keys) {
+        byte[] value = set.get(this, key);
+        if (value != null) {
+          result.put(WrappedByteArray.of(key), value);
+        }
+      }
+      return result;
+    }
+    return head().getAll(keys);
+  }
+
+  /**
+   * Fails the speculation open on the calling thread, if any, for a read it can not record.
+   */
+  private void unsupported(String operation) {
+    ReadWriteSet set = ReadWriteSet.current();
+    if (set != null) {
+      throw set.abort(operation + " of " + getDbName());
+    }
+  }
+
   @Override
   public boolean has(byte[] key) {
     return getUnchecked(key) != null;
@@ -160,11 +210,13 @@ public class Chainbase implements IRevokingDB {
 
   @Override
   public synchronized Iterator<Map.Entry<byte[], byte[]>> iterator() {
+    unsupported("iterator");
     return head().iterator();
   }
 
   @Override
   public Set<byte[]> getValuesNext(byte[] key, long limit) {
+    unsupported("getValuesNext");
     return getValuesNext(head(), key, limit);
   }
 
@@ -206,6 +258,7 @@ public class Chainbase implements IRevokingDB {
 
   @Override
   public List<byte[]> getKeysNext(byte[] key, long limit) {
+    unsupported("getKeysNext");
     return getKeysNext(head(), key, limit);
   }
 
@@ -275,6 +328,7 @@ public class Chainbase implements IRevokingDB {
   // for blockstore
   @Override
   public Set<byte[]> getlatestValues(long limit) {
+    unsupported("getlatestValues");
     return getlatestValues(head(), limit);
   }
 
@@ -311,6 +365,7 @@ public class Chainbase implements IRevokingDB {
   // for accout-trace
   @Override
   public Map<byte[], byte[]> getNext(byte[] key, long limit) {
+    unsupported("getNext");
     return getNext(head(), key, limit);
   }
 
@@ -350,6 +405,7 @@ public class Chainbase implements IRevokingDB {
   }
 
   public Map<WrappedByteArray, byte[]> prefixQuery(byte[] key) {
+    unsupported("prefixQuery");
     Map<WrappedByteArray, byte[]> result = prefixQueryRoot(key);
     Map<WrappedByteArray, byte[]>  snapshot = prefixQuerySnapshot(key);
     result.putAll(snapshot);
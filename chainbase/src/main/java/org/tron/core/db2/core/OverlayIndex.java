@@ -0,0 +1,90 @@
+package org.tron.core.db2.core;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import org.tron.core.db2.common.DB;
+import org.tron.core.db2.common.Key;
+import org.tron.core.db2.common.Value;
+
+/**
+ * Flattened view of every {@link SnapshotImpl} layer stacked on one {@link SnapshotRoot}.
+ *
+ * <p>Each key maps to an immutable version list ordered from the newest layer to the oldest,
+ * so a read from any live layer is one hash probe and a short walk to the layer holding the
+ * visible value, instead of one probe per layer. Layers are identified by a sequence number
+ * that grows with every {@link Snapshot#advance()}, the stack is always ordered by it, so the
+ * value visible from a layer is the newest version whose sequence is not greater than the
+ * layer's own. Versions point at the layer storage rather than the value, the index costs the
+ * same whatever the size of the values or the {@link DB} behind the layers.</p>
+ *
+ * <p>The index must mirror the layer contents: {@link SnapshotImpl} reports every write,
+ * merge and retreat, and {@link SnapshotRoot} evicts layers once they are flushed.</p>
+ */
+final class OverlayIndex {
+
+  private final Map<Key, Version> versions = new ConcurrentHashMap<>();
+  private final AtomicLong sequence = new AtomicLong();
+
+  long nextSequence() {
+    return sequence.incrementAndGet();
+  }
+
+  /**
+   * @return the storage of the newest layer visible from layer {@code seq} that holds the key,
+   *     null if none does.
+   */
+  DB<Key, Value> get(Key key, long seq) {
+    Version version = versions.get(key);
+    while (version != null && version.seq > seq) {
+      version = version.next;
+    }
+    return version == null ? null : version.layer;
+  }
+
+  void put(Key key, long seq, DB<Key, Value> layer) {
+    versions.compute(key, (k, head) -> put(head, seq, layer));
+  }
+
+  void remove(Key key, long seq) {
+    versions.computeIfPresent(key, (k, head) -> remove(head, seq));
+  }
+
+  long size() {
+    return versions.size();
+  }
+
+  private static Version put(Version head, long seq, DB<Key, Value> layer) {
+    if (head == null || head.seq < seq) {
+      return new Version(seq, layer, head);
+    }
+    if (head.seq == seq) {
+      return head;
+    }
+    return new Version(head.seq, head.layer, put(head.next, seq, layer));
+  }
+
+  private static Version remove(Version head, long seq) {
+    if (head == null || head.seq < seq) {
+      return head;
+    }
+    if (head.seq == seq) {
+      return head.next;
+    }
+    Version next = remove(head.next, seq);
+    return next == head.next ? head : new Version(head.seq, head.layer, next);
+  }
+
+  private static final class Version {
+
+    private final long seq;
+    private final DB<Key, Value> layer;
+    private final Version next;
+
+    private Version(long seq, DB<Key, Value> layer, Version next) {
+      this.seq = seq;
+      this.layer = layer;
+      this.next = next;
+    }
+  }
+}
@@ -0,0 +1,239 @@
+package org.tron.core.db2.core;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import org.tron.common.utils.ByteArray;
+import org.tron.core.db2.common.WrappedByteArray;
+
+/**
+ * What a transaction executed speculatively read from the stores and what it wrote to them.
+ * While a set is {@link #open() open} on a thread, every {@link Chainbase} it goes through reads
+ * the head as it was and records the value it saw, and keeps writes in the set instead of the
+ * head. The transaction sees its own writes as usual.
+ *
+ * <p>Once the transactions before it are executed, the set is {@link #validate() validated}: if
+ * every key it read still holds the value it saw, executing it now would do exactly what it did,
+ * so its writes are {@link #apply() applied} instead. Reads a set can not record, as iterators and
+ * prefix queries, {@link #abort(String) abort} the speculation.</p>
+ *
+ * <p>A set {@link #open(Map) opened at} snapshots taken earlier reads the databases as they were
+ * then, so a speculation can run in the background while sessions are built over the head.</p>
+ *
+ * <p>Long counters only ever added to, as the burnt TRX, are kept as deltas by
+ * {@link #add(Chainbase, byte[], long)}, so transactions that each add to them do not conflict.
+ * </p>
+ */
+public final class ReadWriteSet {
+
+  private static final ThreadLocal<ReadWriteSet> CURRENT = new ThreadLocal<>();
+  private static final byte[] DELETED = new byte[0];
+
+  // by database, in the order they were first used, so applying a set is deterministic
+  private final Map<Chainbase, Map<WrappedByteArray, byte[]>> reads = new LinkedHashMap<>();
+  private final Map<Chainbase, Map<WrappedByteArray, byte[]>> writes = new LinkedHashMap<>();
+  private final Map<Chainbase, Map<WrappedByteArray, Long>> deltas = new LinkedHashMap<>();
+  private final Map<Chainbase, Snapshot> base;
+  private final boolean discarded;
+  private String aborted;
+
+  private ReadWriteSet(Map<Chainbase, Snapshot> base, boolean discarded) {
+    this.base = base;
+    this.discarded = discarded;
+  }
+
+  /**
+   * Records the reads and writes of the calling thread in a new set until {@link #close()}.
+   */
+  public static ReadWriteSet open() {
+    return open(Collections.emptyMap());
+  }
+
+  /**
+   * Like {@link #open()}, but reads every database in {@code base} at the snapshot it maps to
+   * instead of at its head.
+   */
+  public static ReadWriteSet open(Map<Chainbase, Snapshot> base) {
+    return open(base, false);
+  }
+
+  /**
+   * Like {@link #open(Map)}, for an execution that is only looked at and whose set is never
+   * applied. Such an execution may do what a speculation must not, as running the precompiled
+   * contracts, since a constant call may do it too.
+   */
+  public static ReadWriteSet openDiscarded(Map<Chainbase, Snapshot> base) {
+    return open(base, true);
+  }
+
+  private static ReadWriteSet open(Map<Chainbase, Snapshot> base, boolean discarded) {
+    if (CURRENT.get() != null) {
+      throw new IllegalStateException("A read write set is already open on this thread");
+    }
+    ReadWriteSet set = new ReadWriteSet(base, discarded);
+    CURRENT.set(set);
+    return set;
+  }
+
+  /**
+   * @return the set open on the calling thread, null if there is none
+   */
+  public static ReadWriteSet current() {
+    return CURRENT.get();
+  }
+
+  public void close() {
+    if (CURRENT.get() == this) {
+      CURRENT.remove();
+    }
+  }
+
+  public boolean isDiscarded() {
+    return discarded;
+  }
+
+  /**
+   * @return why the speculation was aborted, null if it was not
+   */
+  public String getAborted() {
+    return aborted;
+  }
+
+  byte[] get(Chainbase db, byte[] key) {
+    WrappedByteArray wrapped = WrappedByteArray.of(key);
+    byte[] written = find(writes, db, wrapped);
+    if (written != null) {
+      return written == DELETED ? null : written;
+    }
+    byte[] value = read(db, wrapped);
+    Long delta = find(deltas, db, wrapped);
+    if (delta == null) {
+      return value;
+    }
+    if (value == null) {
+      // adding to a counter that is not there fails, the transaction has to run again
+      throw abort("added to missing key of " + db.getDbName());
+    }
+    return ByteArray.fromLong(ByteArray.toLong(value) + delta);
+  }
+
+  private byte[] read(Chainbase db, WrappedByteArray key) {
+    Map<WrappedByteArray, byte[]> seen = table(reads, db);
+    byte[] value = seen.get(key);
+    if (value == null && !seen.containsKey(key)) {
+      value = base.getOrDefault(db, db.getHead()).get(key.getBytes());
+      seen.put(WrappedByteArray.copyOf(key.getBytes()), value == null ? null : value.clone());
+    }
+    return value;
+  }
+
+  /**
+   * @param value null for a delete
+   */
+  void put(Chainbase db, byte[] key, byte[] value) {
+    WrappedByteArray wrapped = WrappedByteArray.copyOf(key);
+    Map<WrappedByteArray, Long> added = deltas.get(db);
+    if (added != null) {
+      added.remove(wrapped);
+    }
+    table(writes, db).put(wrapped, value == null ? DELETED : value);
+  }
+
+  /**
+   * Adds {@code delta} to the long stored under {@code key} when the set is applied, without
+   * reading it now.
+   */
+  public void add(Chainbase db, byte[] key, long delta) {
+    WrappedByteArray wrapped = WrappedByteArray.copyOf(key);
+    Map<WrappedByteArray, byte[]> written = table(writes, db);
+    byte[] value = written.get(wrapped);
+    if (value == DELETED) {
+      throw abort("added to deleted key of " + db.getDbName());
+    }
+    if (value != null) {
+      written.put(wrapped, ByteArray.fromLong(ByteArray.toLong(value) + delta));
+      return;
+    }
+    table(deltas, db).merge(wrapped, delta, Long::sum);
+  }
+
+  /**
+   * Marks the speculation aborted, for something it did that the set can not account for.
+   *
+   * @return the exception to stop executing the transaction with
+   */
+  public IllegalStateException abort(String reason) {
+    if (aborted == null) {
+      aborted = reason;
+    }
+    return new IllegalStateException("Speculative execution aborted: " + aborted);
+  }
+
+  /**
+   * @return true if every key read holds the value the set saw and every counter added to is
+   *     still there. Call it on a thread with no set open.
+   */
+  public boolean validate() {
+    if (aborted != null) {
+      return false;
+    }
+    for (Map.Entry<Chainbase, Map<WrappedByteArray, byte[]>> db : reads.entrySet()) {
+      for (Map.Entry<WrappedByteArray, byte[]> read : db.getValue().entrySet()) {
+        if (!Arrays.equals(db.getKey().getUnchecked(read.getKey().getBytes()), read.getValue())) {
+          return false;
+        }
+      }
+    }
+    for (Map.Entry<Chainbase, Map<WrappedByteArray, Long>> db : deltas.entrySet()) {
+      for (WrappedByteArray key : db.getValue().keySet()) {
+        if (db.getKey().getUnchecked(key.getBytes()) == null) {
+          return false;
+        }
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Writes what the set holds to the heads of the databases. Call it on a thread with no set
+   * open.
+   */
+  public void apply() {
+    if (discarded) {
+      throw new IllegalStateException("A discarded read write set can not be applied");
+    }
+    writes.forEach((db, values) -> values.forEach((key, value) -> {
+      if (value == DELETED) {
+        db.delete(key.getBytes());
+      } else {
+        db.put(key.getBytes(), value);
+      }
+    }));
+    deltas.forEach((db, values) -> values.forEach((key, delta) -> db.put(key.getBytes(),
+        ByteArray.fromLong(ByteArray.toLong(db.getUnchecked(key.getBytes())) + delta))));
+  }
+
+  /**
+   * Passes every key written to {@code db} and its value, null for a delete, to {@code action}.
+   */
+  public void forEachWrite(Chainbase db, BiConsumer<byte[], byte[]> action) {
+    Map<WrappedByteArray, byte[]> values = writes.get(db);
+    if (values != null) {
+      values.forEach((key, value) -> action.accept(key.getBytes(),
+          value == DELETED ? null : value));
+    }
+  }
+
+  private static <V> V find(Map<Chainbase, Map<WrappedByteArray, V>> tables, Chainbase db,
+      WrappedByteArray key) {
+    Map<WrappedByteArray, V> table = tables.get(db);
+    return table == null ? null : table.get(key);
+  }
+
+  private static <V> Map<WrappedByteArray, V> table(
+      Map<Chainbase, Map<WrappedByteArray, V>> tables, Chainbase db) {
+    return tables.computeIfAbsent(db, k -> new LinkedHashMap<>());
+  }
+}
@@ -1,7 +1,9 @@
 package org.tron.core.db2.core;
 
+import java.util.Collection;
 import java.util.Map;
 import org.tron.core.db2.common.Instance;
+import org.tron.core.db2.common.WrappedByteArray;
 
 public interface Snapshot extends Iterable<Map.Entry<byte[], byte[]>>, Instance<Snapshot> {
 
@@ -15,10 +17,20 @@ public interface Snapshot extends Iterable<Map.Entry<byte[], byte[]>>, Instance<
 
   byte[] get(byte[] key);
 
+  /**
+   * @return the value of every key that is present, as {@link #get(byte[])} would see it
+   */
+  Map<WrappedByteArray, byte[]> getAll(Collection<byte[]> keys);
+
   void put(byte[] key, byte[] value);
 
   void remove(byte[] key);
 
+  /**
+   * @return a number that changes with every write that changes what this snapshot reads
+   */
+  long getVersion();
+
   void merge(Snapshot from);
 
   Snapshot advance();
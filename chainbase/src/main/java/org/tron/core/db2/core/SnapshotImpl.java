@@ -5,17 +5,24 @@ import com.google.common.collect.Iterators;
 import com.google.common.collect.Maps;
 import com.google.common.collect.Streams;
 import com.google.common.primitives.Bytes;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import lombok.Getter;
+import org.tron.common.parameter.CommonParameter;
+import org.tron.core.db2.common.ArenaDB;
+import org.tron.core.db2.common.DB;
 import org.tron.core.db2.common.HashDB;
 import org.tron.core.db2.common.Key;
 import org.tron.core.db2.common.Value;
 import org.tron.core.db2.common.Value.Operator;
+import org.tron.core.config.args.Storage;
 import org.tron.core.db2.common.WrappedByteArray;
 
 public class SnapshotImpl extends AbstractSnapshot<Key, Value> {
@@ -23,16 +30,45 @@ public class SnapshotImpl extends AbstractSnapshot<Key, Value> {
   @Getter
   protected Snapshot root;
 
+  private final OverlayIndex index;
+  // position of this layer in the stack, see OverlayIndex
+  private final long seq;
+  // set once the layer has been retreated from and is no longer mirrored by the index
+  private volatile boolean detached;
+  // the layer merged in last and the versions around it, see mergedSince
+  private long mergedSeq = -1;
+  private long versionBeforeMerge;
+  private long versionAfterMerge;
+
   SnapshotImpl(Snapshot snapshot) {
     root = snapshot.getRoot();
     synchronized (this) {
-      db = new HashDB(SnapshotImpl.class.getSimpleName() + ":" + root.getDbName());
+      db = newLayerDb(SnapshotImpl.class.getSimpleName() + ":" + root.getDbName());
+    }
+    index = ((SnapshotRoot) root).getIndex();
+    seq = index.nextSequence();
+    Snapshot orphan = snapshot.getNext();
+    if (Snapshot.isImpl(orphan) && !((SnapshotImpl) orphan).detached) {
+      ((SnapshotImpl) orphan).detach();
     }
     previous = snapshot;
     snapshot.setNext(this);
     isOptimized = snapshot.isOptimized();
     if (isOptimized &&  root == previous) {
-      Streams.stream(root.iterator()).forEach( e -> put(e.getKey(),e.getValue()));
+      // copies what the root holds, reads do not change
+      Streams.stream(root.iterator()).forEach(e -> put(Key.copyOf(e.getKey()),
+          Value.copyOf(Value.Operator.PUT, e.getValue()), false));
+    }
+  }
+
+  private static DB<Key, Value> newLayerDb(String name) {
+    switch (CommonParameter.getInstance().getStorage().getSnapshotLayerDb()) {
+      case Storage.SNAPSHOT_LAYER_ARENA:
+        return new ArenaDB(name, false);
+      case Storage.SNAPSHOT_LAYER_ARENA_DIRECT:
+        return new ArenaDB(name, true);
+      default:
+        return new HashDB(name);
     }
   }
 
@@ -41,19 +77,70 @@ public class SnapshotImpl extends AbstractSnapshot<Key, Value> {
     return get(this, key);
   }
 
-  private byte[] get(Snapshot head, byte[] key) {
-    Snapshot snapshot = head;
-    Value value;
+  private byte[] get(SnapshotImpl head, byte[] key) {
+    Value value = head.newest(Key.of(key));
+    return value != null ? value.getBytes() : root.get(key);
+  }
 
+  @Override
+  public Map<WrappedByteArray, byte[]> getAll(Collection<byte[]> keys) {
+    Map<WrappedByteArray, byte[]> result = new HashMap<>();
+    List<byte[]> rest = new ArrayList<>();
+    for (byte[] key : keys) {
+      Value value = newest(Key.of(key));
+      if (value == null) {
+        rest.add(key);
+      } else if (value.getBytes() != null) {
+        result.put(WrappedByteArray.of(key), value.getBytes());
+      }
+    }
+    if (!rest.isEmpty()) {
+      result.putAll(root.getAll(rest));
+    }
+    return result;
+  }
+
+  /**
+   * @return the newest version of {@code key} in this layer or the layers below it,
+   *     null if only the root may hold it.
+   */
+  Value newest(Key key) {
+    if (!detached) {
+      DB<Key, Value> layer = index.get(key, seq);
+      return layer == null ? null : layer.get(key);
+    }
+
+    Value value;
+    Snapshot snapshot = this;
     while (Snapshot.isImpl(snapshot)) {
-      if ((value = ((SnapshotImpl) snapshot).db.get(Key.of(key))) != null) {
-        return value.getBytes();
+      if ((value = ((SnapshotImpl) snapshot).db.get(key)) != null) {
+        return value;
       }
 
       snapshot = snapshot.getPrevious();
     }
+    return null;
+  }
+
+  /**
+   * @return the storage of the newest layer, this one or below, that holds {@code key}, null if
+   *     only the root may hold it.
+   */
+  DB<Key, Value> newestLayer(Key key) {
+    if (!detached) {
+      return index.get(key, seq);
+    }
 
-    return snapshot == null ? null : snapshot.get(key);
+    Snapshot snapshot = this;
+    while (Snapshot.isImpl(snapshot)) {
+      DB<Key, Value> layer = ((SnapshotImpl) snapshot).db;
+      if (layer.get(key) != null) {
+        return layer;
+      }
+
+      snapshot = snapshot.getPrevious();
+    }
+    return null;
   }
 
   @Override
@@ -61,13 +148,23 @@ public class SnapshotImpl extends AbstractSnapshot<Key, Value> {
     Preconditions.checkNotNull(key, "key in db is not null.");
     Preconditions.checkNotNull(value, "value in db is not null.");
 
-    db.put(Key.copyOf(key), Value.copyOf(Value.Operator.PUT, value));
+    put(Key.copyOf(key), Value.copyOf(Value.Operator.PUT, value), true);
   }
 
   @Override
   public void remove(byte[] key) {
     Preconditions.checkNotNull(key, "key in db is not null.");
-    db.put(Key.of(key), Value.of(Value.Operator.DELETE, null));
+    put(Key.of(key), Value.of(Value.Operator.DELETE, null), true);
+  }
+
+  private void put(Key key, Value value, boolean changesReads) {
+    db.put(key, value);
+    if (!detached) {
+      index.put(key, seq, db);
+    }
+    if (changesReads) {
+      version++;
+    }
   }
 
   // we have a 3x3 matrix of all possibilities when merging previous snapshot and current snapshot :
@@ -85,7 +182,19 @@ public class SnapshotImpl extends AbstractSnapshot<Key, Value> {
   @Override
   public void merge(Snapshot from) {
     SnapshotImpl fromImpl = (SnapshotImpl) from;
-    Streams.stream(fromImpl.db).forEach(e -> db.put(e.getKey(), e.getValue()));
+    versionBeforeMerge = version;
+    Streams.stream(fromImpl.db).forEach(e -> put(e.getKey(), e.getValue(), true));
+    versionAfterMerge = version;
+    mergedSeq = fromImpl.seq;
+  }
+
+  /**
+   * @return whether merging {@code from} in is all that was written to this layer since it was
+   *     at {@code version}, in which case it now reads as {@code from} did
+   */
+  public boolean mergedSince(long version, Snapshot from) {
+    return Snapshot.isImpl(from) && mergedSeq == ((SnapshotImpl) from).seq
+        && versionBeforeMerge == version && versionAfterMerge == this.version;
   }
 
   public void mergeAhead(Snapshot from) {
@@ -95,7 +204,8 @@ public class SnapshotImpl extends AbstractSnapshot<Key, Value> {
     SnapshotImpl fromImpl = (SnapshotImpl) from;
     Streams.stream(fromImpl.db).forEach(e -> {
       if (db.get(e.getKey()) == null) {
-        db.put(e.getKey(), e.getValue());
+        // the value is read through from below already
+        put(e.getKey(), e.getValue(), false);
       }
     }
     );
@@ -103,9 +213,33 @@ public class SnapshotImpl extends AbstractSnapshot<Key, Value> {
 
   @Override
   public Snapshot retreat() {
+    detach();
     return previous;
   }
 
+  /**
+   * Drops this layer and everything stacked on it from the index. A detached layer falls back
+   * to walking the stack, so a reader still holding it keeps seeing its own writes.
+   */
+  private void detach() {
+    for (Snapshot snapshot = this; Snapshot.isImpl(snapshot); snapshot = snapshot.getNext()) {
+      SnapshotImpl impl = (SnapshotImpl) snapshot;
+      if (impl.detached) {
+        break;
+      }
+      impl.detached = true;
+      Streams.stream(impl.db).forEach(e -> index.remove(e.getKey(), impl.seq));
+    }
+  }
+
+  /**
+   * Called once this layer has been merged into the root, the root now serves its keys.
+   */
+  void evict() {
+    detached = true;
+    Streams.stream(db).forEach(e -> index.remove(e.getKey(), seq));
+  }
+
   @Override
   public Snapshot getSolidity() {
     return root.getSolidity();
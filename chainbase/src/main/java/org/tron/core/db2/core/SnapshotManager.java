@@ -7,19 +7,21 @@ import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
 import com.google.common.util.concurrent.ListeningExecutorService;
 import com.google.common.util.concurrent.MoreExecutors;
+import io.prometheus.client.Histogram;
 import java.io.File;
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.ExecutionException;
-import java.util.concurrent.Future;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import javax.annotation.PostConstruct;
 import lombok.Getter;
@@ -29,16 +31,17 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.tron.common.error.TronDBException;
 import org.tron.common.es.ExecutorServiceManager;
 import org.tron.common.parameter.CommonParameter;
+import org.tron.common.prometheus.MetricKeys;
+import org.tron.common.prometheus.MetricLabels;
+import org.tron.common.prometheus.Metrics;
 import org.tron.common.utils.FileUtil;
 import org.tron.common.utils.StorageUtils;
 import org.tron.core.db.RevokingDatabase;
 import org.tron.core.db.TronDatabase;
 import org.tron.core.db2.ISession;
-import org.tron.core.db2.common.DB;
 import org.tron.core.db2.common.IRevokingDB;
 import org.tron.core.db2.common.Key;
 import org.tron.core.db2.common.Value;
-import org.tron.core.db2.common.WrappedByteArray;
 import org.tron.core.exception.RevokingStoreIllegalStateException;
 import org.tron.core.exception.TronError;
 import org.tron.core.store.CheckPointV2Store;
@@ -252,6 +255,13 @@ public class SnapshotManager implements RevokingDatabase {
     return size;
   }
 
+  @Override
+  public Map<Chainbase, Snapshot> getHeads() {
+    Map<Chainbase, Snapshot> heads = new HashMap<>(dbs.size());
+    dbs.forEach(db -> heads.put(db, db.getHead()));
+    return heads;
+  }
+
   public int getMaxSize() {
     return maxSize.get();
   }
@@ -285,13 +295,27 @@ public class SnapshotManager implements RevokingDatabase {
   }
 
   private void refresh() {
-    List<ListenableFuture<?>> futures = new ArrayList<>(dbs.size());
-    for (Chainbase db : dbs) {
-      futures.add(flushServices.get(db.getDbName()).submit(() -> refreshOne(db)));
+    Histogram.Timer timer = Metrics.histogramStartTimer(
+        MetricKeys.Histogram.DB_FLUSH_LATENCY, MetricLabels.Histogram.FLUSH_REFRESH);
+    runOnFlushServices(dbs, db -> {
+      refreshOne(db);
+      return null;
+    });
+    Metrics.histogramObserve(timer);
+  }
+
+  /**
+   * Runs {@code task} for every db on its own flush service and waits for all of them.
+   *
+   * @return the results in the order of {@code targets}.
+   */
+  private <T> List<T> runOnFlushServices(List<Chainbase> targets, Function<Chainbase, T> task) {
+    List<ListenableFuture<T>> futures = new ArrayList<>(targets.size());
+    for (Chainbase db : targets) {
+      futures.add(flushServices.get(db.getDbName()).submit(() -> task.apply(db)));
     }
-    Future<?> future = Futures.allAsList(futures);
     try {
-      future.get();
+      return Futures.allAsList(futures).get();
     } catch (InterruptedException e) {
       Thread.currentThread().interrupt();
       throw new TronDBException(e);
@@ -333,14 +357,15 @@ public class SnapshotManager implements RevokingDatabase {
     if (shouldBeRefreshed()) {
       try {
         long start = System.currentTimeMillis();
-        if (!isV2Open()) {
-          deleteCheckpoint();
-        }
+        Histogram.Timer timer = Metrics.histogramStartTimer(
+            MetricKeys.Histogram.DB_FLUSH_LATENCY, MetricLabels.Histogram.FLUSH);
+        // the checkpoint must be durable before any db is refreshed, see recover
         createCheckpoint();
 
         long checkPointEnd = System.currentTimeMillis();
         refresh();
         flushCount = 0;
+        Metrics.histogramObserve(timer);
         logger.info("Flush cost: {} ms, create checkpoint cost: {} ms, refresh cost: {} ms.",
             System.currentTimeMillis() - start,
             checkPointEnd - start,
@@ -354,36 +379,38 @@ public class SnapshotManager implements RevokingDatabase {
     }
   }
 
+  /**
+   * Writes the layers about to be flushed to the checkpoint store. Every db serializes its
+   * layers into its own batch on its flush service, then all batches, together with the
+   * removal of the previous v1 checkpoint, go to the store in one atomic write.
+   */
   public void createCheckpoint() {
     TronDatabase<byte[]> checkPointStore = null;
     try {
-      Map<WrappedByteArray, WrappedByteArray> batch = new HashMap<>();
+      List<Chainbase> targets = new ArrayList<>(dbs.size());
       for (Chainbase db : dbs) {
-        Snapshot head = db.getHead();
-        if (Snapshot.isRoot(head)) {
+        if (Snapshot.isRoot(db.getHead())) {
           return;
         }
 
-        String dbName = db.getDbName();
-
-        if (Objects.equals(dbName, "trans-cache")) {
+        if (Objects.equals(db.getDbName(), "trans-cache")) {
           // trans-cache is deprecated
           continue;
         }
+        targets.add(db);
+      }
 
-        Snapshot next = head.getRoot();
-        for (int i = 0; i < flushCount; ++i) {
-          next = next.getNext();
-          SnapshotImpl snapshot = (SnapshotImpl) next;
-          DB<Key, Value> keyValueDB = snapshot.getDb();
-          for (Map.Entry<Key, Value> e : keyValueDB) {
-            Key k = e.getKey();
-            Value v = e.getValue();
-            batch.put(WrappedByteArray.of(Bytes.concat(simpleEncode(dbName), k.getBytes())),
-                WrappedByteArray.of(v.encode()));
-          }
-        }
+      Histogram.Timer timer = Metrics.histogramStartTimer(
+          MetricKeys.Histogram.DB_FLUSH_LATENCY, MetricLabels.Histogram.FLUSH_SERIALIZE);
+      List<Map<byte[], byte[]>> batches = new ArrayList<>(targets.size() + 1);
+      if (!isV2Open()) {
+        batches.add(staleCheckpoint());
       }
+      batches.addAll(runOnFlushServices(targets, this::checkpointBatch));
+      Metrics.histogramObserve(timer);
+
+      timer = Metrics.histogramStartTimer(
+          MetricKeys.Histogram.DB_FLUSH_LATENCY, MetricLabels.Histogram.FLUSH_WRITE);
       if (isV2Open()) {
         String dbName = String.valueOf(System.currentTimeMillis());
         checkPointStore = getCheckpointDB(dbName);
@@ -391,10 +418,8 @@ public class SnapshotManager implements RevokingDatabase {
         checkPointStore = checkTmpStore;
       }
 
-      checkPointStore.updateByBatch(batch.entrySet().stream()
-              .map(e -> Maps.immutableEntry(e.getKey().getBytes(), e.getValue().getBytes()))
-              .collect(HashMap::new, (m, k) -> m.put(k.getKey(), k.getValue()), HashMap::putAll));
-
+      checkPointStore.updateByBatch(batches);
+      Metrics.histogramObserve(timer);
     } catch (Exception e) {
       throw new TronDBException(e);
     } finally {
@@ -404,6 +429,34 @@ public class SnapshotManager implements RevokingDatabase {
     }
   }
 
+  /**
+   * Serializes the layers of {@code db} that the next refresh folds into its root. A key
+   * rewritten by several of those layers is only written once, by the newest of them.
+   */
+  private Map<byte[], byte[]> checkpointBatch(Chainbase db) {
+    List<SnapshotImpl> layers = new ArrayList<>(flushCount);
+    Snapshot next = db.getHead().getRoot();
+    for (int i = 0; i < flushCount; ++i) {
+      next = next.getNext();
+      layers.add((SnapshotImpl) next);
+    }
+    if (layers.isEmpty()) {
+      return Collections.emptyMap();
+    }
+
+    byte[] prefix = simpleEncode(db.getDbName());
+    SnapshotImpl top = layers.get(layers.size() - 1);
+    Map<byte[], byte[]> batch = new HashMap<>();
+    for (SnapshotImpl layer : layers) {
+      for (Map.Entry<Key, Value> e : layer.getDb()) {
+        if (top.newestLayer(e.getKey()) == layer.getDb()) {
+          batch.put(Bytes.concat(prefix, e.getKey().getBytes()), e.getValue().encode());
+        }
+      }
+    }
+    return batch;
+  }
+
   private TronDatabase<byte[]> getCheckpointDB(String dbName) {
     return new CheckPointV2Store(CHECKPOINT_V2_DIR+"/"+dbName);
   }
@@ -422,15 +475,8 @@ public class SnapshotManager implements RevokingDatabase {
   }
 
   private void deleteCheckpoint() {
-    if(checkTmpStore == null) {
-      // only occurs in mock test. TODO fix test
-      return;
-    }
     try {
-      Map<byte[], byte[]> hmap = new HashMap<>();
-      for (Map.Entry<byte[], byte[]> e : checkTmpStore.getDbSource()) {
-        hmap.put(e.getKey(), null);
-      }
+      Map<byte[], byte[]> hmap = staleCheckpoint();
       if (hmap.size() != 0) {
         checkTmpStore.getDbSource().updateByBatch(hmap);
       }
@@ -439,6 +485,18 @@ public class SnapshotManager implements RevokingDatabase {
     }
   }
 
+  private Map<byte[], byte[]> staleCheckpoint() {
+    Map<byte[], byte[]> hmap = new HashMap<>();
+    if (checkTmpStore == null) {
+      // only occurs in mock test. TODO fix test
+      return hmap;
+    }
+    for (Map.Entry<byte[], byte[]> e : checkTmpStore.getDbSource()) {
+      hmap.put(e.getKey(), null);
+    }
+    return hmap;
+  }
+
   private void pruneCheckpoint() {
     if (unChecked) {
       return;
@@ -2,12 +2,15 @@ package org.tron.core.db2.core;
 
 import com.google.common.collect.Maps;
 import com.google.common.collect.Streams;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.stream.Collectors;
+import lombok.AccessLevel;
 import lombok.Getter;
 import org.tron.common.cache.CacheManager;
 import org.tron.common.cache.CacheType;
@@ -18,6 +21,8 @@ import org.tron.core.ChainBaseManager;
 import org.tron.core.capsule.AccountCapsule;
 import org.tron.core.db2.common.DB;
 import org.tron.core.db2.common.Flusher;
+import org.tron.core.db2.common.LevelDB;
+import org.tron.core.db2.common.RocksDB;
 import org.tron.core.db2.common.WrappedByteArray;
 import org.tron.core.store.AccountAssetStore;
 
@@ -28,6 +33,8 @@ public class SnapshotRoot extends AbstractSnapshot<byte[], byte[]> {
   private boolean isAccountDB;
 
   private TronCache<WrappedByteArray, WrappedByteArray> cache;
+  @Getter(AccessLevel.PACKAGE)
+  private final OverlayIndex index = new OverlayIndex();
   private static final List<String> CACHE_DBS = CommonParameter.getInstance()
       .getStorage().getCacheDbs();
 
@@ -36,7 +43,8 @@ public class SnapshotRoot extends AbstractSnapshot<byte[], byte[]> {
     solidity = this;
     isAccountDB = "account".equalsIgnoreCase(db.getDbName());
     if (CACHE_DBS.contains(this.db.getDbName())) {
-      this.cache = CacheManager.allocate(CacheType.findByType(this.db.getDbName()));
+      this.cache = CacheManager.allocate(CacheType.findByType(this.db.getDbName()),
+          SnapshotRoot::weigh);
     }
     isOptimized = "properties".equalsIgnoreCase(db.getDbName());
   }
@@ -57,6 +65,46 @@ public class SnapshotRoot extends AbstractSnapshot<byte[], byte[]> {
     return value;
   }
 
+  @Override
+  public Map<WrappedByteArray, byte[]> getAll(Collection<byte[]> keys) {
+    Map<WrappedByteArray, byte[]> result = new HashMap<>();
+    List<byte[]> misses = new ArrayList<>();
+    for (byte[] key : keys) {
+      WrappedByteArray cache = getCache(key);
+      if (cache == null) {
+        misses.add(key);
+      } else if (cache.getBytes() != null) {
+        result.put(WrappedByteArray.of(key), cache.getBytes());
+      }
+    }
+    if (misses.isEmpty()) {
+      return result;
+    }
+    Map<WrappedByteArray, byte[]> values = readAll(misses);
+    for (byte[] key : misses) {
+      putCache(key, values.get(WrappedByteArray.of(key)));
+    }
+    result.putAll(values);
+    return result;
+  }
+
+  private Map<WrappedByteArray, byte[]> readAll(List<byte[]> keys) {
+    if (db.getClass() == RocksDB.class) {
+      return ((RocksDB) db).getDb().getAll(keys);
+    }
+    if (db.getClass() == LevelDB.class) {
+      return ((LevelDB) db).getDb().getAll(keys);
+    }
+    Map<WrappedByteArray, byte[]> values = new HashMap<>();
+    for (byte[] key : keys) {
+      byte[] value = db.get(key);
+      if (value != null) {
+        values.put(WrappedByteArray.of(key), value);
+      }
+    }
+    return values;
+  }
+
   @Override
   public void put(byte[] key, byte[] value) {
     byte[] v = value;
@@ -78,6 +126,7 @@ public class SnapshotRoot extends AbstractSnapshot<byte[], byte[]> {
     }
     db.put(key, v);
     putCache(key, v);
+    version++;
   }
 
   @Override
@@ -87,6 +136,7 @@ public class SnapshotRoot extends AbstractSnapshot<byte[], byte[]> {
     }
     db.remove(key);
     putCache(key, null);
+    version++;
   }
 
   @Override
@@ -102,6 +152,8 @@ public class SnapshotRoot extends AbstractSnapshot<byte[], byte[]> {
       ((Flusher) db).flush(batch);
       putCache(batch);
     }
+    snapshot.evict();
+    version++;
   }
 
   public void merge(List<Snapshot> snapshots) {
@@ -119,6 +171,8 @@ public class SnapshotRoot extends AbstractSnapshot<byte[], byte[]> {
       ((Flusher) db).flush(batch);
       putCache(batch);
     }
+    snapshots.forEach(snapshot -> ((SnapshotImpl) snapshot).evict());
+    version++;
   }
 
   private void processAccount(Map<WrappedByteArray, WrappedByteArray> batch) {
@@ -147,6 +201,11 @@ public class SnapshotRoot extends AbstractSnapshot<byte[], byte[]> {
     }
   }
 
+  private static int weigh(WrappedByteArray key, WrappedByteArray value) {
+    // a cached miss holds a null value
+    return key.getBytes().length + (value.getBytes() == null ? 0 : value.getBytes().length);
+  }
+
   private boolean cached() {
     return Objects.nonNull(this.cache);
   }
@@ -201,6 +260,7 @@ public class SnapshotRoot extends AbstractSnapshot<byte[], byte[]> {
       CacheManager.release(cache);
     }
     ((Flusher) db).reset();
+    version++;
   }
 
   @Override
@@ -16,7 +16,7 @@ public class AbiStore extends TronStoreWithRevoking<AbiCapsule> {
 
   @Autowired
   private AbiStore(@Value("abi") String dbName) {
-    super(dbName);
+    super(dbName, AbiCapsule::new);
   }
 
   @Override
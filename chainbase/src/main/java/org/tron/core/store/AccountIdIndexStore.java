@@ -17,7 +17,7 @@ public class AccountIdIndexStore extends TronStoreWithRevoking<BytesCapsule> {
 
   @Autowired
   public AccountIdIndexStore(@Value("accountid-index") String dbName) {
-    super(dbName);
+    super(dbName, BytesCapsule::new);
   }
 
   private static byte[] getLowerCaseAccountId(byte[] bsAccountId) {
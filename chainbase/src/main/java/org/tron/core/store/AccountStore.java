@@ -12,10 +12,12 @@ import org.tron.core.capsule.AccountCapsule;
 import org.tron.core.capsule.BlockCapsule;
 import org.tron.core.db.TronStoreWithRevoking;
 import org.tron.core.db.accountstate.AccountStateCallBackUtils;
+import org.tron.core.db2.common.WrappedByteArray;
 import org.tron.core.exception.TronError;
 import org.tron.protos.contract.BalanceContract.TransactionBalanceTrace;
 import org.tron.protos.contract.BalanceContract.TransactionBalanceTrace.Operation;
 
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -42,7 +44,7 @@ public class AccountStore extends TronStoreWithRevoking<AccountCapsule> {
 
   @Autowired
   private AccountStore(@Value("account") String dbName) {
-    super(dbName);
+    super(dbName, AccountCapsule::lazy);
   }
 
   public static void setAccount(com.typesafe.config.Config config) {
@@ -61,7 +63,18 @@ public class AccountStore extends TronStoreWithRevoking<AccountCapsule> {
   @Override
   public AccountCapsule get(byte[] key) {
     byte[] value = revokingDB.getUnchecked(key);
-    return ArrayUtils.isEmpty(value) ? null : new AccountCapsule(value);
+    return ArrayUtils.isEmpty(value) ? null : AccountCapsule.lazy(value);
+  }
+
+  @Override
+  public Map<WrappedByteArray, AccountCapsule> getAll(Collection<byte[]> keys) {
+    Map<WrappedByteArray, AccountCapsule> result = new HashMap<>();
+    revokingDB.getAll(keys).forEach((k, v) -> {
+      if (!ArrayUtils.isEmpty(v)) {
+        result.put(k, AccountCapsule.lazy(v));
+      }
+    });
+    return result;
   }
 
   @Override
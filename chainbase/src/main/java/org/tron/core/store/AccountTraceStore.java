@@ -22,7 +22,7 @@ public class AccountTraceStore extends TronStoreWithRevoking<AccountTraceCapsule
 
   @Autowired
   protected AccountTraceStore(@Value("account-trace") String dbName) {
-    super(dbName);
+    super(dbName, AccountTraceCapsule::new);
   }
 
   private long xor(long l) {
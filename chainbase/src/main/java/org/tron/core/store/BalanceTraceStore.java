@@ -50,7 +50,7 @@ public class BalanceTraceStore extends TronStoreWithRevoking<BlockBalanceTraceCa
 
   @Autowired
   protected BalanceTraceStore(@Value("balance-trace") String dbName) {
-    super(dbName);
+    super(dbName, BlockBalanceTraceCapsule::new);
   }
 
   public void setCurrentTransactionId(TransactionCapsule transactionCapsule) {
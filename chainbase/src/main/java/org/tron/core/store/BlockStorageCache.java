@@ -0,0 +1,226 @@
+package org.tron.core.store;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+import org.tron.common.crypto.Hash;
+import org.tron.common.prometheus.MetricKeys;
+import org.tron.common.prometheus.MetricLabels;
+import org.tron.common.prometheus.Metrics;
+import org.tron.common.utils.ByteUtil;
+import org.tron.core.db2.common.WrappedByteArray;
+import org.tron.core.db2.core.Chainbase;
+import org.tron.core.db2.core.Snapshot;
+import org.tron.core.db2.core.SnapshotImpl;
+
+/**
+ * The storage rows read and written while a block is executed, kept across its transactions so
+ * the next transaction on a hot contract does not read them through the snapshot layers again.
+ * Only the thread that {@link #start() started} the block is served from it.
+ *
+ * <p>Rows are kept in a frame per revoking session, each holding what was read or written while
+ * that session was the head. A lookup goes from the newest frame down. Revoking a session drops
+ * its frame, merging one moves its rows to the frame below. As in {@link PropertyCache}, every
+ * frame remembers the {@link Snapshot#getVersion() version} of its layer, and if the layer was
+ * written to around the store all frames are dropped and filled again from the store.</p>
+ */
+public class BlockStorageCache {
+
+  private static final byte[] ABSENT = new byte[0];
+  private static final int MAX_FRAMES = 64;
+
+  private final Chainbase chainbase;
+  private final List<Frame> frames = new ArrayList<>();
+  private final Map<WrappedByteArray, byte[]> addrHashes = new HashMap<>();
+  private volatile Thread owner;
+  private long hits;
+  private long misses;
+
+  BlockStorageCache(Chainbase chainbase) {
+    this.chainbase = chainbase;
+  }
+
+  /**
+   * Serves the calling thread from the cache until {@link #stop()}.
+   */
+  public synchronized void start() {
+    frames.clear();
+    addrHashes.clear();
+    hits = 0;
+    misses = 0;
+    owner = Thread.currentThread();
+  }
+
+  public synchronized void stop() {
+    if (owner == null) {
+      return;
+    }
+    owner = null;
+    frames.clear();
+    addrHashes.clear();
+    Metrics.counterInc(MetricKeys.Counter.BLOCK_STORAGE_CACHE, hits,
+        MetricLabels.Counter.CACHE_HIT);
+    Metrics.counterInc(MetricKeys.Counter.BLOCK_STORAGE_CACHE, misses,
+        MetricLabels.Counter.CACHE_MISS);
+  }
+
+  public long getHits() {
+    return hits;
+  }
+
+  public long getMisses() {
+    return misses;
+  }
+
+  private boolean serves() {
+    return owner == Thread.currentThread() && chainbase.getCursor() == Chainbase.Cursor.HEAD;
+  }
+
+  /**
+   * The hash the storage row keys of a contract start with, the one of its address and the
+   * transaction that created it.
+   */
+  public byte[] addrHash(byte[] address, byte[] trxHash) {
+    boolean serves = owner == Thread.currentThread();
+    byte[] key = ByteUtil.isNullOrZeroArray(trxHash) ? address : ByteUtil.merge(address, trxHash);
+    if (serves) {
+      byte[] addrHash = addrHashes.get(WrappedByteArray.of(key));
+      if (addrHash != null) {
+        return addrHash.clone();
+      }
+    }
+    byte[] addrHash = Hash.sha3(key);
+    if (serves) {
+      addrHashes.put(WrappedByteArray.of(key), addrHash.clone());
+    }
+    return addrHash;
+  }
+
+  /**
+   * @param load reads the row from the store when it is not cached
+   * @return the value of the row, null if there is none
+   */
+  byte[] get(byte[] key, Supplier<byte[]> load) {
+    if (!serves()) {
+      return load.get();
+    }
+    synchronized (this) {
+      Frame top = frame(chainbase.getHead());
+      WrappedByteArray wrapped = WrappedByteArray.of(key);
+      for (int i = frames.size() - 1; i >= 0; i--) {
+        byte[] value = frames.get(i).rows.get(wrapped);
+        if (value != null) {
+          hits++;
+          return value == ABSENT ? null : value.clone();
+        }
+      }
+      misses++;
+      byte[] value = load.get();
+      top.rows.put(WrappedByteArray.copyOf(key), value == null ? ABSENT : value.clone());
+      return value;
+    }
+  }
+
+  /**
+   * Runs {@code write}, which stores {@code value} under {@code key}, null for a delete, and
+   * keeps the frame of the head in step with it.
+   */
+  void put(byte[] key, byte[] value, Runnable write) {
+    if (!serves()) {
+      write.run();
+      return;
+    }
+    synchronized (this) {
+      Snapshot head = chainbase.getHead();
+      Frame frame = frame(head);
+      write.run();
+      if (chainbase.getHead() != head || head.getVersion() != frame.version + 1) {
+        // nothing was written, or more than this row; the frame is rebuilt if it is stale
+        return;
+      }
+      frame.version = head.getVersion();
+      frame.rows.put(WrappedByteArray.copyOf(key), value == null ? ABSENT : value.clone());
+    }
+  }
+
+  private Frame frame(Snapshot head) {
+    Frame top = frames.isEmpty() ? null : frames.get(frames.size() - 1);
+    if (top != null && top.snapshot == head && top.isCurrent()) {
+      return top;
+    }
+    int below = frames.size() - 2;
+    while (below >= 0 && frames.get(below).snapshot != head) {
+      below--;
+    }
+    if (below >= 0) {
+      if (leave(below)) {
+        return frames.get(below);
+      }
+    } else if (top != null && top.isCurrent() && enter(top, head)) {
+      return frames.get(frames.size() - 1);
+    }
+    frames.clear();
+    Frame frame = new Frame(head);
+    frames.add(frame);
+    return frame;
+  }
+
+  /**
+   * The sessions above frame {@code i} were revoked or merged down to it, one after the other.
+   *
+   * @return false if the layers were changed any other way
+   */
+  private boolean leave(int i) {
+    for (int j = frames.size() - 1; j > i; j--) {
+      Frame upper = frames.remove(j);
+      Frame lower = frames.get(j - 1);
+      if (upper.isCurrent() && Snapshot.isImpl(lower.snapshot)
+          && ((SnapshotImpl) lower.snapshot).mergedSince(lower.version, upper.snapshot)) {
+        lower.rows.putAll(upper.rows);
+        lower.version = lower.snapshot.getVersion();
+      } else if (!lower.isCurrent()) {
+        return false;
+      }
+    }
+    return frames.get(i).isCurrent();
+  }
+
+  /**
+   * Pushes a frame for every new session between {@code top} and {@code head}, provided none of
+   * them was written to yet.
+   *
+   * @return false if {@code head} does not descend from {@code top} that way
+   */
+  private boolean enter(Frame top, Snapshot head) {
+    List<Snapshot> sessions = new ArrayList<>();
+    for (Snapshot s = head; s != top.snapshot; s = s.getPrevious()) {
+      if (s == null || !Snapshot.isImpl(s) || s.getVersion() != 0
+          || frames.size() + sessions.size() == MAX_FRAMES) {
+        return false;
+      }
+      sessions.add(s);
+    }
+    for (int i = sessions.size() - 1; i >= 0; i--) {
+      frames.add(new Frame(sessions.get(i)));
+    }
+    return true;
+  }
+
+  private static final class Frame {
+
+    private final Snapshot snapshot;
+    private long version;
+    private final Map<WrappedByteArray, byte[]> rows = new HashMap<>();
+
+    private Frame(Snapshot snapshot) {
+      this.snapshot = snapshot;
+      this.version = snapshot.getVersion();
+    }
+
+    private boolean isCurrent() {
+      return version == snapshot.getVersion();
+    }
+  }
+}
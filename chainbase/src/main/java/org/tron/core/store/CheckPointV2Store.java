@@ -1,7 +1,6 @@
 package org.tron.core.store;
 
 import com.google.protobuf.InvalidProtocolBufferException;
-import java.util.Map;
 import java.util.Spliterator;
 import java.util.function.Consumer;
 import lombok.extern.slf4j.Slf4j;
@@ -58,8 +57,8 @@ public class CheckPointV2Store extends TronDatabase<byte[]> {
   }
 
   @Override
-  public void updateByBatch(Map<byte[], byte[]> rows) {
-    this.dbSource.updateByBatch(rows, writeOptions);
+  protected WriteOptionsWrapper getWriteOptions() {
+    return writeOptions;
   }
 
   @Override
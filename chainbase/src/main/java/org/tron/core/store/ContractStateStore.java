@@ -15,7 +15,7 @@ public class ContractStateStore extends TronStoreWithRevoking<ContractStateCapsu
 
   @Autowired
   private ContractStateStore(@Value("contract-state") String dbName) {
-    super(dbName);
+    super(dbName, ContractStateCapsule::new);
   }
 
   @Override
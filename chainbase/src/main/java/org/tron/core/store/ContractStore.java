@@ -19,7 +19,7 @@ public class ContractStore extends TronStoreWithRevoking<ContractCapsule> {
 
   @Autowired
   private ContractStore(@Value("contract") String dbName) {
-    super(dbName);
+    super(dbName, ContractCapsule::new);
   }
 
   @Override
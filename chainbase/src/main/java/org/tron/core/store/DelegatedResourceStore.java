@@ -16,7 +16,7 @@ public class DelegatedResourceStore extends TronStoreWithRevoking<DelegatedResou
 
   @Autowired
   public DelegatedResourceStore(@Value("DelegatedResource") String dbName) {
-    super(dbName);
+    super(dbName, DelegatedResourceCapsule::new);
   }
 
   @Override
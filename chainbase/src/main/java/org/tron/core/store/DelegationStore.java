@@ -23,7 +23,7 @@ public class DelegationStore extends TronStoreWithRevoking<BytesCapsule> {
 
   @Autowired
   public DelegationStore(@Value("delegation") String dbName) {
-    super(dbName);
+    super(dbName, BytesCapsule::new);
   }
 
   @Override
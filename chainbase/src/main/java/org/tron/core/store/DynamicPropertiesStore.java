@@ -23,6 +23,8 @@ import org.tron.common.utils.Sha256Hash;
 import org.tron.core.capsule.BytesCapsule;
 import org.tron.core.config.Parameter.ChainConstant;
 import org.tron.core.db.TronStoreWithRevoking;
+import org.tron.core.db2.core.Chainbase;
+import org.tron.core.db2.core.ReadWriteSet;
 import org.tron.core.exception.BadItemException;
 import org.tron.core.exception.ItemNotFoundException;
 import org.tron.protos.Protocol.PQScheme;
@@ -264,9 +266,11 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
 
   private static final byte[] ALLOW_ML_DSA_44 = "ALLOW_ML_DSA_44".getBytes();
 
+  private final PropertyCache propertyCache = new PropertyCache((Chainbase) getRevokingDB());
+
   @Autowired
   private DynamicPropertiesStore(@Value("properties") String dbName) {
-    super(dbName);
+    super(dbName, BytesCapsule::new);
 
     try {
       this.getTotalSignNum();
@@ -1001,6 +1005,37 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
     }
   }
 
+  @Override
+  public void put(byte[] key, BytesCapsule item) {
+    propertyCache.put(key, item == null ? null : item.getData(), () -> super.put(key, item));
+  }
+
+  @Override
+  public void delete(byte[] key) {
+    propertyCache.put(key, null, () -> super.delete(key));
+  }
+
+  private long getLong(byte[] key, String missing) {
+    return propertyCache.get(key, 0L, missing);
+  }
+
+  private long getLong(byte[] key, long absent) {
+    return propertyCache.get(key, absent, null);
+  }
+
+  /**
+   * Adds {@code delta} to a counter. A speculative execution only records the delta, so that
+   * transactions adding to the same counter do not conflict.
+   */
+  private void addLong(byte[] key, long delta, String missing) {
+    ReadWriteSet set = ReadWriteSet.current();
+    if (set != null) {
+      set.add((Chainbase) getRevokingDB(), key, delta);
+      return;
+    }
+    this.put(key, new BytesCapsule(ByteArray.fromLong(getLong(key, missing) + delta)));
+  }
+
   public String intArrayToString(int[] a) {
     StringBuilder sb = new StringBuilder();
     for (int i : a) {
@@ -1024,11 +1059,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getTokenIdNum() {
-    return Optional.ofNullable(getUnchecked(TOKEN_ID_NUM))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
-        .orElseThrow(
-            () -> new IllegalArgumentException("not found TOKEN_ID_NUM"));
+    return getLong(TOKEN_ID_NUM, "not found TOKEN_ID_NUM");
   }
 
   public void saveTokenUpdateDone(long num) {
@@ -1037,11 +1068,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getTokenUpdateDone() {
-    return Optional.ofNullable(getUnchecked(TOKEN_UPDATE_DONE))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
-        .orElseThrow(
-            () -> new IllegalArgumentException("not found TOKEN_UPDATE_DONE"));
+    return getLong(TOKEN_UPDATE_DONE, "not found TOKEN_UPDATE_DONE");
   }
 
   public void saveAbiMoveDone(long num) {
@@ -1050,11 +1077,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getAbiMoveDone() {
-    return Optional.ofNullable(getUnchecked(ABI_MOVE_DONE))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
-        .orElseThrow(
-            () -> new IllegalArgumentException("not found ABI_MOVE_DONE"));
+    return getLong(ABI_MOVE_DONE, "not found ABI_MOVE_DONE");
   }
 
   public void saveBlockFilledSlotsIndex(int blockFilledSlotsIndex) {
@@ -1064,11 +1087,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public int getBlockFilledSlotsIndex() {
-    return Optional.ofNullable(getUnchecked(BLOCK_FILLED_SLOTS_INDEX))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toInt)
-        .orElseThrow(
-            () -> new IllegalArgumentException("not found BLOCK_FILLED_SLOTS_INDEX"));
+    return (int) getLong(BLOCK_FILLED_SLOTS_INDEX, "not found BLOCK_FILLED_SLOTS_INDEX");
   }
 
   public void saveMaxFrozenTime(int maxFrozenTime) {
@@ -1078,11 +1097,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public int getMaxFrozenTime() {
-    return Optional.ofNullable(getUnchecked(MAX_FROZEN_TIME))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toInt)
-        .orElseThrow(
-            () -> new IllegalArgumentException("not found MAX_FROZEN_TIME"));
+    return (int) getLong(MAX_FROZEN_TIME, "not found MAX_FROZEN_TIME");
   }
 
   public void saveMinFrozenTime(int minFrozenTime) {
@@ -1092,11 +1107,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public int getMinFrozenTime() {
-    return Optional.ofNullable(getUnchecked(MIN_FROZEN_TIME))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toInt)
-        .orElseThrow(
-            () -> new IllegalArgumentException("not found MIN_FROZEN_TIME"));
+    return (int) getLong(MIN_FROZEN_TIME, "not found MIN_FROZEN_TIME");
   }
 
   public void saveMaxFrozenSupplyNumber(int maxFrozenSupplyNumber) {
@@ -1106,11 +1117,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public int getMaxFrozenSupplyNumber() {
-    return Optional.ofNullable(getUnchecked(MAX_FROZEN_SUPPLY_NUMBER))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toInt)
-        .orElseThrow(
-            () -> new IllegalArgumentException("not found MAX_FROZEN_SUPPLY_NUMBER"));
+    return (int) getLong(MAX_FROZEN_SUPPLY_NUMBER, "not found MAX_FROZEN_SUPPLY_NUMBER");
   }
 
   public void saveMaxFrozenSupplyTime(int maxFrozenSupplyTime) {
@@ -1120,11 +1127,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public int getMaxFrozenSupplyTime() {
-    return Optional.ofNullable(getUnchecked(MAX_FROZEN_SUPPLY_TIME))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toInt)
-        .orElseThrow(
-            () -> new IllegalArgumentException("not found MAX_FROZEN_SUPPLY_TIME"));
+    return (int) getLong(MAX_FROZEN_SUPPLY_TIME, "not found MAX_FROZEN_SUPPLY_TIME");
   }
 
   public void saveMinFrozenSupplyTime(int minFrozenSupplyTime) {
@@ -1134,11 +1137,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public int getMinFrozenSupplyTime() {
-    return Optional.ofNullable(getUnchecked(MIN_FROZEN_SUPPLY_TIME))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toInt)
-        .orElseThrow(
-            () -> new IllegalArgumentException("not found MIN_FROZEN_SUPPLY_TIME"));
+    return (int) getLong(MIN_FROZEN_SUPPLY_TIME, "not found MIN_FROZEN_SUPPLY_TIME");
   }
 
   public void saveWitnessAllowanceFrozenTime(int witnessAllowanceFrozenTime) {
@@ -1148,11 +1147,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public int getWitnessAllowanceFrozenTime() {
-    return Optional.ofNullable(getUnchecked(WITNESS_ALLOWANCE_FROZEN_TIME))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toInt)
-        .orElseThrow(
-            () -> new IllegalArgumentException("not found WITNESS_ALLOWANCE_FROZEN_TIME"));
+    return (int) getLong(WITNESS_ALLOWANCE_FROZEN_TIME, "not found WITNESS_ALLOWANCE_FROZEN_TIME");
   }
 
   public void saveMaintenanceTimeInterval(long timeInterval) {
@@ -1162,11 +1157,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getMaintenanceTimeInterval() {
-    return Optional.ofNullable(getUnchecked(MAINTENANCE_TIME_INTERVAL))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
-        .orElseThrow(
-            () -> new IllegalArgumentException("not found MAINTENANCE_TIME_INTERVAL"));
+    return getLong(MAINTENANCE_TIME_INTERVAL, "not found MAINTENANCE_TIME_INTERVAL");
   }
 
   public void saveAccountUpgradeCost(long accountUpgradeCost) {
@@ -1176,11 +1167,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getAccountUpgradeCost() {
-    return Optional.ofNullable(getUnchecked(ACCOUNT_UPGRADE_COST))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
-        .orElseThrow(
-            () -> new IllegalArgumentException("not found ACCOUNT_UPGRADE_COST"));
+    return getLong(ACCOUNT_UPGRADE_COST, "not found ACCOUNT_UPGRADE_COST");
   }
 
   public void saveWitnessPayPerBlock(long pay) {
@@ -1190,11 +1177,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getWitnessPayPerBlock() {
-    return Optional.ofNullable(getUnchecked(WITNESS_PAY_PER_BLOCK))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
-        .orElseThrow(
-            () -> new IllegalArgumentException("not found WITNESS_PAY_PER_BLOCK"));
+    return getLong(WITNESS_PAY_PER_BLOCK, "not found WITNESS_PAY_PER_BLOCK");
   }
 
   public void saveWitness127PayPerBlock(long pay) {
@@ -1204,10 +1187,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getWitness127PayPerBlock() {
-    return Optional.ofNullable(getUnchecked(WITNESS_127_PAY_PER_BLOCK))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
-        .orElse(16000000L);
+    return getLong(WITNESS_127_PAY_PER_BLOCK, 16000000L);
   }
 
   public void saveWitnessStandbyAllowance(long allowance) {
@@ -1217,11 +1197,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getWitnessStandbyAllowance() {
-    return Optional.ofNullable(getUnchecked(WITNESS_STANDBY_ALLOWANCE))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
-        .orElseThrow(
-            () -> new IllegalArgumentException("not found WITNESS_STANDBY_ALLOWANCE"));
+    return getLong(WITNESS_STANDBY_ALLOWANCE, "not found WITNESS_STANDBY_ALLOWANCE");
   }
 
   public void saveOneDayNetLimit(long oneDayNetLimit) {
@@ -1230,11 +1206,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getOneDayNetLimit() {
-    return Optional.ofNullable(getUnchecked(DynamicResourceProperties.ONE_DAY_NET_LIMIT))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
-        .orElseThrow(
-            () -> new IllegalArgumentException("not found ONE_DAY_NET_LIMIT"));
+    return getLong(DynamicResourceProperties.ONE_DAY_NET_LIMIT, "not found ONE_DAY_NET_LIMIT");
   }
 
   public void savePublicNetUsage(long publicNetUsage) {
@@ -1243,11 +1215,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getPublicNetUsage() {
-    return Optional.ofNullable(getUnchecked(DynamicResourceProperties.PUBLIC_NET_USAGE))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
-        .orElseThrow(
-            () -> new IllegalArgumentException("not found PUBLIC_NET_USAGE"));
+    return getLong(DynamicResourceProperties.PUBLIC_NET_USAGE, "not found PUBLIC_NET_USAGE");
   }
 
   public void savePublicNetLimit(long publicNetLimit) {
@@ -1256,11 +1224,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getPublicNetLimit() {
-    return Optional.ofNullable(getUnchecked(DynamicResourceProperties.PUBLIC_NET_LIMIT))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
-        .orElseThrow(
-            () -> new IllegalArgumentException("not found PUBLIC_NET_LIMIT"));
+    return getLong(DynamicResourceProperties.PUBLIC_NET_LIMIT, "not found PUBLIC_NET_LIMIT");
   }
 
   public void savePublicNetTime(long publicNetTime) {
@@ -1269,11 +1233,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getPublicNetTime() {
-    return Optional.ofNullable(getUnchecked(DynamicResourceProperties.PUBLIC_NET_TIME))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
-        .orElseThrow(
-            () -> new IllegalArgumentException("not found PUBLIC_NET_TIME"));
+    return getLong(DynamicResourceProperties.PUBLIC_NET_TIME, "not found PUBLIC_NET_TIME");
   }
 
   public void saveFreeNetLimit(long freeNetLimit) {
@@ -1282,11 +1242,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getFreeNetLimit() {
-    return Optional.ofNullable(getUnchecked(DynamicResourceProperties.FREE_NET_LIMIT))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
-        .orElseThrow(
-            () -> new IllegalArgumentException("not found FREE_NET_LIMIT"));
+    return getLong(DynamicResourceProperties.FREE_NET_LIMIT, "not found FREE_NET_LIMIT");
   }
 
   public void saveTotalNetWeight(long totalNetWeight) {
@@ -1295,11 +1251,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getTotalNetWeight() {
-    return Optional.ofNullable(getUnchecked(DynamicResourceProperties.TOTAL_NET_WEIGHT))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
-        .orElseThrow(
-            () -> new IllegalArgumentException("not found TOTAL_NET_WEIGHT"));
+    return getLong(DynamicResourceProperties.TOTAL_NET_WEIGHT, "not found TOTAL_NET_WEIGHT");
   }
 
   public void saveTotalEnergyWeight(long totalEnergyWeight) {
@@ -1308,11 +1260,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getTotalEnergyWeight() {
-    return Optional.ofNullable(getUnchecked(DynamicResourceProperties.TOTAL_ENERGY_WEIGHT))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
-        .orElseThrow(
-            () -> new IllegalArgumentException("not found TOTAL_ENERGY_WEIGHT"));
+    return getLong(DynamicResourceProperties.TOTAL_ENERGY_WEIGHT, "not found TOTAL_ENERGY_WEIGHT");
   }
 
   public void saveTotalTronPowerWeight(long totalEnergyWeight) {
@@ -1321,11 +1269,8 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getTotalTronPowerWeight() {
-    return Optional.ofNullable(getUnchecked(DynamicResourceProperties.TOTAL_TRON_POWER_WEIGHT))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
-        .orElseThrow(
-            () -> new IllegalArgumentException("not found TOTAL_TRON_POWER_WEIGHT"));
+    return getLong(DynamicResourceProperties.TOTAL_TRON_POWER_WEIGHT,
+        "not found TOTAL_TRON_POWER_WEIGHT");
   }
 
   public void saveTotalNetLimit(long totalNetLimit) {
@@ -1334,11 +1279,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getTotalNetLimit() {
-    return Optional.ofNullable(getUnchecked(DynamicResourceProperties.TOTAL_NET_LIMIT))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
-        .orElseThrow(
-            () -> new IllegalArgumentException("not found TOTAL_NET_LIMIT"));
+    return getLong(DynamicResourceProperties.TOTAL_NET_LIMIT, "not found TOTAL_NET_LIMIT");
   }
 
   @Deprecated
@@ -1362,11 +1303,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getTotalEnergyLimit() {
-    return Optional.ofNullable(getUnchecked(DynamicResourceProperties.TOTAL_ENERGY_LIMIT))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
-        .orElseThrow(
-            () -> new IllegalArgumentException("not found TOTAL_ENERGY_LIMIT"));
+    return getLong(DynamicResourceProperties.TOTAL_ENERGY_LIMIT, "not found TOTAL_ENERGY_LIMIT");
   }
 
   public void saveTotalEnergyCurrentLimit(long totalEnergyCurrentLimit) {
@@ -1375,11 +1312,8 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getTotalEnergyCurrentLimit() {
-    return Optional.ofNullable(getUnchecked(DynamicResourceProperties.TOTAL_ENERGY_CURRENT_LIMIT))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
-        .orElseThrow(
-            () -> new IllegalArgumentException("not found TOTAL_ENERGY_CURRENT_LIMIT"));
+    return getLong(DynamicResourceProperties.TOTAL_ENERGY_CURRENT_LIMIT,
+        "not found TOTAL_ENERGY_CURRENT_LIMIT");
   }
 
   public void saveTotalEnergyTargetLimit(long targetTotalEnergyLimit) {
@@ -1388,11 +1322,8 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getTotalEnergyTargetLimit() {
-    return Optional.ofNullable(getUnchecked(DynamicResourceProperties.TOTAL_ENERGY_TARGET_LIMIT))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
-        .orElseThrow(
-            () -> new IllegalArgumentException("not found TOTAL_ENERGY_TARGET_LIMIT"));
+    return getLong(DynamicResourceProperties.TOTAL_ENERGY_TARGET_LIMIT,
+        "not found TOTAL_ENERGY_TARGET_LIMIT");
   }
 
   public void saveTotalEnergyAverageUsage(long totalEnergyAverageUsage) {
@@ -1401,11 +1332,8 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getTotalEnergyAverageUsage() {
-    return Optional.ofNullable(getUnchecked(DynamicResourceProperties.TOTAL_ENERGY_AVERAGE_USAGE))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
-        .orElseThrow(
-            () -> new IllegalArgumentException("not found TOTAL_ENERGY_AVERAGE_USAGE"));
+    return getLong(DynamicResourceProperties.TOTAL_ENERGY_AVERAGE_USAGE,
+        "not found TOTAL_ENERGY_AVERAGE_USAGE");
   }
 
   public void saveAdaptiveResourceLimitMultiplier(long adaptiveResourceLimitMultiplier) {
@@ -1414,12 +1342,8 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getAdaptiveResourceLimitMultiplier() {
-    return Optional
-        .ofNullable(getUnchecked(DynamicResourceProperties.ADAPTIVE_RESOURCE_LIMIT_MULTIPLIER))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
-        .orElseThrow(
-            () -> new IllegalArgumentException("not found ADAPTIVE_RESOURCE_LIMIT_MULTIPLIER"));
+    return getLong(DynamicResourceProperties.ADAPTIVE_RESOURCE_LIMIT_MULTIPLIER,
+        "not found ADAPTIVE_RESOURCE_LIMIT_MULTIPLIER");
   }
 
   public void saveAdaptiveResourceLimitTargetRatio(long adaptiveResourceLimitTargetRatio) {
@@ -1428,12 +1352,8 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getAdaptiveResourceLimitTargetRatio() {
-    return Optional
-        .ofNullable(getUnchecked(DynamicResourceProperties.ADAPTIVE_RESOURCE_LIMIT_TARGET_RATIO))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
-        .orElseThrow(
-            () -> new IllegalArgumentException("not found ADAPTIVE_RESOURCE_LIMIT_TARGET_RATIO"));
+    return getLong(DynamicResourceProperties.ADAPTIVE_RESOURCE_LIMIT_TARGET_RATIO,
+        "not found ADAPTIVE_RESOURCE_LIMIT_TARGET_RATIO");
   }
 
   public void saveTotalEnergyAverageTime(long totalEnergyAverageTime) {
@@ -1442,11 +1362,8 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getTotalEnergyAverageTime() {
-    return Optional.ofNullable(getUnchecked(DynamicResourceProperties.TOTAL_ENERGY_AVERAGE_TIME))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
-        .orElseThrow(
-            () -> new IllegalArgumentException("not found TOTAL_NET_AVERAGE_TIME"));
+    return getLong(DynamicResourceProperties.TOTAL_ENERGY_AVERAGE_TIME,
+        "not found TOTAL_NET_AVERAGE_TIME");
   }
 
   public void saveBlockEnergyUsage(long blockEnergyUsage) {
@@ -1455,11 +1372,12 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getBlockEnergyUsage() {
-    return Optional.ofNullable(getUnchecked(DynamicResourceProperties.BLOCK_ENERGY_USAGE))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
-        .orElseThrow(
-            () -> new IllegalArgumentException("not found BLOCK_ENERGY_USAGE"));
+    return getLong(DynamicResourceProperties.BLOCK_ENERGY_USAGE, "not found BLOCK_ENERGY_USAGE");
+  }
+
+  public void addBlockEnergyUsage(long energy) {
+    addLong(DynamicResourceProperties.BLOCK_ENERGY_USAGE, energy,
+        "not found BLOCK_ENERGY_USAGE");
   }
 
   public void saveEnergyFee(long totalEnergyFee) {
@@ -1468,11 +1386,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getEnergyFee() {
-    return Optional.ofNullable(getUnchecked(ENERGY_FEE))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
-        .orElseThrow(
-            () -> new IllegalArgumentException("not found ENERGY_FEE"));
+    return getLong(ENERGY_FEE, "not found ENERGY_FEE");
   }
 
   public void saveMaxCpuTimeOfOneTx(long time) {
@@ -1481,11 +1395,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getMaxCpuTimeOfOneTx() {
-    return Optional.ofNullable(getUnchecked(MAX_CPU_TIME_OF_ONE_TX))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
-        .orElseThrow(
-            () -> new IllegalArgumentException("not found MAX_CPU_TIME_OF_ONE_TX"));
+    return getLong(MAX_CPU_TIME_OF_ONE_TX, "not found MAX_CPU_TIME_OF_ONE_TX");
   }
 
   public void saveCreateAccountFee(long fee) {
@@ -1494,12 +1404,8 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getShieldedTransactionCreateAccountFee() {
-    return Optional.ofNullable(getUnchecked(SHIELDED_TRANSACTION_CREATE_ACCOUNT_FEE))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
-        .orElseThrow(
-            () -> new IllegalArgumentException(
-                "not found SHIELDED_TRANSACTION_CREATE_ACCOUNT_FEE"));
+    return getLong(SHIELDED_TRANSACTION_CREATE_ACCOUNT_FEE,
+        "not found SHIELDED_TRANSACTION_CREATE_ACCOUNT_FEE");
   }
 
   public void saveShieldedTransactionCreateAccountFee(long fee) {
@@ -1508,11 +1414,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getShieldedTransactionFee() {
-    return Optional.ofNullable(getUnchecked(SHIELDED_TRANSACTION_FEE))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
-        .orElseThrow(
-            () -> new IllegalArgumentException("not found SHIELD_TRANSACTION_FEE"));
+    return getLong(SHIELDED_TRANSACTION_FEE, "not found SHIELD_TRANSACTION_FEE");
   }
 
   public void saveShieldedTransactionFee(long fee) {
@@ -1521,11 +1423,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getTotalShieldedPoolValue() {
-    return Optional.ofNullable(getUnchecked(TOTAL_SHIELDED_POOL_VALUE))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
-        .orElseThrow(
-            () -> new IllegalArgumentException("not found TOTAL_SHIELDED_POOL_Value"));
+    return getLong(TOTAL_SHIELDED_POOL_VALUE, "not found TOTAL_SHIELDED_POOL_Value");
   }
 
   public void saveTotalShieldedPoolValue(long value) {
@@ -1534,11 +1432,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getCreateAccountFee() {
-    return Optional.ofNullable(getUnchecked(CREATE_ACCOUNT_FEE))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
-        .orElseThrow(
-            () -> new IllegalArgumentException("not found CREATE_ACCOUNT_FEE"));
+    return getLong(CREATE_ACCOUNT_FEE, "not found CREATE_ACCOUNT_FEE");
   }
 
   public void saveCreateNewAccountFeeInSystemContract(long fee) {
@@ -1547,12 +1441,8 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getCreateNewAccountFeeInSystemContract() {
-    return Optional.ofNullable(getUnchecked(CREATE_NEW_ACCOUNT_FEE_IN_SYSTEM_CONTRACT))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
-        .orElseThrow(
-            () -> new IllegalArgumentException(
-                "not found CREATE_NEW_ACCOUNT_FEE_IN_SYSTEM_CONTRACT"));
+    return getLong(CREATE_NEW_ACCOUNT_FEE_IN_SYSTEM_CONTRACT,
+        "not found CREATE_NEW_ACCOUNT_FEE_IN_SYSTEM_CONTRACT");
   }
 
   public void saveCreateNewAccountBandwidthRate(long rate) {
@@ -1561,12 +1451,8 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getCreateNewAccountBandwidthRate() {
-    return Optional.ofNullable(getUnchecked(CREATE_NEW_ACCOUNT_BANDWIDTH_RATE))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
-        .orElseThrow(
-            () -> new IllegalArgumentException(
-                "not found CREATE_NsEW_ACCOUNT_BANDWIDTH_RATE2"));
+    return getLong(CREATE_NEW_ACCOUNT_BANDWIDTH_RATE,
+        "not found CREATE_NsEW_ACCOUNT_BANDWIDTH_RATE2");
   }
 
   public void saveTransactionFee(long fee) {
@@ -1575,11 +1461,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getTransactionFee() {
-    return Optional.ofNullable(getUnchecked(TRANSACTION_FEE))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
-        .orElseThrow(
-            () -> new IllegalArgumentException("not found TRANSACTION_FEE"));
+    return getLong(TRANSACTION_FEE, "not found TRANSACTION_FEE");
   }
 
   public void saveAssetIssueFee(long fee) {
@@ -1598,27 +1480,15 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getAssetIssueFee() {
-    return Optional.ofNullable(getUnchecked(ASSET_ISSUE_FEE))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
-        .orElseThrow(
-            () -> new IllegalArgumentException("not found ASSET_ISSUE_FEE"));
+    return getLong(ASSET_ISSUE_FEE, "not found ASSET_ISSUE_FEE");
   }
 
   public long getUpdateAccountPermissionFee() {
-    return Optional.ofNullable(getUnchecked(UPDATE_ACCOUNT_PERMISSION_FEE))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
-        .orElseThrow(
-            () -> new IllegalArgumentException("not found UPDATE_ACCOUNT_PERMISSION_FEE"));
+    return getLong(UPDATE_ACCOUNT_PERMISSION_FEE, "not found UPDATE_ACCOUNT_PERMISSION_FEE");
   }
 
   public long getMultiSignFee() {
-    return Optional.ofNullable(getUnchecked(MULTI_SIGN_FEE))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
-        .orElseThrow(
-            () -> new IllegalArgumentException("not found MULTI_SIGN_FEE"));
+    return getLong(MULTI_SIGN_FEE, "not found MULTI_SIGN_FEE");
   }
 
   public void saveExchangeCreateFee(long fee) {
@@ -1627,11 +1497,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getExchangeCreateFee() {
-    return Optional.ofNullable(getUnchecked(EXCHANGE_CREATE_FEE))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
-        .orElseThrow(
-            () -> new IllegalArgumentException("not found EXCHANGE_CREATE_FEE"));
+    return getLong(EXCHANGE_CREATE_FEE, "not found EXCHANGE_CREATE_FEE");
   }
 
   public void saveExchangeBalanceLimit(long limit) {
@@ -1640,11 +1506,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getExchangeBalanceLimit() {
-    return Optional.ofNullable(getUnchecked(EXCHANGE_BALANCE_LIMIT))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
-        .orElseThrow(
-            () -> new IllegalArgumentException("not found EXCHANGE_BALANCE_LIMIT"));
+    return getLong(EXCHANGE_BALANCE_LIMIT, "not found EXCHANGE_BALANCE_LIMIT");
   }
 
   public void saveAllowMarketTransaction(long allowMarketTransaction) {
@@ -1653,11 +1515,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getAllowMarketTransaction() {
-    return Optional.ofNullable(getUnchecked(ALLOW_MARKET_TRANSACTION))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
-        .orElseThrow(
-            () -> new IllegalArgumentException("not found ALLOW_MARKET_TRANSACTION"));
+    return getLong(ALLOW_MARKET_TRANSACTION, "not found ALLOW_MARKET_TRANSACTION");
   }
 
   public boolean supportAllowMarketTransaction() {
@@ -1670,11 +1528,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getMarketSellFee() {
-    return Optional.ofNullable(getUnchecked(MARKET_SELL_FEE))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
-        .orElseThrow(
-            () -> new IllegalArgumentException("not found MARKET_SELL_FEE"));
+    return getLong(MARKET_SELL_FEE, "not found MARKET_SELL_FEE");
   }
 
   public void saveMarketCancelFee(long fee) {
@@ -1683,11 +1537,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getMarketCancelFee() {
-    return Optional.ofNullable(getUnchecked(MARKET_CANCEL_FEE))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
-        .orElseThrow(
-            () -> new IllegalArgumentException("not found MARKET_CANCEL_FEE"));
+    return getLong(MARKET_CANCEL_FEE, "not found MARKET_CANCEL_FEE");
   }
 
   public void saveMarketQuantityLimit(long limit) {
@@ -1696,11 +1546,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getMarketQuantityLimit() {
-    return Optional.ofNullable(getUnchecked(MARKET_QUANTITY_LIMIT))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
-        .orElseThrow(
-            () -> new IllegalArgumentException("not found MARKET_QUANTITY_LIMIT"));
+    return getLong(MARKET_QUANTITY_LIMIT, "not found MARKET_QUANTITY_LIMIT");
   }
 
 
@@ -1714,19 +1560,14 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getAllowTransactionFeePool() {
-    return Optional.ofNullable(getUnchecked(ALLOW_TRANSACTION_FEE_POOL))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
-        .orElseThrow(
-            () -> new IllegalArgumentException("not found ALLOW_TRANSACTION_FEE_POOL"));
+    return getLong(ALLOW_TRANSACTION_FEE_POOL, "not found ALLOW_TRANSACTION_FEE_POOL");
   }
 
   public void addTransactionFeePool(long amount) {
     if (amount <= 0) {
       return;
     }
-    amount += getTransactionFeePool();
-    saveTransactionFeePool(amount);
+    addLong(TRANSACTION_FEE_POOL, amount, "not found TRANSACTION_FEE_POOL");
   }
 
   public void saveTransactionFeePool(long value) {
@@ -1735,11 +1576,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getTransactionFeePool() {
-    return Optional.ofNullable(getUnchecked(TRANSACTION_FEE_POOL))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
-        .orElseThrow(
-            () -> new IllegalArgumentException("not found TRANSACTION_FEE_POOL"));
+    return getLong(TRANSACTION_FEE_POOL, "not found TRANSACTION_FEE_POOL");
   }
 
   public void saveTotalTransactionCost(long value) {
@@ -1748,11 +1585,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getTotalTransactionCost() {
-    return Optional.ofNullable(getUnchecked(TOTAL_TRANSACTION_COST))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
-        .orElseThrow(
-            () -> new IllegalArgumentException("not found TOTAL_TRANSACTION_COST"));
+    return getLong(TOTAL_TRANSACTION_COST, "not found TOTAL_TRANSACTION_COST");
   }
 
   public void saveTotalCreateAccountFee(long value) {
@@ -1761,11 +1594,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getTotalCreateAccountCost() {
-    return Optional.ofNullable(getUnchecked(TOTAL_CREATE_ACCOUNT_COST))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
-        .orElseThrow(
-            () -> new IllegalArgumentException("not found TOTAL_CREATE_ACCOUNT_COST"));
+    return getLong(TOTAL_CREATE_ACCOUNT_COST, "not found TOTAL_CREATE_ACCOUNT_COST");
   }
 
   public void saveTotalCreateWitnessFee(long value) {
@@ -1774,11 +1603,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getTotalCreateWitnessCost() {
-    return Optional.ofNullable(getUnchecked(TOTAL_CREATE_WITNESS_COST))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
-        .orElseThrow(
-            () -> new IllegalArgumentException("not found TOTAL_CREATE_WITNESS_COST"));
+    return getLong(TOTAL_CREATE_WITNESS_COST, "not found TOTAL_CREATE_WITNESS_COST");
   }
 
   public void saveTotalStoragePool(long trx) {
@@ -1787,11 +1612,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getTotalStoragePool() {
-    return Optional.ofNullable(getUnchecked(TOTAL_STORAGE_POOL))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
-        .orElseThrow(
-            () -> new IllegalArgumentException("not found TOTAL_STORAGE_POOL"));
+    return getLong(TOTAL_STORAGE_POOL, "not found TOTAL_STORAGE_POOL");
   }
 
   public void saveTotalStorageTax(long trx) {
@@ -1800,11 +1621,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getTotalStorageTax() {
-    return Optional.ofNullable(getUnchecked(TOTAL_STORAGE_TAX))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
-        .orElseThrow(
-            () -> new IllegalArgumentException("not found TOTAL_STORAGE_TAX"));
+    return getLong(TOTAL_STORAGE_TAX, "not found TOTAL_STORAGE_TAX");
   }
 
   public void saveTotalStorageReserved(long bytes) {
@@ -1813,11 +1630,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getTotalStorageReserved() {
-    return Optional.ofNullable(getUnchecked(TOTAL_STORAGE_RESERVED))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
-        .orElseThrow(
-            () -> new IllegalArgumentException("not found TOTAL_STORAGE_RESERVED"));
+    return getLong(TOTAL_STORAGE_RESERVED, "not found TOTAL_STORAGE_RESERVED");
   }
 
   public void saveStorageExchangeTaxRate(long rate) {
@@ -1826,11 +1639,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getStorageExchangeTaxRate() {
-    return Optional.ofNullable(getUnchecked(STORAGE_EXCHANGE_TAX_RATE))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
-        .orElseThrow(
-            () -> new IllegalArgumentException("not found STORAGE_EXCHANGE_TAX_RATE"));
+    return getLong(STORAGE_EXCHANGE_TAX_RATE, "not found STORAGE_EXCHANGE_TAX_RATE");
   }
 
   public void saveRemoveThePowerOfTheGr(long rate) {
@@ -1839,11 +1648,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getRemoveThePowerOfTheGr() {
-    return Optional.ofNullable(getUnchecked(REMOVE_THE_POWER_OF_THE_GR))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
-        .orElseThrow(
-            () -> new IllegalArgumentException("not found REMOVE_THE_POWER_OF_THE_GR"));
+    return getLong(REMOVE_THE_POWER_OF_THE_GR, "not found REMOVE_THE_POWER_OF_THE_GR");
   }
 
   public void saveAllowDelegateResource(long value) {
@@ -1852,11 +1657,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getAllowDelegateResource() {
-    return Optional.ofNullable(getUnchecked(ALLOW_DELEGATE_RESOURCE))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
-        .orElseThrow(
-            () -> new IllegalArgumentException("not found ALLOW_DELEGATE_RESOURCE"));
+    return getLong(ALLOW_DELEGATE_RESOURCE, "not found ALLOW_DELEGATE_RESOURCE");
   }
 
   public void saveAllowAdaptiveEnergy(long value) {
@@ -1865,11 +1666,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getAllowAdaptiveEnergy() {
-    return Optional.ofNullable(getUnchecked(ALLOW_ADAPTIVE_ENERGY))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
-        .orElseThrow(
-            () -> new IllegalArgumentException("not found ALLOW_ADAPTIVE_ENERGY"));
+    return getLong(ALLOW_ADAPTIVE_ENERGY, "not found ALLOW_ADAPTIVE_ENERGY");
   }
 
   public void saveAllowTvmTransferTrc10(long value) {
@@ -1878,11 +1675,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getAllowTvmTransferTrc10() {
-    return Optional.ofNullable(getUnchecked(ALLOW_TVM_TRANSFER_TRC10))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
-        .orElseThrow(
-            () -> new IllegalArgumentException("not found ALLOW_TVM_TRANSFER_TRC10"));
+    return getLong(ALLOW_TVM_TRANSFER_TRC10, "not found ALLOW_TVM_TRANSFER_TRC10");
   }
 
   public void saveAllowTvmConstantinople(long value) {
@@ -1891,11 +1684,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getAllowTvmConstantinople() {
-    return Optional.ofNullable(getUnchecked(ALLOW_TVM_CONSTANTINOPLE))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
-        .orElseThrow(
-            () -> new IllegalArgumentException("not found ALLOW_TVM_CONSTANTINOPLE"));
+    return getLong(ALLOW_TVM_CONSTANTINOPLE, "not found ALLOW_TVM_CONSTANTINOPLE");
   }
 
   public void saveAllowTvmSolidity059(long value) {
@@ -1904,10 +1693,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getAllowTvmSolidity059() {
-    return Optional.ofNullable(getUnchecked(ALLOW_TVM_SOLIDITY_059))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
-        .orElseThrow(() -> new IllegalArgumentException("not found ALLOW_TVM_SOLIDITY_059"));
+    return getLong(ALLOW_TVM_SOLIDITY_059, "not found ALLOW_TVM_SOLIDITY_059");
   }
 
   public void saveForbidTransferToContract(long value) {
@@ -1916,10 +1702,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getForbidTransferToContract() {
-    return Optional.ofNullable(getUnchecked(FORBID_TRANSFER_TO_CONTRACT))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
-        .orElseThrow(() -> new IllegalArgumentException("not found FORBID_TRANSFER_TO_CONTRACT"));
+    return getLong(FORBID_TRANSFER_TO_CONTRACT, "not found FORBID_TRANSFER_TO_CONTRACT");
   }
 
   public void saveAvailableContractType(byte[] value) {
@@ -1975,11 +1758,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getAllowUpdateAccountName() {
-    return Optional.ofNullable(getUnchecked(ALLOW_UPDATE_ACCOUNT_NAME))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
-        .orElseThrow(
-            () -> new IllegalArgumentException("not found ALLOW_UPDATE_ACCOUNT_NAME"));
+    return getLong(ALLOW_UPDATE_ACCOUNT_NAME, "not found ALLOW_UPDATE_ACCOUNT_NAME");
   }
 
   public void saveAllowSameTokenName(long rate) {
@@ -1988,11 +1767,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getAllowSameTokenName() {
-    return Optional.ofNullable(getUnchecked(ALLOW_SAME_TOKEN_NAME))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
-        .orElseThrow(
-            () -> new IllegalArgumentException("not found ALLOW_SAME_TOKEN_NAME"));
+    return getLong(ALLOW_SAME_TOKEN_NAME, "not found ALLOW_SAME_TOKEN_NAME");
   }
 
   public void saveAllowCreationOfContracts(long allowCreationOfContracts) {
@@ -2006,11 +1781,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public int getTotalSignNum() {
-    return Optional.ofNullable(getUnchecked(TOTAL_SIGN_NUM))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toInt)
-        .orElseThrow(
-            () -> new IllegalArgumentException("not found TOTAL_SIGN_NUM"));
+    return (int) getLong(TOTAL_SIGN_NUM, "not found TOTAL_SIGN_NUM");
   }
 
   public void saveAllowMultiSign(long allowMultiSing) {
@@ -2019,19 +1790,11 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getAllowMultiSign() {
-    return Optional.ofNullable(getUnchecked(ALLOW_MULTI_SIGN))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
-        .orElseThrow(
-            () -> new IllegalArgumentException("not found ALLOW_MULTI_SIGN"));
+    return getLong(ALLOW_MULTI_SIGN, "not found ALLOW_MULTI_SIGN");
   }
 
   public long getAllowCreationOfContracts() {
-    return Optional.ofNullable(getUnchecked(ALLOW_CREATION_OF_CONTRACTS))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
-        .orElseThrow(
-            () -> new IllegalArgumentException("not found ALLOW_CREATION_OF_CONTRACTS"));
+    return getLong(ALLOW_CREATION_OF_CONTRACTS, "not found ALLOW_CREATION_OF_CONTRACTS");
   }
 
   public boolean supportVM() {
@@ -2045,11 +1808,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getAllowShieldedTransaction() {
-    return Optional.ofNullable(getUnchecked(ALLOW_SHIELDED_TRANSACTION))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
-        .orElseThrow(
-            () -> new IllegalArgumentException("not found ALLOW_SHIELDED_TRANSACTION"));
+    return getLong(ALLOW_SHIELDED_TRANSACTION, "not found ALLOW_SHIELDED_TRANSACTION");
   }
 
   public void saveAllowShieldedTRC20Transaction(long allowShieldedTRC20Transaction) {
@@ -2059,11 +1818,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
 
   public long getAllowShieldedTRC20Transaction() {
     String msg = "not found ALLOW_SHIELDED_TRC20_TRANSACTION";
-    return Optional.ofNullable(getUnchecked(ALLOW_SHIELDED_TRC20_TRANSACTION))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
-        .orElseThrow(
-            () -> new IllegalArgumentException(msg));
+    return getLong(ALLOW_SHIELDED_TRC20_TRANSACTION, msg);
   }
 
   public void saveAllowTvmIstanbul(long allowTVMIstanbul) {
@@ -2073,11 +1828,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
 
   public long getAllowTvmIstanbul() {
     String msg = "not found ALLOW_TVM_ISTANBUL";
-    return Optional.ofNullable(getUnchecked(ALLOW_TVM_ISTANBUL))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
-        .orElseThrow(
-            () -> new IllegalArgumentException(msg));
+    return getLong(ALLOW_TVM_ISTANBUL, msg);
   }
 
   public boolean supportShieldedTransaction() {
@@ -2126,11 +1877,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getLatestSolidifiedBlockNum() {
-    return Optional.ofNullable(getUnchecked(LATEST_SOLIDIFIED_BLOCK_NUM))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
-        .orElseThrow(
-            () -> new IllegalArgumentException("not found latest SOLIDIFIED_BLOCK_NUM"));
+    return getLong(LATEST_SOLIDIFIED_BLOCK_NUM, "not found latest SOLIDIFIED_BLOCK_NUM");
   }
 
   public void saveLatestProposalNum(long number) {
@@ -2138,11 +1885,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getLatestProposalNum() {
-    return Optional.ofNullable(getUnchecked(LATEST_PROPOSAL_NUM))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
-        .orElseThrow(
-            () -> new IllegalArgumentException("not found latest PROPOSAL_NUM"));
+    return getLong(LATEST_PROPOSAL_NUM, "not found latest PROPOSAL_NUM");
   }
 
   public void saveLatestExchangeNum(long number) {
@@ -2150,33 +1893,21 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getLatestExchangeNum() {
-    return Optional.ofNullable(getUnchecked(LATEST_EXCHANGE_NUM))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
-        .orElseThrow(
-            () -> new IllegalArgumentException("not found latest EXCHANGE_NUM"));
+    return getLong(LATEST_EXCHANGE_NUM, "not found latest EXCHANGE_NUM");
   }
 
   /**
    * get timestamp of creating global latest block.
    */
   public long getLatestBlockHeaderTimestamp() {
-    return Optional.ofNullable(getUnchecked(LATEST_BLOCK_HEADER_TIMESTAMP))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
-        .orElseThrow(
-            () -> new IllegalArgumentException("not found latest block header timestamp"));
+    return getLong(LATEST_BLOCK_HEADER_TIMESTAMP, "not found latest block header timestamp");
   }
 
   /**
    * get number of global latest block.
    */
   public long getLatestBlockHeaderNumber() {
-    return Optional.ofNullable(getUnchecked(LATEST_BLOCK_HEADER_NUMBER))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
-        .orElseThrow(
-            () -> new IllegalArgumentException("not found latest block header number"));
+    return getLong(LATEST_BLOCK_HEADER_NUMBER, "not found latest block header number");
   }
 
   public long getLatestBlockHeaderNumberFromDB() {
@@ -2193,10 +1924,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public int getStateFlag() {
-    return Optional.ofNullable(getUnchecked(STATE_FLAG))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toInt)
-        .orElseThrow(() -> new IllegalArgumentException("not found maintenance flag"));
+    return (int) getLong(STATE_FLAG, "not found maintenance flag");
   }
 
   /**
@@ -2240,11 +1968,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getNextMaintenanceTime() {
-    return Optional.ofNullable(getUnchecked(NEXT_MAINTENANCE_TIME))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
-        .orElseThrow(
-            () -> new IllegalArgumentException("not found NEXT_MAINTENANCE_TIME"));
+    return getLong(NEXT_MAINTENANCE_TIME, "not found NEXT_MAINTENANCE_TIME");
   }
 
   public long getMaintenanceSkipSlots() {
@@ -2312,18 +2036,15 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public void addTotalCreateAccountCost(long fee) {
-    long newValue = getTotalCreateAccountCost() + fee;
-    saveTotalCreateAccountFee(newValue);
+    addLong(TOTAL_CREATE_ACCOUNT_COST, fee, "not found TOTAL_CREATE_ACCOUNT_COST");
   }
 
   public void addTotalCreateWitnessCost(long fee) {
-    long newValue = getTotalCreateWitnessCost() + fee;
-    saveTotalCreateWitnessFee(newValue);
+    addLong(TOTAL_CREATE_WITNESS_COST, fee, "not found TOTAL_CREATE_WITNESS_COST");
   }
 
   public void addTotalTransactionCost(long fee) {
-    long newValue = getTotalTransactionCost() + fee;
-    saveTotalTransactionCost(newValue);
+    addLong(TOTAL_TRANSACTION_COST, fee, "not found TOTAL_TRANSACTION_COST");
   }
 
   public void forked(int version, boolean value) {
@@ -2364,10 +2085,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
    * get allow protobuf number.
    */
   public long getAllowProtoFilterNum() {
-    return Optional.ofNullable(getUnchecked(ALLOW_PROTO_FILTER_NUM))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
-        .orElseThrow(() -> new IllegalArgumentException("not found allow protobuf number"));
+    return getLong(ALLOW_PROTO_FILTER_NUM, "not found allow protobuf number");
   }
 
   /**
@@ -2384,11 +2102,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getAllowAccountStateRoot() {
-    return Optional.ofNullable(getUnchecked(ALLOW_ACCOUNT_STATE_ROOT))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
-        .orElseThrow(
-            () -> new IllegalArgumentException("not found ALLOW_ACCOUNT_STATE_ROOT"));
+    return getLong(ALLOW_ACCOUNT_STATE_ROOT, "not found ALLOW_ACCOUNT_STATE_ROOT");
   }
 
   public boolean allowAccountStateRoot() {
@@ -2396,10 +2110,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getCurrentCycleNumber() {
-    return Optional.ofNullable(getUnchecked(CURRENT_CYCLE_NUMBER))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
-        .orElse(0L);
+    return getLong(CURRENT_CYCLE_NUMBER, 0L);
   }
 
   public void saveCurrentCycleNumber(long number) {
@@ -2412,10 +2123,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getChangeDelegation() {
-    return Optional.ofNullable(getUnchecked(CHANGE_DELEGATION))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
-        .orElseThrow(() -> new IllegalArgumentException("not found CHANGE_DELEGATION"));
+    return getLong(CHANGE_DELEGATION, "not found CHANGE_DELEGATION");
   }
 
   public boolean allowChangeDelegation() {
@@ -2428,10 +2136,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getAllowPBFT() {
-    return Optional.ofNullable(getUnchecked(ALLOW_PBFT))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
-        .orElseThrow(() -> new IllegalArgumentException("not found ALLOW_PBFT"));
+    return getLong(ALLOW_PBFT, "not found ALLOW_PBFT");
   }
 
   public boolean allowPBFT() {
@@ -2439,11 +2144,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getMaxFeeLimit() {
-    return Optional.ofNullable(getUnchecked(MAX_FEE_LIMIT))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
-        .orElseThrow(
-            () -> new IllegalArgumentException("not found MAX_FEE_LIMIT"));
+    return getLong(MAX_FEE_LIMIT, "not found MAX_FEE_LIMIT");
   }
 
   public void saveMaxFeeLimit(long maxFeeLimit) {
@@ -2452,18 +2153,14 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getBurnTrxAmount() {
-    return Optional.ofNullable(getUnchecked(BURN_TRX_AMOUNT))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
-        .orElseThrow(() -> new IllegalArgumentException("not found BURN_TRX_AMOUNT"));
+    return getLong(BURN_TRX_AMOUNT, "not found BURN_TRX_AMOUNT");
   }
 
   public void burnTrx(long amount) {
     if (amount <= 0) {
       return;
     }
-    amount += getBurnTrxAmount();
-    saveBurnTrx(amount);
+    addLong(BURN_TRX_AMOUNT, amount, "not found BURN_TRX_AMOUNT");
   }
 
   private void saveBurnTrx(long amount) {
@@ -2479,11 +2176,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getAllowBlackHoleOptimization() {
-    return Optional.ofNullable(getUnchecked(ALLOW_BLACKHOLE_OPTIMIZATION))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
-        .orElseThrow(
-            () -> new IllegalArgumentException("not found ALLOW_BLACKHOLE_OPTIMIZATION"));
+    return getLong(ALLOW_BLACKHOLE_OPTIMIZATION, "not found ALLOW_BLACKHOLE_OPTIMIZATION");
   }
 
   public boolean supportAllowNewResourceModel() {
@@ -2503,11 +2196,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getAllowNewResourceModel() {
-    return Optional.ofNullable(getUnchecked(ALLOW_NEW_RESOURCE_MODEL))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
-        .orElseThrow(
-            () -> new IllegalArgumentException("not found ALLOW_NEW_RESOURCE_MODEL"));
+    return getLong(ALLOW_NEW_RESOURCE_MODEL, "not found ALLOW_NEW_RESOURCE_MODEL");
   }
 
   public void saveAllowTvmFreeze(long allowTvmFreeze) {
@@ -2517,11 +2206,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
 
   public long getAllowTvmFreeze() {
     String msg = "not found ALLOW_TVM_FREEZE";
-    return Optional.ofNullable(getUnchecked(ALLOW_TVM_FREEZE))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
-        .orElseThrow(
-            () -> new IllegalArgumentException(msg));
+    return getLong(ALLOW_TVM_FREEZE, msg);
   }
 
   public void saveAllowTvmVote(long allowTvmVote) {
@@ -2531,11 +2216,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
 
   public long getAllowTvmVote() {
     String msg = "not found ALLOW_TVM_VOTE";
-    return Optional.ofNullable(getUnchecked(ALLOW_TVM_VOTE))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
-        .orElseThrow(
-            () -> new IllegalArgumentException(msg));
+    return getLong(ALLOW_TVM_VOTE, msg);
   }
 
   public void saveAllowTvmLondon(long allowTvmLondon) {
@@ -2545,11 +2226,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
 
   public long getAllowTvmLondon() {
     String msg = "not found ALLOW_TVM_LONDON";
-    return Optional.ofNullable(getUnchecked(ALLOW_TVM_LONDON))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
-        .orElseThrow(
-            () -> new IllegalArgumentException(msg));
+    return getLong(ALLOW_TVM_LONDON, msg);
   }
 
   public void saveAllowTvmCompatibleEvm(long allowTvmCompatibleEvm) {
@@ -2559,11 +2236,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
 
   public long getAllowTvmCompatibleEvm() {
     String msg = "not found ALLOW_TVM_COMPATIBLE_EVM";
-    return Optional.ofNullable(getUnchecked(ALLOW_TVM_COMPATIBLE_EVM))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
-        .orElseThrow(
-            () -> new IllegalArgumentException(msg));
+    return getLong(ALLOW_TVM_COMPATIBLE_EVM, msg);
   }
 
   public boolean useNewRewardAlgorithm() {
@@ -2579,11 +2252,8 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getNewRewardAlgorithmEffectiveCycle() {
-    return Optional.ofNullable(getUnchecked(NEW_REWARD_ALGORITHM_EFFECTIVE_CYCLE))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
-        .orElseThrow(
-            () -> new IllegalArgumentException("not found NEW_REWARD_ALGORITHM_EFFECTIVE_CYCLE"));
+    return getLong(NEW_REWARD_ALGORITHM_EFFECTIVE_CYCLE,
+        "not found NEW_REWARD_ALGORITHM_EFFECTIVE_CYCLE");
   }
 
   public long getAllowAccountAssetOptimizationFromRoot() {
@@ -2601,11 +2271,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
 
   // 1: enable
   public long getAllowAccountAssetOptimization() {
-    return Optional.ofNullable(getUnchecked(ALLOW_ACCOUNT_ASSET_OPTIMIZATION))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
-        .orElseThrow(
-            () -> new IllegalArgumentException("not found ALLOW_ACCOUNT_ASSET_OPTIMIZATION"));
+    return getLong(ALLOW_ACCOUNT_ASSET_OPTIMIZATION, "not found ALLOW_ACCOUNT_ASSET_OPTIMIZATION");
   }
 
   public void setAllowAccountAssetOptimization(long value) {
@@ -2614,11 +2280,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
 
   // 1: enable
   public long getAllowAssetOptimization() {
-    return Optional.ofNullable(getUnchecked(ALLOW_ASSET_OPTIMIZATION))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
-        .orElseThrow(
-            () -> new IllegalArgumentException("not found ALLOW_ASSET_OPTIMIZATION"));
+    return getLong(ALLOW_ASSET_OPTIMIZATION, "not found ALLOW_ASSET_OPTIMIZATION");
   }
 
   public void setAllowAssetOptimization(long value) {
@@ -2632,11 +2294,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getEnergyPriceHistoryDone() {
-    return Optional.ofNullable(getUnchecked(ENERGY_PRICE_HISTORY_DONE))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
-        .orElseThrow(
-            () -> new IllegalArgumentException("not found ENERGY_PRICE_HISTORY_DONE"));
+    return getLong(ENERGY_PRICE_HISTORY_DONE, "not found ENERGY_PRICE_HISTORY_DONE");
   }
 
   public String getEnergyPriceHistory() {
@@ -2657,11 +2315,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getBandwidthPriceHistoryDone() {
-    return Optional.ofNullable(getUnchecked(BANDWIDTH_PRICE_HISTORY_DONE))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
-        .orElseThrow(
-            () -> new IllegalArgumentException("not found BANDWIDTH_PRICE_HISTORY_DONE"));
+    return getLong(BANDWIDTH_PRICE_HISTORY_DONE, "not found BANDWIDTH_PRICE_HISTORY_DONE");
   }
 
   public String getBandwidthPriceHistory() {
@@ -2676,11 +2330,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getSetBlackholeAccountPermission() {
-    return Optional.of(getUnchecked(SET_BLACKHOLE_ACCOUNT_PERMISSION))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
-        .orElseThrow(
-            () -> new IllegalArgumentException("not found SET_BLACKHOLE_ACCOUNT_PERMISSION"));
+    return getLong(SET_BLACKHOLE_ACCOUNT_PERMISSION, "not found SET_BLACKHOLE_ACCOUNT_PERMISSION");
   }
 
   public void saveSetBlackholePermission(long value) {
@@ -2694,18 +2344,11 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
 
   public long getAllowHigherLimitForMaxCpuTimeOfOneTx() {
     String msg = "not found ALLOW_HIGHER_LIMIT_FOR_MAX_CPU_TIME_OF_ONE_TX";
-    return Optional.ofNullable(getUnchecked(ALLOW_HIGHER_LIMIT_FOR_MAX_CPU_TIME_OF_ONE_TX))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
-        .orElseThrow(
-            () -> new IllegalArgumentException(msg));
+    return getLong(ALLOW_HIGHER_LIMIT_FOR_MAX_CPU_TIME_OF_ONE_TX, msg);
   }
 
   public long getMemoFee() {
-    return Optional.ofNullable(getUnchecked(MEMO_FEE))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
-        .orElseThrow(() -> new IllegalArgumentException("not found MEMO_FEE"));
+    return getLong(MEMO_FEE, "not found MEMO_FEE");
   }
 
   public void saveMemoFee(long value) {
@@ -2724,10 +2367,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getAllowNewReward() {
-    return Optional.ofNullable(getUnchecked(ALLOW_NEW_REWARD))
-            .map(BytesCapsule::getData)
-            .map(ByteArray::toLong)
-            .orElseThrow(() -> new IllegalArgumentException("not found AllowNewReward"));
+    return getLong(ALLOW_NEW_REWARD, "not found AllowNewReward");
   }
 
   public void saveAllowNewReward(long newReward) {
@@ -2735,11 +2375,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getAllowDelegateOptimization() {
-    return Optional.ofNullable(getUnchecked(ALLOW_DELEGATE_OPTIMIZATION))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
-        .orElseThrow(
-            () -> new IllegalArgumentException("not found ALLOW_DELEGATE_OPTIMIZATION"));
+    return getLong(ALLOW_DELEGATE_OPTIMIZATION, "not found ALLOW_DELEGATE_OPTIMIZATION");
   }
 
   public boolean supportAllowDelegateOptimization() {
@@ -2751,11 +2387,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getAllowDynamicEnergy() {
-    return Optional.ofNullable(getUnchecked(ALLOW_DYNAMIC_ENERGY))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
-        .orElseThrow(
-            () -> new IllegalArgumentException("not found ALLOW_DYNAMIC_ENERGY"));
+    return getLong(ALLOW_DYNAMIC_ENERGY, "not found ALLOW_DYNAMIC_ENERGY");
   }
 
   public boolean supportAllowDynamicEnergy() {
@@ -2767,11 +2399,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getDynamicEnergyThreshold() {
-    return Optional.ofNullable(getUnchecked(DYNAMIC_ENERGY_THRESHOLD))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
-        .orElseThrow(
-            () -> new IllegalArgumentException("not found DYNAMIC_ENERGY_THRESHOLD"));
+    return getLong(DYNAMIC_ENERGY_THRESHOLD, "not found DYNAMIC_ENERGY_THRESHOLD");
   }
 
   public void saveDynamicEnergyThreshold(long value) {
@@ -2779,11 +2407,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getDynamicEnergyIncreaseFactor() {
-    return Optional.ofNullable(getUnchecked(DYNAMIC_ENERGY_INCREASE_FACTOR))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
-        .orElseThrow(
-            () -> new IllegalArgumentException("not found DYNAMIC_ENERGY_INCREASE_FACTOR"));
+    return getLong(DYNAMIC_ENERGY_INCREASE_FACTOR, "not found DYNAMIC_ENERGY_INCREASE_FACTOR");
   }
 
   public void saveDynamicEnergyIncreaseFactor(long value) {
@@ -2791,11 +2415,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getDynamicEnergyMaxFactor() {
-    return Optional.ofNullable(getUnchecked(DYNAMIC_ENERGY_MAX_FACTOR))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
-        .orElseThrow(
-            () -> new IllegalArgumentException("not found DYNAMIC_ENERGY_MAX_FACTOR"));
+    return getLong(DYNAMIC_ENERGY_MAX_FACTOR, "not found DYNAMIC_ENERGY_MAX_FACTOR");
   }
 
   public void saveDynamicEnergyMaxFactor(long value) {
@@ -2807,10 +2427,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getUnfreezeDelayDays() {
-    return Optional.ofNullable(getUnchecked(UNFREEZE_DELAY_DAYS))
-            .map(BytesCapsule::getData)
-            .map(ByteArray::toLong)
-            .orElseThrow(() -> new IllegalArgumentException("not found UNFREEZE_DELAY_DAYS"));
+    return getLong(UNFREEZE_DELAY_DAYS, "not found UNFREEZE_DELAY_DAYS");
   }
 
   public boolean supportUnfreezeDelay() {
@@ -2828,11 +2445,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
 
   public long getAllowOptimizedReturnValueOfChainId() {
     String msg = "not found ALLOW_OPTIMIZED_RETURN_VALUE_OF_CHAIN_ID";
-    return Optional.ofNullable(getUnchecked(ALLOW_OPTIMIZED_RETURN_VALUE_OF_CHAIN_ID))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
-        .orElseThrow(
-            () -> new IllegalArgumentException(msg));
+    return getLong(ALLOW_OPTIMIZED_RETURN_VALUE_OF_CHAIN_ID, msg);
   }
 
   public void saveAllowTvmShangHai(long allowTvmShangHai) {
@@ -2841,10 +2454,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getAllowTvmShangHai() {
-    return Optional.ofNullable(getUnchecked(ALLOW_TVM_SHANGHAI))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
-        .orElse(CommonParameter.getInstance().getAllowTvmShangHai());
+    return getLong(ALLOW_TVM_SHANGHAI, CommonParameter.getInstance().getAllowTvmShangHai());
   }
 
   public void saveAllowCancelAllUnfreezeV2(long allowCancelAllUnfreezeV2) {
@@ -2853,10 +2463,8 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getAllowCancelAllUnfreezeV2() {
-    return Optional.ofNullable(getUnchecked(ALLOW_CANCEL_ALL_UNFREEZE_V2))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
-        .orElse(CommonParameter.getInstance().getAllowCancelAllUnfreezeV2());
+    return getLong(ALLOW_CANCEL_ALL_UNFREEZE_V2,
+        CommonParameter.getInstance().getAllowCancelAllUnfreezeV2());
   }
 
   public boolean supportAllowCancelAllUnfreezeV2() {
@@ -2869,10 +2477,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getMaxDelegateLockPeriod() {
-    return Optional.ofNullable(getUnchecked(MAX_DELEGATE_LOCK_PERIOD))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
-        .orElse(DELEGATE_PERIOD / BLOCK_PRODUCED_INTERVAL);
+    return getLong(MAX_DELEGATE_LOCK_PERIOD, DELEGATE_PERIOD / BLOCK_PRODUCED_INTERVAL);
   }
 
   public boolean supportMaxDelegateLockPeriod() {
@@ -2889,10 +2494,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getAllowOldRewardOpt() {
-    return Optional.ofNullable(getUnchecked(ALLOW_OLD_REWARD_OPT))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
-        .orElse(CommonParameter.getInstance().getAllowOldRewardOpt());
+    return getLong(ALLOW_OLD_REWARD_OPT, CommonParameter.getInstance().getAllowOldRewardOpt());
   }
 
   public void saveAllowEnergyAdjustment(long allowEnergyAdjustment) {
@@ -2900,10 +2502,8 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getAllowEnergyAdjustment() {
-    return Optional.ofNullable(getUnchecked(ALLOW_ENERGY_ADJUSTMENT))
-            .map(BytesCapsule::getData)
-            .map(ByteArray::toLong)
-            .orElse(CommonParameter.getInstance().getAllowEnergyAdjustment());
+    return getLong(ALLOW_ENERGY_ADJUSTMENT,
+        CommonParameter.getInstance().getAllowEnergyAdjustment());
   }
 
   public void saveMaxCreateAccountTxSize(long maxCreateAccountTxSize) {
@@ -2912,16 +2512,11 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getMaxCreateAccountTxSize() {
-    return Optional.ofNullable(getUnchecked(MAX_CREATE_ACCOUNT_TX_SIZE))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
-        .orElse(CommonParameter.getInstance().getMaxCreateAccountTxSize());
+    return getLong(MAX_CREATE_ACCOUNT_TX_SIZE,
+        CommonParameter.getInstance().getMaxCreateAccountTxSize());
   }
   public long getAllowStrictMath() {
-    return Optional.ofNullable(getUnchecked(ALLOW_STRICT_MATH))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
-        .orElse(CommonParameter.getInstance().getAllowStrictMath());
+    return getLong(ALLOW_STRICT_MATH, CommonParameter.getInstance().getAllowStrictMath());
   }
   public void saveAllowStrictMath(long allowStrictMath) {
     this.put(ALLOW_STRICT_MATH, new BytesCapsule(ByteArray.fromLong(allowStrictMath)));
@@ -2941,10 +2536,8 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getConsensusLogicOptimization() {
-    return Optional.ofNullable(getUnchecked(CONSENSUS_LOGIC_OPTIMIZATION))
-      .map(BytesCapsule::getData)
-      .map(ByteArray::toLong)
-      .orElse(CommonParameter.getInstance().getConsensusLogicOptimization());
+    return getLong(CONSENSUS_LOGIC_OPTIMIZATION,
+        CommonParameter.getInstance().getConsensusLogicOptimization());
   }
 
   public boolean allowConsensusLogicOptimization() {
@@ -2961,10 +2554,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getAllowTvmCancun() {
-    return Optional.ofNullable(getUnchecked(ALLOW_TVM_CANCUN))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
-        .orElse(CommonParameter.getInstance().getAllowTvmCancun());
+    return getLong(ALLOW_TVM_CANCUN, CommonParameter.getInstance().getAllowTvmCancun());
   }
 
   public void saveAllowTvmBlob(long allowTvmBlob) {
@@ -2972,18 +2562,12 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getAllowTvmBlob() {
-    return Optional.ofNullable(getUnchecked(ALLOW_TVM_BLOB))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
-        .orElse(CommonParameter.getInstance().getAllowTvmBlob());
+    return getLong(ALLOW_TVM_BLOB, CommonParameter.getInstance().getAllowTvmBlob());
   }
 
 
   public long getAllowTvmSelfdestructRestriction() {
-    return Optional.ofNullable(getUnchecked(ALLOW_TVM_SELFDESTRUCT_RESTRICTION))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
-        .orElse(0L);
+    return getLong(ALLOW_TVM_SELFDESTRUCT_RESTRICTION, 0L);
   }
 
   public void saveAllowTvmSelfdestructRestriction(long value) {
@@ -3007,10 +2591,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getAllowTvmOsaka() {
-    return Optional.ofNullable(getUnchecked(ALLOW_TVM_OSAKA))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
-        .orElse(0L);
+    return getLong(ALLOW_TVM_OSAKA, 0L);
   }
 
   public void saveAllowTvmOsaka(long value) {
@@ -3018,10 +2599,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getAllowTvmPrague() {
-    return Optional.ofNullable(getUnchecked(ALLOW_TVM_PRAGUE))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
-        .orElse(0L);
+    return getLong(ALLOW_TVM_PRAGUE, 0L);
   }
 
   public void saveAllowTvmPrague(long value) {
@@ -3033,10 +2611,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getBlockHashHistoryInstalled() {
-    return Optional.ofNullable(getUnchecked(BLOCK_HASH_HISTORY_INSTALLED))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
-        .orElse(0L);
+    return getLong(BLOCK_HASH_HISTORY_INSTALLED, 0L);
   }
 
   public void saveBlockHashHistoryInstalled(long value) {
@@ -3048,10 +2623,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getAllowHardenResourceCalculation() {
-    return Optional.ofNullable(getUnchecked(ALLOW_HARDEN_RESOURCE_CALCULATION))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
-        .orElse(0L);
+    return getLong(ALLOW_HARDEN_RESOURCE_CALCULATION, 0L);
   }
 
   public void saveAllowHardenResourceCalculation(long value) {
@@ -3063,10 +2635,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getAllowHardenExchangeCalculation() {
-    return Optional.ofNullable(getUnchecked(ALLOW_HARDEN_EXCHANGE_CALCULATION))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
-        .orElse(0L);
+    return getLong(ALLOW_HARDEN_EXCHANGE_CALCULATION, 0L);
   }
 
   public void saveAllowHardenExchangeCalculation(long value) {
@@ -3083,17 +2652,11 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getTurkishKeyMigrationDone() {
-    return Optional.ofNullable(getUnchecked(TURKISH_KEY_MIGRATION_DONE))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
-        .orElse(0L);
+    return getLong(TURKISH_KEY_MIGRATION_DONE, 0L);
   }
 
   public long getAllowFnDsa512() {
-    return Optional.ofNullable(getUnchecked(ALLOW_FN_DSA_512))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
-        .orElse(CommonParameter.getInstance().getAllowFnDsa512());
+    return getLong(ALLOW_FN_DSA_512, CommonParameter.getInstance().getAllowFnDsa512());
   }
 
   public void saveAllowFnDsa512(long value) {
@@ -3105,10 +2668,7 @@ public class DynamicPropertiesStore extends TronStoreWithRevoking<BytesCapsule>
   }
 
   public long getAllowMlDsa44() {
-    return Optional.ofNullable(getUnchecked(ALLOW_ML_DSA_44))
-        .map(BytesCapsule::getData)
-        .map(ByteArray::toLong)
-        .orElse(CommonParameter.getInstance().getAllowMlDsa44());
+    return getLong(ALLOW_ML_DSA_44, CommonParameter.getInstance().getAllowMlDsa44());
   }
 
   public void saveAllowMlDsa44(long value) {
@@ -16,7 +16,7 @@ public class ExchangeStore extends TronStoreWithRevoking<ExchangeCapsule> {
 
   @Autowired
   protected ExchangeStore(@Value("exchange") String dbName) {
-    super(dbName);
+    super(dbName, ExchangeCapsule::new);
   }
 
   @Override
@@ -0,0 +1,84 @@
+package org.tron.core.store;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.tron.core.db2.common.WrappedByteArray;
+
+/**
+ * The storage rows contracts read while recent blocks were executed, grouped by contract. A
+ * storage row key starts with {@link #PREFIX_BYTES} bytes of the hash of the contract it belongs
+ * to, which is what rows are grouped by.
+ *
+ * <p>Only reads on the thread that {@link #startRecording() started recording} are recorded, so
+ * constant calls and API reads running alongside block execution do not pollute the set. Both
+ * the number of contracts and the rows kept per contract are bounded, least recently used
+ * first out.</p>
+ */
+public class HotStorageRows {
+
+  public static final int PREFIX_BYTES = 16;
+  private static final int MAX_CONTRACTS = 4096;
+
+  private final Map<WrappedByteArray, Set<WrappedByteArray>> rows =
+      new LinkedHashMap<WrappedByteArray, Set<WrappedByteArray>>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<WrappedByteArray,
+            Set<WrappedByteArray>> eldest) {
+          return size() > MAX_CONTRACTS;
+        }
+      };
+  private volatile Thread recorder;
+  private volatile int rowsPerContract;
+
+  public void setRowsPerContract(int rowsPerContract) {
+    this.rowsPerContract = rowsPerContract;
+  }
+
+  public void startRecording() {
+    recorder = Thread.currentThread();
+  }
+
+  public void stopRecording() {
+    recorder = null;
+  }
+
+  void record(byte[] rowKey) {
+    if (recorder != Thread.currentThread() || rowsPerContract <= 0
+        || rowKey.length < PREFIX_BYTES) {
+      return;
+    }
+    WrappedByteArray prefix = WrappedByteArray.of(Arrays.copyOf(rowKey, PREFIX_BYTES));
+    synchronized (rows) {
+      Set<WrappedByteArray> contract = rows.computeIfAbsent(prefix, k -> new LinkedHashSet<>());
+      WrappedByteArray row = WrappedByteArray.of(rowKey);
+      // re-insert to move the row to the most recent end
+      contract.remove(row);
+      contract.add(row);
+      if (contract.size() > rowsPerContract) {
+        contract.remove(contract.iterator().next());
+      }
+    }
+  }
+
+  /**
+   * @param prefix the first {@link #PREFIX_BYTES} bytes of the contract's address hash
+   * @return the keys of the rows recently read from the contract
+   */
+  public List<byte[]> get(byte[] prefix) {
+    synchronized (rows) {
+      Set<WrappedByteArray> contract = rows.get(WrappedByteArray.of(prefix));
+      if (contract == null) {
+        return Collections.emptyList();
+      }
+      List<byte[]> keys = new ArrayList<>(contract.size());
+      contract.forEach(row -> keys.add(row.getBytes()));
+      return keys;
+    }
+  }
+}
@@ -15,7 +15,7 @@ public class IncrementalMerkleTreeStore
 
   @Autowired
   public IncrementalMerkleTreeStore(@Value("IncrementalMerkleTree") String dbName) {
-    super(dbName);
+    super(dbName, IncrementalMerkleTreeCapsule::new);
   }
 
   @Override
@@ -12,7 +12,7 @@ public class MarketAccountStore extends TronStoreWithRevoking<MarketAccountOrder
 
   @Autowired
   protected MarketAccountStore(@Value("market_account") String dbName) {
-    super(dbName);
+    super(dbName, MarketAccountOrderCapsule::new);
   }
 
   @Override
@@ -12,7 +12,7 @@ public class MarketOrderStore extends TronStoreWithRevoking<MarketOrderCapsule>
 
   @Autowired
   protected MarketOrderStore(@Value("market_order") String dbName) {
-    super(dbName);
+    super(dbName, MarketOrderCapsule::new);
   }
 
   @Override
@@ -18,7 +18,7 @@ public class MarketPairPriceToOrderStore extends TronStoreWithRevoking<MarketOrd
 
   @Autowired
   protected MarketPairPriceToOrderStore(@Value(Constant.MARKET_PAIR_PRICE_TO_ORDER) String dbName) {
-    super(dbName);
+    super(dbName, MarketOrderIdListCapsule::new);
   }
 
   @Override
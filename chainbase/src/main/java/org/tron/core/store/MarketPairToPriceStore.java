@@ -20,7 +20,7 @@ public class MarketPairToPriceStore extends TronStoreWithRevoking<BytesCapsule>
 
   @Autowired
   protected MarketPairToPriceStore(@Value("market_pair_to_price") String dbName) {
-    super(dbName);
+    super(dbName, BytesCapsule::new);
   }
 
   @Override
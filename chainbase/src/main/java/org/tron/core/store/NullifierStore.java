@@ -12,7 +12,7 @@ public class NullifierStore extends TronStoreWithRevoking<BytesCapsule> {
 
   @Autowired
   public NullifierStore(@Value("nullifier") String dbName) {
-    super(dbName);
+    super(dbName, BytesCapsule::new);
   }
 
   public void put(BytesCapsule bytesCapsule) {
@@ -0,0 +1,263 @@
+package org.tron.core.store;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import org.tron.common.utils.ByteArray;
+import org.tron.core.db2.common.WrappedByteArray;
+import org.tron.core.db2.core.Chainbase;
+import org.tron.core.db2.core.ReadWriteSet;
+import org.tron.core.db2.core.Snapshot;
+import org.tron.core.db2.core.SnapshotImpl;
+
+/**
+ * The long valued properties of {@link DynamicPropertiesStore}, decoded once and then served
+ * from a slot per property instead of a lookup through the snapshot layers on every read.
+ *
+ * <p>Values are kept in a frame per snapshot layer the store was read through, stacked like the
+ * revoking sessions: a new session starts from a copy of the frame below it, revoking one drops
+ * its frame and merging one leaves its frame to the layer it was merged into. Every frame
+ * remembers the {@link Snapshot#getVersion() version} of its layer, writes that do not go
+ * through {@link #put(byte[], byte[], Runnable)} change it and the frame is rebuilt from the
+ * store. Reads through the solidity or PBFT cursor are not cached, nor the reads and writes of
+ * a speculative execution, which go to its {@link ReadWriteSet}.</p>
+ *
+ * <p>The frames are kept under the lock of the cache. The frame of the head is published as an
+ * immutable {@link View} after every change, so a read it answers takes no lock; only a miss, a
+ * write or a frame that has to be rebuilt does.</p>
+ */
+final class PropertyCache {
+
+  private static final byte UNKNOWN = 0;
+  private static final byte ABSENT = 1;
+  private static final byte PRESENT = 2;
+  private static final int MAX_FRAMES = 64;
+
+  private final Chainbase chainbase;
+  // keys are the constants of the store, looked up by identity first; copied on write
+  private volatile Map<byte[], Integer> slotsByIdentity = new IdentityHashMap<>();
+  private final Map<WrappedByteArray, Integer> slots = new HashMap<>();
+  // the oldest layer first, the head last
+  private final List<Frame> frames = new ArrayList<>();
+  private volatile View view;
+
+  PropertyCache(Chainbase chainbase) {
+    this.chainbase = chainbase;
+  }
+
+  /**
+   * @param missing the message to throw {@link IllegalArgumentException} with if the store does
+   *     not hold the key, null to return {@code absent} instead
+   */
+  long get(byte[] key, long absent, String missing) {
+    if (ReadWriteSet.current() != null || chainbase.getCursor() != Chainbase.Cursor.HEAD) {
+      byte[] data = chainbase.getUnchecked(key);
+      return value(data == null ? ABSENT : PRESENT, ByteArray.toLong(data), absent, missing);
+    }
+    View view = this.view;
+    Integer slot = slotsByIdentity.get(key);
+    if (view != null && slot != null && slot < view.states.length
+        && view.snapshot == chainbase.getHead() && view.version == view.snapshot.getVersion()
+        && view.states[slot] != UNKNOWN) {
+      return value(view.states[slot], view.values[slot], absent, missing);
+    }
+    return getCached(key, absent, missing);
+  }
+
+  private synchronized long getCached(byte[] key, long absent, String missing) {
+    Snapshot head = chainbase.getHead();
+    Frame frame = frame(head);
+    int slot = slot(key);
+    frame.ensure(slot);
+    byte state = frame.states[slot];
+    if (state == UNKNOWN) {
+      byte[] data = head.get(key);
+      state = data == null ? ABSENT : PRESENT;
+      frame.set(slot, state, ByteArray.toLong(data));
+    }
+    long value = frame.values[slot];
+    publish(frame);
+    return value(state, value, absent, missing);
+  }
+
+  private static long value(byte state, long value, long absent, String missing) {
+    if (state == PRESENT) {
+      return value;
+    }
+    if (missing != null) {
+      throw new IllegalArgumentException(missing);
+    }
+    return absent;
+  }
+
+  /**
+   * Runs {@code write}, which stores {@code value} under {@code key}, null for a delete, and
+   * keeps the frame of the head in step with it.
+   */
+  void put(byte[] key, byte[] value, Runnable write) {
+    if (ReadWriteSet.current() != null || chainbase.getCursor() != Chainbase.Cursor.HEAD) {
+      write.run();
+      return;
+    }
+    putCached(key, value, write);
+  }
+
+  private synchronized void putCached(byte[] key, byte[] value, Runnable write) {
+    Snapshot head = chainbase.getHead();
+    Frame frame = frame(head);
+    write.run();
+    if (chainbase.getHead() != head || head.getVersion() != frame.version + 1) {
+      // nothing was written, or more than this key; the frame is rebuilt if it is stale
+      return;
+    }
+    frame.version = head.getVersion();
+    Integer slot = slots.get(WrappedByteArray.of(key));
+    if (slot != null) {
+      frame.ensure(slot);
+      frame.set(slot, value == null ? ABSENT : PRESENT, ByteArray.toLong(value));
+    }
+    publish(frame);
+  }
+
+  /**
+   * Publishes {@code frame}, the frame of the head, unless the published view already shows it.
+   */
+  private void publish(Frame frame) {
+    View published = view;
+    if (published != null && published.snapshot == frame.snapshot
+        && published.version == frame.version && Arrays.equals(published.states, frame.states)
+        && Arrays.equals(published.values, frame.values)) {
+      return;
+    }
+    view = new View(frame.snapshot, frame.version, frame.values.clone(), frame.states.clone());
+  }
+
+  private Frame frame(Snapshot head) {
+    Frame top = frames.isEmpty() ? null : frames.get(frames.size() - 1);
+    if (top != null && top.snapshot == head && top.isCurrent()) {
+      return top;
+    }
+    for (int i = frames.size() - 2; i >= 0; i--) {
+      if (frames.get(i).snapshot == head) {
+        return leave(i);
+      }
+    }
+    if (top != null && top.isCurrent() && enter(top, head)) {
+      return frames.get(frames.size() - 1);
+    }
+    frames.clear();
+    Frame frame = new Frame(head, head.getVersion(), new long[slots.size()],
+        new byte[slots.size()]);
+    frames.add(frame);
+    return frame;
+  }
+
+  /**
+   * The sessions above frame {@code i} were revoked or merged down to it.
+   */
+  private Frame leave(int i) {
+    Frame frame = frames.get(i);
+    Frame left = frames.get(i + 1);
+    frames.subList(i + 1, frames.size()).clear();
+    if (frame.isCurrent()) {
+      return frame;
+    }
+    if (left.isCurrent() && Snapshot.isImpl(frame.snapshot)
+        && ((SnapshotImpl) frame.snapshot).mergedSince(frame.version, left.snapshot)) {
+      Frame merged = new Frame(frame.snapshot, frame.snapshot.getVersion(), left.values,
+          left.states);
+      frames.set(i, merged);
+      return merged;
+    }
+    frames.clear();
+    return frame(frame.snapshot);
+  }
+
+  /**
+   * Pushes a frame for every new session between {@code top} and {@code head}, provided none of
+   * them was written to yet.
+   *
+   * @return false if {@code head} does not descend from {@code top} that way
+   */
+  private boolean enter(Frame top, Snapshot head) {
+    List<Snapshot> sessions = new ArrayList<>();
+    for (Snapshot s = head; s != top.snapshot; s = s.getPrevious()) {
+      if (s == null || !Snapshot.isImpl(s) || s.getVersion() != 0
+          || sessions.size() == MAX_FRAMES) {
+        return false;
+      }
+      sessions.add(s);
+    }
+    for (int i = sessions.size() - 1; i >= 0; i--) {
+      frames.add(new Frame(sessions.get(i), 0, top.values.clone(), top.states.clone()));
+    }
+    if (frames.size() > MAX_FRAMES) {
+      frames.subList(0, frames.size() - MAX_FRAMES).clear();
+    }
+    return true;
+  }
+
+  private int slot(byte[] key) {
+    Integer slot = slotsByIdentity.get(key);
+    if (slot == null) {
+      slot = slots.computeIfAbsent(WrappedByteArray.copyOf(key), k -> slots.size());
+      Map<byte[], Integer> copy = new IdentityHashMap<>(slotsByIdentity);
+      copy.put(key, slot);
+      slotsByIdentity = copy;
+    }
+    return slot;
+  }
+
+  /**
+   * A frame as it was published, never changed afterwards.
+   */
+  private static final class View {
+
+    private final Snapshot snapshot;
+    private final long version;
+    private final long[] values;
+    private final byte[] states;
+
+    private View(Snapshot snapshot, long version, long[] values, byte[] states) {
+      this.snapshot = snapshot;
+      this.version = version;
+      this.values = values;
+      this.states = states;
+    }
+  }
+
+  private static final class Frame {
+
+    private final Snapshot snapshot;
+    private long version;
+    private long[] values;
+    private byte[] states;
+
+    private Frame(Snapshot snapshot, long version, long[] values, byte[] states) {
+      this.snapshot = snapshot;
+      this.version = version;
+      this.values = values;
+      this.states = states;
+    }
+
+    private boolean isCurrent() {
+      return version == snapshot.getVersion();
+    }
+
+    private void ensure(int slot) {
+      if (slot >= values.length) {
+        int length = Math.max(slot + 1, values.length * 2);
+        values = Arrays.copyOf(values, length);
+        states = Arrays.copyOf(states, length);
+      }
+    }
+
+    private void set(int slot, byte state, long value) {
+      states[slot] = state;
+      values[slot] = value;
+    }
+  }
+}
@@ -17,7 +17,7 @@ public class ProposalStore extends TronStoreWithRevoking<ProposalCapsule> {
 
   @Autowired
   public ProposalStore(@Value("proposal") String dbName) {
-    super(dbName);
+    super(dbName, ProposalCapsule::new);
   }
 
   @Override
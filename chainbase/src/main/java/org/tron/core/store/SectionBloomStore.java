@@ -26,7 +26,7 @@ public class SectionBloomStore extends TronStoreWithRevoking<BytesCapsule> {
 
   @Autowired
   public SectionBloomStore(@Value("section-bloom") String dbName) {
-    super(dbName);
+    super(dbName, BytesCapsule::new);
   }
 
   @Override
@@ -1,25 +1,47 @@
 package org.tron.core.store;
 
+import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import org.tron.core.capsule.StorageRowCapsule;
 import org.tron.core.db.TronStoreWithRevoking;
+import org.tron.core.db2.core.Chainbase;
 
 @Slf4j(topic = "DB")
 @Component
 public class StorageRowStore extends TronStoreWithRevoking<StorageRowCapsule> {
 
+  @Getter
+  private final HotStorageRows hotRows = new HotStorageRows();
+  @Getter
+  private final BlockStorageCache blockCache = new BlockStorageCache((Chainbase) getRevokingDB());
+
   @Autowired
   private StorageRowStore(@Value("storage-row") String dbName) {
-    super(dbName);
+    super(dbName, StorageRowCapsule::new);
   }
 
   @Override
   public StorageRowCapsule get(byte[] key) {
-    StorageRowCapsule row = getUnchecked(key);
+    StorageRowCapsule row = new StorageRowCapsule(
+        blockCache.get(key, () -> getRevokingDB().getUnchecked(key)));
     row.setRowKey(key);
+    hotRows.record(key);
     return row;
   }
+
+  @Override
+  public void put(byte[] key, StorageRowCapsule item) {
+    if (key == null || item == null) {
+      return;
+    }
+    blockCache.put(key, item.getData(), () -> super.put(key, item));
+  }
+
+  @Override
+  public void delete(byte[] key) {
+    blockCache.put(key, null, () -> super.delete(key));
+  }
 }
@@ -15,7 +15,7 @@ public class TransactionHistoryStore extends TronStoreWithRevoking<TransactionIn
 
   @Autowired
   public TransactionHistoryStore(@Value("transactionHistoryStore") String dbName) {
-    super(dbName);
+    super(dbName, TransactionInfoCapsule::new);
   }
 
   @Override
@@ -26,7 +26,7 @@ public class TransactionRetStore extends TronStoreWithRevoking<TransactionRetCap
 
   @Autowired
   public TransactionRetStore(@Value("transactionRetStore") String dbName) {
-    super(dbName);
+    super(dbName, TransactionRetCapsule::new);
   }
 
   @Override
@@ -16,7 +16,7 @@ public class TreeBlockIndexStore extends TronStoreWithRevoking<BytesCapsule> {
 
   @Autowired
   public TreeBlockIndexStore(@Value("tree-block-index") String dbName) {
-    super(dbName);
+    super(dbName, BytesCapsule::new);
 
   }
 
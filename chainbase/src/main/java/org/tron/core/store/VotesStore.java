@@ -12,7 +12,7 @@ public class VotesStore extends TronStoreWithRevoking<VotesCapsule> {
 
   @Autowired
   public VotesStore(@Value("votes") String dbName) {
-    super(dbName);
+    super(dbName, VotesCapsule::new);
   }
 
   @Override
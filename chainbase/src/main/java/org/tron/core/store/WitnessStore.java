@@ -23,7 +23,7 @@ public class WitnessStore extends TronStoreWithRevoking<WitnessCapsule> {
 
   @Autowired
   protected WitnessStore(@Value("witness") String dbName) {
-    super(dbName);
+    super(dbName, WitnessCapsule::new);
   }
 
   /**
@@ -0,0 +1,97 @@
+package org.tron.common.cache;
+
+import com.google.common.cache.CacheStats;
+import com.google.common.cache.Weigher;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Memory budget shared by every {@link TinyLfuCache} allocated through {@link CacheManager}.
+ *
+ * <p>A cache starts with a slice of the budget proportional to its static share, see
+ * {@link CacheStrategies#getCacheShare(CacheType)}. Every {@code REBALANCE_INTERVAL} the
+ * slices are recomputed from the hit ratio each cache observed since, smoothed over previous
+ * rounds: a cache that turns memory into hits is given more of it, one that keeps missing
+ * anyway gives some back, but no cache moves further than {@code MAX_SKEW} from its static
+ * share. Rebalancing runs on whichever writer notices it is due, there is no timer thread.</p>
+ */
+final class CacheBudget {
+
+  private static final long REBALANCE_INTERVAL = TimeUnit.SECONDS.toNanos(10);
+  private static final double SMOOTHING = 0.5;
+  private static final double MIN_HIT_RATIO = 0.05;
+  private static final double MAX_SKEW = 4;
+
+  private final Map<CacheType, Member> members = new ConcurrentHashMap<>();
+  private final AtomicLong nextRebalance = new AtomicLong(System.nanoTime() + REBALANCE_INTERVAL);
+  private volatile long total;
+
+  /**
+   * Creates a cache for {@code type} that draws from this budget, replacing any cache
+   * previously registered for it.
+   *
+   * @param total the budget in bytes, applied to every registered cache.
+   */
+  synchronized <K, V> TinyLfuCache<K, V> register(CacheType type, long total,
+      Weigher<? super K, ? super V> weigher) {
+    this.total = total;
+    long share = CacheStrategies.getCacheShare(type);
+    TinyLfuCache<K, V> cache = new TinyLfuCache<>(
+        total * share / CacheStrategies.totalCacheShare(), weigher, this::maybeRebalance);
+    members.put(type, new Member(cache, share));
+    rebalance();
+    return cache;
+  }
+
+  void maybeRebalance() {
+    long now = System.nanoTime();
+    long next = nextRebalance.get();
+    if (now - next >= 0 && nextRebalance.compareAndSet(next, now + REBALANCE_INTERVAL)) {
+      rebalance();
+    }
+  }
+
+  synchronized void rebalance() {
+    double scores = 0;
+    for (Member member : members.values()) {
+      member.sample();
+      scores += member.score();
+    }
+    for (Member member : members.values()) {
+      member.cache.setMaximumWeight((long) (total * (member.score() / scores)));
+    }
+  }
+
+  private static final class Member {
+
+    private final TinyLfuCache<?, ?> cache;
+    private final long share;
+    private double hitRatio = 0.5;
+    private long hits;
+    private long misses;
+
+    private Member(TinyLfuCache<?, ?> cache, long share) {
+      this.cache = cache;
+      this.share = share;
+    }
+
+    private void sample() {
+      CacheStats stats = cache.stats();
+      long newHits = stats.hitCount() - hits;
+      long newMisses = stats.missCount() - misses;
+      hits = stats.hitCount();
+      misses = stats.missCount();
+      if (newHits + newMisses > 0) {
+        hitRatio = SMOOTHING * hitRatio
+            + (1 - SMOOTHING) * newHits / (double) (newHits + newMisses);
+      }
+    }
+
+    private double score() {
+      double skew = (MIN_HIT_RATIO + hitRatio) / (MIN_HIT_RATIO + 0.5);
+      return share * Math.min(Math.max(skew, 1 / MAX_SKEW), MAX_SKEW);
+    }
+  }
+}
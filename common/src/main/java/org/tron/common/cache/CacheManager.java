@@ -2,14 +2,19 @@ package org.tron.common.cache;
 
 import com.google.common.cache.CacheLoader;
 import com.google.common.cache.CacheStats;
+import com.google.common.cache.Weigher;
 import com.google.common.collect.Maps;
 import java.util.Map;
+import java.util.Objects;
+import java.util.function.ToLongFunction;
 import java.util.stream.Collectors;
 import org.tron.common.parameter.CommonParameter;
+import org.tron.core.config.args.Storage;
 
 public class CacheManager {
 
   private static final Map<CacheType, TronCache<?, ?>> CACHES  = Maps.newConcurrentMap();
+  private static final CacheBudget BUDGET = new CacheBudget();
 
   public static <K, V> TronCache<K, V> allocate(CacheType name) {
     TronCache<K, V> cache = new TronCache<>(name, CommonParameter.getInstance()
@@ -18,6 +23,22 @@ public class CacheManager {
     return cache;
   }
 
+  /**
+   * Allocates a cache bounded by the byte weight of its entries, drawing from the memory budget
+   * shared by all such caches. Falls back to {@link #allocate(CacheType)} if the budget is
+   * disabled or a strategy is configured for {@code name}.
+   */
+  public static <K, V> TronCache<K, V> allocate(CacheType name, Weigher<K, V> weigher) {
+    Storage storage = CommonParameter.getInstance().getStorage();
+    if (storage.getCacheBudget() <= 0 || storage.isCacheStrategyConfigured(name)) {
+      return allocate(name);
+    }
+    TronCache<K, V> cache = new TronCache<>(name,
+        BUDGET.register(name, storage.getCacheBudget(), weigher));
+    CACHES.put(name, cache);
+    return cache;
+  }
+
   public  static <K, V> TronCache<K, V> allocate(CacheType name, String strategy) {
     TronCache<K, V> cache = new TronCache<>(name, strategy);
     CACHES.put(name, cache);
@@ -41,4 +62,24 @@ public class CacheManager {
         TronCache::stats));
   }
 
+  /**
+   * @return the weight in bytes of every byte-weighted cache.
+   */
+  public static Map<String, Long> weightedSizes() {
+    return weighted(TinyLfuCache::weightedSize);
+  }
+
+  /**
+   * @return the current slice of the budget, in bytes, of every byte-weighted cache.
+   */
+  public static Map<String, Long> maximumWeights() {
+    return weighted(TinyLfuCache::maximumWeight);
+  }
+
+  private static Map<String, Long> weighted(ToLongFunction<TinyLfuCache<?, ?>> metric) {
+    return CACHES.values().stream().filter(c -> Objects.nonNull(c.weighted()))
+        .collect(Collectors.toMap(c -> c.getName().toString(),
+            c -> metric.applyAsLong(c.weighted())));
+  }
+
 }
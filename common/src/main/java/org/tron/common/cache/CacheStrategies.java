@@ -8,8 +8,11 @@ import static org.tron.common.cache.CacheType.contract;
 import static org.tron.common.cache.CacheType.delegatedResource;
 import static org.tron.common.cache.CacheType.delegatedResourceAccountIndex;
 import static org.tron.common.cache.CacheType.delegation;
+import static org.tron.common.cache.CacheType.pqKey;
+import static org.tron.common.cache.CacheType.pqVerify;
 import static org.tron.common.cache.CacheType.properties;
 import static org.tron.common.cache.CacheType.recentBlock;
+import static org.tron.common.cache.CacheType.signer;
 import static org.tron.common.cache.CacheType.storageRow;
 import static org.tron.common.cache.CacheType.votes;
 import static org.tron.common.cache.CacheType.witness;
@@ -29,22 +32,36 @@ public class CacheStrategies {
       "initialCapacity=%d,maximumSize=%d,expireAfterAccess=%s,concurrencyLevel=%d,recordStats";
   public static final List<CacheType> CACHE_BIG_DBS = Collections.singletonList(delegation);
   private static final int CPUS = Runtime.getRuntime().availableProcessors();
+  private static final int DEFAULT_SIZE = 1000;
+  private static final int SMALL_SIZE = 100;
+  private static final int NORMAL_SIZE = 500;
+  private static final int BIG_SIZE = 10000;
+  private static final int HUGE_SIZE = 20000;
   public static final String CACHE_STRATEGY_DEFAULT =
-      String.format(PATTERNS, 1000, 1000, "30s", CPUS);
+      String.format(PATTERNS, DEFAULT_SIZE, DEFAULT_SIZE, "30s", CPUS);
   private static final String CACHE_STRATEGY_SMALL_DEFAULT =
-      String.format(PATTERNS, 100, 100, "30s", CPUS);
+      String.format(PATTERNS, SMALL_SIZE, SMALL_SIZE, "30s", CPUS);
   private static final List<CacheType> CACHE_SMALL_DBS = Arrays.asList(recentBlock, witness,
       witnessSchedule, delegatedResource, delegatedResourceAccountIndex,
       votes, abi);
   private static final String CACHE_STRATEGY_NORMAL_DEFAULT =
-      String.format(PATTERNS, 500, 500, "30s", CPUS);
+      String.format(PATTERNS, NORMAL_SIZE, NORMAL_SIZE, "30s", CPUS);
   private static final List<CacheType> CACHE_NORMAL_DBS = Arrays.asList(code, contract,
       assetIssueV2, properties);
   private static final String CACHE_STRATEGY_BIG_DEFAULT =
-      String.format(PATTERNS, 10000, 10000, "30s", CPUS);
+      String.format(PATTERNS, BIG_SIZE, BIG_SIZE, "30s", CPUS);
   private static final String CACHE_STRATEGY_HUGE_DEFAULT =
-      String.format(PATTERNS, 20000, 20000, "30s", CPUS);
+      String.format(PATTERNS, HUGE_SIZE, HUGE_SIZE, "30s", CPUS);
   private static final List<CacheType> CACHE_HUGE_DBS = Arrays.asList(storageRow, account);
+  // a transaction is checked when admitted and again in its block, which may be minutes later
+  private static final int SIGNATURE_SIZE = 100000;
+  private static final String CACHE_STRATEGY_SIGNATURE_DEFAULT =
+      String.format(PATTERNS, BIG_SIZE, SIGNATURE_SIZE, "5m", CPUS);
+  private static final List<CacheType> CACHE_SIGNATURES = Arrays.asList(signer, pqVerify);
+  // a decoded key and its verifiers take kilobytes, and the active keys are far fewer
+  private static final int PQ_KEY_SIZE = 2000;
+  private static final String CACHE_STRATEGY_PQ_KEY_DEFAULT =
+      String.format(PATTERNS, PQ_KEY_SIZE, PQ_KEY_SIZE, "10m", CPUS);
 
   public static final List<String> CACHE_DBS = Stream.of(CACHE_SMALL_DBS, CACHE_NORMAL_DBS,
           CACHE_BIG_DBS, CACHE_HUGE_DBS).flatMap(Collection::stream).map(CacheType::toString)
@@ -65,6 +82,41 @@ public class CacheStrategies {
     if (CACHE_HUGE_DBS.contains(dbName)) {
       defaultStrategy = CACHE_STRATEGY_HUGE_DEFAULT;
     }
+    if (CACHE_SIGNATURES.contains(dbName)) {
+      defaultStrategy = CACHE_STRATEGY_SIGNATURE_DEFAULT;
+    }
+    if (dbName == pqKey) {
+      defaultStrategy = CACHE_STRATEGY_PQ_KEY_DEFAULT;
+    }
     return defaultStrategy;
   }
+
+  /**
+   * Relative share of the byte budget a cache starts with, the same proportions as the entry
+   * counts of the default strategies.
+   */
+  public static long getCacheShare(CacheType dbName) {
+    long share = DEFAULT_SIZE;
+    if (CACHE_SMALL_DBS.contains(dbName)) {
+      share = SMALL_SIZE;
+    }
+    if (CACHE_NORMAL_DBS.contains(dbName)) {
+      share = NORMAL_SIZE;
+    }
+    if (CACHE_BIG_DBS.contains(dbName)) {
+      share = BIG_SIZE;
+    }
+    if (CACHE_HUGE_DBS.contains(dbName)) {
+      share = HUGE_SIZE;
+    }
+    return share;
+  }
+
+  /**
+   * @return the sum of the shares of every cached db.
+   */
+  public static long totalCacheShare() {
+    return CACHE_DBS.stream().map(CacheType::findByType)
+        .mapToLong(CacheStrategies::getCacheShare).sum();
+  }
 }
@@ -5,6 +5,11 @@ import java.util.Arrays;
 public enum CacheType {
   // for 127 SR
   witnessStandby("witnessStandby"),
+  // for signatures checked more than once, at admission, in blocks and by contracts
+  signer("signer"),
+  pqVerify("pq-verify"),
+  // for post-quantum public keys, decoded once for the signatures of an account or a witness
+  pqKey("pq-key"),
   // for leveldb or rocksdb cache
   recentBlock("recent-block"),
   witness("witness"),
@@ -0,0 +1,111 @@
+package org.tron.common.cache;
+
+/**
+ * Approximate access frequency of cache keys, the popularity estimate behind the TinyLFU
+ * admission of {@link TinyLfuCache}.
+ *
+ * <p>A count-min sketch of 4-bit counters, sixteen of them packed into each {@code long}. A
+ * key owns one counter in each of four rows and its frequency is the smallest of them. Once
+ * the number of recorded accesses reaches ten times the sketch width, every counter is halved,
+ * so popularity ages out instead of accumulating forever.</p>
+ *
+ * <p>Not thread-safe, the owning cache calls it under its eviction lock.</p>
+ */
+final class FrequencySketch {
+
+  private static final long[] SEED = {
+      0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L};
+  private static final long RESET_MASK = 0x7777777777777777L;
+  private static final long ONE_MASK = 0x1111111111111111L;
+  private static final int MAX_FREQUENCY = 15;
+
+  private long[] table;
+  private int tableMask;
+  private int sampleSize;
+  private int size;
+
+  FrequencySketch() {
+    ensureCapacity(16);
+  }
+
+  /**
+   * Widens the sketch to track about {@code expectedKeys} distinct keys. Growing discards the
+   * recorded frequencies, shrinking is never done.
+   */
+  void ensureCapacity(long expectedKeys) {
+    int maximum = (int) Math.min(Math.max(expectedKeys, 16), Integer.MAX_VALUE >>> 4);
+    if (table != null && table.length >= maximum) {
+      return;
+    }
+    table = new long[Integer.highestOneBit(maximum - 1) << 1];
+    tableMask = table.length - 1;
+    sampleSize = 10 * maximum;
+    size = 0;
+  }
+
+  int capacity() {
+    return table.length;
+  }
+
+  /**
+   * @return the estimated number of recent accesses of {@code key}, at most 15.
+   */
+  int frequency(Object key) {
+    int hash = spread(key.hashCode());
+    int start = (hash & 3) << 2;
+    int frequency = MAX_FREQUENCY;
+    for (int i = 0; i < 4; i++) {
+      int index = indexOf(hash, i);
+      int count = (int) ((table[index] >>> ((start + i) << 2)) & 0xfL);
+      frequency = Math.min(frequency, count);
+    }
+    return frequency;
+  }
+
+  void increment(Object key) {
+    int hash = spread(key.hashCode());
+    int start = (hash & 3) << 2;
+    boolean added = false;
+    for (int i = 0; i < 4; i++) {
+      added |= incrementAt(indexOf(hash, i), start + i);
+    }
+    if (added && ++size == sampleSize) {
+      reset();
+    }
+  }
+
+  private boolean incrementAt(int index, int counter) {
+    int offset = counter << 2;
+    long mask = 0xfL << offset;
+    if ((table[index] & mask) != mask) {
+      table[index] += 1L << offset;
+      return true;
+    }
+    return false;
+  }
+
+  /**
+   * Halves every counter. Odd counters lose their remainder, which is subtracted from the
+   * sample size as well so the next reset still happens after roughly a full sample.
+   */
+  private void reset() {
+    int odd = 0;
+    for (int i = 0; i < table.length; i++) {
+      odd += Long.bitCount(table[i] & ONE_MASK);
+      table[i] = (table[i] >>> 1) & RESET_MASK;
+    }
+    size = (size - (odd >>> 2)) >>> 1;
+  }
+
+  private int indexOf(int hash, int row) {
+    long h = (hash + SEED[row]) * SEED[row];
+    h += h >>> 32;
+    return ((int) h) & tableMask;
+  }
+
+  private static int spread(int x) {
+    x = ((x >>> 16) ^ x) * 0x45d9f3b;
+    x = ((x >>> 16) ^ x) * 0x45d9f3b;
+    return (x >>> 16) ^ x;
+  }
+}
@@ -0,0 +1,420 @@
+package org.tron.common.cache;
+
+import com.google.common.cache.AbstractCache;
+import com.google.common.cache.CacheLoader.InvalidCacheLoadException;
+import com.google.common.cache.CacheStats;
+import com.google.common.cache.Weigher;
+import com.google.common.util.concurrent.ExecutionError;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Cache bounded by the total byte weight of its entries, evicting with W-TinyLFU.
+ *
+ * <p>New entries land in a small LRU window, 1% of the maximum weight. Entries falling out
+ * of the window compete for the main space, a segmented LRU split into probation and
+ * protected, and are only admitted if the {@link FrequencySketch} has seen them more often
+ * than the entries they would push out. A one-off scan therefore churns the window instead of
+ * flushing the popular keys, and a large entry has to beat every victim it displaces.</p>
+ *
+ * <p>Lookups are served from a concurrent map without locking. The policy is guarded by one
+ * lock, which writes always take and reads only try to take: a read that finds the lock busy
+ * skips its recency and frequency update, trading a little precision for never blocking.</p>
+ */
+final class TinyLfuCache<K, V> extends AbstractCache<K, V> {
+
+  /** Fixed cost of an entry on top of its weigher, covering the node and the map slot. */
+  static final int ENTRY_OVERHEAD = 64;
+
+  private static final double WINDOW_RATIO = 0.01;
+  private static final double PROTECTED_RATIO = 0.8;
+  /** Candidates this popular get a small random chance against an equally popular victim. */
+  private static final int ADMIT_HASH_DOS_THRESHOLD = 6;
+  /** Entry size the sketch is sized for up front, it grows if more entries fit. */
+  private static final int EXPECTED_ENTRY_WEIGHT = 2 * ENTRY_OVERHEAD;
+
+  private final Map<K, Node<K, V>> data = new ConcurrentHashMap<>();
+  private final Weigher<? super K, ? super V> weigher;
+  private final Runnable afterWrite;
+  private final ReentrantLock evictionLock = new ReentrantLock();
+  private final FrequencySketch sketch = new FrequencySketch();
+
+  private final AccessOrder<K, V> window = new AccessOrder<>();
+  private final AccessOrder<K, V> probation = new AccessOrder<>();
+  private final AccessOrder<K, V> protectedQueue = new AccessOrder<>();
+
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+  private final LongAdder loadSuccesses = new LongAdder();
+  private final LongAdder loadFailures = new LongAdder();
+  private final LongAdder loadTime = new LongAdder();
+  private final LongAdder evictions = new LongAdder();
+
+  private volatile long maximumWeight;
+  private volatile long weightedSize;
+  private long windowMaximum;
+  private long windowWeight;
+  private long protectedMaximum;
+  private long protectedWeight;
+
+  /**
+   * @param afterWrite run after every write outside the lock, null for none.
+   */
+  TinyLfuCache(long maximumWeight, Weigher<? super K, ? super V> weigher, Runnable afterWrite) {
+    this.weigher = weigher;
+    this.afterWrite = afterWrite;
+    setMaximumWeight(maximumWeight);
+  }
+
+  @Override
+  public V getIfPresent(Object key) {
+    Node<K, V> node = data.get(key);
+    if (node == null) {
+      misses.increment();
+      return null;
+    }
+    hits.increment();
+    if (evictionLock.tryLock()) {
+      try {
+        onAccess(node);
+      } finally {
+        evictionLock.unlock();
+      }
+    }
+    return node.value;
+  }
+
+  /**
+   * Same contract as Guava's {@code Cache#get}, except that concurrent misses on one key may
+   * all run {@code loader}, the last result wins.
+   */
+  @Override
+  public V get(K key, Callable<? extends V> loader) throws ExecutionException {
+    V value = getIfPresent(key);
+    if (value != null) {
+      return value;
+    }
+    long start = System.nanoTime();
+    try {
+      value = loader.call();
+    } catch (Exception e) {
+      loadFailures.increment();
+      if (e instanceof RuntimeException) {
+        throw new UncheckedExecutionException(e);
+      }
+      throw new ExecutionException(e);
+    } catch (Error e) {
+      loadFailures.increment();
+      throw new ExecutionError(e);
+    } finally {
+      loadTime.add(System.nanoTime() - start);
+    }
+    if (value == null) {
+      loadFailures.increment();
+      throw new InvalidCacheLoadException("loader returned null for key " + key + ".");
+    }
+    loadSuccesses.increment();
+    put(key, value);
+    return value;
+  }
+
+  @Override
+  public void put(K key, V value) {
+    long weight = (long) weigher.weigh(key, value) + ENTRY_OVERHEAD;
+    evictionLock.lock();
+    try {
+      Node<K, V> node = data.get(key);
+      if (node == null) {
+        node = new Node<>(key, value, weight);
+        data.put(key, node);
+        if (data.size() > sketch.capacity()) {
+          sketch.ensureCapacity(2L * data.size());
+        }
+        sketch.increment(key);
+        window.addLast(node);
+        node.queue = Queue.WINDOW;
+        windowWeight += weight;
+        weightedSize += weight;
+      } else {
+        long delta = weight - node.weight;
+        node.value = value;
+        node.weight = weight;
+        weightedSize += delta;
+        if (node.queue == Queue.WINDOW) {
+          windowWeight += delta;
+        } else if (node.queue == Queue.PROTECTED) {
+          protectedWeight += delta;
+        }
+        onAccess(node);
+      }
+      evictEntries();
+    } finally {
+      evictionLock.unlock();
+    }
+    if (afterWrite != null) {
+      afterWrite.run();
+    }
+  }
+
+  @Override
+  public void invalidate(Object key) {
+    evictionLock.lock();
+    try {
+      Node<K, V> node = data.get(key);
+      if (node != null) {
+        remove(node);
+      }
+    } finally {
+      evictionLock.unlock();
+    }
+  }
+
+  @Override
+  public void invalidateAll() {
+    evictionLock.lock();
+    try {
+      data.clear();
+      window.clear();
+      probation.clear();
+      protectedQueue.clear();
+      weightedSize = 0;
+      windowWeight = 0;
+      protectedWeight = 0;
+    } finally {
+      evictionLock.unlock();
+    }
+  }
+
+  @Override
+  public long size() {
+    return data.size();
+  }
+
+  @Override
+  public CacheStats stats() {
+    return new CacheStats(hits.sum(), misses.sum(), loadSuccesses.sum(), loadFailures.sum(),
+        loadTime.sum(), evictions.sum());
+  }
+
+  /**
+   * @return the total weight of the cached entries, in bytes.
+   */
+  long weightedSize() {
+    return weightedSize;
+  }
+
+  long maximumWeight() {
+    return maximumWeight;
+  }
+
+  /**
+   * Resizes the cache, evicting at once if it shrinks below its current weight.
+   */
+  void setMaximumWeight(long maximumWeight) {
+    evictionLock.lock();
+    try {
+      this.maximumWeight = Math.max(maximumWeight, 0);
+      windowMaximum = (long) (this.maximumWeight * WINDOW_RATIO);
+      protectedMaximum = (long) ((this.maximumWeight - windowMaximum) * PROTECTED_RATIO);
+      sketch.ensureCapacity(this.maximumWeight / EXPECTED_ENTRY_WEIGHT);
+      evictEntries();
+    } finally {
+      evictionLock.unlock();
+    }
+  }
+
+  private void onAccess(Node<K, V> node) {
+    if (node.queue == null) {
+      // removed after the lock-free lookup found it
+      return;
+    }
+    sketch.increment(node.key);
+    switch (node.queue) {
+      case WINDOW:
+        window.moveToLast(node);
+        break;
+      case PROBATION:
+        probation.remove(node);
+        protectedQueue.addLast(node);
+        node.queue = Queue.PROTECTED;
+        protectedWeight += node.weight;
+        demoteFromProtected();
+        break;
+      default:
+        protectedQueue.moveToLast(node);
+        break;
+    }
+  }
+
+  private void demoteFromProtected() {
+    while (protectedWeight > protectedMaximum) {
+      Node<K, V> demoted = protectedQueue.pollFirst();
+      protectedWeight -= demoted.weight;
+      probation.addLast(demoted);
+      demoted.queue = Queue.PROBATION;
+    }
+  }
+
+  private void evictEntries() {
+    while (windowWeight > windowMaximum) {
+      Node<K, V> candidate = window.pollFirst();
+      windowWeight -= candidate.weight;
+      candidate.queue = null;
+      admit(candidate);
+    }
+    demoteFromProtected();
+    while (weightedSize > maximumWeight) {
+      Node<K, V> victim = probation.peekFirst();
+      if (victim == null) {
+        victim = protectedQueue.peekFirst();
+      }
+      if (victim == null) {
+        victim = window.peekFirst();
+      }
+      evict(victim);
+    }
+  }
+
+  /**
+   * Moves a candidate leaving the window into probation, evicting the least recently used
+   * entries of the main space for as long as the candidate is the more popular one.
+   */
+  private void admit(Node<K, V> candidate) {
+    if (candidate.weight > maximumWeight - windowMaximum) {
+      evict(candidate);
+      return;
+    }
+    while (weightedSize > maximumWeight) {
+      Node<K, V> victim = probation.peekFirst();
+      if (victim == null) {
+        victim = protectedQueue.peekFirst();
+      }
+      if (victim == null) {
+        break;
+      }
+      if (!admits(candidate, victim)) {
+        evict(candidate);
+        return;
+      }
+      evict(victim);
+    }
+    probation.addLast(candidate);
+    candidate.queue = Queue.PROBATION;
+  }
+
+  private boolean admits(Node<K, V> candidate, Node<K, V> victim) {
+    int candidateFrequency = sketch.frequency(candidate.key);
+    int victimFrequency = sketch.frequency(victim.key);
+    if (candidateFrequency > victimFrequency) {
+      return true;
+    }
+    // keeps an attacker from pinning a victim by making its own keys collide with it
+    return candidateFrequency >= ADMIT_HASH_DOS_THRESHOLD
+        && (ThreadLocalRandom.current().nextInt() & 127) == 0;
+  }
+
+  private void evict(Node<K, V> node) {
+    remove(node);
+    evictions.increment();
+  }
+
+  private void remove(Node<K, V> node) {
+    data.remove(node.key, node);
+    if (node.queue == Queue.WINDOW) {
+      window.remove(node);
+      windowWeight -= node.weight;
+    } else if (node.queue == Queue.PROBATION) {
+      probation.remove(node);
+    } else if (node.queue == Queue.PROTECTED) {
+      protectedQueue.remove(node);
+      protectedWeight -= node.weight;
+    }
+    node.queue = null;
+    weightedSize -= node.weight;
+  }
+
+  private enum Queue {
+    WINDOW, PROBATION, PROTECTED
+  }
+
+  private static final class Node<K, V> {
+
+    private final K key;
+    private volatile V value;
+    private long weight;
+    private Queue queue;
+    private Node<K, V> previous;
+    private Node<K, V> next;
+
+    private Node(K key, V value, long weight) {
+      this.key = key;
+      this.value = value;
+      this.weight = weight;
+    }
+  }
+
+  /**
+   * Intrusive doubly linked list, least recently used first.
+   */
+  private static final class AccessOrder<K, V> {
+
+    private Node<K, V> first;
+    private Node<K, V> last;
+
+    Node<K, V> peekFirst() {
+      return first;
+    }
+
+    Node<K, V> pollFirst() {
+      Node<K, V> node = first;
+      if (node != null) {
+        remove(node);
+      }
+      return node;
+    }
+
+    void addLast(Node<K, V> node) {
+      node.previous = last;
+      node.next = null;
+      if (last == null) {
+        first = node;
+      } else {
+        last.next = node;
+      }
+      last = node;
+    }
+
+    void moveToLast(Node<K, V> node) {
+      if (node != last) {
+        remove(node);
+        addLast(node);
+      }
+    }
+
+    void remove(Node<K, V> node) {
+      if (node.previous == null) {
+        first = node.next;
+      } else {
+        node.previous.next = node.next;
+      }
+      if (node.next == null) {
+        last = node.previous;
+      } else {
+        node.next.previous = node.previous;
+      }
+      node.previous = null;
+      node.next = null;
+    }
+
+    void clear() {
+      first = null;
+      last = null;
+    }
+  }
+}
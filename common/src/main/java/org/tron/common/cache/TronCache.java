@@ -25,6 +25,11 @@ public class TronCache<K, V> {
     this.cache = CacheBuilder.from(strategy).build(loader);
   }
 
+  TronCache(CacheType name, TinyLfuCache<K, V> cache) {
+    this.name = name;
+    this.cache = cache;
+  }
+
   public void put(K k, V v) {
     this.cache.put(k, v);
   }
@@ -45,6 +50,13 @@ public class TronCache<K, V> {
     this.cache.invalidateAll();
   }
 
+  /**
+   * @return the byte-weighted engine behind this cache, null if it is bounded by entry count.
+   */
+  TinyLfuCache<K, V> weighted() {
+    return cache instanceof TinyLfuCache ? (TinyLfuCache<K, V>) cache : null;
+  }
+
   @Override
   public boolean equals(Object o) {
     if (this == o) {
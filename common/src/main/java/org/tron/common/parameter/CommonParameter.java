@@ -83,6 +83,18 @@ public class CommonParameter {
   public long constantCallTimeoutMs = 0L;
   @Getter
   @Setter
+  public boolean constantCallEnable = false;
+  @Getter
+  @Setter
+  public int constantCallThreads = 1;
+  @Getter
+  @Setter
+  public int constantCallQueueSize = 1000;
+  @Getter
+  @Setter
+  public int constantCallResultCacheSize = 0;
+  @Getter
+  @Setter
   public boolean saveInternalTx;
   @Getter
   @Setter
@@ -304,6 +316,9 @@ public class CommonParameter {
   public int estimateEnergyMaxRetry = 3; // from clearParam(), consistent with mainnet.conf
   @Getter
   @Setter
+  public boolean estimateEnergySinglePass;
+  @Getter
+  @Setter
   public int backupPriority;
   @Getter
   @Setter
@@ -331,6 +346,9 @@ public class CommonParameter {
   public boolean vmTrace;
   @Getter
   @Setter
+  public boolean basicBlockMetering;
+  @Getter
+  @Setter
   public boolean needToUpdateAsset;
   @Getter
   @Setter
@@ -382,6 +400,15 @@ public class CommonParameter {
   public int validContractProtoThreadNum = 1;
   @Getter
   @Setter
+  public boolean parallelExecutionEnable = false;
+  @Getter
+  @Setter
+  public int parallelExecutionThreads = 1;
+  @Getter
+  @Setter
+  public boolean parallelExecutionPending = false;
+  @Getter
+  @Setter
   public int shieldedTransInPendingMaxCounts; // clearParam: 10
   @Getter
   @Setter
@@ -493,6 +520,12 @@ public class CommonParameter {
   public int jsonRpcMaxLogFilterNum = 20000;
   @Getter
   @Setter
+  public boolean jsonRpcTraceEnable = false;
+  @Getter
+  @Setter
+  public int jsonRpcMaxTraceEntries = 100000;
+  @Getter
+  @Setter
   public int maxTransactionPendingSize;
   @Getter
   @Setter
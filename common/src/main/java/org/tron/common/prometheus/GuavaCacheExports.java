@@ -23,13 +23,18 @@ import org.tron.common.cache.CacheManager;
  * <pre>
  *   tron:guava_cache_hit_rate{type="account"} 0.135679
  *   tron:guava_cache_request{type="account"} 3000
+ *   tron:guava_cache_weight{type="account"} 8388608
  * </pre>
+ * Weight metrics are only exported for caches bounded by byte weight.
  */
 public class GuavaCacheExports extends Collector {
 
   private static final String TRON_GUAVA_CACHE_HIT_RATE = "tron:guava_cache_hit_rate";
   private static final String TRON_GUAVA_CACHE_REQUEST = "tron:guava_cache_request";
   private static final String TRON_GUAVA_CACHE_EVICTION_COUNT = "tron:guava_cache_eviction_count";
+  private static final String TRON_GUAVA_CACHE_MISS = "tron:guava_cache_miss";
+  private static final String TRON_GUAVA_CACHE_WEIGHT = "tron:guava_cache_weight";
+  private static final String TRON_GUAVA_CACHE_MAX_WEIGHT = "tron:guava_cache_max_weight";
 
 
   public GuavaCacheExports() {
@@ -73,6 +78,39 @@ public class GuavaCacheExports extends Collector {
     }
   }
 
+  void addMissMetrics(List<MetricFamilySamples> sampleFamilies, Predicate<String> nameFilter) {
+    if (nameFilter.test(TRON_GUAVA_CACHE_MISS)) {
+      GaugeMetricFamily miss = new GaugeMetricFamily(
+          TRON_GUAVA_CACHE_MISS,
+          "Miss of a guava cache.",
+          Collections.singletonList("type"));
+      CacheManager.stats().forEach((k, v) -> miss
+          .addMetric(Collections.singletonList(k), v.missCount()));
+      sampleFamilies.add(miss);
+    }
+  }
+
+  void addWeightMetrics(List<MetricFamilySamples> sampleFamilies, Predicate<String> nameFilter) {
+    if (nameFilter.test(TRON_GUAVA_CACHE_WEIGHT)) {
+      GaugeMetricFamily weight = new GaugeMetricFamily(
+          TRON_GUAVA_CACHE_WEIGHT,
+          "Bytes held by a weighted cache.",
+          Collections.singletonList("type"));
+      CacheManager.weightedSizes().forEach((k, v) -> weight
+          .addMetric(Collections.singletonList(k), v));
+      sampleFamilies.add(weight);
+    }
+    if (nameFilter.test(TRON_GUAVA_CACHE_MAX_WEIGHT)) {
+      GaugeMetricFamily maxWeight = new GaugeMetricFamily(
+          TRON_GUAVA_CACHE_MAX_WEIGHT,
+          "Share of the cache budget given to a weighted cache, in bytes.",
+          Collections.singletonList("type"));
+      CacheManager.maximumWeights().forEach((k, v) -> maxWeight
+          .addMetric(Collections.singletonList(k), v));
+      sampleFamilies.add(maxWeight);
+    }
+  }
+
   @Override
   public List<MetricFamilySamples> collect() {
     return collect(null);
@@ -84,6 +122,8 @@ public class GuavaCacheExports extends Collector {
     addHitRateMetrics(mfs, nameFilter == null ? ALLOW_ALL : nameFilter);
     addRequestMetrics(mfs, nameFilter == null ? ALLOW_ALL : nameFilter);
     addEvictionCountMetrics(mfs, nameFilter == null ? ALLOW_ALL : nameFilter);
+    addMissMetrics(mfs, nameFilter == null ? ALLOW_ALL : nameFilter);
+    addWeightMetrics(mfs, nameFilter == null ? ALLOW_ALL : nameFilter);
     return mfs;
   }
 }
@@ -21,6 +21,11 @@ public class MetricKeys {
     public static final String P2P_ERROR = "tron:p2p_error";
     public static final String P2P_DISCONNECT = "tron:p2p_disconnect";
     public static final String INTERNAL_SERVICE_FAIL = "tron:internal_service_fail";
+    public static final String BLOCK_STORAGE_CACHE = "tron:block_storage_cache";
+    public static final String BLOCK_SPECULATION = "tron:block_speculation";
+    public static final String PENDING_SPECULATION = "tron:pending_speculation";
+    public static final String CONSTANT_CALL = "tron:constant_call";
+    public static final String ESTIMATE_ENERGY = "tron:estimate_energy";
 
     private Counter() {
       throw new IllegalStateException("Counter");
@@ -86,6 +91,24 @@ public class MetricKeys {
      */
     public static final String HANDSHAKE_LATENCY = "tron:handshake_latency_seconds";
 
+    /**
+     * Snapshot flush latency in seconds, labelled by {@code phase}: the whole
+     * {@code flush}, checkpoint {@code serialize} and {@code write}, and {@code refresh}.
+     */
+    public static final String DB_FLUSH_LATENCY = "tron:db_flush_latency_seconds";
+
+    /**
+     * Latency in seconds of loading the state a block's transactions touch ahead of their
+     * execution, see {@code storage.prefetch}.
+     */
+    public static final String BLOCK_PREFETCH_LATENCY = "tron:block_prefetch_latency_seconds";
+
+    /**
+     * Latency in seconds of a post-quantum signature verification, labelled by {@code scheme}.
+     * Its count is the verification throughput of the scheme.
+     */
+    public static final String PQ_VERIFY_LATENCY = "tron:pq_verify_latency_seconds";
+
     private Histogram() {
       throw new IllegalStateException("Histogram");
     }
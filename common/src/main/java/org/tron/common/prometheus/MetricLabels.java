@@ -33,6 +33,14 @@ public class MetricLabels {
     public static final String TXS_FAIL_DUP = "dup";
     public static final String SR_ADD = "add";
     public static final String SR_REMOVE = "remove";
+    public static final String CACHE_HIT = "hit";
+    public static final String CACHE_MISS = "miss";
+    public static final String SPECULATION_COMMIT = "commit";
+    public static final String SPECULATION_CONFLICT = "conflict";
+    public static final String CONSTANT_CALL_LIVE = "live";
+    public static final String CONSTANT_CALL_REJECTED = "rejected";
+    public static final String ESTIMATE_SINGLE_PASS = "single_pass";
+    public static final String ESTIMATE_SEARCH = "search";
 
     private Counter() {
       throw new IllegalStateException("Counter");
@@ -71,6 +79,10 @@ public class MetricLabels {
     public static final String MINER = "miner";
     public static final String TRAFFIC_IN = "in";
     public static final String TRAFFIC_OUT = "out";
+    public static final String FLUSH = "flush";
+    public static final String FLUSH_SERIALIZE = "serialize";
+    public static final String FLUSH_WRITE = "write";
+    public static final String FLUSH_REFRESH = "refresh";
 
     private Histogram() {
       throw new IllegalStateException("Histogram");
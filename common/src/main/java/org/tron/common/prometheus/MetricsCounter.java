@@ -19,6 +19,15 @@ class MetricsCounter {
     init(MetricKeys.Counter.P2P_DISCONNECT, "tron p2p disconnect .", "type");
     init(MetricKeys.Counter.INTERNAL_SERVICE_FAIL, "internal Service fail.",
         "class", "method");
+    init(MetricKeys.Counter.BLOCK_STORAGE_CACHE, "storage row reads of executed blocks.",
+        "type");
+    init(MetricKeys.Counter.BLOCK_SPECULATION, "transactions of blocks executed in parallel.",
+        "type");
+    init(MetricKeys.Counter.PENDING_SPECULATION,
+        "pending transactions executed in the background.", "type");
+    init(MetricKeys.Counter.CONSTANT_CALL, "constant calls run by the constant call engine.",
+        "type");
+    init(MetricKeys.Counter.ESTIMATE_ENERGY, "energy estimations.", "type");
   }
 
   private MetricsCounter() {
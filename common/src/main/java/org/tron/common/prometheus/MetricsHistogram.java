@@ -52,6 +52,11 @@ public class MetricsHistogram {
         "fetch transaction latency: GET_DATA send to full TXS received round-trip.");
     init(MetricKeys.Histogram.HANDSHAKE_LATENCY,
         "handshake round-trip latency on the SR<->FF path.");
+    init(MetricKeys.Histogram.DB_FLUSH_LATENCY, "snapshot flush latency per phase.",
+        "phase");
+    init(MetricKeys.Histogram.BLOCK_PREFETCH_LATENCY, "prefetch block state latency.");
+    init(MetricKeys.Histogram.PQ_VERIFY_LATENCY, "post-quantum signature verify latency.",
+        "scheme");
 
     init(MetricKeys.Histogram.BLOCK_TRANSACTION_COUNT,
         "Distribution of transaction counts per block.",
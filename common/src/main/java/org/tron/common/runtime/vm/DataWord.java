@@ -51,6 +51,9 @@ public class DataWord implements Comparable<DataWord> {
   // TODO not safe
   public static final DataWord ZERO = new DataWord(
       new byte[WORD_SIZE]);      // don't push it in to the stack
+  // the arithmetic runs on limbs, every thread executing contracts keeps its own operands
+  private static final ThreadLocal<UInt256[]> OPERANDS = ThreadLocal.withInitial(
+      () -> new UInt256[] {new UInt256(), new UInt256(), new UInt256()});
   private byte[] data = new byte[WORD_SIZE];
 
   public DataWord() {
@@ -311,16 +314,11 @@ public class DataWord implements Comparable<DataWord> {
       return;
     }
 
-    bnot();
-    add(DataWord.ONE());
+    this.data = operands()[0].set(data).negate().toBytes();
   }
 
   public void bnot() {
-    if (this.isZero()) {
-      this.data = ByteUtil.copyToArray(MAX_VALUE);
-      return;
-    }
-    this.data = ByteUtil.copyToArray(MAX_VALUE.subtract(this.value()));
+    this.data = operands()[0].set(data).not().toBytes();
   }
 
   // By   : Holger
@@ -341,15 +339,11 @@ public class DataWord implements Comparable<DataWord> {
     this.data = ByteUtil.copyToArray(result.and(MAX_VALUE));
   }
 
-  // TODO: mul can be done in more efficient way
-  // TODO:     with shift left shift right trick
-  // TODO      without BigInteger quick hack
   public void mul(DataWord word) {
-    BigInteger result = value().multiply(word.value());
-    this.data = ByteUtil.copyToArray(result.and(MAX_VALUE));
+    UInt256[] op = operands();
+    this.data = op[0].set(data).mul(op[1].set(word.data)).toBytes();
   }
 
-  // TODO: improve with no BigInteger
   public void div(DataWord word) {
 
     if (word.isZero()) {
@@ -357,11 +351,10 @@ public class DataWord implements Comparable<DataWord> {
       return;
     }
 
-    BigInteger result = value().divide(word.value());
-    this.data = ByteUtil.copyToArray(result.and(MAX_VALUE));
+    UInt256[] op = operands();
+    this.data = op[0].set(data).div(op[1].set(word.data)).toBytes();
   }
 
-  // TODO: improve with no BigInteger
   public void sDiv(DataWord word) {
 
     if (word.isZero()) {
@@ -369,23 +362,20 @@ public class DataWord implements Comparable<DataWord> {
       return;
     }
 
-    BigInteger result = sValue().divide(word.sValue());
-    this.data = ByteUtil.copyToArray(result.and(MAX_VALUE));
+    UInt256[] op = operands();
+    this.data = op[0].set(data).sdiv(op[1].set(word.data)).toBytes();
   }
 
-  // TODO: improve with no BigInteger
   public void sub(DataWord word) {
-    BigInteger result = value().subtract(word.value());
-    this.data = ByteUtil.copyToArray(result.and(MAX_VALUE));
+    UInt256[] op = operands();
+    this.data = op[0].set(data).sub(op[1].set(word.data)).toBytes();
   }
 
-  // TODO: improve with no BigInteger
   public void exp(DataWord word) {
-    BigInteger result = value().modPow(word.value(), _2_256);
-    this.data = ByteUtil.copyToArray(result);
+    UInt256[] op = operands();
+    this.data = op[0].set(data).exp(op[1].set(word.data)).toBytes();
   }
 
-  // TODO: improve with no BigInteger
   public void mod(DataWord word) {
 
     if (word.isZero()) {
@@ -393,8 +383,8 @@ public class DataWord implements Comparable<DataWord> {
       return;
     }
 
-    BigInteger result = value().mod(word.value());
-    this.data = ByteUtil.copyToArray(result.and(MAX_VALUE));
+    UInt256[] op = operands();
+    this.data = op[0].set(data).mod(op[1].set(word.data)).toBytes();
   }
 
   public void sMod(DataWord word) {
@@ -404,10 +394,8 @@ public class DataWord implements Comparable<DataWord> {
       return;
     }
 
-    BigInteger result = sValue().abs().mod(word.sValue().abs());
-    result = (sValue().signum() == -1) ? result.negate() : result;
-
-    this.data = ByteUtil.copyToArray(result.and(MAX_VALUE));
+    UInt256[] op = operands();
+    this.data = op[0].set(data).smod(op[1].set(word.data)).toBytes();
   }
 
   public void addmod(DataWord word1, DataWord word2) {
@@ -416,8 +404,8 @@ public class DataWord implements Comparable<DataWord> {
       return;
     }
 
-    BigInteger result = value().add(word1.value()).mod(word2.value());
-    this.data = ByteUtil.copyToArray(result.and(MAX_VALUE));
+    UInt256[] op = operands();
+    this.data = op[0].set(data).addmod(op[1].set(word1.data), op[2].set(word2.data)).toBytes();
   }
 
   public void mulmod(DataWord word1, DataWord word2) {
@@ -427,8 +415,8 @@ public class DataWord implements Comparable<DataWord> {
       return;
     }
 
-    BigInteger result = value().multiply(word1.value()).mod(word2.value());
-    this.data = ByteUtil.copyToArray(result.and(MAX_VALUE));
+    UInt256[] op = operands();
+    this.data = op[0].set(data).mulmod(op[1].set(word1.data), op[2].set(word2.data)).toBytes();
   }
 
   @JsonValue
@@ -528,12 +516,9 @@ public class DataWord implements Comparable<DataWord> {
    * @return this << arg
    */
   public DataWord shiftLeft(DataWord arg) {
-    if (arg.value().compareTo(BigInteger.valueOf(MAX_POW)) >= 0) {
-      return DataWord.ZERO();
-    }
-
-    BigInteger result = value().shiftLeft(arg.intValueSafe());
-    return new DataWord(ByteUtil.copyToArray(result.and(MAX_VALUE)));
+    UInt256[] op = operands();
+    int n = op[1].set(arg.data).intValueCapped(MAX_POW);
+    return new DataWord(op[0].set(data).shl(n).toBytes());
   }
 
   /**
@@ -542,12 +527,9 @@ public class DataWord implements Comparable<DataWord> {
    * @return this >> arg
    */
   public DataWord shiftRight(DataWord arg) {
-    if (arg.value().compareTo(BigInteger.valueOf(MAX_POW)) >= 0) {
-      return DataWord.ZERO();
-    }
-
-    BigInteger result = value().shiftRight(arg.intValueSafe());
-    return new DataWord(ByteUtil.copyToArray(result.and(MAX_VALUE)));
+    UInt256[] op = operands();
+    int n = op[1].set(arg.data).intValueCapped(MAX_POW);
+    return new DataWord(op[0].set(data).shr(n).toBytes());
   }
 
   /**
@@ -556,17 +538,12 @@ public class DataWord implements Comparable<DataWord> {
    * @return this >> arg
    */
   public DataWord shiftRightSigned(DataWord arg) {
-    if (arg.value().compareTo(BigInteger.valueOf(MAX_POW)) >= 0) {
-      if (this.isNegative()) {
-        DataWord result = ONE();
-        result.negate();
-        return result;
-      } else {
-        return ZERO();
-      }
-    }
+    UInt256[] op = operands();
+    int n = op[1].set(arg.data).intValueCapped(MAX_POW);
+    return new DataWord(op[0].set(data).sar(n).toBytes());
+  }
 
-    BigInteger result = sValue().shiftRight(arg.intValueSafe());
-    return new DataWord(ByteUtil.copyToArray(result.and(MAX_VALUE)));
+  private static UInt256[] operands() {
+    return OPERANDS.get();
   }
 }
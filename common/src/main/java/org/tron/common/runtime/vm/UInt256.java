@@ -0,0 +1,597 @@
+package org.tron.common.runtime.vm;
+
+import java.util.Arrays;
+
+/**
+ * A mutable unsigned 256-bit integer held in four 64-bit limbs, the arithmetic behind
+ * {@link DataWord}. Every operation works in place on the receiver, wraps modulo 2^256 the way
+ * the TVM does and allocates nothing; the scratch space division and the 512-bit products of
+ * {@code mulmod} need is allocated once per instance.
+ *
+ * <p>Signed operations read the limbs as two's complement. An instance is not thread safe, an
+ * operand may be the receiver itself.</p>
+ */
+public final class UInt256 {
+
+  private static final long M32 = 0xFFFFFFFFL;
+
+  // limbs, least significant first
+  private final long[] w = new long[4];
+
+  // scratch: products and sums wider than 256 bits, operand copies, 32-bit digits for division
+  private final long[] wide = new long[8];
+  private final long[] copy = new long[4];
+  private final long[] base = new long[4];
+  private final int[] u = new int[16];
+  private final int[] v = new int[8];
+  private final int[] un = new int[17];
+  private final int[] vn = new int[8];
+  private final int[] q = new int[16];
+
+  /**
+   * Loads a big-endian number of at most 32 bytes.
+   */
+  public UInt256 set(byte[] bytes) {
+    int len = bytes.length;
+    if (len == DataWord.WORD_SIZE) {
+      for (int i = 0; i < 4; i++) {
+        w[3 - i] = readLong(bytes, i << 3);
+      }
+      return this;
+    }
+    clear();
+    for (int i = 0; i < len; i++) {
+      int bit = (len - 1 - i) << 3;
+      w[bit >>> 6] |= (bytes[i] & 0xFFL) << (bit & 63);
+    }
+    return this;
+  }
+
+  public UInt256 set(UInt256 other) {
+    System.arraycopy(other.w, 0, w, 0, 4);
+    return this;
+  }
+
+  public UInt256 set(long value) {
+    w[0] = value;
+    w[1] = 0;
+    w[2] = 0;
+    w[3] = 0;
+    return this;
+  }
+
+  public UInt256 clear() {
+    w[0] = 0;
+    w[1] = 0;
+    w[2] = 0;
+    w[3] = 0;
+    return this;
+  }
+
+  /**
+   * Writes the 32 big-endian bytes of this number to {@code out}.
+   */
+  public void toBytes(byte[] out) {
+    for (int i = 0; i < 4; i++) {
+      writeLong(out, i << 3, w[3 - i]);
+    }
+  }
+
+  public byte[] toBytes() {
+    byte[] out = new byte[DataWord.WORD_SIZE];
+    toBytes(out);
+    return out;
+  }
+
+  public boolean isZero() {
+    return (w[0] | w[1] | w[2] | w[3]) == 0;
+  }
+
+  public boolean isNegative() {
+    return w[3] < 0;
+  }
+
+  /**
+   * Compares as unsigned numbers.
+   */
+  public int compareTo(UInt256 other) {
+    for (int i = 3; i >= 0; i--) {
+      int result = Long.compareUnsigned(w[i], other.w[i]);
+      if (result != 0) {
+        return result;
+      }
+    }
+    return 0;
+  }
+
+  /**
+   * Compares as two's complement numbers.
+   */
+  public int signedCompareTo(UInt256 other) {
+    if (isNegative() != other.isNegative()) {
+      return isNegative() ? -1 : 1;
+    }
+    return compareTo(other);
+  }
+
+  /**
+   * @return this number if it is below {@code bound}, {@code bound} otherwise
+   */
+  public int intValueCapped(int bound) {
+    if ((w[1] | w[2] | w[3]) != 0 || w[0] < 0 || w[0] >= bound) {
+      return bound;
+    }
+    return (int) w[0];
+  }
+
+  public UInt256 add(UInt256 other) {
+    add(w, other.w, w);
+    return this;
+  }
+
+  public UInt256 sub(UInt256 other) {
+    long borrow = 0;
+    for (int i = 0; i < 4; i++) {
+      long a = w[i];
+      long b = other.w[i];
+      long d = a - b - borrow;
+      borrow = ((~a & b) | (~(a ^ b) & d)) >>> 63;
+      w[i] = d;
+    }
+    return this;
+  }
+
+  public UInt256 mul(UInt256 other) {
+    multiply(w, other.w, wide, 4);
+    System.arraycopy(wide, 0, w, 0, 4);
+    return this;
+  }
+
+  /**
+   * Unsigned division, zero for a zero divisor.
+   */
+  public UInt256 div(UInt256 other) {
+    if (other.isZero()) {
+      return clear();
+    }
+    System.arraycopy(other.w, 0, copy, 0, 4);
+    divide(w, 4, copy, false);
+    return this;
+  }
+
+  /**
+   * Unsigned remainder, zero for a zero divisor.
+   */
+  public UInt256 mod(UInt256 other) {
+    if (other.isZero()) {
+      return clear();
+    }
+    System.arraycopy(other.w, 0, copy, 0, 4);
+    divide(w, 4, copy, true);
+    return this;
+  }
+
+  /**
+   * Signed division truncating towards zero, zero for a zero divisor. The minimum value divided
+   * by -1 stays the minimum value.
+   */
+  public UInt256 sdiv(UInt256 other) {
+    if (other.isZero()) {
+      return clear();
+    }
+    boolean negative = isNegative() != other.isNegative();
+    absInto(other.w, copy);
+    absInto(w, w);
+    divide(w, 4, copy, false);
+    if (negative) {
+      negate();
+    }
+    return this;
+  }
+
+  /**
+   * Signed remainder, taking the sign of the dividend, zero for a zero divisor.
+   */
+  public UInt256 smod(UInt256 other) {
+    if (other.isZero()) {
+      return clear();
+    }
+    boolean negative = isNegative();
+    absInto(other.w, copy);
+    absInto(w, w);
+    divide(w, 4, copy, true);
+    if (negative) {
+      negate();
+    }
+    return this;
+  }
+
+  /**
+   * {@code (this + other) % modulus} without wrapping the sum, zero for a zero modulus.
+   */
+  public UInt256 addmod(UInt256 other, UInt256 modulus) {
+    if (modulus.isZero()) {
+      return clear();
+    }
+    System.arraycopy(modulus.w, 0, copy, 0, 4);
+    Arrays.fill(wide, 0);
+    wide[4] = add(w, other.w, wide);
+    divide(wide, 5, copy, true);
+    return this;
+  }
+
+  /**
+   * {@code (this * other) % modulus} without wrapping the product, zero for a zero modulus.
+   */
+  public UInt256 mulmod(UInt256 other, UInt256 modulus) {
+    if (modulus.isZero()) {
+      return clear();
+    }
+    System.arraycopy(modulus.w, 0, copy, 0, 4);
+    multiply(w, other.w, wide, 8);
+    divide(wide, 8, copy, true);
+    return this;
+  }
+
+  /**
+   * {@code this ^ exponent} modulo 2^256, by squaring and multiplying.
+   */
+  public UInt256 exp(UInt256 exponent) {
+    System.arraycopy(exponent.w, 0, copy, 0, 4);
+    System.arraycopy(w, 0, base, 0, 4);
+    clear();
+    w[0] = 1;
+    for (int bit = bitLength(copy) - 1; bit >= 0; bit--) {
+      multiply(w, w, wide, 4);
+      System.arraycopy(wide, 0, w, 0, 4);
+      if ((copy[bit >>> 6] >>> (bit & 63) & 1) != 0) {
+        multiply(w, base, wide, 4);
+        System.arraycopy(wide, 0, w, 0, 4);
+      }
+    }
+    return this;
+  }
+
+  public UInt256 and(UInt256 other) {
+    for (int i = 0; i < 4; i++) {
+      w[i] &= other.w[i];
+    }
+    return this;
+  }
+
+  public UInt256 or(UInt256 other) {
+    for (int i = 0; i < 4; i++) {
+      w[i] |= other.w[i];
+    }
+    return this;
+  }
+
+  public UInt256 xor(UInt256 other) {
+    for (int i = 0; i < 4; i++) {
+      w[i] ^= other.w[i];
+    }
+    return this;
+  }
+
+  public UInt256 not() {
+    for (int i = 0; i < 4; i++) {
+      w[i] = ~w[i];
+    }
+    return this;
+  }
+
+  /**
+   * Two's complement negation, zero stays zero.
+   */
+  public UInt256 negate() {
+    negate(w);
+    return this;
+  }
+
+  /**
+   * Shifts left by {@code n} bits, clearing the number from 256 on.
+   */
+  public UInt256 shl(int n) {
+    if (n >= 256) {
+      return clear();
+    }
+    int limbs = n >>> 6;
+    int bits = n & 63;
+    for (int i = 3; i >= 0; i--) {
+      int from = i - limbs;
+      long value = from >= 0 ? w[from] << bits : 0;
+      if (bits != 0 && from > 0) {
+        value |= w[from - 1] >>> (64 - bits);
+      }
+      w[i] = value;
+    }
+    return this;
+  }
+
+  /**
+   * Logical right shift by {@code n} bits, clearing the number from 256 on.
+   */
+  public UInt256 shr(int n) {
+    return shiftRight(n, 0);
+  }
+
+  /**
+   * Arithmetic right shift by {@code n} bits, filling with the sign bit.
+   */
+  public UInt256 sar(int n) {
+    return shiftRight(n, isNegative() ? -1L : 0);
+  }
+
+  private UInt256 shiftRight(int n, long fill) {
+    if (n >= 256) {
+      Arrays.fill(w, fill);
+      return this;
+    }
+    int limbs = n >>> 6;
+    int bits = n & 63;
+    for (int i = 0; i < 4; i++) {
+      int from = i + limbs;
+      long value = from < 4 ? w[from] >>> bits : fill;
+      if (bits != 0) {
+        value |= (from + 1 < 4 ? w[from + 1] : fill) << (64 - bits);
+        if (from >= 4) {
+          value = fill;
+        }
+      }
+      w[i] = value;
+    }
+    return this;
+  }
+
+  /**
+   * r = a + b over four limbs, r may be a or b.
+   *
+   * @return the carry out of the top limb
+   */
+  private static long add(long[] a, long[] b, long[] r) {
+    long carry = 0;
+    for (int i = 0; i < 4; i++) {
+      long x = a[i];
+      long y = b[i];
+      long s = x + y + carry;
+      carry = ((x & y) | ((x | y) & ~s)) >>> 63;
+      r[i] = s;
+    }
+    return carry;
+  }
+
+  /**
+   * The low {@code n} limbs of a * b into r, which must be neither a nor b.
+   */
+  private static void multiply(long[] a, long[] b, long[] r, int n) {
+    Arrays.fill(r, 0, n, 0);
+    for (int i = 0; i < 4 && i < n; i++) {
+      long ai = a[i];
+      if (ai == 0) {
+        continue;
+      }
+      long carry = 0;
+      for (int j = 0; j < 4 && i + j < n; j++) {
+        if (i + j == n - 1) {
+          // the top limb kept, whatever it carries out is cut off
+          r[i + j] += ai * b[j] + carry;
+          break;
+        }
+        long lo = ai * b[j];
+        long hi = multiplyHigh(ai, b[j]);
+        long s = lo + r[i + j];
+        if (Long.compareUnsigned(s, lo) < 0) {
+          hi++;
+        }
+        long t = s + carry;
+        if (Long.compareUnsigned(t, s) < 0) {
+          hi++;
+        }
+        r[i + j] = t;
+        carry = hi;
+      }
+      if (i + 4 < n) {
+        r[i + 4] = carry;
+      }
+    }
+  }
+
+  /**
+   * The high 64 bits of the unsigned 128-bit product.
+   */
+  private static long multiplyHigh(long x, long y) {
+    long x0 = x & M32;
+    long x1 = x >>> 32;
+    long y0 = y & M32;
+    long y1 = y >>> 32;
+    long t = x1 * y0 + ((x0 * y0) >>> 32);
+    long w1 = x0 * y1 + (t & M32);
+    return x1 * y1 + (t >>> 32) + (w1 >>> 32);
+  }
+
+  private static void negate(long[] a) {
+    long carry = 1;
+    for (int i = 0; i < 4; i++) {
+      long s = ~a[i] + carry;
+      carry = carry != 0 && s == 0 ? 1 : 0;
+      a[i] = s;
+    }
+  }
+
+  private static void absInto(long[] a, long[] r) {
+    if (r != a) {
+      System.arraycopy(a, 0, r, 0, 4);
+    }
+    if (r[3] < 0) {
+      negate(r);
+    }
+  }
+
+  private static int bitLength(long[] a) {
+    for (int i = 3; i >= 0; i--) {
+      if (a[i] != 0) {
+        return (i << 6) + 64 - Long.numberOfLeadingZeros(a[i]);
+      }
+    }
+    return 0;
+  }
+
+  /**
+   * Divides the {@code limbs} limbs of x by the non zero y and leaves the quotient or the
+   * remainder in this number. The quotient is only asked for 256-bit dividends, so both fit.
+   */
+  private void divide(long[] x, int limbs, long[] y, boolean remainder) {
+    int m = digits(x, limbs, u);
+    int n = digits(y, 4, v);
+    if (m < n) {
+      if (remainder) {
+        System.arraycopy(x, 0, w, 0, 4);
+      } else {
+        clear();
+      }
+      return;
+    }
+    if (n == 1) {
+      long divisor = v[0] & M32;
+      long k = 0;
+      for (int j = m - 1; j >= 0; j--) {
+        long dividend = (k << 32) | (u[j] & M32);
+        long quotient = divideUnsigned(dividend, divisor);
+        q[j] = (int) quotient;
+        k = dividend - quotient * divisor;
+      }
+      clear();
+      if (remainder) {
+        w[0] = k;
+      } else {
+        fromDigits(q, m);
+      }
+      return;
+    }
+    knuth(m, n);
+    clear();
+    if (remainder) {
+      int s = Integer.numberOfLeadingZeros(v[n - 1]);
+      for (int i = 0; i < n; i++) {
+        long digit = (un[i] & M32) >>> s;
+        if (s != 0 && i + 1 < n) {
+          digit |= ((un[i + 1] & M32) << (32 - s)) & M32;
+        }
+        w[i >>> 1] |= digit << ((i & 1) << 5);
+      }
+    } else {
+      fromDigits(q, m - n + 1);
+    }
+  }
+
+  /**
+   * Knuth's algorithm D on the m digits of u and the n digits of v, n at least 2, leaving the
+   * quotient in q and the normalized remainder in un.
+   */
+  private void knuth(int m, int n) {
+    final long b = 1L << 32;
+    int s = Integer.numberOfLeadingZeros(v[n - 1]);
+    for (int i = n - 1; i > 0; i--) {
+      vn[i] = (int) (((v[i] & M32) << s) | ((v[i - 1] & M32) >>> (32 - s)));
+    }
+    vn[0] = v[0] << s;
+    un[m] = (int) ((u[m - 1] & M32) >>> (32 - s));
+    for (int i = m - 1; i > 0; i--) {
+      un[i] = (int) (((u[i] & M32) << s) | ((u[i - 1] & M32) >>> (32 - s)));
+    }
+    un[0] = u[0] << s;
+
+    long vTop = vn[n - 1] & M32;
+    long vNext = vn[n - 2] & M32;
+    for (int j = m - n; j >= 0; j--) {
+      long top = ((un[j + n] & M32) << 32) | (un[j + n - 1] & M32);
+      long qhat = divideUnsigned(top, vTop);
+      long rhat = top - qhat * vTop;
+      while (qhat >= b || Long.compareUnsigned(qhat * vNext,
+          (rhat << 32) | (un[j + n - 2] & M32)) > 0) {
+        qhat--;
+        rhat += vTop;
+        if (rhat >= b) {
+          break;
+        }
+      }
+
+      long k = 0;
+      long t;
+      for (int i = 0; i < n; i++) {
+        long p = qhat * (vn[i] & M32);
+        t = (un[i + j] & M32) - k - (p & M32);
+        un[i + j] = (int) t;
+        k = (p >>> 32) - (t >> 32);
+      }
+      t = (un[j + n] & M32) - k;
+      un[j + n] = (int) t;
+
+      q[j] = (int) qhat;
+      if (t < 0) {
+        q[j]--;
+        k = 0;
+        for (int i = 0; i < n; i++) {
+          t = (un[i + j] & M32) + (vn[i] & M32) + k;
+          un[i + j] = (int) t;
+          k = t >>> 32;
+        }
+        un[j + n] += (int) k;
+      }
+    }
+  }
+
+  /**
+   * Unsigned division by a positive divisor; {@link Long#divideUnsigned} goes through
+   * {@code BigInteger} on Java 8 once the dividend has its top bit set.
+   */
+  private static long divideUnsigned(long dividend, long divisor) {
+    if (dividend >= 0) {
+      return dividend / divisor;
+    }
+    long quotient = ((dividend >>> 1) / divisor) << 1;
+    long remainder = dividend - quotient * divisor;
+    return quotient + (Long.compareUnsigned(remainder, divisor) >= 0 ? 1 : 0);
+  }
+
+  /**
+   * Splits the limbs of x into 32-bit digits, least significant first.
+   *
+   * @return the number of significant digits
+   */
+  private static int digits(long[] x, int limbs, int[] out) {
+    int n = 0;
+    for (int i = 0; i < limbs; i++) {
+      out[i << 1] = (int) x[i];
+      out[(i << 1) + 1] = (int) (x[i] >>> 32);
+      if (x[i] != 0) {
+        n = (i << 1) + ((x[i] >>> 32) != 0 ? 2 : 1);
+      }
+    }
+    return n;
+  }
+
+  private void fromDigits(int[] digits, int n) {
+    for (int i = 0; i < n && i < 8; i++) {
+      w[i >>> 1] |= (digits[i] & M32) << ((i & 1) << 5);
+    }
+  }
+
+  private static long readLong(byte[] b, int off) {
+    return ((long) b[off] << 56)
+        | ((b[off + 1] & 0xFFL) << 48)
+        | ((b[off + 2] & 0xFFL) << 40)
+        | ((b[off + 3] & 0xFFL) << 32)
+        | ((b[off + 4] & 0xFFL) << 24)
+        | ((b[off + 5] & 0xFFL) << 16)
+        | ((b[off + 6] & 0xFFL) << 8)
+        | (b[off + 7] & 0xFFL);
+  }
+
+  private static void writeLong(byte[] b, int off, long value) {
+    for (int i = 7; i >= 0; i--) {
+      b[off + i] = (byte) value;
+      value >>>= 8;
+    }
+  }
+}
@@ -3,6 +3,9 @@ package org.tron.common.setting;
 import static org.tron.core.Constant.ROCKSDB;
 
 import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 import org.rocksdb.BlockBasedTableConfig;
@@ -43,12 +46,34 @@ public class RocksDbSettings {
   private int targetFileSizeMultiplier;
   @Getter
   private boolean enableStatistics;
+  @Getter
+  private long blockCacheSize;
+  private final Map<String, Profile> profiles = new HashMap<>();
+  private final Map<String, Integer> prefixLengths = new HashMap<>();
 
   static {
     RocksDB.loadLibrary();
   }
 
-  private static final LRUCache cache = new LRUCache(1 * 1024 * 1024 * 1024L);
+  private static final long POINT_LOOKUP_BLOCK_SIZE = 4 * 1024L;
+
+  private static LRUCache cache;
+
+  /**
+   * How the table and column family options of a database are tuned.
+   */
+  public enum Profile {
+    DEFAULT,
+    /** Mostly read by exact key: small blocks, a lookup reads and caches less around its key. */
+    POINT_LOOKUP,
+    /**
+     * Written once, read by keys that exist: large blocks, and no bloom filter on the last
+     * level, which holds most of the data and where a filter would only ever say yes.
+     */
+    APPEND_ONLY,
+    /** Queried by key prefix: prefix extractor with prefix bloom, also in the memtable. */
+    PREFIX_SCAN
+  }
 
   private static final String[] CI_ENVIRONMENT_VARIABLES = {
       "CI",
@@ -70,7 +95,8 @@ public class RocksDbSettings {
     return defaultSettings.withLevelNumber(7).withBlockSize(64).withCompactThreads(32)
         .withTargetFileSizeBase(256).withMaxBytesForLevelMultiplier(10)
         .withTargetFileSizeMultiplier(1)
-        .withMaxBytesForLevelBase(256).withMaxOpenFiles(5000).withEnableStatistics(false);
+        .withMaxBytesForLevelBase(256).withMaxOpenFiles(5000).withEnableStatistics(false)
+        .withBlockCacheSize(1024);
   }
 
   public static RocksDbSettings getSettings() {
@@ -92,7 +118,8 @@ public class RocksDbSettings {
         .withMaxBytesForLevelMultiplier(maxBytesForLevelMultiplier)
         .withLevel0FileNumCompactionTrigger(level0FileNumCompactionTrigger)
         .withTargetFileSizeBase(targetFileSizeBase)
-        .withTargetFileSizeMultiplier(targetFileSizeMultiplier);
+        .withTargetFileSizeMultiplier(targetFileSizeMultiplier)
+        .withBlockCacheSize(1024);
     return rocksDbSettings;
   }
 
@@ -100,14 +127,17 @@ public class RocksDbSettings {
     logger.info(
         "level number: {}, CompactThreads: {}, Blocksize:{}, maxBytesForLevelBase: {},"
             + " withMaxBytesForLevelMultiplier: {}, level0FileNumCompactionTrigger: {}, "
-            + "withTargetFileSizeBase: {}, withTargetFileSizeMultiplier: {}, maxOpenFiles: {}",
+            + "withTargetFileSizeBase: {}, withTargetFileSizeMultiplier: {}, maxOpenFiles: {}, "
+            + "blockCacheSize: {}, enableStatistics: {}, profiles: {}, prefixLengths: {}",
         rocksDbSettings.getLevelNumber(),
         rocksDbSettings.getCompactThreads(), rocksDbSettings.getBlockSize(),
         rocksDbSettings.getMaxBytesForLevelBase(),
         rocksDbSettings.getMaxBytesForLevelMultiplier(),
         rocksDbSettings.getLevel0FileNumCompactionTrigger(),
         rocksDbSettings.getTargetFileSizeBase(), rocksDbSettings.getTargetFileSizeMultiplier(),
-        rocksDbSettings.getMaxOpenFiles());
+        rocksDbSettings.getMaxOpenFiles(), rocksDbSettings.getBlockCacheSize(),
+        rocksDbSettings.isEnableStatistics(), rocksDbSettings.profiles,
+        rocksDbSettings.prefixLengths);
   }
 
   public RocksDbSettings withMaxOpenFiles(int maxOpenFiles) {
@@ -159,7 +189,50 @@ public class RocksDbSettings {
     this.targetFileSizeMultiplier = targetFileSizeMultiplier;
     return this;
   }
-  public static LRUCache getCache() {
+
+  public RocksDbSettings withBlockCacheSize(long blockCacheSize) {
+    this.blockCacheSize = blockCacheSize * 1024 * 1024;
+    return this;
+  }
+
+  public RocksDbSettings withProfile(Profile profile, List<String> dbNames) {
+    dbNames.forEach(dbName -> profiles.put(dbName, profile));
+    return this;
+  }
+
+  /**
+   * @param entries "name:length", the database and the length of the key prefix it is
+   *     queried by
+   */
+  public RocksDbSettings withPrefixScan(List<String> entries) {
+    for (String entry : entries) {
+      String[] parts = entry.split(":");
+      profiles.put(parts[0], Profile.PREFIX_SCAN);
+      prefixLengths.put(parts[0], Integer.parseInt(parts[1]));
+    }
+    return this;
+  }
+
+  public Profile getProfile(String dbName) {
+    return profiles.getOrDefault(dbName, Profile.DEFAULT);
+  }
+
+  /**
+   * @return the length of the key prefix of a {@link Profile#PREFIX_SCAN} database, 0 if the
+   *     database has no prefix extractor
+   */
+  public int getPrefixLength(String dbName) {
+    return getProfile(dbName) == Profile.PREFIX_SCAN ? prefixLengths.get(dbName) : 0;
+  }
+
+  /**
+   * @return the block cache shared by all databases, sized by the settings in use when the
+   *     first database opens
+   */
+  public static synchronized LRUCache getCache() {
+    if (cache == null) {
+      cache = new LRUCache(getSettings().getBlockCacheSize());
+    }
     return cache;
   }
 
@@ -218,6 +291,24 @@ public class RocksDbSettings {
     tableCfg.setCacheIndexAndFilterBlocks(true);
     tableCfg.setPinL0FilterAndIndexBlocksInCache(true);
     tableCfg.setFilter(new BloomFilter(10, false));
+    switch (settings.getProfile(dbName)) {
+      case POINT_LOOKUP:
+        tableCfg.setBlockSize(Math.min(settings.getBlockSize(), POINT_LOOKUP_BLOCK_SIZE));
+        tableCfg.setWholeKeyFiltering(true);
+        break;
+      case APPEND_ONLY:
+        tableCfg.setBlockSize(settings.getBlockSize() * 4);
+        options.setOptimizeFiltersForHits(true);
+        break;
+      case PREFIX_SCAN:
+        // iterators not scanning a single prefix must ask for total order seek, see
+        // RocksDbDataSourceImpl#getReadOptions
+        options.useCappedPrefixExtractor(settings.getPrefixLength(dbName));
+        options.setMemtablePrefixBloomSizeRatio(0.1);
+        break;
+      default:
+        break;
+    }
     if (Constant.MARKET_PAIR_PRICE_TO_ORDER.equals(dbName)) {
       ComparatorOptions comparatorOptions = new ComparatorOptions();
       options.setComparator(new MarketOrderPriceComparatorForRocksDB(comparatorOptions));
@@ -76,6 +76,7 @@ public class NodeConfig {
   private boolean effectiveCheckEnable = false;
   private int maxFastForwardNum = 4;
   private ValidContractProtoConfig validContractProto = new ValidContractProtoConfig();
+  private ParallelExecutionConfig parallelExecution = new ParallelExecutionConfig();
   private int shieldedTransInPendingMaxCounts = 10;
   private int pqTransInPendingMaxCounts = 1000;
   private long blockCacheTimeout = 60;
@@ -118,6 +119,18 @@ public class NodeConfig {
     return validContractProto.getThreads();
   }
 
+  public boolean isParallelExecutionEnable() {
+    return parallelExecution.isEnable();
+  }
+
+  public int getParallelExecutionThreads() {
+    return parallelExecution.getThreads();
+  }
+
+  public boolean isParallelExecutionPending() {
+    return parallelExecution.isPending();
+  }
+
   // ---- List fields (manually read) ----
   private List<String> active = new ArrayList<>();
   private List<String> passive = new ArrayList<>();
@@ -184,6 +197,15 @@ public class NodeConfig {
     private int threads = 0; // 0 = auto (availableProcessors)
   }
 
+  @Getter
+  @Setter
+  public static class ParallelExecutionConfig {
+
+    private boolean enable = false;
+    private int threads = 0; // 0 = auto (availableProcessors)
+    private boolean pending = false;
+  }
+
   @Getter
   @Setter
   public static class P2pConfig {
@@ -248,6 +270,8 @@ public class NodeConfig {
     private int maxAddressSize = 1000;
     private int maxLogFilterNum = 20000;
     private long maxMessageSize = 4194304;
+    private boolean traceEnable = false;
+    private int maxTraceEntries = 100000;
   }
 
   @Getter
@@ -384,6 +408,11 @@ public class NodeConfig {
       validContractProto.threads = Runtime.getRuntime().availableProcessors();
     }
 
+    // parallelExecution.threads: 0 = auto-detect
+    if (parallelExecution.threads == 0) {
+      parallelExecution.threads = Runtime.getRuntime().availableProcessors();
+    }
+
     // syncFetchBatchNum: clamp to [100, 2000]
     if (syncFetchBatchNum > 2000) {
       syncFetchBatchNum = 2000;
@@ -465,6 +494,10 @@ public class NodeConfig {
       throw new TronError("node.jsonrpc.maxMessageSize must be non-negative, got: "
           + jsonrpc.maxMessageSize, PARAMETER_INIT);
     }
+    if (jsonrpc.maxTraceEntries <= 0) {
+      throw new TronError("node.jsonrpc.maxTraceEntries must be positive, got: "
+          + jsonrpc.maxTraceEntries, PARAMETER_INIT);
+    }
   }
 
   // ===========================================================================
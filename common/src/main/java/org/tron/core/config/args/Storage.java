@@ -45,6 +45,10 @@ public class Storage {
 
   private static final String DEFAULT_INDEX_SWITCH = "on";
 
+  public static final String SNAPSHOT_LAYER_HASH = "HASH";
+  public static final String SNAPSHOT_LAYER_ARENA = "ARENA";
+  public static final String SNAPSHOT_LAYER_ARENA_DIRECT = "ARENA_DIRECT";
+
   // Optional per-tier LevelDB option overrides, read from StorageConfig bean
   private StorageConfig.DbOptionOverride defaultDbOption;
   private StorageConfig.DbOptionOverride defaultMDbOption;
@@ -69,6 +73,13 @@ public class Storage {
   @Setter
   private int maxFlushCount;
 
+  /**
+   * Storage of the in-memory snapshot layers, one of the SNAPSHOT_LAYER_* values.
+   */
+  @Getter
+  @Setter
+  private String snapshotLayerDb = SNAPSHOT_LAYER_HASH;
+
   @Getter
   @Setter
   private boolean contractParseSwitch;
@@ -100,8 +111,27 @@ public class Storage {
 
   @Getter
   private final List<String> cacheDbs = CacheStrategies.CACHE_DBS;
+
+  /**
+   * Bytes shared by the byte-weighted second caches, 0 falls back to entry-count caches.
+   */
+  @Getter
+  @Setter
+  private long cacheBudget = 0;
   // second cache
 
+  @Getter
+  @Setter
+  private boolean prefetchEnable = false;
+
+  @Getter
+  @Setter
+  private int prefetchThreads = 1;
+
+  @Getter
+  @Setter
+  private int prefetchHotSlots = 32;
+
   /**
    * Key: dbName, Value: Property object of that database
    */
@@ -127,6 +157,10 @@ public class Storage {
     return this.cacheStrategies.getOrDefault(dbName, CacheStrategies.getCacheStrategy(dbName));
   }
 
+  public boolean isCacheStrategyConfigured(CacheType dbName) {
+    return this.cacheStrategies.containsKey(dbName);
+  }
+
   public Sha256Hash getDbRoot(String dbName, Sha256Hash defaultV) {
     return this.dbRoots.getOrDefault(dbName, defaultV);
   }
@@ -4,6 +4,7 @@ import com.typesafe.config.Config;
 import com.typesafe.config.ConfigBeanFactory;
 import com.typesafe.config.ConfigObject;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import lombok.Getter;
 import lombok.Setter;
@@ -28,6 +29,8 @@ public class StorageConfig {
   private CheckpointConfig checkpoint = new CheckpointConfig();
   private SnapshotConfig snapshot = new SnapshotConfig();
   private TxCacheConfig txCache = new TxCacheConfig();
+  private CacheConfig cache = new CacheConfig();
+  private PrefetchConfig prefetch = new PrefetchConfig();
   // ConfigBeanFactory requires all bean fields present per item, so we parse manually.
   @Setter(lombok.AccessLevel.NONE)
   private List<PropertyConfig> properties = new ArrayList<>();
@@ -93,12 +96,33 @@ public class StorageConfig {
     private long targetFileSizeBase = 64;
     private int targetFileSizeMultiplier = 1;
     private int maxOpenFiles = 5000;
+    private long blockCacheSize = 1024;
+    private boolean enableStatistics = false;
+    private List<String> pointLookup = new ArrayList<>(Arrays.asList(
+        "account", "storage-row", "code", "contract", "contract-state", "abi", "delegation",
+        "DelegatedResource", "votes"));
+    private List<String> appendOnly = new ArrayList<>(Arrays.asList(
+        "block", "block-index", "trans", "transactionRetStore", "transactionHistoryStore",
+        "balance-trace", "account-trace", "section-bloom"));
+    // "name:length", length of the key prefix the db is queried by
+    private List<String> prefixScan = new ArrayList<>(Arrays.asList(
+        "account-asset:21", "DelegatedResourceAccountIndex:22"));
 
     // Expand 0 → auto-detected processor count. Mirrors develop Args.java:1609-1611.
     void postProcess() {
       if (compactThreads == 0) {
         compactThreads = StrictMathWrapper.max(Runtime.getRuntime().availableProcessors(), 1);
       }
+      if (blockCacheSize <= 0) {
+        throw new IllegalArgumentException("blockCacheSize must be positive!");
+      }
+      for (String entry : prefixScan) {
+        String[] parts = entry.split(":");
+        if (parts.length != 2 || !parts[1].matches("[1-9][0-9]*")) {
+          throw new IllegalArgumentException(
+              "prefixScan entry must look like name:length, got " + entry + "!");
+        }
+      }
     }
   }
 
@@ -129,6 +153,7 @@ public class StorageConfig {
   public static class SnapshotConfig {
 
     private int maxFlushCount = 1;
+    private String layerDb = Storage.SNAPSHOT_LAYER_HASH;
 
     // Reject out-of-range values. Mirrors develop Storage.getSnapshotMaxFlushCountFromConfig.
     void postProcess() {
@@ -138,6 +163,11 @@ public class StorageConfig {
       if (maxFlushCount > 500) {
         throw new IllegalArgumentException("MaxFlushCount value must not exceed 500!");
       }
+      layerDb = layerDb.toUpperCase();
+      if (!Arrays.asList(Storage.SNAPSHOT_LAYER_HASH, Storage.SNAPSHOT_LAYER_ARENA,
+          Storage.SNAPSHOT_LAYER_ARENA_DIRECT).contains(layerDb)) {
+        throw new IllegalArgumentException("Unknown snapshot.layerDb " + layerDb + "!");
+      }
     }
   }
 
@@ -158,6 +188,32 @@ public class StorageConfig {
     }
   }
 
+  // cache.strategies has dynamic keys and is read by Storage.setCacheStrategies instead.
+  @Getter
+  @Setter
+  public static class CacheConfig {
+
+    private long budget = 0;
+  }
+
+  @Getter
+  @Setter
+  public static class PrefetchConfig {
+
+    private boolean enable = false;
+    private int threads = 0; // 0 = auto: max(availableProcessors / 2, 1)
+    private int hotSlots = 32;
+
+    void postProcess() {
+      if (threads == 0) {
+        threads = StrictMathWrapper.max(Runtime.getRuntime().availableProcessors() / 2, 1);
+      }
+      if (threads < 0 || hotSlots < 0) {
+        throw new IllegalArgumentException("prefetch threads and hotSlots can not be negative!");
+      }
+    }
+  }
+
   // A named database entry: name/path plus the optional LevelDB option overrides
   // inherited from DbOptionOverride (boxed types, null = "inherit per-tier defaults").
   @Getter
@@ -185,6 +241,7 @@ public class StorageConfig {
     sc.dbSettings.postProcess();
     sc.snapshot.postProcess();
     sc.txCache.postProcess();
+    sc.prefetch.postProcess();
     return sc;
   }
 
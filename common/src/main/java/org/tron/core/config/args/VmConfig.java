@@ -22,11 +22,24 @@ public class VmConfig {
   private int longRunningTime = 10;
   private boolean estimateEnergy = false;
   private int estimateEnergyMaxRetry = 3;
+  private boolean estimateEnergySinglePass = false;
   private boolean vmTrace = false;
+  private boolean basicBlockMetering = false;
   private boolean saveInternalTx = false;
   private boolean saveFeaturedInternalTx = false;
   private boolean saveCancelAllUnfreezeV2Details = false;
   private long constantCallTimeoutMs = 0L;
+  private ConstantCallConfig constantCall = new ConstantCallConfig();
+
+  @Getter
+  @Setter
+  public static class ConstantCallConfig {
+
+    private boolean enable = false;
+    private int threads = 0; // 0 = auto (availableProcessors)
+    private int queueSize = 1000;
+    private int resultCacheSize = 0; // 0 = no result cache
+  }
 
   /**
    * Create VmConfig from the "vm" section of the application config.
@@ -65,5 +78,17 @@ public class VmConfig {
       throw new IllegalArgumentException("vm.constantCallTimeoutMs must be >= 0 and <= " +
           Long.MAX_VALUE / 1000 + " to fit VM deadline conversion, got " + constantCallTimeoutMs);
     }
+
+    // constantCall.threads: 0 = auto-detect
+    if (constantCall.threads <= 0) {
+      constantCall.threads = Runtime.getRuntime().availableProcessors();
+    }
+    // constantCall.queueSize: at least one call waits for a worker
+    if (constantCall.queueSize < 1) {
+      constantCall.queueSize = 1;
+    }
+    if (constantCall.resultCacheSize < 0) {
+      constantCall.resultCacheSize = 0;
+    }
   }
 }
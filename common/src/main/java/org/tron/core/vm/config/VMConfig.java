@@ -13,6 +13,9 @@ public class VMConfig {
   @Setter
   private static boolean vmTrace = false;
 
+  @Setter
+  private static boolean basicBlockMetering = false;
+
   /**
    * Snapshot of all chain/store-derived VM config flags. The block-processing (HEAD) path
    * installs it as the process-wide {@link #globalSnapshot}; a constant call executing against a
@@ -91,6 +94,10 @@ public class VMConfig {
     return vmTrace;
   }
 
+  public static boolean basicBlockMetering() {
+    return basicBlockMetering;
+  }
+
   public static boolean vmTraceCompressed() {
     return vmTraceCompressed;
   }
@@ -7,6 +7,7 @@ import static org.junit.Assert.assertTrue;
 import com.typesafe.config.Config;
 import com.typesafe.config.ConfigFactory;
 import org.junit.Test;
+import org.tron.core.exception.TronError;
 
 public class NodeConfigTest {
 
@@ -65,6 +66,23 @@ public class NodeConfigTest {
     assertEquals(9092, nc.getHttp().getPBFTPort());
   }
 
+  @Test
+  public void testJsonRpcTrace() {
+    NodeConfig nc = NodeConfig.fromConfig(withRef());
+    assertFalse(nc.getJsonrpc().isTraceEnable());
+    assertEquals(100000, nc.getJsonrpc().getMaxTraceEntries());
+
+    nc = NodeConfig.fromConfig(withRef(
+        "node.jsonrpc { traceEnable = true, maxTraceEntries = 10 }"));
+    assertTrue(nc.getJsonrpc().isTraceEnable());
+    assertEquals(10, nc.getJsonrpc().getMaxTraceEntries());
+  }
+
+  @Test(expected = TronError.class)
+  public void testJsonRpcMaxTraceEntriesMustBePositive() {
+    NodeConfig.fromConfig(withRef("node.jsonrpc.maxTraceEntries = 0"));
+  }
+
   @Test
   public void testRpcSubBean() {
     Config config = withRef(
@@ -241,6 +259,25 @@ public class NodeConfigTest {
     assertEquals(3, nc.getValidContractProtoThreads());
   }
 
+  // ----- parallelExecution: off by default, threads 0 = auto (availableProcessors) -----
+
+  @Test
+  public void testParallelExecutionDefaults() {
+    NodeConfig nc = NodeConfig.fromConfig(withRef());
+    assertFalse(nc.isParallelExecutionEnable());
+    assertEquals(Runtime.getRuntime().availableProcessors(), nc.getParallelExecutionThreads());
+    assertFalse(nc.isParallelExecutionPending());
+  }
+
+  @Test
+  public void testParallelExecutionExplicit() {
+    NodeConfig nc = NodeConfig.fromConfig(
+        withRef("node { parallelExecution { enable = true, threads = 6, pending = true } }"));
+    assertTrue(nc.isParallelExecutionEnable());
+    assertEquals(6, nc.getParallelExecutionThreads());
+    assertTrue(nc.isParallelExecutionPending());
+  }
+
   // ----- trustNode: empty reference.conf default means trustNode stays unset -----
 
   @Test
@@ -3,10 +3,12 @@ package org.tron.core.config.args;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThrows;
 import static org.junit.Assert.assertTrue;
 
 import com.typesafe.config.Config;
 import com.typesafe.config.ConfigFactory;
+import java.util.Collections;
 import java.util.List;
 import org.junit.Test;
 import org.tron.common.math.StrictMathWrapper;
@@ -138,6 +140,53 @@ public class StorageConfigTest {
     assertEquals(5000, sc.getTxCache().getEstimatedTransactions());
   }
 
+  @Test
+  public void testDbSettingsProfiles() {
+    StorageConfig.DbSettingsConfig ds = StorageConfig.fromConfig(withRef()).getDbSettings();
+    assertEquals(1024, ds.getBlockCacheSize());
+    assertTrue(ds.getPointLookup().contains("account"));
+    assertTrue(ds.getAppendOnly().contains("block"));
+    assertTrue(ds.getPrefixScan().contains("account-asset:21"));
+
+    ds = StorageConfig.fromConfig(withRef("storage.dbSettings { blockCacheSize = 256,"
+        + " enableStatistics = true, pointLookup = [], prefixScan = [\"x:8\"] }"))
+        .getDbSettings();
+    assertEquals(256, ds.getBlockCacheSize());
+    assertTrue(ds.isEnableStatistics());
+    assertTrue(ds.getPointLookup().isEmpty());
+    assertEquals(Collections.singletonList("x:8"), ds.getPrefixScan());
+
+    assertThrows(IllegalArgumentException.class, () -> StorageConfig.fromConfig(
+        withRef("storage.dbSettings.prefixScan = [account-asset]")));
+    assertThrows(IllegalArgumentException.class, () -> StorageConfig.fromConfig(
+        withRef("storage.dbSettings.blockCacheSize = 0")));
+  }
+
+  @Test
+  public void testCacheBudget() {
+    assertEquals(0, StorageConfig.fromConfig(withRef()).getCache().getBudget());
+    StorageConfig sc = StorageConfig.fromConfig(withRef(
+        "storage.cache { budget = 67108864, strategies { account = \"maximumSize=10\" } }"));
+    assertEquals(64L << 20, sc.getCache().getBudget());
+  }
+
+  @Test
+  public void testPrefetch() {
+    StorageConfig.PrefetchConfig prefetch = StorageConfig.fromConfig(withRef()).getPrefetch();
+    assertFalse(prefetch.isEnable());
+    assertTrue(prefetch.getThreads() >= 1);
+    assertEquals(32, prefetch.getHotSlots());
+
+    prefetch = StorageConfig.fromConfig(withRef(
+        "storage.prefetch { enable = true, threads = 3, hotSlots = 0 }")).getPrefetch();
+    assertTrue(prefetch.isEnable());
+    assertEquals(3, prefetch.getThreads());
+    assertEquals(0, prefetch.getHotSlots());
+
+    assertThrows(IllegalArgumentException.class, () -> StorageConfig.fromConfig(
+        withRef("storage.prefetch.hotSlots = -1")));
+  }
+
   // ---- readProperties() ----
 
   private static List<PropertyConfig> props(String storageProperties) {
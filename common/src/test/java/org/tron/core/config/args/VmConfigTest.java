@@ -32,7 +32,9 @@ public class VmConfigTest {
     assertEquals(10, vm.getLongRunningTime());
     assertFalse(vm.isEstimateEnergy());
     assertEquals(3, vm.getEstimateEnergyMaxRetry());
+    assertFalse(vm.isEstimateEnergySinglePass());
     assertFalse(vm.isVmTrace());
+    assertFalse(vm.isBasicBlockMetering());
     assertFalse(vm.isSaveInternalTx());
     assertFalse(vm.isSaveFeaturedInternalTx());
     assertFalse(vm.isSaveCancelAllUnfreezeV2Details());
@@ -137,4 +139,26 @@ public class VmConfigTest {
     });
     Assert.assertTrue(thrown.getMessage().contains("deadline conversion"));
   }
+
+  // ----- constantCall: off by default, threads 0 = auto, queue and cache clamped -----
+
+  @Test
+  public void testConstantCallDefaults() {
+    VmConfig.ConstantCallConfig call = VmConfig.fromConfig(withRef()).getConstantCall();
+    assertFalse(call.isEnable());
+    assertEquals(Runtime.getRuntime().availableProcessors(), call.getThreads());
+    assertEquals(1000, call.getQueueSize());
+    assertEquals(0, call.getResultCacheSize());
+  }
+
+  @Test
+  public void testConstantCallClamped() {
+    VmConfig.ConstantCallConfig call = VmConfig.fromConfig(withRef(
+        "vm { constantCall { enable = true, threads = 4, queueSize = 0, resultCacheSize = -1 } }"))
+        .getConstantCall();
+    assertTrue(call.isEnable());
+    assertEquals(4, call.getThreads());
+    assertEquals(1, call.getQueueSize());
+    assertEquals(0, call.getResultCacheSize());
+  }
 }
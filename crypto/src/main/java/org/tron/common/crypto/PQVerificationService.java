@@ -0,0 +1,134 @@
+package org.tron.common.crypto;
+
+import io.prometheus.client.Histogram;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import org.tron.common.cache.CacheType;
+import org.tron.common.cache.TronCache;
+import org.tron.common.crypto.pqc.PQSchemeRegistry;
+import org.tron.common.crypto.pqc.PQVerifier;
+import org.tron.common.es.ExecutorServiceManager;
+import org.tron.common.prometheus.MetricKeys;
+import org.tron.common.prometheus.Metrics;
+import org.tron.common.utils.Sha256Hash;
+import org.tron.core.db.ByteArrayWrapper;
+import org.tron.protos.Protocol.PQScheme;
+
+/**
+ * Verifies post-quantum signatures for transaction and block validation and for the PQ
+ * precompiles. A public key is decoded into {@link PQVerifier}s once, kept in the {@code pq-key}
+ * cache under the hash of the scheme and the key, so the signatures of the same account or
+ * witness do not decode it again. Batches run on one work stealing pool shared by every caller.
+ * The latency of each verification is exported per scheme as
+ * {@code tron:pq_verify_latency_seconds}, whose count is the throughput.
+ */
+public class PQVerificationService {
+
+  // about as many as there are threads verifying under the same key at once
+  private static final int VERIFIERS_PER_KEY = 4;
+
+  private PQVerificationService() {
+  }
+
+  // started on first use
+  private static class Holder {
+
+    private static final TronCache<ByteArrayWrapper, Queue<PQVerifier>> KEYS =
+        SignatureCache.allocate(CacheType.pqKey);
+    private static final ForkJoinPool POOL = ExecutorServiceManager.newForkJoinPool(
+        "pq-verify", Runtime.getRuntime().availableProcessors(), true);
+  }
+
+  /**
+   * {@link PQSchemeRegistry#verify} with a verifier of {@code publicKey} from the cache, on the
+   * calling thread. Throws as it does.
+   */
+  public static boolean verify(PQScheme scheme, byte[] publicKey, byte[] message,
+      byte[] signature) {
+    if (publicKey == null || publicKey.length != PQSchemeRegistry.getPublicKeyLength(scheme)) {
+      // rejected before any decoding, not worth a cache entry
+      return PQSchemeRegistry.verify(scheme, publicKey, message, signature);
+    }
+    Histogram.Timer timer = Metrics.histogramStartTimer(MetricKeys.Histogram.PQ_VERIFY_LATENCY,
+        scheme.name());
+    try {
+      Queue<PQVerifier> verifiers = verifiers(scheme, publicKey);
+      PQVerifier verifier = verifiers.poll();
+      if (verifier == null) {
+        verifier = PQSchemeRegistry.newVerifier(scheme, publicKey);
+      }
+      boolean verified = verifier.verify(message, signature);
+      // the queue is bounded, a verifier over its capacity is dropped
+      verifiers.offer(verifier);
+      return verified;
+    } finally {
+      Metrics.histogramObserve(timer);
+    }
+  }
+
+  private static Queue<PQVerifier> verifiers(PQScheme scheme, byte[] publicKey) {
+    ByteArrayWrapper key = new ByteArrayWrapper(Sha256Hash.hash(true, ByteBuffer
+        .allocate(Integer.BYTES + publicKey.length)
+        .putInt(scheme.getNumber())
+        .put(publicKey).array()));
+    Queue<PQVerifier> verifiers = Holder.KEYS.getIfPresent(key);
+    if (verifiers == null) {
+      verifiers = new ArrayBlockingQueue<>(VERIFIERS_PER_KEY);
+      Holder.KEYS.put(key, verifiers);
+    }
+    return verifiers;
+  }
+
+  /**
+   * Submits a batch to the shared pool.
+   *
+   * @return the futures of {@code tasks}, in order
+   */
+  public static <T> List<Future<T>> submit(List<? extends Callable<T>> tasks) {
+    List<Future<T>> futures = new ArrayList<>(tasks.size());
+    for (Callable<T> task : tasks) {
+      // a FutureTask fails with what the task threw, a ForkJoinTask with a copy of it
+      FutureTask<T> future = new FutureTask<>(task);
+      Holder.POOL.execute(future);
+      futures.add(future);
+    }
+    return futures;
+  }
+
+  /**
+   * Runs a batch on the shared pool and waits for it. A batch of one, or one submitted from the
+   * pool itself, runs on the calling thread.
+   *
+   * @return the results of {@code tasks}, in order
+   * @throws ExecutionException of the first task in order that failed
+   */
+  public static <T> List<T> invokeAll(List<? extends Callable<T>> tasks)
+      throws InterruptedException, ExecutionException {
+    List<T> results = new ArrayList<>(tasks.size());
+    Thread current = Thread.currentThread();
+    if (tasks.size() == 1 || current instanceof ForkJoinWorkerThread
+        && ((ForkJoinWorkerThread) current).getPool() == Holder.POOL) {
+      for (Callable<T> task : tasks) {
+        try {
+          results.add(task.call());
+        } catch (Exception e) {
+          throw new ExecutionException(e);
+        }
+      }
+      return results;
+    }
+    for (Future<T> future : submit(tasks)) {
+      results.add(future.get());
+    }
+    return results;
+  }
+}
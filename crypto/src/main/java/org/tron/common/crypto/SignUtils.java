@@ -3,6 +3,7 @@ package org.tron.common.crypto;
 import static org.tron.core.Constant.MAX_PER_SIGN_LENGTH;
 import static org.tron.core.Constant.PER_SIGN_LENGTH;
 
+import java.nio.charset.StandardCharsets;
 import java.security.SecureRandom;
 import java.security.SignatureException;
 import org.tron.common.crypto.ECKey.ECDSASignature;
@@ -45,10 +46,13 @@ public class SignUtils {
       byte[] messageHash, String signatureBase64, boolean isECKeyCryptoEngine)
       throws SignatureException {
     try {
-      if (isECKeyCryptoEngine) {
-        return ECKey.signatureToAddress(messageHash, signatureBase64);
-      }
-      return SM2.signatureToAddress(messageHash, signatureBase64);
+      return SignatureCache.signatureToAddress(messageHash, toCacheKey(signatureBase64),
+          isECKeyCryptoEngine, () -> {
+            if (isECKeyCryptoEngine) {
+              return ECKey.signatureToAddress(messageHash, signatureBase64);
+            }
+            return SM2.signatureToAddress(messageHash, signatureBase64);
+          });
     } catch (Exception e) {
       throw new SignatureException(e);
     }
@@ -66,8 +70,17 @@ public class SignUtils {
       byte[] messageHash, SignatureInterface signatureInterface, boolean isECKeyCryptoEngine)
       throws SignatureException {
     if (isECKeyCryptoEngine) {
-      return ECKey.signatureToAddress(messageHash, (ECDSASignature) signatureInterface);
+      ECDSASignature signature = (ECDSASignature) signatureInterface;
+      return SignatureCache.signatureToAddress(messageHash, toCacheKey(signature.toBase64()),
+          true, () -> ECKey.signatureToAddress(messageHash, signature));
     }
-    return SM2.signatureToAddress(messageHash, (SM2Signature) signatureInterface);
+    SM2Signature signature = (SM2Signature) signatureInterface;
+    return SignatureCache.signatureToAddress(messageHash, toCacheKey(signature.toBase64()),
+        false, () -> SM2.signatureToAddress(messageHash, signature));
+  }
+
+  // the base64 form keeps the header byte as it is, which toByteArray normalizes
+  private static byte[] toCacheKey(String signatureBase64) {
+    return signatureBase64.getBytes(StandardCharsets.US_ASCII);
   }
 }
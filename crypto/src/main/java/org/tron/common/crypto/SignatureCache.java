@@ -0,0 +1,102 @@
+package org.tron.common.crypto;
+
+import com.google.common.base.Throwables;
+import com.google.common.util.concurrent.ExecutionError;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import java.nio.ByteBuffer;
+import java.security.SignatureException;
+import java.util.concurrent.ExecutionException;
+import org.tron.common.cache.CacheManager;
+import org.tron.common.cache.CacheStrategies;
+import org.tron.common.cache.CacheType;
+import org.tron.common.cache.TronCache;
+import org.tron.common.crypto.pqc.PQSchemeRegistry;
+import org.tron.common.parameter.CommonParameter;
+import org.tron.common.utils.Sha256Hash;
+import org.tron.core.db.ByteArrayWrapper;
+import org.tron.protos.Protocol.PQScheme;
+
+/**
+ * Remembers the signer recovered from a signature and the outcome of a post-quantum
+ * verification, so that a signature checked when its transaction is admitted is not checked
+ * again when the transaction arrives in a block, in another capsule, nor when a contract checks
+ * the same signature again. Both are pure functions of their inputs, so an entry never goes
+ * stale. Hits and misses are exported as the {@code signer} and {@code pq-verify} guava caches.
+ */
+public class SignatureCache {
+
+  private SignatureCache() {
+  }
+
+  // allocated on first use, once the storage config the strategies are read from is loaded
+  private static class Caches {
+
+    private static final TronCache<ByteArrayWrapper, byte[]> SIGNERS = allocate(CacheType.signer);
+    private static final TronCache<ByteArrayWrapper, Boolean> PQ_VERIFICATIONS =
+        allocate(CacheType.pqVerify);
+  }
+
+  /**
+   * Allocates a cache with the strategy of the storage config, or the default one when no
+   * storage config is loaded, as in tools and tests.
+   */
+  static <K, V> TronCache<K, V> allocate(CacheType type) {
+    if (CommonParameter.getInstance().getStorage() == null) {
+      return CacheManager.allocate(type, CacheStrategies.getCacheStrategy(type));
+    }
+    return CacheManager.allocate(type);
+  }
+
+  /**
+   * Recovers a signer.
+   */
+  @FunctionalInterface
+  public interface Recovery {
+
+    byte[] recover() throws SignatureException;
+  }
+
+  /**
+   * @param signature the encoded signature, the same encoding for the same signature
+   * @return the address {@code recovery} recovers, from the cache if it ran before on the same
+   *     hash and signature. Failures are not cached.
+   */
+  public static byte[] signatureToAddress(byte[] messageHash, byte[] signature,
+      boolean isECKeyCryptoEngine, Recovery recovery) throws SignatureException {
+    ByteArrayWrapper key = new ByteArrayWrapper(ByteBuffer
+        .allocate(1 + Integer.BYTES + messageHash.length + signature.length)
+        .put((byte) (isECKeyCryptoEngine ? 1 : 0))
+        .putInt(messageHash.length).put(messageHash).put(signature).array());
+    try {
+      return Caches.SIGNERS.get(key, recovery::recover).clone();
+    } catch (ExecutionException e) {
+      // the only checked exception a recovery throws
+      throw (SignatureException) e.getCause();
+    } catch (UncheckedExecutionException | ExecutionError e) {
+      // fail as the recovery would have, not wrapped by the cache
+      Throwables.throwIfUnchecked(e.getCause());
+      throw e;
+    }
+  }
+
+  /**
+   * {@link PQSchemeRegistry#verify}, from the cache if it ran before on the same inputs, else
+   * by {@link PQVerificationService#verify}. The inputs run to kilobytes, so they are keyed by
+   * their hash.
+   */
+  public static boolean verify(PQScheme scheme, byte[] publicKey, byte[] message,
+      byte[] signature) {
+    ByteArrayWrapper key = new ByteArrayWrapper(Sha256Hash.hash(true, ByteBuffer
+        .allocate(Integer.BYTES * 3 + publicKey.length + message.length + signature.length)
+        .putInt(scheme.getNumber())
+        .putInt(publicKey.length).put(publicKey)
+        .putInt(message.length).put(message)
+        .put(signature).array()));
+    Boolean verified = Caches.PQ_VERIFICATIONS.getIfPresent(key);
+    if (verified == null) {
+      verified = PQVerificationService.verify(scheme, publicKey, message, signature);
+      Caches.PQ_VERIFICATIONS.put(key, verified);
+    }
+    return verified;
+  }
+}
@@ -224,33 +224,42 @@ public final class FNDSA512 implements PQSignature {
   }
 
   public static boolean verify(byte[] publicKey, byte[] message, byte[] signature) {
+    return newVerifier(publicKey).verify(message, signature);
+  }
+
+  /**
+   * Returns a verifier bound to {@code publicKey}, decoded once. BC's {@code FalconSigner} keeps
+   * no state between signatures.
+   */
+  public static PQVerifier newVerifier(byte[] publicKey) {
     if (publicKey == null || publicKey.length != PUBLIC_KEY_LENGTH) {
       throw new IllegalArgumentException("FN-DSA public key length must be " + PUBLIC_KEY_LENGTH);
     }
-    if (signature == null
-        || signature.length < SIGNATURE_MIN_LENGTH
-        || signature.length > SIGNATURE_MAX_LENGTH) {
-      throw new IllegalArgumentException("FN-DSA signature length must be "
-          + SIGNATURE_MIN_LENGTH + ".." + SIGNATURE_MAX_LENGTH);
-    }
-    if (message == null) {
-      throw new IllegalArgumentException("message must not be null");
-    }
-    // Reject non-canonical encodings (padded 0x49 / constant-time 0x59) so only the
-    // compressed form is verifiable — see SIGNATURE_HEADER. Ordered after the argument
-    // checks above: malformed arguments throw, a non-canonical-but-well-formed
-    // signature is simply an invalid signature (return false).
-    if (signature[0] != SIGNATURE_HEADER) {
-      return false;
-    }
-    FalconPublicKeyParameters pk = new FalconPublicKeyParameters(PARAMS, publicKey);
     FalconSigner verifier = new FalconSigner();
-    verifier.init(false, pk);
-    try {
-      return verifier.verifySignature(message, signature);
-    } catch (RuntimeException e) {
-      return false;
-    }
+    verifier.init(false, new FalconPublicKeyParameters(PARAMS, publicKey));
+    return (message, signature) -> {
+      if (signature == null
+          || signature.length < SIGNATURE_MIN_LENGTH
+          || signature.length > SIGNATURE_MAX_LENGTH) {
+        throw new IllegalArgumentException("FN-DSA signature length must be "
+            + SIGNATURE_MIN_LENGTH + ".." + SIGNATURE_MAX_LENGTH);
+      }
+      if (message == null) {
+        throw new IllegalArgumentException("message must not be null");
+      }
+      // Reject non-canonical encodings (padded 0x49 / constant-time 0x59) so only the
+      // compressed form is verifiable — see SIGNATURE_HEADER. Ordered after the argument
+      // checks above: malformed arguments throw, a non-canonical-but-well-formed
+      // signature is simply an invalid signature (return false).
+      if (signature[0] != SIGNATURE_HEADER) {
+        return false;
+      }
+      try {
+        return verifier.verifySignature(message, signature);
+      } catch (RuntimeException e) {
+        return false;
+      }
+    };
   }
 
   /**
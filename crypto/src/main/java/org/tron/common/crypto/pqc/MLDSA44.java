@@ -128,24 +128,36 @@ public final class MLDSA44 implements PQSignature {
   }
 
   public static boolean verify(byte[] publicKey, byte[] message, byte[] signature) {
+    return newVerifier(publicKey).verify(message, signature);
+  }
+
+  /**
+   * Returns a verifier bound to {@code publicKey}. The key is decoded, and its hash {@code tr}
+   * absorbed into the message digest, once; BC resets the digest to that state after every
+   * signature. {@code ExpandA} still runs per signature, inside BC's {@code verifyInternal}.
+   */
+  public static PQVerifier newVerifier(byte[] publicKey) {
     if (publicKey == null || publicKey.length != PUBLIC_KEY_LENGTH) {
       throw new IllegalArgumentException("ML-DSA public key length must be " + PUBLIC_KEY_LENGTH);
     }
-    if (signature == null || signature.length != SIGNATURE_LENGTH) {
-      throw new IllegalArgumentException("ML-DSA signature length must be " + SIGNATURE_LENGTH);
-    }
-    if (message == null) {
-      throw new IllegalArgumentException("message must not be null");
-    }
-    MLDSAPublicKeyParameters pk = new MLDSAPublicKeyParameters(PARAMS, publicKey);
     MLDSASigner verifier = new MLDSASigner();
-    verifier.init(false, pk);
-    verifier.update(message, 0, message.length);
-    try {
-      return verifier.verifySignature(signature);
-    } catch (RuntimeException e) {
-      return false;
-    }
+    verifier.init(false, new MLDSAPublicKeyParameters(PARAMS, publicKey));
+    return (message, signature) -> {
+      if (signature == null || signature.length != SIGNATURE_LENGTH) {
+        throw new IllegalArgumentException("ML-DSA signature length must be " + SIGNATURE_LENGTH);
+      }
+      if (message == null) {
+        throw new IllegalArgumentException("message must not be null");
+      }
+      verifier.update(message, 0, message.length);
+      try {
+        return verifier.verifySignature(signature);
+      } catch (RuntimeException e) {
+        // drop the message absorbed, for the next signature
+        verifier.reset();
+        return false;
+      }
+    };
   }
 
   public static byte[] sign(byte[] privateKey, byte[] message) {
@@ -37,6 +37,8 @@ public final class PQSchemeRegistry {
 
     boolean verify(byte[] publicKey, byte[] message, byte[] signature);
 
+    PQVerifier newVerifier(byte[] publicKey);
+
     PQSignature fromSeed(byte[] seed);
 
     PQSignature fromKeypair(byte[] privateKey, byte[] publicKey);
@@ -122,6 +124,11 @@ public final class PQSchemeRegistry {
             return FNDSA512.verify(publicKey, message, signature);
           }
 
+          @Override
+          public PQVerifier newVerifier(byte[] publicKey) {
+            return FNDSA512.newVerifier(publicKey);
+          }
+
           @Override
           public PQSignature fromSeed(byte[] seed) {
             return new FNDSA512(seed);
@@ -153,6 +160,11 @@ public final class PQSchemeRegistry {
             return MLDSA44.verify(publicKey, message, signature);
           }
 
+          @Override
+          public PQVerifier newVerifier(byte[] publicKey) {
+            return MLDSA44.newVerifier(publicKey);
+          }
+
           @Override
           public PQSignature fromSeed(byte[] seed) {
             return new MLDSA44(seed);
@@ -282,6 +294,14 @@ public final class PQSchemeRegistry {
     return require(scheme).ops.verify(publicKey, message, signature);
   }
 
+  /**
+   * A verifier bound to {@code publicKey}, for many signatures under the same key. Throws as
+   * {@link #verify} does for an unknown scheme or a malformed key.
+   */
+  public static PQVerifier newVerifier(PQScheme scheme, byte[] publicKey) {
+    return require(scheme).ops.newVerifier(publicKey);
+  }
+
   public static PQSignature fromSeed(PQScheme scheme, byte[] seed) {
     return require(scheme).ops.fromSeed(seed);
   }
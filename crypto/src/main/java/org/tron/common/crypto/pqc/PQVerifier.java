@@ -0,0 +1,16 @@
+package org.tron.common.crypto.pqc;
+
+/**
+ * A signature verifier bound to one public key, which is decoded once for all the signatures it
+ * checks. Not thread safe: one thread at a time may use it, any number of times.
+ */
+@FunctionalInterface
+public interface PQVerifier {
+
+  /**
+   * Same contract as the stateless {@code verify} of the scheme, with the bound public key:
+   * malformed arguments throw {@link IllegalArgumentException}, a well formed signature that
+   * does not verify returns {@code false}.
+   */
+  boolean verify(byte[] message, byte[] signature);
+}
@@ -0,0 +1,441 @@
+package org.tron.common.crypto.secp256k1;
+
+import java.math.BigInteger;
+import org.bouncycastle.util.BigIntegers;
+
+/**
+ * Arithmetic modulo the secp256k1 field prime p = 2^256 - 2^32 - 977. An element is ten 26 bit
+ * limbs held in a {@code long[]}, least significant first, so the products of two limbs and
+ * their column sums fit a long with room to spare, and the carries are left to the end.
+ *
+ * <p>Elements are kept weakly reduced: every limb below 2^27, and the value congruent to the
+ * element but not necessarily below p. {@link #mul}, {@link #sqr}, {@link #sub},
+ * {@link #negate}, {@link #mulInt} and {@link #reduce} return weakly reduced elements.
+ * {@link #add} does not carry, its limbs stay below 2^28, which {@link #mul} and {@link #sqr}
+ * take as they are. {@link #normalize} makes an element canonical, below p, as it must be to be
+ * compared or encoded.
+ *
+ * <p>The result may be one of the operands.
+ */
+final class Field {
+
+  static final int LIMBS = 10;
+  static final BigInteger P = new BigInteger(
+      "FFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFEFFFFFC2F", 16);
+
+  private static final long M = 0x3FFFFFFL;
+  // 2^260 mod p is 2^36 + 0x3D10: a carry out of the top limb is folded back into limb 0 times
+  // R0 and into limb 1 shifted by 10
+  private static final long R0 = 0x3D10L;
+  // 128 p limb by limb, each above the limbs of a weakly reduced element, so a subtrahend can be
+  // taken from it without borrows
+  private static final long[] P128 = new long[LIMBS];
+  // the powers ones returns
+  private static final int X2 = 0;
+  private static final int X22 = 1;
+  private static final int X223 = 2;
+
+  static {
+    long[] p = fromBigInteger(P);
+    for (int i = 0; i < LIMBS; i++) {
+      P128[i] = p[i] << 7;
+    }
+  }
+
+  private Field() {
+  }
+
+  static long[] create() {
+    return new long[LIMBS];
+  }
+
+  /**
+   * @param value not negative, below 2^256
+   */
+  static long[] fromBigInteger(BigInteger value) {
+    long[] r = create();
+    fromBytes(r, BigIntegers.asUnsignedByteArray(32, value), 0);
+    return r;
+  }
+
+  /**
+   * Reads 32 big endian bytes.
+   */
+  static void fromBytes(long[] r, byte[] in, int offset) {
+    for (int i = 0; i < LIMBS; i++) {
+      r[i] = 0;
+    }
+    for (int i = 0; i < 32; i++) {
+      long v = in[offset + 31 - i] & 0xFF;
+      int bit = i * 8;
+      int limb = bit / 26;
+      int shift = bit % 26;
+      r[limb] |= v << shift;
+      if (shift > 18) {
+        r[limb + 1] |= v >>> (26 - shift);
+      }
+    }
+    for (int i = 0; i < LIMBS; i++) {
+      r[i] &= M;
+    }
+  }
+
+  /**
+   * Writes a normalized element as 32 big endian bytes.
+   */
+  static void toBytes(long[] a, byte[] out, int offset) {
+    for (int i = 0; i < 32; i++) {
+      int bit = i * 8;
+      int limb = bit / 26;
+      int shift = bit % 26;
+      long v = a[limb] >>> shift;
+      if (shift > 18) {
+        v |= a[limb + 1] << (26 - shift);
+      }
+      out[offset + 31 - i] = (byte) v;
+    }
+  }
+
+  static void set(long[] r, long[] a) {
+    System.arraycopy(a, 0, r, 0, LIMBS);
+  }
+
+  static void setInt(long[] r, int value) {
+    r[0] = value;
+    for (int i = 1; i < LIMBS; i++) {
+      r[i] = 0;
+    }
+  }
+
+  static void add(long[] r, long[] a, long[] b) {
+    for (int i = 0; i < LIMBS; i++) {
+      r[i] = a[i] + b[i];
+    }
+  }
+
+  static void sub(long[] r, long[] a, long[] b) {
+    for (int i = 0; i < LIMBS; i++) {
+      r[i] = a[i] + P128[i] - b[i];
+    }
+    reduce(r);
+  }
+
+  static void negate(long[] r, long[] a) {
+    for (int i = 0; i < LIMBS; i++) {
+      r[i] = P128[i] - a[i];
+    }
+    reduce(r);
+  }
+
+  /**
+   * @param k not negative, at most 8
+   */
+  static void mulInt(long[] r, long[] a, int k) {
+    for (int i = 0; i < LIMBS; i++) {
+      r[i] = a[i] * k;
+    }
+    reduce(r);
+  }
+
+  static void mul(long[] r, long[] a, long[] b) {
+    long a0 = a[0], a1 = a[1], a2 = a[2], a3 = a[3], a4 = a[4];
+    long a5 = a[5], a6 = a[6], a7 = a[7], a8 = a[8], a9 = a[9];
+    long b0 = b[0], b1 = b[1], b2 = b[2], b3 = b[3], b4 = b[4];
+    long b5 = b[5], b6 = b[6], b7 = b[7], b8 = b[8], b9 = b[9];
+    long c0 = a0 * b0;
+    long c1 = a0 * b1 + a1 * b0;
+    long c2 = a0 * b2 + a1 * b1 + a2 * b0;
+    long c3 = a0 * b3 + a1 * b2 + a2 * b1 + a3 * b0;
+    long c4 = a0 * b4 + a1 * b3 + a2 * b2 + a3 * b1 + a4 * b0;
+    long c5 = a0 * b5 + a1 * b4 + a2 * b3 + a3 * b2 + a4 * b1 + a5 * b0;
+    long c6 = a0 * b6 + a1 * b5 + a2 * b4 + a3 * b3 + a4 * b2 + a5 * b1 + a6 * b0;
+    long c7 = a0 * b7 + a1 * b6 + a2 * b5 + a3 * b4 + a4 * b3 + a5 * b2 + a6 * b1 + a7 * b0;
+    long c8 = a0 * b8 + a1 * b7 + a2 * b6 + a3 * b5 + a4 * b4 + a5 * b3 + a6 * b2 + a7 * b1
+        + a8 * b0;
+    long c9 = a0 * b9 + a1 * b8 + a2 * b7 + a3 * b6 + a4 * b5 + a5 * b4 + a6 * b3 + a7 * b2
+        + a8 * b1 + a9 * b0;
+    long c10 = a1 * b9 + a2 * b8 + a3 * b7 + a4 * b6 + a5 * b5 + a6 * b4 + a7 * b3 + a8 * b2
+        + a9 * b1;
+    long c11 = a2 * b9 + a3 * b8 + a4 * b7 + a5 * b6 + a6 * b5 + a7 * b4 + a8 * b3 + a9 * b2;
+    long c12 = a3 * b9 + a4 * b8 + a5 * b7 + a6 * b6 + a7 * b5 + a8 * b4 + a9 * b3;
+    long c13 = a4 * b9 + a5 * b8 + a6 * b7 + a7 * b6 + a8 * b5 + a9 * b4;
+    long c14 = a5 * b9 + a6 * b8 + a7 * b7 + a8 * b6 + a9 * b5;
+    long c15 = a6 * b9 + a7 * b8 + a8 * b7 + a9 * b6;
+    long c16 = a7 * b9 + a8 * b8 + a9 * b7;
+    long c17 = a8 * b9 + a9 * b8;
+    long c18 = a9 * b9;
+    reduceWide(r, c0, c1, c2, c3, c4, c5, c6, c7, c8, c9, c10, c11, c12, c13, c14, c15,
+        c16, c17, c18);
+  }
+
+  static void sqr(long[] r, long[] a) {
+    long a0 = a[0], a1 = a[1], a2 = a[2], a3 = a[3], a4 = a[4];
+    long a5 = a[5], a6 = a[6], a7 = a[7], a8 = a[8], a9 = a[9];
+    // cross products appear twice
+    long d0 = a0 << 1, d1 = a1 << 1, d2 = a2 << 1, d3 = a3 << 1, d4 = a4 << 1;
+    long d5 = a5 << 1, d6 = a6 << 1, d7 = a7 << 1, d8 = a8 << 1;
+    long c0 = a0 * a0;
+    long c1 = d0 * a1;
+    long c2 = d0 * a2 + a1 * a1;
+    long c3 = d0 * a3 + d1 * a2;
+    long c4 = d0 * a4 + d1 * a3 + a2 * a2;
+    long c5 = d0 * a5 + d1 * a4 + d2 * a3;
+    long c6 = d0 * a6 + d1 * a5 + d2 * a4 + a3 * a3;
+    long c7 = d0 * a7 + d1 * a6 + d2 * a5 + d3 * a4;
+    long c8 = d0 * a8 + d1 * a7 + d2 * a6 + d3 * a5 + a4 * a4;
+    long c9 = d0 * a9 + d1 * a8 + d2 * a7 + d3 * a6 + d4 * a5;
+    long c10 = d1 * a9 + d2 * a8 + d3 * a7 + d4 * a6 + a5 * a5;
+    long c11 = d2 * a9 + d3 * a8 + d4 * a7 + d5 * a6;
+    long c12 = d3 * a9 + d4 * a8 + d5 * a7 + a6 * a6;
+    long c13 = d4 * a9 + d5 * a8 + d6 * a7;
+    long c14 = d5 * a9 + d6 * a8 + a7 * a7;
+    long c15 = d6 * a9 + d7 * a8;
+    long c16 = d7 * a9 + a8 * a8;
+    long c17 = d8 * a9;
+    long c18 = a9 * a9;
+    reduceWide(r, c0, c1, c2, c3, c4, c5, c6, c7, c8, c9, c10, c11, c12, c13, c14, c15,
+        c16, c17, c18);
+  }
+
+  /**
+   * Carries the 19 columns of a product into limbs and folds the ones above 2^260 back.
+   */
+  private static void reduceWide(long[] r, long c0, long c1, long c2, long c3, long c4, long c5,
+      long c6, long c7, long c8, long c9, long c10, long c11, long c12, long c13, long c14,
+      long c15, long c16, long c17, long c18) {
+    c1 += c0 >>> 26;
+    c0 &= M;
+    c2 += c1 >>> 26;
+    c1 &= M;
+    c3 += c2 >>> 26;
+    c2 &= M;
+    c4 += c3 >>> 26;
+    c3 &= M;
+    c5 += c4 >>> 26;
+    c4 &= M;
+    c6 += c5 >>> 26;
+    c5 &= M;
+    c7 += c6 >>> 26;
+    c6 &= M;
+    c8 += c7 >>> 26;
+    c7 &= M;
+    c9 += c8 >>> 26;
+    c8 &= M;
+    c10 += c9 >>> 26;
+    c9 &= M;
+    c11 += c10 >>> 26;
+    c10 &= M;
+    c12 += c11 >>> 26;
+    c11 &= M;
+    c13 += c12 >>> 26;
+    c12 &= M;
+    c14 += c13 >>> 26;
+    c13 &= M;
+    c15 += c14 >>> 26;
+    c14 &= M;
+    c16 += c15 >>> 26;
+    c15 &= M;
+    c17 += c16 >>> 26;
+    c16 &= M;
+    c18 += c17 >>> 26;
+    c17 &= M;
+    long c19 = c18 >>> 26;
+    c18 &= M;
+    // from the top down, so that what limb 19 adds to limb 10 is folded in turn
+    c9 += c19 * R0;
+    c10 += c19 << 10;
+    c8 += c18 * R0;
+    c9 += c18 << 10;
+    c7 += c17 * R0;
+    c8 += c17 << 10;
+    c6 += c16 * R0;
+    c7 += c16 << 10;
+    c5 += c15 * R0;
+    c6 += c15 << 10;
+    c4 += c14 * R0;
+    c5 += c14 << 10;
+    c3 += c13 * R0;
+    c4 += c13 << 10;
+    c2 += c12 * R0;
+    c3 += c12 << 10;
+    c1 += c11 * R0;
+    c2 += c11 << 10;
+    c0 += c10 * R0;
+    c1 += c10 << 10;
+    r[0] = c0;
+    r[1] = c1;
+    r[2] = c2;
+    r[3] = c3;
+    r[4] = c4;
+    r[5] = c5;
+    r[6] = c6;
+    r[7] = c7;
+    r[8] = c8;
+    r[9] = c9;
+    reduce(r);
+  }
+
+  /**
+   * Weakly reduces an element whose limbs are not negative and below 2^62.
+   */
+  static void reduce(long[] r) {
+    long c = r[0];
+    r[0] = c & M;
+    for (int i = 1; i < LIMBS; i++) {
+      c = r[i] + (c >>> 26);
+      r[i] = c & M;
+    }
+    long top = c >>> 26;
+    c = r[0] + top * R0;
+    r[0] = c & M;
+    c = r[1] + (top << 10) + (c >>> 26);
+    r[1] = c & M;
+    r[2] += c >>> 26;
+  }
+
+  /**
+   * Reduces an element to its canonical value, below p.
+   */
+  static void normalize(long[] r) {
+    // every limb below 2^26, so the value is below 2^260
+    long carry;
+    do {
+      carry = carry(r);
+      r[0] += carry * R0;
+      r[1] += carry << 10;
+    } while (carry != 0);
+    // below 2^256, folding the bits above it back in as 2^256 mod p = 2^32 + 0x3D1
+    long high;
+    while ((high = r[9] >>> 22) != 0) {
+      r[9] &= 0x3FFFFFL;
+      r[0] += high * 0x3D1L;
+      r[1] += high << 6;
+      carry(r);
+    }
+    // below p: the value is at least p if adding 2^256 - p to it reaches 2^256
+    long[] t = create();
+    set(t, r);
+    t[0] += 0x3D1L;
+    t[1] += 1L << 6;
+    carry(t);
+    if (t[9] >>> 22 != 0) {
+      t[9] &= 0x3FFFFFL;
+      set(r, t);
+    }
+  }
+
+  /**
+   * @return the carry out of the top limb, the limbs left below 2^26
+   */
+  private static long carry(long[] r) {
+    long carry = 0;
+    for (int i = 0; i < LIMBS; i++) {
+      long c = r[i] + carry;
+      r[i] = c & M;
+      carry = c >>> 26;
+    }
+    return carry;
+  }
+
+  static boolean isZero(long[] a) {
+    long[] t = create();
+    set(t, a);
+    normalize(t);
+    for (int i = 0; i < LIMBS; i++) {
+      if (t[i] != 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * @param a normalized
+   */
+  static boolean isOdd(long[] a) {
+    return (a[0] & 1) != 0;
+  }
+
+  /**
+   * r = a^(p - 2) = 1 / a, zero for zero. The blocks of ones in p - 2 are 223, 22, 2 and 1 long,
+   * built by the chain 2, 3, 6, 9, 11, 22, 44, 88, 176, 220, 223.
+   */
+  static void inv(long[] r, long[] a) {
+    long[][] x = ones(a);
+    long[] t = x[X223];
+    sqrTimes(t, 23);
+    mul(t, t, x[X22]);
+    sqrTimes(t, 5);
+    mul(t, t, a);
+    sqrTimes(t, 3);
+    mul(t, t, x[X2]);
+    sqrTimes(t, 2);
+    mul(r, t, a);
+  }
+
+  /**
+   * r = a^((p + 1) / 4), a square root of a if there is one, as p = 3 mod 4.
+   *
+   * @return whether a is a square, r its root
+   */
+  static boolean sqrt(long[] r, long[] a) {
+    long[][] x = ones(a);
+    long[] t = x[X223];
+    sqrTimes(t, 23);
+    mul(t, t, x[X22]);
+    sqrTimes(t, 6);
+    mul(t, t, x[X2]);
+    sqrTimes(t, 2);
+    set(r, t);
+    sqr(t, t);
+    sub(t, t, a);
+    return isZero(t);
+  }
+
+  /**
+   * @return a^(2^2 - 1), a^(2^22 - 1) and a^(2^223 - 1)
+   */
+  private static long[][] ones(long[] a) {
+    long[] x2 = create();
+    sqr(x2, a);
+    mul(x2, x2, a);
+    long[] x3 = create();
+    sqr(x3, x2);
+    mul(x3, x3, a);
+    long[] t = create();
+    set(t, x3);
+    sqrTimes(t, 3);
+    mul(t, t, x3);
+    sqrTimes(t, 3);
+    mul(t, t, x3);
+    sqrTimes(t, 2);
+    mul(t, t, x2);
+    long[] x11 = create();
+    set(x11, t);
+    sqrTimes(t, 11);
+    mul(t, t, x11);
+    long[] x22 = create();
+    set(x22, t);
+    sqrTimes(t, 22);
+    mul(t, t, x22);
+    long[] x44 = create();
+    set(x44, t);
+    sqrTimes(t, 44);
+    mul(t, t, x44);
+    long[] x88 = create();
+    set(x88, t);
+    sqrTimes(t, 88);
+    mul(t, t, x88);
+    sqrTimes(t, 44);
+    mul(t, t, x44);
+    sqrTimes(t, 3);
+    mul(t, t, x3);
+    return new long[][] {x2, x22, t};
+  }
+
+  private static void sqrTimes(long[] r, int times) {
+    for (int i = 0; i < times; i++) {
+      sqr(r, r);
+    }
+  }
+}
@@ -0,0 +1,429 @@
+package org.tron.common.crypto.secp256k1;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+
+/**
+ * Public key recovery on secp256k1, y^2 = x^3 + 7 over {@link Field}. It returns what the
+ * generic BouncyCastle point arithmetic returned, bit for bit, computed on fixed width limbs.
+ *
+ * <p>The key is Q = u1 G + u2 R. Both scalars are split with the endomorphism of the curve,
+ * λ (x, y) = (β x, y), into halves of at most 128 bits, k = k1 + k2 λ mod n. The four products
+ * are then summed in a single pass of at most 129 doublings (Shamir's trick). Each half is
+ * written in width-w NAF: odd digits below 2^(w - 1), with at most one nonzero digit in any w
+ * consecutive ones. The odd multiples of G and of λ G are tabled once, in affine coordinates.
+ * Those of R and of λ R are built for each recovery. Points are in Jacobian coordinates, (X, Y, Z)
+ * for (X / Z^2, Y / Z^3).
+ */
+public final class Secp256k1 {
+
+  static final BigInteger N = new BigInteger(
+      "FFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFEBAAEDCE6AF48A03BBFD25E8CD0364141", 16);
+  static final BigInteger LAMBDA = new BigInteger(
+      "5363AD4CC05C30E0A5261C028812645A122E22EA20816678DF02967C1B23BD72", 16);
+  static final BigInteger BETA = new BigInteger(
+      "7AE96A2B657C07106E64479EAC3434E99CF0497512F58995C1396C28719501EE", 16);
+  static final BigInteger GX = new BigInteger(
+      "79BE667EF9DCBBAC55A06295CE870B07029BFCDB2DCE28D959F2815B16F81798", 16);
+  static final BigInteger GY = new BigInteger(
+      "483ADA7726A3C4655DA4FBFC0E1108A8FD17B448A68554199C47D08FFB10D4B8", 16);
+
+  // a basis (a1, b1), (a2, b2) of the vectors with a + b λ = 0 mod n, about 128 bits long
+  private static final BigInteger A1 = new BigInteger("3086D221A7D46BCDE86C90E49284EB15", 16);
+  private static final BigInteger B1 = new BigInteger("-E4437ED6010E88286F547FA90ABFE4C3", 16);
+  private static final BigInteger A2 = new BigInteger("114CA50F7A8E2F3F657C1108D9D44CFD8", 16);
+  private static final BigInteger B2 = A1;
+  // b2 / n and -b1 / n in fixed point, so that splitting divides by n with a multiplication
+  private static final int SPLIT_SHIFT = 384;
+  private static final BigInteger SPLIT_HALF = BigInteger.ONE.shiftLeft(SPLIT_SHIFT - 1);
+  private static final BigInteger G1 = roundDiv(B2.shiftLeft(SPLIT_SHIFT), N);
+  private static final BigInteger G2 = roundDiv(B1.negate().shiftLeft(SPLIT_SHIFT), N);
+
+  private static final int WINDOW_R = 5;
+  private static final int WINDOW_G = 12;
+  private static final long[] BETA_LIMBS = Field.fromBigInteger(BETA);
+  private static final long[] SEVEN = Field.fromBigInteger(BigInteger.valueOf(7));
+  // the odd multiples G, 3 G, .., (2^(WINDOW_G - 1) - 1) G, and the x of their λ multiples
+  private static final long[][] G_X;
+  private static final long[][] G_Y;
+  private static final long[][] LAMBDA_G_X;
+
+  static {
+    int size = 1 << (WINDOW_G - 2);
+    Scratch scratch = new Scratch();
+    Point[] multiples = scratch.oddMultiples(Field.fromBigInteger(GX), Field.fromBigInteger(GY),
+        size);
+    G_X = new long[size][];
+    G_Y = new long[size][];
+    LAMBDA_G_X = new long[size][];
+    // one inversion for all of them: 1 / z_i = z_0 .. z_(i - 1) / (z_0 .. z_i)
+    long[][] products = new long[size][];
+    long[] product = Field.create();
+    Field.setInt(product, 1);
+    for (int i = 0; i < size; i++) {
+      Field.mul(product, product, multiples[i].z);
+      products[i] = product.clone();
+    }
+    long[] inverse = Field.create();
+    Field.inv(inverse, product);
+    for (int i = size - 1; i >= 0; i--) {
+      long[] zInv = Field.create();
+      if (i > 0) {
+        Field.mul(zInv, inverse, products[i - 1]);
+      } else {
+        Field.set(zInv, inverse);
+      }
+      Field.mul(inverse, inverse, multiples[i].z);
+      G_X[i] = Field.create();
+      G_Y[i] = Field.create();
+      scratch.toAffine(G_X[i], G_Y[i], multiples[i], zInv);
+      LAMBDA_G_X[i] = Field.create();
+      Field.mul(LAMBDA_G_X[i], G_X[i], BETA_LIMBS);
+      Field.normalize(LAMBDA_G_X[i]);
+    }
+  }
+
+  private Secp256k1() {
+  }
+
+  /**
+   * Recovers the key of a signature as SEC 1 v2 section 4.1.6 does, steps 1.1 to 1.6.1, for the
+   * recId given: R is the point with x = r + (recId / 2) n and the parity of y recId & 1, e the
+   * hash, and the key Q = r^-1 (s R - e G). nR need not be checked to be infinity: every point
+   * is a multiple of G, whose order n is prime.
+   *
+   * @param r not negative
+   * @param s not negative
+   * @return the uncompressed encoding of the key, a single 0 if it is infinity, null if x is not
+   *     below p
+   * @throws IllegalArgumentException if no point has the x coordinate of R
+   * @throws ArithmeticException if r is 0 mod n
+   */
+  public static byte[] recoverPubBytes(int recId, BigInteger r, BigInteger s,
+      byte[] messageHash) {
+    BigInteger x = r.add(BigInteger.valueOf((long) recId / 2).multiply(N));
+    if (x.compareTo(Field.P) >= 0) {
+      return null;
+    }
+    long[] rx = Field.fromBigInteger(x);
+    long[] ry = decompress(rx, (recId & 1) == 1);
+    BigInteger e = new BigInteger(1, messageHash);
+    BigInteger eInv = BigInteger.ZERO.subtract(e).mod(N);
+    BigInteger rInv = r.modInverse(N);
+    BigInteger srInv = rInv.multiply(s).mod(N);
+    BigInteger eInvrInv = rInv.multiply(eInv).mod(N);
+    return sumOfTwoMultiplies(eInvrInv, rx, ry, srInv);
+  }
+
+  /**
+   * @return the y of the point with x coordinate x and y of the parity given
+   * @throws IllegalArgumentException if x^3 + 7 is no square, as BouncyCastle decoding a
+   *     compressed point does
+   */
+  private static long[] decompress(long[] x, boolean odd) {
+    long[] rhs = Field.create();
+    Field.sqr(rhs, x);
+    Field.mul(rhs, rhs, x);
+    Field.add(rhs, rhs, SEVEN);
+    Field.reduce(rhs);
+    long[] y = Field.create();
+    if (!Field.sqrt(y, rhs)) {
+      throw new IllegalArgumentException("Invalid point compression");
+    }
+    Field.normalize(y);
+    if (Field.isOdd(y) != odd) {
+      Field.negate(y, y);
+      Field.normalize(y);
+    }
+    return y;
+  }
+
+  /**
+   * @return the uncompressed encoding of u1 G + u2 R, a single 0 if it is infinity
+   */
+  private static byte[] sumOfTwoMultiplies(BigInteger u1, long[] rx, long[] ry, BigInteger u2) {
+    BigInteger[] g = split(u1);
+    BigInteger[] q = split(u2);
+    int[] g1 = wnaf(g[0], WINDOW_G);
+    int[] g2 = wnaf(g[1], WINDOW_G);
+    int[] r1 = wnaf(q[0], WINDOW_R);
+    int[] r2 = wnaf(q[1], WINDOW_R);
+
+    Scratch scratch = new Scratch();
+    Point[] rTable = scratch.oddMultiples(rx, ry, 1 << (WINDOW_R - 2));
+    Point[] lambdaRTable = new Point[rTable.length];
+    for (int i = 0; i < rTable.length; i++) {
+      lambdaRTable[i] = new Point();
+      lambdaRTable[i].set(rTable[i]);
+      Field.mul(lambdaRTable[i].x, rTable[i].x, BETA_LIMBS);
+    }
+
+    Point acc = new Point();
+    int length = Math.max(Math.max(g1.length, g2.length), Math.max(r1.length, r2.length));
+    for (int i = length - 1; i >= 0; i--) {
+      scratch.dbl(acc, acc);
+      if (i < r1.length && r1[i] != 0) {
+        scratch.add(acc, acc, rTable[(Math.abs(r1[i]) - 1) / 2], r1[i] < 0);
+      }
+      if (i < r2.length && r2[i] != 0) {
+        scratch.add(acc, acc, lambdaRTable[(Math.abs(r2[i]) - 1) / 2], r2[i] < 0);
+      }
+      if (i < g1.length && g1[i] != 0) {
+        int index = (Math.abs(g1[i]) - 1) / 2;
+        scratch.addAffine(acc, acc, G_X[index], G_Y[index], g1[i] < 0);
+      }
+      if (i < g2.length && g2[i] != 0) {
+        int index = (Math.abs(g2[i]) - 1) / 2;
+        scratch.addAffine(acc, acc, LAMBDA_G_X[index], G_Y[index], g2[i] < 0);
+      }
+    }
+
+    if (acc.infinity) {
+      return new byte[1];
+    }
+    long[] zInv = Field.create();
+    Field.inv(zInv, acc.z);
+    long[] x = Field.create();
+    long[] y = Field.create();
+    scratch.toAffine(x, y, acc, zInv);
+    byte[] encoded = new byte[65];
+    encoded[0] = 0x04;
+    Field.toBytes(x, encoded, 1);
+    Field.toBytes(y, encoded, 33);
+    return encoded;
+  }
+
+  /**
+   * @param k in [0, n)
+   * @return k1 and k2 of at most 128 bits, either sign, with k = k1 + k2 λ mod n
+   */
+  static BigInteger[] split(BigInteger k) {
+    BigInteger c1 = k.multiply(G1).add(SPLIT_HALF).shiftRight(SPLIT_SHIFT);
+    BigInteger c2 = k.multiply(G2).add(SPLIT_HALF).shiftRight(SPLIT_SHIFT);
+    BigInteger k1 = k.subtract(c1.multiply(A1)).subtract(c2.multiply(A2));
+    BigInteger k2 = c1.multiply(B1).add(c2.multiply(B2)).negate();
+    return new BigInteger[] {k1, k2};
+  }
+
+  /**
+   * @return the width-w NAF of k, least significant digit first, up to the last nonzero one
+   */
+  static int[] wnaf(BigInteger k, int w) {
+    BigInteger abs = k.abs();
+    int length = abs.bitLength() + 1;
+    long[] words = new long[(length + 63) / 64 + 1];
+    for (int i = 0; i < words.length; i++) {
+      words[i] = abs.shiftRight(i * 64).longValue();
+    }
+    int sign = k.signum() < 0 ? -1 : 1;
+    int[] wnaf = new int[length];
+    int last = -1;
+    int carry = 0;
+    int bit = 0;
+    while (bit < length) {
+      if (bits(words, bit, 1) == carry) {
+        bit++;
+        continue;
+      }
+      int now = Math.min(w, length - bit);
+      int word = bits(words, bit, now) + carry;
+      carry = (word >> (w - 1)) & 1;
+      word -= carry << w;
+      wnaf[bit] = sign * word;
+      last = bit;
+      bit += now;
+    }
+    return Arrays.copyOf(wnaf, last + 1);
+  }
+
+  private static int bits(long[] words, int bit, int count) {
+    int index = bit >>> 6;
+    int shift = bit & 63;
+    long value = words[index] >>> shift;
+    if (shift + count > 64) {
+      value |= words[index + 1] << (64 - shift);
+    }
+    return (int) (value & ((1L << count) - 1));
+  }
+
+  private static BigInteger roundDiv(BigInteger a, BigInteger b) {
+    return a.shiftLeft(1).add(b).divide(b.shiftLeft(1));
+  }
+
+  private static final class Point {
+
+    private final long[] x = Field.create();
+    private final long[] y = Field.create();
+    private final long[] z = Field.create();
+    private boolean infinity = true;
+
+    private void set(Point a) {
+      Field.set(x, a.x);
+      Field.set(y, a.y);
+      Field.set(z, a.z);
+      infinity = a.infinity;
+    }
+  }
+
+  /**
+   * The point formulas, with the temporaries they share. A result may be the first operand.
+   */
+  private static final class Scratch {
+
+    private final long[] t0 = Field.create();
+    private final long[] t1 = Field.create();
+    private final long[] t2 = Field.create();
+    private final long[] t3 = Field.create();
+    private final long[] t4 = Field.create();
+    private final long[] t5 = Field.create();
+    private final long[] t6 = Field.create();
+    private final long[] t7 = Field.create();
+    private final long[] negY = Field.create();
+
+    /**
+     * @return (x, y), 3 (x, y), .., (2 size - 1) (x, y)
+     */
+    private Point[] oddMultiples(long[] x, long[] y, int size) {
+      Point[] table = new Point[size];
+      table[0] = new Point();
+      addAffine(table[0], table[0], x, y, false);
+      Point twice = new Point();
+      dbl(twice, table[0]);
+      for (int i = 1; i < size; i++) {
+        table[i] = new Point();
+        add(table[i], table[i - 1], twice, false);
+      }
+      return table;
+    }
+
+    private void toAffine(long[] x, long[] y, Point a, long[] zInv) {
+      Field.sqr(t0, zInv);
+      Field.mul(x, a.x, t0);
+      Field.normalize(x);
+      Field.mul(t0, t0, zInv);
+      Field.mul(y, a.y, t0);
+      Field.normalize(y);
+    }
+
+    // dbl-2009-l
+    private void dbl(Point r, Point a) {
+      if (a.infinity) {
+        r.infinity = true;
+        return;
+      }
+      Field.sqr(t0, a.x); // A = X^2
+      Field.sqr(t1, a.y); // B = Y^2
+      Field.sqr(t2, t1); // C = B^2
+      Field.add(t3, a.x, t1);
+      Field.sqr(t3, t3);
+      Field.sub(t3, t3, t0);
+      Field.sub(t3, t3, t2);
+      Field.mulInt(t3, t3, 2); // D = 2 ((X + B)^2 - A - C)
+      Field.mulInt(t4, t0, 3); // E = 3 A
+      Field.sqr(t5, t4); // F = E^2
+      Field.mul(r.z, a.y, a.z);
+      Field.mulInt(r.z, r.z, 2); // Z3 = 2 Y Z
+      Field.mulInt(t6, t3, 2);
+      Field.sub(r.x, t5, t6); // X3 = F - 2 D
+      Field.sub(t6, t3, r.x);
+      Field.mul(t6, t4, t6);
+      Field.mulInt(t2, t2, 8);
+      Field.sub(r.y, t6, t2); // Y3 = E (D - X3) - 8 C
+      r.infinity = false;
+    }
+
+    // add-1998-cmo-2, b must not be r
+    private void add(Point r, Point a, Point b, boolean negateB) {
+      if (b.infinity) {
+        r.set(a);
+        return;
+      }
+      long[] by = b.y;
+      if (negateB) {
+        Field.negate(negY, b.y);
+        by = negY;
+      }
+      if (a.infinity) {
+        Field.set(r.x, b.x);
+        Field.set(r.y, by);
+        Field.set(r.z, b.z);
+        r.infinity = false;
+        return;
+      }
+      Field.sqr(t0, a.z); // Z1Z1 = Z1^2
+      Field.sqr(t1, b.z); // Z2Z2 = Z2^2
+      Field.mul(t2, a.x, t1); // U1 = X1 Z2Z2
+      Field.mul(t3, b.x, t0); // U2 = X2 Z1Z1
+      Field.mul(t4, a.y, b.z);
+      Field.mul(t4, t4, t1); // S1 = Y1 Z2 Z2Z2
+      Field.mul(t5, by, a.z);
+      Field.mul(t5, t5, t0); // S2 = Y2 Z1 Z1Z1
+      Field.sub(t3, t3, t2); // H = U2 - U1
+      Field.sub(t5, t5, t4); // R = S2 - S1
+      if (Field.isZero(t3)) {
+        if (Field.isZero(t5)) {
+          dbl(r, a);
+        } else {
+          r.infinity = true;
+        }
+        return;
+      }
+      Field.mul(r.z, a.z, b.z);
+      Field.mul(r.z, r.z, t3); // Z3 = Z1 Z2 H
+      Field.sqr(t0, t3); // HH = H^2
+      Field.mul(t1, t3, t0); // HHH = H HH
+      Field.mul(t6, t2, t0); // V = U1 HH
+      Field.mul(t7, t4, t1); // S1 HHH
+      Field.sqr(r.x, t5);
+      Field.sub(r.x, r.x, t1);
+      Field.mulInt(t0, t6, 2);
+      Field.sub(r.x, r.x, t0); // X3 = R^2 - HHH - 2 V
+      Field.sub(t6, t6, r.x);
+      Field.mul(t6, t5, t6);
+      Field.sub(r.y, t6, t7); // Y3 = R (V - X3) - S1 HHH
+      r.infinity = false;
+    }
+
+    // madd-2004-hmv, the add above with Z2 = 1
+    private void addAffine(Point r, Point a, long[] bx, long[] by, boolean negateB) {
+      if (negateB) {
+        Field.negate(negY, by);
+        by = negY;
+      }
+      if (a.infinity) {
+        Field.set(r.x, bx);
+        Field.set(r.y, by);
+        Field.setInt(r.z, 1);
+        r.infinity = false;
+        return;
+      }
+      Field.sqr(t0, a.z); // Z1Z1 = Z1^2
+      Field.mul(t1, bx, t0); // U2 = X2 Z1Z1
+      Field.mul(t2, by, a.z);
+      Field.mul(t2, t2, t0); // S2 = Y2 Z1 Z1Z1
+      Field.sub(t1, t1, a.x); // H = U2 - X1
+      Field.sub(t2, t2, a.y); // R = S2 - Y1
+      if (Field.isZero(t1)) {
+        if (Field.isZero(t2)) {
+          dbl(r, a);
+        } else {
+          r.infinity = true;
+        }
+        return;
+      }
+      Field.mul(r.z, a.z, t1); // Z3 = Z1 H
+      Field.sqr(t0, t1); // HH = H^2
+      Field.mul(t3, t1, t0); // HHH = H HH
+      Field.mul(t4, a.x, t0); // V = X1 HH
+      Field.mul(t5, a.y, t3); // Y1 HHH
+      Field.sqr(r.x, t2);
+      Field.sub(r.x, r.x, t3);
+      Field.mulInt(t0, t4, 2);
+      Field.sub(r.x, r.x, t0); // X3 = R^2 - HHH - 2 V
+      Field.sub(t4, t4, r.x);
+      Field.mul(t4, t2, t4);
+      Field.sub(r.y, t4, t5); // Y3 = R (V - X3) - Y1 HHH
+      r.infinity = false;
+    }
+  }
+}
@@ -0,0 +1,334 @@
+package org.tron.core;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.primitives.Longs;
+import com.google.protobuf.ByteString;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.collections4.CollectionUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.tron.api.GrpcAPI.Return;
+import org.tron.api.GrpcAPI.TransactionExtention;
+import org.tron.common.es.ExecutorServiceManager;
+import org.tron.common.parameter.CommonParameter;
+import org.tron.common.prometheus.MetricKeys;
+import org.tron.common.prometheus.MetricLabels;
+import org.tron.common.prometheus.Metrics;
+import org.tron.core.capsule.BlockCapsule;
+import org.tron.core.capsule.BlockCapsule.BlockId;
+import org.tron.core.capsule.TransactionCapsule;
+import org.tron.core.capsule.TransactionResultCapsule;
+import org.tron.core.db2.core.Chainbase;
+import org.tron.core.db2.core.ReadWriteSet;
+import org.tron.core.db2.core.Snapshot;
+import org.tron.core.exception.ContractExeException;
+import org.tron.core.exception.ContractValidateException;
+import org.tron.core.exception.HeaderNotFound;
+import org.tron.core.exception.VMIllegalException;
+import org.tron.core.vm.program.EnergyTrace;
+import org.tron.core.vm.trace.ExecutionTracer;
+import org.tron.protos.Protocol.Transaction;
+import org.tron.protos.Protocol.Transaction.Contract;
+import org.tron.protos.Protocol.Transaction.Contract.ContractType;
+
+/**
+ * Runs the constant calls of {@link Wallet} on a bounded pool of workers, against the state the
+ * head block left instead of the latest state, which the pending transactions are executed into.
+ * The head block and the snapshots the databases are at are taken once per head, so every call
+ * at the same head sees the same state, reads it through a {@link ReadWriteSet} opened at those
+ * snapshots, and can share its result with the calls after it.
+ *
+ * <p>A call that reads what a read write set can not record, as a precompiled contract or an
+ * iterator, runs against the latest state on the calling thread, as every call did before. So
+ * does every call routed to the solidity or PBFT state, every call traced by the {@link
+ * ExecutionTracer} installed on the calling thread, and every call before the first head is
+ * set.</p>
+ *
+ * <p>Results are kept until the head moves, for contract calls that called no other contract:
+ * the id of the transaction is the only input a call does not share with the calls it is keyed
+ * with, and only the internal transactions a call makes depend on it. A kept result of a call
+ * that traced its energy also hands the trace on, so an estimation it serves stays single
+ * pass.</p>
+ */
+@Slf4j(topic = "API")
+@Component
+public class ConstantCallEngine {
+
+  private static final String NAME = "constant-call";
+
+  @Autowired
+  private ChainBaseManager chainBaseManager;
+
+  private ExecutorService executor;
+  private Cache<ByteString, Outcome> results;
+  private volatile Head head;
+
+  /**
+   * Executes a constant call against {@code headBlock}.
+   */
+  @FunctionalInterface
+  public interface Call {
+
+    void run(BlockCapsule headBlock, TransactionCapsule trxCap,
+        TransactionExtention.Builder builder, Return.Builder retBuilder, boolean isEstimating)
+        throws ContractValidateException, ContractExeException, VMIllegalException;
+  }
+
+  @PostConstruct
+  public void init() {
+    CommonParameter parameter = CommonParameter.getInstance();
+    if (!parameter.isConstantCallEnable()) {
+      return;
+    }
+    executor = ExecutorServiceManager.newThreadPoolExecutor(parameter.getConstantCallThreads(),
+        parameter.getConstantCallThreads(), 0L, TimeUnit.MILLISECONDS,
+        new LinkedBlockingQueue<>(parameter.getConstantCallQueueSize()), NAME, true);
+    if (parameter.getConstantCallResultCacheSize() > 0) {
+      results = CacheBuilder.newBuilder()
+          .maximumSize(parameter.getConstantCallResultCacheSize()).build();
+    }
+  }
+
+  public boolean isEnabled() {
+    return executor != null;
+  }
+
+  /**
+   * Runs the calls after it against {@code heads}, the snapshots the databases are at once the
+   * head block is applied, and drops the results kept for the head before. Call it while no
+   * pending session is built on top of the head.
+   */
+  public void onHead(Map<Chainbase, Snapshot> heads) {
+    head = new Head(chainBaseManager.getHeadBlockId(), heads);
+    if (results != null) {
+      results.invalidateAll();
+    }
+  }
+
+  /**
+   * Runs {@code call} for {@code trxCap}, filling {@code builder}, {@code retBuilder} and the
+   * result of {@code trxCap} as running it on the calling thread would.
+   *
+   * @param energyTrace the trace {@code call} fills, if not null; a result kept from a traced
+   *     call fills it as the call did
+   */
+  public void call(TransactionCapsule trxCap, TransactionExtention.Builder builder,
+      Return.Builder retBuilder, boolean isEstimating, EnergyTrace energyTrace, Call call)
+      throws ContractValidateException, ContractExeException, HeaderNotFound, VMIllegalException {
+    Head current = head;
+    if (executor == null || current == null || !isAtHead()
+        || ExecutionTracer.current() != null) {
+      call.run(latestBlock(), trxCap, builder, retBuilder, isEstimating);
+      return;
+    }
+    BlockCapsule block = headBlock(current);
+    if (block == null) {
+      // the head moved, the state the new one left is not known yet
+      call.run(latestBlock(), trxCap, builder, retBuilder, isEstimating);
+      return;
+    }
+    ByteString key = key(current, trxCap, isEstimating, energyTrace != null);
+    Outcome outcome = key == null ? null : results.getIfPresent(key);
+    if (outcome != null) {
+      Metrics.counterInc(MetricKeys.Counter.CONSTANT_CALL, 1, MetricLabels.Counter.CACHE_HIT);
+      outcome.applyTo(trxCap, builder, retBuilder, energyTrace);
+      return;
+    }
+
+    TransactionCapsule copy = new TransactionCapsule(trxCap.getInstance());
+    Future<Outcome> future;
+    try {
+      future = executor.submit(() -> runAtHead(current, block, copy, isEstimating, energyTrace,
+          call));
+    } catch (RejectedExecutionException e) {
+      Metrics.counterInc(MetricKeys.Counter.CONSTANT_CALL, 1,
+          MetricLabels.Counter.CONSTANT_CALL_REJECTED);
+      throw new ContractExeException("too many constant calls are waiting, try again later");
+    }
+    outcome = await(future);
+    if (outcome == null) {
+      Metrics.counterInc(MetricKeys.Counter.CONSTANT_CALL, 1,
+          MetricLabels.Counter.CONSTANT_CALL_LIVE);
+      call.run(block, trxCap, builder, retBuilder, isEstimating);
+      return;
+    }
+    Metrics.counterInc(MetricKeys.Counter.CONSTANT_CALL, 1, MetricLabels.Counter.CACHE_MISS);
+    outcome.applyTo(trxCap, builder, retBuilder, null);
+    if (key != null && outcome.ext.getInternalTransactionsCount() == 0) {
+      results.put(key, outcome);
+    }
+  }
+
+  @PreDestroy
+  public void close() {
+    if (executor != null) {
+      ExecutorServiceManager.shutdownAndAwaitTermination(executor, NAME);
+    }
+  }
+
+  private BlockCapsule latestBlock() throws HeaderNotFound {
+    List<BlockCapsule> blockCapsuleList = chainBaseManager.getBlockStore()
+        .getBlockByLatestNum(1);
+    if (CollectionUtils.isEmpty(blockCapsuleList)) {
+      throw new HeaderNotFound("latest block not found");
+    }
+    return blockCapsuleList.get(0);
+  }
+
+  /**
+   * @return null if the latest block is no longer the one {@code current} was set at
+   */
+  private BlockCapsule headBlock(Head current) throws HeaderNotFound {
+    BlockCapsule block = current.block;
+    if (block == null) {
+      block = latestBlock();
+      if (!block.getBlockId().equals(current.id)) {
+        return null;
+      }
+      current.block = block;
+    }
+    return block;
+  }
+
+  private boolean isAtHead() {
+    return ((Chainbase) chainBaseManager.getDynamicPropertiesStore().getRevokingDB())
+        .getCursor() == Chainbase.Cursor.HEAD;
+  }
+
+  /**
+   * @return null if the result of the call is not kept
+   */
+  private ByteString key(Head current, TransactionCapsule trxCap, boolean isEstimating,
+      boolean traced) {
+    if (results == null) {
+      return null;
+    }
+    Transaction.raw raw = trxCap.getInstance().getRawData();
+    if (raw.getContractCount() != 1
+        || raw.getContract(0).getType() != ContractType.TriggerSmartContract) {
+      return null;
+    }
+    Contract contract = raw.getContract(0);
+    return current.id.getByteString()
+        .concat(contract.getParameter().getValue())
+        .concat(ByteString.copyFrom(Longs.toByteArray(raw.getFeeLimit())))
+        .concat(ByteString.copyFrom(new byte[] {(byte) ((isEstimating ? 1 : 0)
+            | (traced ? 2 : 0))}));
+  }
+
+  /**
+   * @return null if the call read what the head state can not serve
+   */
+  private static Outcome runAtHead(Head current, BlockCapsule block, TransactionCapsule trxCap,
+      boolean isEstimating, EnergyTrace energyTrace, Call call) throws Exception {
+    TransactionExtention.Builder builder = TransactionExtention.newBuilder();
+    Return.Builder retBuilder = Return.newBuilder();
+    ReadWriteSet set = ReadWriteSet.open(current.snapshots);
+    try {
+      call.run(block, trxCap, builder, retBuilder, isEstimating);
+    } catch (Exception e) {
+      if (set.getAborted() == null) {
+        throw e;
+      }
+    } finally {
+      set.close();
+    }
+    if (set.getAborted() != null) {
+      logger.debug("Constant call runs against the latest state: {}.", set.getAborted());
+      return null;
+    }
+    Transaction transaction = trxCap.getInstance();
+    EnergyTrace traced = null;
+    if (energyTrace != null) {
+      traced = new EnergyTrace();
+      traced.copyFrom(energyTrace);
+    }
+    return new Outcome(builder.build(), retBuilder.build(),
+        transaction.getRet(transaction.getRetCount() - 1), traced);
+  }
+
+  private static Outcome await(Future<Outcome> future)
+      throws ContractValidateException, ContractExeException, VMIllegalException {
+    try {
+      return future.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      future.cancel(true);
+      throw new ContractExeException("constant call interrupted");
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof ContractValidateException) {
+        throw (ContractValidateException) cause;
+      }
+      if (cause instanceof ContractExeException) {
+        throw (ContractExeException) cause;
+      }
+      if (cause instanceof VMIllegalException) {
+        throw (VMIllegalException) cause;
+      }
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      }
+      if (cause instanceof Error) {
+        throw (Error) cause;
+      }
+      throw new ContractExeException(cause.getMessage());
+    }
+  }
+
+  private static final class Head {
+
+    private final BlockId id;
+    private final Map<Chainbase, Snapshot> snapshots;
+    private volatile BlockCapsule block;
+
+    private Head(BlockId id, Map<Chainbase, Snapshot> snapshots) {
+      this.id = id;
+      this.snapshots = snapshots;
+    }
+  }
+
+  /**
+   * What a call added to the response and to its transaction.
+   */
+  private static final class Outcome {
+
+    private final TransactionExtention ext;
+    private final Return ret;
+    private final Transaction.Result result;
+    // what the call traced, null if it was not traced
+    private final EnergyTrace energyTrace;
+
+    private Outcome(TransactionExtention ext, Return ret, Transaction.Result result,
+        EnergyTrace energyTrace) {
+      this.ext = ext;
+      this.ret = ret;
+      this.result = result;
+      this.energyTrace = energyTrace;
+    }
+
+    /**
+     * @param energyTrace filled with what the call traced, unless null or the call just filled it
+     */
+    private void applyTo(TransactionCapsule trxCap, TransactionExtention.Builder builder,
+        Return.Builder retBuilder, EnergyTrace energyTrace) {
+      builder.mergeFrom(ext);
+      retBuilder.mergeFrom(ret);
+      trxCap.setResult(new TransactionResultCapsule(result));
+      if (energyTrace != null) {
+        energyTrace.copyFrom(this.energyTrace);
+      }
+    }
+  }
+}
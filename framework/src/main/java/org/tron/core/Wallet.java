@@ -113,6 +113,9 @@ import org.tron.common.crypto.SignInterface;
 import org.tron.common.crypto.SignUtils;
 import org.tron.common.crypto.pqc.PQAuthSigValidator;
 import org.tron.common.parameter.CommonParameter;
+import org.tron.common.prometheus.MetricKeys;
+import org.tron.common.prometheus.MetricLabels;
+import org.tron.common.prometheus.Metrics;
 import org.tron.common.runtime.ProgramResult;
 import org.tron.common.runtime.vm.LogInfo;
 import org.tron.common.utils.ByteArray;
@@ -204,7 +207,9 @@ import org.tron.core.store.VotesStore;
 import org.tron.core.store.WitnessStore;
 import org.tron.core.utils.TransactionUtil;
 import org.tron.core.vm.config.VMConfig;
+import org.tron.core.vm.program.EnergyTrace;
 import org.tron.core.vm.program.Program;
+import org.tron.core.vm.trace.ExecutionTracer;
 import org.tron.core.zen.ShieldedTRC20ParametersBuilder;
 import org.tron.core.zen.ShieldedTRC20ParametersBuilder.ShieldedTRC20ParametersType;
 import org.tron.core.zen.ZenTransactionBuilder;
@@ -294,6 +299,9 @@ public class Wallet {
   @Autowired
   private ChainBaseManager chainBaseManager;
 
+  @Autowired
+  private ConstantCallEngine constantCallEngine;
+
   private int minEffectiveConnection = CommonParameter.getInstance().getMinEffectiveConnection();
   private boolean trxCacheEnable = CommonParameter.getInstance().isTrxCacheEnable();
   public static final String CONTRACT_VALIDATE_EXCEPTION = "ContractValidateException: {}";
@@ -3067,13 +3075,15 @@ public class Wallet {
 
     DynamicPropertiesStore dps = chainBaseManager.getDynamicPropertiesStore();
     long high = dps.getMaxFeeLimit();
+    EnergyTrace energyTrace = Args.getInstance().isEstimateEnergySinglePass()
+        ? new EnergyTrace() : null;
 
     Transaction transaction;
 
     while (true) {
       try {
         transaction = cleanContextAndTriggerConstantContract(
-            triggerSmartContract, txCap, txExtBuilder, txRetBuilder, high);
+            triggerSmartContract, txCap, txExtBuilder, txRetBuilder, high, energyTrace);
         break;
       } catch (Program.OutOfTimeException e) {
         retry--;
@@ -3090,6 +3100,21 @@ public class Wallet {
       return transaction;
     }
 
+    if (energyTrace != null) {
+      if (energyTrace.getRequired() >= 0) {
+        // running at the least limit it needs does what the run at the max fee limit did
+        Metrics.counterInc(MetricKeys.Counter.ESTIMATE_ENERGY, 1,
+            MetricLabels.Counter.ESTIMATE_SINGLE_PASS);
+        estimateBuilder.setResult(txRetBuilder);
+        txRetBuilder.setResult(true);
+        txRetBuilder.setCode(response_code.SUCCESS);
+        estimateBuilder.setEnergyRequired(energyTrace.getRequired());
+        return transaction;
+      }
+      Metrics.counterInc(MetricKeys.Counter.ESTIMATE_ENERGY, 1,
+          MetricLabels.Counter.ESTIMATE_SEARCH);
+    }
+
     long low = dps.getEnergyFee() * txExtBuilder.getEnergyUsed();
 
     long twoTimes = low * 2;
@@ -3157,13 +3182,21 @@ public class Wallet {
       TriggerSmartContract triggerSmartContract, TransactionCapsule txCap,
       Builder txExtBuilder, Return.Builder txRetBuilder, long feeLimit)
       throws ContractValidateException, ContractExeException, HeaderNotFound, VMIllegalException {
+    return cleanContextAndTriggerConstantContract(
+        triggerSmartContract, txCap, txExtBuilder, txRetBuilder, feeLimit, null);
+  }
+
+  private Transaction cleanContextAndTriggerConstantContract(
+      TriggerSmartContract triggerSmartContract, TransactionCapsule txCap,
+      Builder txExtBuilder, Return.Builder txRetBuilder, long feeLimit, EnergyTrace energyTrace)
+      throws ContractValidateException, ContractExeException, HeaderNotFound, VMIllegalException {
     Transaction transaction;
     txCap.setFeeLimit(feeLimit);
     txCap.resetResult();
     txExtBuilder.clear();
     txRetBuilder.clear();
     transaction = triggerConstantContract(
-        triggerSmartContract, txCap, txExtBuilder, txRetBuilder, true);
+        triggerSmartContract, txCap, txExtBuilder, txRetBuilder, true, energyTrace);
     return transaction;
   }
 
@@ -3176,6 +3209,14 @@ public class Wallet {
   public Transaction triggerConstantContract(TriggerSmartContract triggerSmartContract,
       TransactionCapsule trxCap, Builder builder, Return.Builder retBuilder, boolean isEstimating)
       throws ContractValidateException, ContractExeException, HeaderNotFound, VMIllegalException {
+    return triggerConstantContract(triggerSmartContract, trxCap, builder, retBuilder,
+        isEstimating, null);
+  }
+
+  private Transaction triggerConstantContract(TriggerSmartContract triggerSmartContract,
+      TransactionCapsule trxCap, Builder builder, Return.Builder retBuilder, boolean isEstimating,
+      EnergyTrace energyTrace)
+      throws ContractValidateException, ContractExeException, HeaderNotFound, VMIllegalException {
 
     if (triggerSmartContract.getContractAddress().isEmpty()) { // deploy contract
       CreateSmartContract.Builder deployBuilder = CreateSmartContract.newBuilder();
@@ -3200,30 +3241,58 @@ public class Wallet {
         throw new ContractValidateException("Smart contract is not exist.");
       }
     }
-    return callConstantContract(trxCap, builder, retBuilder, isEstimating);
+    return callConstantContract(trxCap, builder, retBuilder, isEstimating, energyTrace);
+  }
+
+  /**
+   * Runs a constant call with {@code tracer} installed, on the calling thread where the tracer
+   * is. It runs as an estimation does, so a call the VM stops with an exception is traced like
+   * any other instead of thrown.
+   */
+  public void traceConstantContract(TriggerSmartContract triggerSmartContract,
+      TransactionCapsule trxCap, ExecutionTracer tracer)
+      throws ContractValidateException, ContractExeException, HeaderNotFound, VMIllegalException {
+    ExecutionTracer.install(tracer);
+    try {
+      triggerConstantContract(triggerSmartContract, trxCap, TransactionExtention.newBuilder(),
+          Return.newBuilder(), true);
+    } finally {
+      ExecutionTracer.uninstall();
+    }
   }
 
   public Transaction callConstantContract(TransactionCapsule trxCap,
       Builder builder, Return.Builder retBuilder, boolean isEstimating)
       throws ContractValidateException, ContractExeException, HeaderNotFound, VMIllegalException {
+    return callConstantContract(trxCap, builder, retBuilder, isEstimating, null);
+  }
+
+  /**
+   * @param energyTrace traces the energy limit the call needs, if not null and the call runs
+   */
+  private Transaction callConstantContract(TransactionCapsule trxCap,
+      Builder builder, Return.Builder retBuilder, boolean isEstimating, EnergyTrace energyTrace)
+      throws ContractValidateException, ContractExeException, HeaderNotFound, VMIllegalException {
 
     if (!Args.getInstance().isSupportConstant()) {
       throw new ContractValidateException("this node does not support constant");
     }
 
-    Block headBlock;
-    List<BlockCapsule> blockCapsuleList = chainBaseManager.getBlockStore()
-        .getBlockByLatestNum(1);
-    if (CollectionUtils.isEmpty(blockCapsuleList)) {
-      throw new HeaderNotFound("latest block not found");
-    } else {
-      headBlock = blockCapsuleList.get(0).getInstance();
-    }
+    constantCallEngine.call(trxCap, builder, retBuilder, isEstimating, energyTrace,
+        (block, tx, ext, ret, estimating) ->
+            executeConstantCall(block, tx, ext, ret, estimating, energyTrace));
+    return trxCap.getInstance();
+  }
 
-    BlockCapsule headBlockCapsule = new BlockCapsule(headBlock);
+  private void executeConstantCall(BlockCapsule headBlockCapsule, TransactionCapsule trxCap,
+      Builder builder, Return.Builder retBuilder, boolean isEstimating, EnergyTrace energyTrace)
+      throws ContractValidateException, ContractExeException, VMIllegalException {
     TransactionContext context = new TransactionContext(headBlockCapsule, trxCap,
         StoreFactory.getInstance(), true, false);
     VMActuator vmActuator = new VMActuator(true);
+    if (energyTrace != null) {
+      vmActuator.traceEnergy(energyTrace);
+    }
 
     try {
       vmActuator.validate(context);
@@ -3263,7 +3332,6 @@ public class Wallet {
           .build();
     }
     trxCap.setResult(ret);
-    return trxCap.getInstance();
   }
 
   public SmartContract getContract(GrpcAPI.BytesMessage bytesMessage) {
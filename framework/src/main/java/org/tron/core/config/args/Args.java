@@ -194,11 +194,17 @@ public class Args extends CommonParameter {
     PARAMETER.longRunningTime = vm.getLongRunningTime();
     PARAMETER.estimateEnergy = vm.isEstimateEnergy();
     PARAMETER.estimateEnergyMaxRetry = vm.getEstimateEnergyMaxRetry();
+    PARAMETER.estimateEnergySinglePass = vm.isEstimateEnergySinglePass();
     PARAMETER.vmTrace = vm.isVmTrace();
+    PARAMETER.basicBlockMetering = vm.isBasicBlockMetering();
     PARAMETER.saveInternalTx = vm.isSaveInternalTx();
     PARAMETER.saveFeaturedInternalTx = vm.isSaveFeaturedInternalTx();
     PARAMETER.saveCancelAllUnfreezeV2Details = vm.isSaveCancelAllUnfreezeV2Details();
     PARAMETER.constantCallTimeoutMs = vm.getConstantCallTimeoutMs();
+    PARAMETER.constantCallEnable = vm.getConstantCall().isEnable();
+    PARAMETER.constantCallThreads = vm.getConstantCall().getThreads();
+    PARAMETER.constantCallQueueSize = vm.getConstantCall().getQueueSize();
+    PARAMETER.constantCallResultCacheSize = vm.getConstantCall().getResultCacheSize();
   }
 
   // Old applyStorageConfig removed — merged into applyStorageConfig()
@@ -223,6 +229,10 @@ public class Args extends CommonParameter {
     PARAMETER.storage.setEstimatedBlockTransactions(sc.getTxCache().getEstimatedTransactions());
     PARAMETER.storage.setTxCacheInitOptimization(sc.getTxCache().isInitOptimization());
     PARAMETER.storage.setMaxFlushCount(sc.getSnapshot().getMaxFlushCount());
+    PARAMETER.storage.setSnapshotLayerDb(sc.getSnapshot().getLayerDb());
+    PARAMETER.storage.setPrefetchEnable(sc.getPrefetch().isEnable());
+    PARAMETER.storage.setPrefetchThreads(sc.getPrefetch().getThreads());
+    PARAMETER.storage.setPrefetchHotSlots(sc.getPrefetch().getHotSlots());
 
     // RocksDB settings
     StorageConfig.DbSettingsConfig dbs = sc.getDbSettings();
@@ -231,7 +241,12 @@ public class Args extends CommonParameter {
             dbs.getBlocksize(), dbs.getMaxBytesForLevelBase(),
             dbs.getMaxBytesForLevelMultiplier(), dbs.getLevel0FileNumCompactionTrigger(),
             dbs.getTargetFileSizeBase(), dbs.getTargetFileSizeMultiplier(),
-            dbs.getMaxOpenFiles());
+            dbs.getMaxOpenFiles())
+        .withBlockCacheSize(dbs.getBlockCacheSize())
+        .withEnableStatistics(dbs.isEnableStatistics())
+        .withProfile(RocksDbSettings.Profile.POINT_LOOKUP, dbs.getPointLookup())
+        .withProfile(RocksDbSettings.Profile.APPEND_ONLY, dbs.getAppendOnly())
+        .withPrefixScan(dbs.getPrefixScan());
     RocksDbSettings.loggingSettings();
 
     // Dynamic nested objects use StorageConfig's raw storage sub-tree
@@ -240,6 +255,7 @@ public class Args extends CommonParameter {
     PARAMETER.storage.setDefaultDbOptions(sc);
     PARAMETER.storage.setPropertyMapFromBean(sc.getProperties());
     PARAMETER.storage.setCacheStrategies(sc.getRawStorageConfig());
+    PARAMETER.storage.setCacheBudget(sc.getCache().getBudget());
     PARAMETER.storage.setDbRoots(sc.getRawStorageConfig());
   }
 
@@ -562,6 +578,8 @@ public class Args extends CommonParameter {
     PARAMETER.jsonRpcMaxAddressSize = jsonrpc.getMaxAddressSize();
     PARAMETER.jsonRpcMaxLogFilterNum = jsonrpc.getMaxLogFilterNum();
     PARAMETER.jsonRpcMaxMessageSize = jsonrpc.getMaxMessageSize();
+    PARAMETER.jsonRpcTraceEnable = jsonrpc.isTraceEnable();
+    PARAMETER.jsonRpcMaxTraceEntries = jsonrpc.getMaxTraceEntries();
 
     // ---- P2P sub-bean ----
     PARAMETER.nodeP2pVersion = nc.getP2p().getVersion();
@@ -611,6 +629,9 @@ public class Args extends CommonParameter {
     PARAMETER.maxTrxCacheSize = nc.getMaxTrxCacheSize();
 
     PARAMETER.validContractProtoThreadNum = nc.getValidContractProtoThreads();
+    PARAMETER.parallelExecutionEnable = nc.isParallelExecutionEnable();
+    PARAMETER.parallelExecutionThreads = nc.getParallelExecutionThreads();
+    PARAMETER.parallelExecutionPending = nc.isParallelExecutionPending();
 
     PARAMETER.maxFastForwardNum = nc.getMaxFastForwardNum();
     PARAMETER.shieldedTransInPendingMaxCounts = nc.getShieldedTransInPendingMaxCounts();
@@ -0,0 +1,197 @@
+package org.tron.core.db;
+
+import com.google.common.collect.Lists;
+import com.google.protobuf.ByteString;
+import com.google.protobuf.InvalidProtocolBufferException;
+import io.prometheus.client.Histogram;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import lombok.extern.slf4j.Slf4j;
+import org.tron.common.crypto.Hash;
+import org.tron.common.es.ExecutorServiceManager;
+import org.tron.common.prometheus.MetricKeys;
+import org.tron.common.prometheus.Metrics;
+import org.tron.common.utils.ByteUtil;
+import org.tron.core.ChainBaseManager;
+import org.tron.core.capsule.ContractCapsule;
+import org.tron.core.capsule.TransactionCapsule;
+import org.tron.core.db2.common.WrappedByteArray;
+import org.tron.core.store.HotStorageRows;
+import org.tron.protos.Protocol.Transaction.Contract;
+import org.tron.protos.contract.BalanceContract.DelegateResourceContract;
+import org.tron.protos.contract.BalanceContract.FreezeBalanceContract;
+import org.tron.protos.contract.BalanceContract.UnDelegateResourceContract;
+import org.tron.protos.contract.BalanceContract.UnfreezeBalanceContract;
+import org.tron.protos.contract.SmartContractOuterClass.TriggerSmartContract;
+import org.tron.protos.contract.WitnessContract.VoteWitnessContract;
+
+/**
+ * Loads the state the transactions of a block are going to read before they are executed one
+ * by one. The addresses each contract names are read in parallel batches, which leaves them in
+ * the second caches of the stores and in the block cache of the database, so execution finds
+ * them warm instead of stalling on every cold read.
+ *
+ * <p>Contracts that are called also have their code, state and the storage rows they read in
+ * recent blocks ({@link HotStorageRows}) loaded. Prefetching is best effort: a failed load is
+ * only logged, execution reads whatever is missing as it always did.</p>
+ */
+@Slf4j(topic = "DB")
+public class BlockStatePrefetcher {
+
+  private static final String NAME = "prefetch-state";
+  private static final int BATCH_SIZE = 64;
+
+  private final ChainBaseManager chainBaseManager;
+  private final ExecutorService executor;
+
+  public BlockStatePrefetcher(ChainBaseManager chainBaseManager, int threads) {
+    this.chainBaseManager = chainBaseManager;
+    this.executor = ExecutorServiceManager.newFixedThreadPool(NAME, threads, true);
+  }
+
+  /**
+   * Loads the state of {@code txs} and returns once all of it is loaded.
+   */
+  public void prefetch(List<TransactionCapsule> txs) {
+    if (txs.isEmpty()) {
+      return;
+    }
+    Histogram.Timer timer = Metrics.histogramStartTimer(
+        MetricKeys.Histogram.BLOCK_PREFETCH_LATENCY);
+    try {
+      Set<WrappedByteArray> accounts = new HashSet<>();
+      Set<WrappedByteArray> contracts = new HashSet<>();
+      Set<WrappedByteArray> witnesses = new HashSet<>();
+      for (TransactionCapsule tx : txs) {
+        for (Contract contract : tx.getInstance().getRawData().getContractList()) {
+          collect(contract, accounts, contracts, witnesses);
+        }
+      }
+      // a called contract is also an account, its balance is read and written
+      accounts.addAll(contracts);
+
+      List<Future<?>> futures = new ArrayList<>();
+      submit(futures, chainBaseManager.getAccountStore(), accounts);
+      submit(futures, chainBaseManager.getWitnessStore(), witnesses);
+      for (List<byte[]> batch : Lists.partition(unwrap(contracts), BATCH_SIZE)) {
+        futures.add(executor.submit(() -> loadContracts(batch)));
+      }
+      await(futures);
+    } finally {
+      Metrics.histogramObserve(timer);
+    }
+  }
+
+  public void close() {
+    ExecutorServiceManager.shutdownAndAwaitTermination(executor, NAME);
+  }
+
+  static void collect(Contract contract, Set<WrappedByteArray> accounts,
+      Set<WrappedByteArray> contracts, Set<WrappedByteArray> witnesses) {
+    add(accounts, TransactionCapsule.getOwner(contract));
+    add(accounts, TransactionCapsule.getToAddress(contract));
+    try {
+      switch (contract.getType()) {
+        case TriggerSmartContract:
+          add(contracts, contract.getParameter().unpack(TriggerSmartContract.class)
+              .getContractAddress());
+          break;
+        case FreezeBalanceContract:
+          add(accounts, contract.getParameter().unpack(FreezeBalanceContract.class)
+              .getReceiverAddress());
+          break;
+        case UnfreezeBalanceContract:
+          add(accounts, contract.getParameter().unpack(UnfreezeBalanceContract.class)
+              .getReceiverAddress());
+          break;
+        case DelegateResourceContract:
+          add(accounts, contract.getParameter().unpack(DelegateResourceContract.class)
+              .getReceiverAddress());
+          break;
+        case UnDelegateResourceContract:
+          add(accounts, contract.getParameter().unpack(UnDelegateResourceContract.class)
+              .getReceiverAddress());
+          break;
+        case VoteWitnessContract:
+          contract.getParameter().unpack(VoteWitnessContract.class).getVotesList()
+              .forEach(vote -> add(witnesses, vote.getVoteAddress()));
+          break;
+        default:
+          break;
+      }
+    } catch (InvalidProtocolBufferException e) {
+      // execution rejects the transaction, nothing to load for it
+    }
+  }
+
+  private void loadContracts(List<byte[]> addresses) {
+    Collection<ContractCapsule> found = chainBaseManager.getContractStore().getAll(addresses)
+        .values();
+    chainBaseManager.getCodeStore().getRevokingDB().getAll(addresses);
+    chainBaseManager.getContractStateStore().getRevokingDB().getAll(addresses);
+
+    HotStorageRows hotRows = chainBaseManager.getStorageRowStore().getHotRows();
+    List<byte[]> rows = new ArrayList<>();
+    for (ContractCapsule contract : found) {
+      rows.addAll(hotRows.get(storagePrefix(contract)));
+    }
+    if (!rows.isEmpty()) {
+      chainBaseManager.getStorageRowStore().getRevokingDB().getAll(rows);
+    }
+  }
+
+  /**
+   * The prefix of the storage row keys of a contract, the same the VM composes them with.
+   */
+  static byte[] storagePrefix(ContractCapsule contract) {
+    byte[] address = contract.getInstance().getContractAddress().toByteArray();
+    byte[] trxHash = contract.getTrxHash();
+    byte[] addrHash = ByteUtil.isNullOrZeroArray(trxHash) ? Hash.sha3(address)
+        : Hash.sha3(ByteUtil.merge(address, trxHash));
+    return Arrays.copyOf(addrHash, HotStorageRows.PREFIX_BYTES);
+  }
+
+  private void submit(List<Future<?>> futures, TronStoreWithRevoking<?> store,
+      Set<WrappedByteArray> keys) {
+    for (List<byte[]> batch : Lists.partition(unwrap(keys), BATCH_SIZE)) {
+      futures.add(executor.submit(() -> store.getRevokingDB().getAll(batch)));
+    }
+  }
+
+  private static void await(List<Future<?>> futures) {
+    for (Future<?> future : futures) {
+      try {
+        future.get();
+      } catch (ExecutionException e) {
+        logger.debug("Prefetch block state failed.", e.getCause());
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        futures.forEach(f -> f.cancel(true));
+        return;
+      }
+    }
+  }
+
+  private static void add(Set<WrappedByteArray> keys, byte[] address) {
+    if (!ByteUtil.isNullOrZeroArray(address)) {
+      keys.add(WrappedByteArray.of(address));
+    }
+  }
+
+  private static void add(Set<WrappedByteArray> keys, ByteString address) {
+    add(keys, address.toByteArray());
+  }
+
+  private static List<byte[]> unwrap(Set<WrappedByteArray> keys) {
+    List<byte[]> list = new ArrayList<>(keys.size());
+    keys.forEach(key -> list.add(key.getBytes()));
+    return list;
+  }
+}
@@ -88,6 +88,7 @@ import org.tron.consensus.base.Param;
 import org.tron.consensus.base.Param.Miner;
 import org.tron.core.ChainBaseManager;
 import org.tron.core.Constant;
+import org.tron.core.ConstantCallEngine;
 import org.tron.core.Wallet;
 import org.tron.core.actuator.ActuatorCreator;
 import org.tron.core.capsule.AccountCapsule;
@@ -103,6 +104,7 @@ import org.tron.core.capsule.utils.TransactionUtil;
 import org.tron.core.config.Parameter;
 import org.tron.core.config.Parameter.ChainConstant;
 import org.tron.core.config.args.Args;
+import org.tron.core.config.args.Storage;
 import org.tron.core.consensus.ProposalController;
 import org.tron.core.db.KhaosDatabase.KhaosBlock;
 import org.tron.core.db.accountstate.TrieService;
@@ -114,6 +116,8 @@ import org.tron.core.db.api.MigrateTurkishKeyHelper;
 import org.tron.core.db.api.MoveAbiHelper;
 import org.tron.core.db2.ISession;
 import org.tron.core.db2.core.Chainbase;
+import org.tron.core.db2.core.ReadWriteSet;
+import org.tron.core.db2.core.Snapshot;
 import org.tron.core.db2.core.SnapshotManager;
 import org.tron.core.exception.AccountResourceInsufficientException;
 import org.tron.core.exception.BadBlockException;
@@ -150,6 +154,7 @@ import org.tron.core.store.AccountIndexStore;
 import org.tron.core.store.AccountStore;
 import org.tron.core.store.AssetIssueStore;
 import org.tron.core.store.AssetIssueV2Store;
+import org.tron.core.store.BlockStorageCache;
 import org.tron.core.store.CodeStore;
 import org.tron.core.store.ContractStore;
 import org.tron.core.store.DelegatedResourceAccountIndexStore;
@@ -169,6 +174,7 @@ import org.tron.core.store.VotesStore;
 import org.tron.core.store.WitnessScheduleStore;
 import org.tron.core.store.WitnessStore;
 import org.tron.core.utils.TransactionRegister;
+import org.tron.core.vm.trace.ExecutionTracer;
 import org.tron.protos.Protocol;
 import org.tron.protos.Protocol.AccountType;
 import org.tron.protos.Protocol.PQAuthSig;
@@ -224,6 +230,13 @@ public class Manager {
   @Setter
   private MerkleContainer merkleContainer;
   private ExecutorService validateSignService;
+  private BlockStatePrefetcher statePrefetcher;
+  private ParallelTransactionExecutor parallelExecutor;
+  private PendingTransactionSpeculator pendingSpeculator;
+  @Getter
+  private TransactionReplayer transactionReplayer;
+  @Autowired
+  private ConstantCallEngine constantCallEngine;
   private String validateSignName = "validate-sign";
   private boolean isRunRePushThread = true;
   private boolean isRunTriggerCapsuleProcessThread = true;
@@ -491,6 +504,21 @@ public class Manager {
     ExecutorServiceManager.shutdownAndAwaitTermination(validateSignService, "validate-sign");
   }
 
+  public void stopPrefetchThread() {
+    if (statePrefetcher != null) {
+      statePrefetcher.close();
+    }
+  }
+
+  public void stopParallelExecutionThread() {
+    if (parallelExecutor != null) {
+      parallelExecutor.close();
+    }
+    if (pendingSpeculator != null) {
+      pendingSpeculator.close();
+    }
+  }
+
   @PostConstruct
   public void init() {
     ChainBaseManager.init(chainBaseManager);
@@ -581,6 +609,26 @@ public class Manager {
     revokingStore.enable();
     validateSignService = ExecutorServiceManager
         .newFixedThreadPool(validateSignName, Args.getInstance().getValidateSignThreadNum());
+    Storage storage = Args.getInstance().getStorage();
+    if (storage.isPrefetchEnable()) {
+      statePrefetcher = new BlockStatePrefetcher(chainBaseManager, storage.getPrefetchThreads());
+      chainBaseManager.getStorageRowStore().getHotRows()
+          .setRowsPerContract(storage.getPrefetchHotSlots());
+    }
+    if (Args.getInstance().isParallelExecutionEnable()) {
+      parallelExecutor = new ParallelTransactionExecutor(chainBaseManager, accountStateCallBack,
+          Args.getInstance().getParallelExecutionThreads());
+    }
+    // the balance trace of the transaction being executed is shared by the whole node
+    if (Args.getInstance().isParallelExecutionPending()
+        && !Args.getInstance().isHistoryBalanceLookup()) {
+      pendingSpeculator = new PendingTransactionSpeculator(chainBaseManager, accountStateCallBack,
+          this::processTransaction, pendingTransactions, rePushTransactions);
+    }
+    if (Args.getInstance().isJsonRpcTraceEnable()
+        && !Args.getInstance().isHistoryBalanceLookup()) {
+      transactionReplayer = new TransactionReplayer(this::replayTransactions);
+    }
     rePushEs = ExecutorServiceManager.newSingleThreadExecutor(rePushEsName, true);
     ExecutorServiceManager.submit(rePushEs, rePushLoop);
     // add contract event listener for subscribing
@@ -1389,7 +1437,12 @@ public class Manager {
                   khaosDb.getHead(), khaosDb.getMiniStore().size(),
                   khaosDb.getMiniUnlinkedStore().size());
               synchronized (forkLock) {
-                switchFork(newBlock);
+                try {
+                  switchFork(newBlock);
+                } finally {
+                  // the head snapshots are rebuilt even if the switch goes back to the old fork
+                  onHead();
+                }
               }
               logger.info(SAVE_BLOCK, newBlock);
 
@@ -1434,6 +1487,7 @@ public class Manager {
           ownerAddressSet.clear();
           ownerAddressSet.addAll(result);
         }
+        onHead();
 
         long cost = System.currentTimeMillis() - start;
         MetricsUtil.meterMark(MetricsKey.BLOCKCHAIN_BLOCK_PROCESS_TIME, cost);
@@ -1448,6 +1502,26 @@ public class Manager {
     }
   }
 
+  /**
+   * Moves whatever executes against the head block to the new one. The pending session was
+   * reset, the databases are at the head block.
+   */
+  private void onHead() {
+    if (pendingSpeculator != null || constantCallEngine.isEnabled()
+        || transactionReplayer != null) {
+      Map<Chainbase, Snapshot> heads = revokingStore.getHeads();
+      if (pendingSpeculator != null) {
+        pendingSpeculator.onHead(heads);
+      }
+      if (constantCallEngine.isEnabled()) {
+        constantCallEngine.onHead(heads);
+      }
+      if (transactionReplayer != null) {
+        transactionReplayer.onHead(chainBaseManager.getHeadBlockId(), heads);
+      }
+    }
+  }
+
   void blockTrigger(final BlockCapsule block, long oldSolid, long newSolid) {
     // post block and logs for jsonrpc
     try {
@@ -1525,6 +1599,51 @@ public class Manager {
     return result;
   }
 
+  /**
+   * Executes the first {@code count} transactions of {@code block} again, as applying the block
+   * did but without recording them anywhere, with {@code tracer} installed for the last one.
+   * Call it in a read write set opened at the state the block was applied to.
+   */
+  private void replayTransactions(BlockCapsule block, int count, ExecutionTracer tracer)
+      throws ContractValidateException, ContractExeException, AccountResourceInsufficientException,
+      TooBigTransactionException, TooBigTransactionResultException, ReceiptCheckErrException,
+      VMIllegalException {
+    List<TransactionCapsule> transactions = block.getTransactions();
+    if (count > transactions.size()) {
+      throw new ContractValidateException("transaction index out of the block");
+    }
+    chainBaseManager.getDynamicPropertiesStore().saveBlockEnergyUsage(0);
+    HistoryBlockHashUtil.write(this, block);
+    for (int i = 0; i < count; i++) {
+      TransactionCapsule trxCap = new TransactionCapsule(transactions.get(i).getInstance());
+      trxCap.setBlockNum(block.getNum());
+      trxCap.setInBlock(true);
+      if (i == count - 1) {
+        ExecutionTracer.install(tracer);
+      }
+      try {
+        TransactionTrace trace = new TransactionTrace(trxCap, StoreFactory.getInstance(),
+            new RuntimeImpl());
+        consumeBandwidth(trxCap, trace);
+        consumeMultiSignFee(trxCap, trace);
+        consumeMemoFee(trxCap, trace);
+        trace.init(block, false);
+        trace.checkIsConstant();
+        trace.exec();
+        trace.setResult();
+        if (block.hasWitnessSignature()) {
+          // the replay has to end as the block says the transaction did
+          trace.check();
+        }
+        trace.finalization();
+      } finally {
+        if (i == count - 1) {
+          ExecutionTracer.uninstall();
+        }
+      }
+    }
+  }
+
   /**
    * Process transaction.
    */
@@ -1619,8 +1738,9 @@ public class Manager {
     }
 
 
-    if (isMultiSignTransaction(trxCap.getInstance())) {
-      ownerAddressSet.add(ByteArray.toHexString(trxCap.getOwnerAddress()));
+    // a speculative execution is recorded once it is committed
+    if (ReadWriteSet.current() == null) {
+      recordMultiSignOwner(trxCap);
     }
 
     if (Objects.nonNull(blockCap)) {
@@ -1651,6 +1771,17 @@ public class Manager {
    * Generate a block.
    */
   public BlockCapsule generateBlock(Miner miner, long blockTime, long timeout) {
+    // the storage rows of the block stay warm across its transactions
+    BlockStorageCache blockCache = chainBaseManager.getStorageRowStore().getBlockCache();
+    blockCache.start();
+    try {
+      return packBlock(miner, blockTime, timeout);
+    } finally {
+      blockCache.stop();
+    }
+  }
+
+  private BlockCapsule packBlock(Miner miner, long blockTime, long timeout) {
     ByteString witnessAddress = miner.getEffectiveWitnessAddress();
     String address =  StringUtil.encode58Check(witnessAddress.toByteArray());
     final Histogram.Timer timer = Metrics.histogramStartTimer(
@@ -1778,13 +1909,21 @@ public class Manager {
         continue;
       }
 
+      boolean speculated = pendingSpeculator != null && !eventPluginLoaded;
+      // owners whose permissions changed in this block must be re-verified, so do not reuse a
+      // speculation that skipped the signature check
       if (ownerAddressSet.contains(ownerAddress)) {
         trx.setVerified(false);
+        speculated = false;
       }
       // apply transaction
       try (ISession tmpSession = revokingStore.buildSession()) {
         accountStateCallBack.preExeTrans();
-        processTransaction(trx, blockCapsule);
+        if (speculated && pendingSpeculator.commit(trx)) {
+          recordMultiSignOwner(trx);
+        } else {
+          processTransaction(trx, blockCapsule);
+        }
         accountStateCallBack.exeTransFinish();
         tmpSession.merge();
         toBePacked.add(trx);
@@ -1858,6 +1997,12 @@ public class Manager {
     }
   }
 
+  private void recordMultiSignOwner(TransactionCapsule trxCap) {
+    if (isMultiSignTransaction(trxCap.getInstance())) {
+      ownerAddressSet.add(ByteArray.toHexString(trxCap.getOwnerAddress()));
+    }
+  }
+
   private boolean isMultiSignTransaction(Transaction transaction) {
     Contract contract = transaction.getRawData().getContract(0);
     switch (contract.getType()) {
@@ -1949,6 +2094,9 @@ public class Manager {
         logger.error("Parallel check sign interrupted exception! block info: {}.", block, e);
         Thread.currentThread().interrupt();
       }
+      if (statePrefetcher != null) {
+        statePrefetcher.prefetch(txs);
+      }
     }
 
     TransactionRetCapsule transactionRetCapsule =
@@ -1957,9 +2105,27 @@ public class Manager {
     try {
       merkleContainer.resetCurrentMerkleTree();
       accountStateCallBack.preExecute(block);
+      chainBaseManager.getStorageRowStore().getHotRows().startRecording();
+      chainBaseManager.getStorageRowStore().getBlockCache().start();
       List<TransactionInfo> results = new ArrayList<>();
       long num = block.getNum();
-      for (TransactionCapsule transactionCapsule : block.getTransactions()) {
+      int[] offsets = TransactionLocator.offsets(block.getInstance());
+      List<TransactionCapsule> transactions = block.getTransactions();
+      for (int i = 0; i < transactions.size(); i++) {
+        TransactionCapsule transactionCapsule = transactions.get(i);
+        transactionCapsule.setBlockNum(num);
+        transactionCapsule.setBlockOffset(offsets[i]);
+        if (block.generatedByMyself) {
+          transactionCapsule.setVerified(true);
+        }
+      }
+      ParallelTransactionExecutor.Speculation speculation = null;
+      if (parallelExecutor != null && !eventPluginLoaded
+          && !CommonParameter.getInstance().isHistoryBalanceLookup()) {
+        speculation = parallelExecutor.speculate(transactions, block, this::processTransaction);
+      }
+      for (int i = 0; i < transactions.size(); i++) {
+        TransactionCapsule transactionCapsule = transactions.get(i);
         rejectExchangeTransaction(transactionCapsule.getInstance());
         if (chainBaseManager.getDynamicPropertiesStore().allowConsensusLogicOptimization()
             && transactionCapsule.retCountIsGreatThanContractCount()) {
@@ -1967,12 +2133,13 @@ public class Manager {
                   + "greater than its contract count %d", transactionCapsule.getRetCount(),
               transactionCapsule.getTransactionId(), transactionCapsule.getContractCount()));
         }
-        transactionCapsule.setBlockNum(num);
-        if (block.generatedByMyself) {
-          transactionCapsule.setVerified(true);
-        }
         accountStateCallBack.preExeTrans();
-        TransactionInfo result = processTransaction(transactionCapsule, block);
+        TransactionInfo result = speculation == null ? null : speculation.commit(i);
+        if (result != null) {
+          recordMultiSignOwner(transactionCapsule);
+        } else {
+          result = processTransaction(transactionCapsule, block);
+        }
         accountStateCallBack.exeTransFinish();
         if (Objects.nonNull(result)) {
           results.add(result);
@@ -1981,6 +2148,8 @@ public class Manager {
       transactionRetCapsule.addAllTransactionInfos(results);
       accountStateCallBack.executePushFinish();
     } finally {
+      chainBaseManager.getStorageRowStore().getHotRows().stopRecording();
+      chainBaseManager.getStorageRowStore().getBlockCache().stop();
       accountStateCallBack.exceptionFinish();
     }
     merkleContainer.saveCurrentMerkleTreeAsBestMerkleTree(block.getNum());
@@ -2743,6 +2912,8 @@ public class Manager {
     EventPluginLoader.getInstance().stopPlugin();
     stopFilterProcessThread();
     stopValidateSignThread();
+    stopPrefetchThread();
+    stopParallelExecutionThread();
     chainBaseManager.shutdown();
     revokingStore.shutdown();
     session.reset();
@@ -0,0 +1,217 @@
+package org.tron.core.db;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import lombok.extern.slf4j.Slf4j;
+import org.tron.common.es.ExecutorServiceManager;
+import org.tron.common.parameter.CommonParameter;
+import org.tron.common.prometheus.MetricKeys;
+import org.tron.common.prometheus.MetricLabels;
+import org.tron.common.prometheus.Metrics;
+import org.tron.core.ChainBaseManager;
+import org.tron.core.capsule.AccountCapsule;
+import org.tron.core.capsule.BlockCapsule;
+import org.tron.core.capsule.TransactionCapsule;
+import org.tron.core.db.accountstate.callback.AccountStateCallBack;
+import org.tron.core.db2.core.Chainbase;
+import org.tron.core.db2.core.ReadWriteSet;
+import org.tron.core.db2.core.Snapshot;
+import org.tron.protos.Protocol.Transaction.Contract;
+import org.tron.protos.Protocol.Transaction.Contract.ContractType;
+import org.tron.protos.Protocol.TransactionInfo;
+
+/**
+ * Executes the transactions of a block speculatively in parallel, each against the state the
+ * block starts from, recording what it reads and writes in a {@link ReadWriteSet} instead of
+ * writing to the stores.
+ *
+ * <p>The block is then still executed in order: a transaction whose reads were not changed by
+ * the ones before it would do exactly what its speculation did, so the writes of the speculation
+ * are {@link ReadWriteSet#apply() applied}. Any other transaction, and one whose speculation
+ * failed, is executed again the usual way. Only the transaction types that are common and read a
+ * small, known set of keys are speculated on.</p>
+ */
+@Slf4j(topic = "DB")
+public class ParallelTransactionExecutor {
+
+  private static final String NAME = "parallel-execution";
+  private static final Set<ContractType> SPECULATED = EnumSet.of(
+      ContractType.TransferContract,
+      ContractType.TransferAssetContract,
+      ContractType.FreezeBalanceContract,
+      ContractType.UnfreezeBalanceContract,
+      ContractType.FreezeBalanceV2Contract,
+      ContractType.UnfreezeBalanceV2Contract,
+      ContractType.VoteWitnessContract,
+      ContractType.TriggerSmartContract);
+
+  private final ChainBaseManager chainBaseManager;
+  private final AccountStateCallBack accountStateCallBack;
+  private final ExecutorService executor;
+
+  public ParallelTransactionExecutor(ChainBaseManager chainBaseManager,
+      AccountStateCallBack accountStateCallBack, int threads) {
+    this.chainBaseManager = chainBaseManager;
+    this.accountStateCallBack = accountStateCallBack;
+    this.executor = ExecutorServiceManager.newFixedThreadPool(NAME, threads, true);
+  }
+
+  /**
+   * Executes a transaction of a block.
+   */
+  @FunctionalInterface
+  public interface Processor {
+
+    TransactionInfo process(TransactionCapsule tx, BlockCapsule block) throws Exception;
+  }
+
+  /**
+   * Speculates on {@code txs}, which must know their place in {@code block}, and returns once
+   * every speculation is done.
+   *
+   * @return the speculations to commit, null if there are too few transactions to speculate on
+   */
+  public Speculation speculate(List<TransactionCapsule> txs, BlockCapsule block,
+      Processor processor) {
+    List<Integer> eligible = new ArrayList<>();
+    for (int i = 0; i < txs.size(); i++) {
+      if (isSpeculated(txs.get(i))) {
+        eligible.add(i);
+      }
+    }
+    if (eligible.size() < 2) {
+      return null;
+    }
+    // computed once here, the speculations only read it
+    block.getBlockId();
+    Speculation speculation = new Speculation(txs);
+    List<Future<Speculated>> futures = new ArrayList<>(eligible.size());
+    for (int i : eligible) {
+      TransactionCapsule copy = txs.get(i).copyForExecution();
+      futures.add(executor.submit(() -> run(copy, block, processor, Collections.emptyMap())));
+    }
+    for (int i = 0; i < futures.size(); i++) {
+      try {
+        speculation.speculated[eligible.get(i)] = futures.get(i).get();
+      } catch (ExecutionException e) {
+        logger.debug("Speculative execution failed.", e.getCause());
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        futures.forEach(f -> f.cancel(true));
+        return null;
+      }
+    }
+    return speculation;
+  }
+
+  public void close() {
+    ExecutorServiceManager.shutdownAndAwaitTermination(executor, NAME);
+  }
+
+  static boolean isSpeculated(TransactionCapsule tx) {
+    List<Contract> contracts = tx.getInstance().getRawData().getContractList();
+    if (contracts.size() != 1) {
+      return false;
+    }
+    ContractType type = contracts.get(0).getType();
+    return SPECULATED.contains(type)
+        && !(type == ContractType.TriggerSmartContract
+        && CommonParameter.getInstance().isVmTrace());
+  }
+
+  /**
+   * Executes {@code tx}, a copy no one else uses, in a read write set opened at {@code base}.
+   *
+   * @return null if the execution failed
+   */
+  static Speculated run(TransactionCapsule tx, BlockCapsule block, Processor processor,
+      Map<Chainbase, Snapshot> base) {
+    ReadWriteSet set = ReadWriteSet.open(base);
+    try {
+      return new Speculated(tx, set, processor.process(tx, block));
+    } catch (Exception e) {
+      logger.debug("Speculation on {} stopped: {}.", tx.getTransactionId(), e.getMessage());
+      return null;
+    } finally {
+      set.close();
+    }
+  }
+
+  /**
+   * The speculations on the transactions of one block.
+   */
+  public class Speculation {
+
+    private final List<TransactionCapsule> txs;
+    private final Speculated[] speculated;
+
+    private Speculation(List<TransactionCapsule> txs) {
+      this.txs = txs;
+      this.speculated = new Speculated[txs.size()];
+    }
+
+    /**
+     * Commits the speculation on transaction {@code i}, if it still holds. Call it in block
+     * order, in place of executing the transaction.
+     *
+     * @return what executing the transaction returns, null if it has to be executed
+     */
+    public TransactionInfo commit(int i) {
+      Speculated s = speculated[i];
+      speculated[i] = null;
+      if (s == null || !s.commit(txs.get(i), chainBaseManager, accountStateCallBack)) {
+        if (s != null || isSpeculated(txs.get(i))) {
+          Metrics.counterInc(MetricKeys.Counter.BLOCK_SPECULATION, 1,
+              MetricLabels.Counter.SPECULATION_CONFLICT);
+        }
+        return null;
+      }
+      Metrics.counterInc(MetricKeys.Counter.BLOCK_SPECULATION, 1,
+          MetricLabels.Counter.SPECULATION_COMMIT);
+      return s.result;
+    }
+  }
+
+  static final class Speculated {
+
+    private final TransactionCapsule tx;
+    private final ReadWriteSet set;
+    private final TransactionInfo result;
+
+    private Speculated(TransactionCapsule tx, ReadWriteSet set, TransactionInfo result) {
+      this.tx = tx;
+      this.set = set;
+      this.result = result;
+    }
+
+    /**
+     * Applies the writes of the speculation in place of executing {@code target}, the
+     * transaction it ran a copy of, if every read still holds.
+     *
+     * @return false if {@code target} has to be executed
+     */
+    boolean commit(TransactionCapsule target, ChainBaseManager chainBaseManager,
+        AccountStateCallBack accountStateCallBack) {
+      if (!set.validate()) {
+        return false;
+      }
+      set.apply();
+      // the account state root sees every account written, as AccountStore#put reports it
+      set.forEachWrite((Chainbase) chainBaseManager.getAccountStore().getRevokingDB(),
+          (key, value) -> {
+            if (value != null) {
+              accountStateCallBack.accountCallBack(key, new AccountCapsule(value));
+            }
+          });
+      target.executedAs(tx);
+      return true;
+    }
+  }
+}
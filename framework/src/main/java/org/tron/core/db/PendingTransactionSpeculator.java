@@ -0,0 +1,165 @@
+package org.tron.core.db;
+
+import com.google.protobuf.ByteString;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.tron.common.es.ExecutorServiceManager;
+import org.tron.common.prometheus.MetricKeys;
+import org.tron.common.prometheus.MetricLabels;
+import org.tron.common.prometheus.Metrics;
+import org.tron.common.utils.Sha256Hash;
+import org.tron.core.ChainBaseManager;
+import org.tron.core.capsule.BlockCapsule;
+import org.tron.core.capsule.TransactionCapsule;
+import org.tron.core.config.Parameter.ChainConstant;
+import org.tron.core.db.ParallelTransactionExecutor.Processor;
+import org.tron.core.db.ParallelTransactionExecutor.Speculated;
+import org.tron.core.db.accountstate.callback.AccountStateCallBack;
+import org.tron.core.db2.core.Chainbase;
+import org.tron.core.db2.core.Snapshot;
+import org.tron.protos.Protocol.Transaction.Contract.ContractType;
+
+/**
+ * Keeps the pending transactions executed in the background, each in a {@link
+ * org.tron.core.db2.core.ReadWriteSet} against the state of the head block, so that generating
+ * the next block {@link #commit(TransactionCapsule) commits} the results that still hold instead
+ * of executing the transactions.
+ *
+ * <p>Pending transactions are also executed into the pending session on top of the head, so the
+ * speculations read the snapshots the databases were at when the head was {@link #onHead(Map)
+ * set}, before any of them. Whatever they read that changed since, as the state a transaction
+ * packed before wrote, fails validation, and the transaction is executed again. Contract calls
+ * are left out, as they read the block they are executed in, which is not known yet.</p>
+ */
+@Slf4j(topic = "DB")
+public class PendingTransactionSpeculator {
+
+  private static final String NAME = "pending-speculation";
+  private static final long SLEEP_TIME_OUT = 50;
+  // about as many transactions as a block holds
+  private static final int MAX_SPECULATED = 10_000;
+
+  private final ChainBaseManager chainBaseManager;
+  private final AccountStateCallBack accountStateCallBack;
+  private final Processor processor;
+  private final Collection<TransactionCapsule> pending;
+  private final Collection<TransactionCapsule> rePush;
+  private final ExecutorService executor;
+  // empty for a transaction whose speculation failed, so it is not tried again
+  private final Map<Sha256Hash, Optional<Speculated>> speculated = new ConcurrentHashMap<>();
+  private volatile Head head;
+  private volatile boolean running = true;
+
+  public PendingTransactionSpeculator(ChainBaseManager chainBaseManager,
+      AccountStateCallBack accountStateCallBack, Processor processor,
+      Collection<TransactionCapsule> pending, Collection<TransactionCapsule> rePush) {
+    this.chainBaseManager = chainBaseManager;
+    this.accountStateCallBack = accountStateCallBack;
+    this.processor = processor;
+    this.pending = pending;
+    this.rePush = rePush;
+    this.executor = ExecutorServiceManager.newSingleThreadExecutor(NAME, true);
+    ExecutorServiceManager.submit(executor, this::loop);
+  }
+
+  /**
+   * Speculates against {@code heads} from now on, dropping the speculations against the block
+   * before. Call it once a block is applied, while no pending session is built on top of it.
+   */
+  public void onHead(Map<Chainbase, Snapshot> heads) {
+    BlockCapsule next = new BlockCapsule(chainBaseManager.getHeadBlockNum() + 1,
+        chainBaseManager.getHeadBlockId(),
+        chainBaseManager.getHeadBlockTimeStamp() + ChainConstant.BLOCK_PRODUCED_INTERVAL,
+        ByteString.EMPTY);
+    next.generatedByMyself = true;
+    head = new Head(heads, next);
+    speculated.clear();
+  }
+
+  /**
+   * Commits the speculation on {@code tx}, if there is one and it still holds, in place of
+   * executing it for the block being generated.
+   *
+   * @return false if {@code tx} has to be executed
+   */
+  public boolean commit(TransactionCapsule tx) {
+    Optional<Speculated> s = speculated.remove(tx.getTransactionId());
+    if (s != null && s.isPresent() && s.get().commit(tx, chainBaseManager,
+        accountStateCallBack)) {
+      Metrics.counterInc(MetricKeys.Counter.PENDING_SPECULATION, 1,
+          MetricLabels.Counter.SPECULATION_COMMIT);
+      return true;
+    }
+    if (s != null || isSpeculated(tx)) {
+      Metrics.counterInc(MetricKeys.Counter.PENDING_SPECULATION, 1,
+          MetricLabels.Counter.SPECULATION_CONFLICT);
+    }
+    return false;
+  }
+
+  int speculatedCount() {
+    return speculated.size();
+  }
+
+  public void close() {
+    running = false;
+    ExecutorServiceManager.shutdownAndAwaitTermination(executor, NAME);
+  }
+
+  private static boolean isSpeculated(TransactionCapsule tx) {
+    return ParallelTransactionExecutor.isSpeculated(tx) && tx.getInstance().getRawData()
+        .getContract(0).getType() != ContractType.TriggerSmartContract;
+  }
+
+  private void loop() {
+    while (running) {
+      try {
+        Head current = head;
+        if (current != null) {
+          speculate(current, pending);
+          speculate(current, rePush);
+        }
+        TimeUnit.MILLISECONDS.sleep(SLEEP_TIME_OUT);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
+      } catch (Exception e) {
+        logger.warn("Pending speculation failed.", e);
+      }
+    }
+  }
+
+  private void speculate(Head current, Collection<TransactionCapsule> txs) {
+    for (TransactionCapsule tx : txs) {
+      if (!running || head != current || speculated.size() >= MAX_SPECULATED) {
+        return;
+      }
+      if (!isSpeculated(tx) || speculated.containsKey(tx.getTransactionId())) {
+        continue;
+      }
+      Speculated s = ParallelTransactionExecutor.run(tx.copyForExecution(), current.block,
+          processor, current.snapshots);
+      // a speculation against a block that is no longer the head would only conflict
+      if (head == current) {
+        speculated.put(tx.getTransactionId(), Optional.ofNullable(s));
+      }
+    }
+  }
+
+  private static final class Head {
+
+    private final Map<Chainbase, Snapshot> snapshots;
+    // stands in for the block to be generated, the transactions speculated on do not read it
+    private final BlockCapsule block;
+
+    private Head(Map<Chainbase, Snapshot> snapshots, BlockCapsule block) {
+      this.snapshots = snapshots;
+      this.block = block;
+    }
+  }
+}
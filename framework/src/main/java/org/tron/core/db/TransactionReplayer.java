@@ -0,0 +1,129 @@
+package org.tron.core.db;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import lombok.extern.slf4j.Slf4j;
+import org.tron.core.capsule.BlockCapsule;
+import org.tron.core.capsule.BlockCapsule.BlockId;
+import org.tron.core.db2.core.Chainbase;
+import org.tron.core.db2.core.ReadWriteSet;
+import org.tron.core.db2.core.Snapshot;
+import org.tron.core.exception.ContractExeException;
+import org.tron.core.exception.ItemNotFoundException;
+import org.tron.core.vm.config.VMConfig;
+import org.tron.core.vm.trace.ExecutionTracer;
+
+/**
+ * Executes a transaction of a recent block again, against the state it was executed against,
+ * with a tracer installed, for debug_traceTransaction.
+ *
+ * <p>The node keeps no state of past blocks but the snapshots above the solidified root, so the
+ * snapshots the databases are at once a block is applied are kept {@link #onHead(BlockId, Map)
+ * as the head moves}, for as long as they stay in the chain of snapshots: a flush merges them
+ * into the root, and a fork switch pops them. A transaction is replayed in a discarded {@link
+ * ReadWriteSet} opened at the snapshots the block before its own left, after the transactions
+ * before it in its block, and the replay is dropped if those snapshots left the chain while it
+ * ran.</p>
+ */
+@Slf4j(topic = "DB")
+public class TransactionReplayer {
+
+  // well over the blocks a node keeps above the solidified one
+  private static final int MAX_STATES = 256;
+
+  private final Replay replay;
+  // the snapshots the databases were at once each block was applied, oldest first
+  private final Map<BlockId, Map<Chainbase, Snapshot>> states = new LinkedHashMap<>();
+
+  public TransactionReplayer(Replay replay) {
+    this.replay = replay;
+  }
+
+  /**
+   * Executes the first {@code count} transactions of a block again, tracing the last one.
+   */
+  @FunctionalInterface
+  public interface Replay {
+
+    void run(BlockCapsule block, int count, ExecutionTracer tracer) throws Exception;
+  }
+
+  /**
+   * Keeps {@code heads}, the snapshots the databases are at once block {@code id} is applied,
+   * and drops the ones that left the chain of snapshots. Call it while no pending session is
+   * built on top of the head.
+   */
+  public synchronized void onHead(BlockId id, Map<Chainbase, Snapshot> heads) {
+    Iterator<Map<Chainbase, Snapshot>> it = states.values().iterator();
+    while (it.hasNext()) {
+      Map<Chainbase, Snapshot> state = it.next();
+      if (states.size() >= MAX_STATES || !isKept(state)) {
+        it.remove();
+      }
+    }
+    states.put(id, heads);
+  }
+
+  /**
+   * Replays transaction {@code index} of {@code block} with {@code tracer} installed.
+   *
+   * @throws ItemNotFoundException if the state before {@code block} is no longer kept
+   * @throws ContractExeException if the transaction could not be replayed
+   */
+  public void trace(BlockCapsule block, int index, ExecutionTracer tracer)
+      throws ItemNotFoundException, ContractExeException {
+    Map<Chainbase, Snapshot> state = getState(block.getParentBlockId());
+    if (state == null) {
+      throw stateNotKept(block);
+    }
+    ReadWriteSet set = ReadWriteSet.openDiscarded(state);
+    try {
+      replay.run(block, index + 1, tracer);
+    } catch (Exception e) {
+      String reason = set.getAborted() != null ? set.getAborted() : e.getMessage();
+      logger.debug("Replay of block {} stopped: {}.", block.getNum(), reason);
+      throw new ContractExeException("transaction can not be replayed: " + reason);
+    } finally {
+      set.close();
+      // replays run on the RPC threads, which must not keep the VM config of the block
+      VMConfig.clearLocalSnapshot();
+    }
+    if (getState(block.getParentBlockId()) == null) {
+      // flushed while the replay read it, which may then have read later state
+      throw stateNotKept(block);
+    }
+  }
+
+  private synchronized Map<Chainbase, Snapshot> getState(BlockId id) {
+    Map<Chainbase, Snapshot> state = states.get(id);
+    if (state != null && !isKept(state)) {
+      states.remove(id);
+      return null;
+    }
+    return state;
+  }
+
+  private static ItemNotFoundException stateNotKept(BlockCapsule block) {
+    return new ItemNotFoundException(String.format(
+        "the state before block %d is no longer kept", block.getNum()));
+  }
+
+  /**
+   * @return false if a snapshot in {@code state} is no longer below the head of its database,
+   *     so reading it would read the state that was merged into the root since
+   */
+  private static boolean isKept(Map<Chainbase, Snapshot> state) {
+    for (Map.Entry<Chainbase, Snapshot> entry : state.entrySet()) {
+      Snapshot kept = entry.getValue();
+      Snapshot snapshot = entry.getKey().getHead();
+      while (Snapshot.isImpl(snapshot) && snapshot != kept) {
+        snapshot = snapshot.getPrevious();
+      }
+      if (snapshot != kept || !Snapshot.isImpl(kept)) {
+        return false;
+      }
+    }
+    return true;
+  }
+}
@@ -19,6 +19,7 @@ import org.tron.common.backup.BackupManager;
 import org.tron.common.backup.BackupManager.BackupStatusEnum;
 import org.tron.common.crypto.SignInterface;
 import org.tron.common.crypto.SignUtils;
+import org.tron.common.crypto.SignatureCache;
 import org.tron.common.crypto.pqc.PQSchemeRegistry;
 import org.tron.common.crypto.pqc.PqKeypair;
 import org.tron.common.es.ExecutorServiceManager;
@@ -287,7 +288,7 @@ public class RelayService {
           remoteAddress, ByteArray.toHexString(witnessAddr.toByteArray()));
       return false;
     }
-    return PQSchemeRegistry.verify(scheme, publicKey, digest, signature);
+    return SignatureCache.verify(scheme, publicKey, digest, signature);
   }
 
   /**
@@ -27,6 +27,7 @@ import org.tron.core.exception.jsonrpc.JsonRpcTooManyResultException;
 import org.tron.core.services.jsonrpc.types.BlockResult;
 import org.tron.core.services.jsonrpc.types.BuildArguments;
 import org.tron.core.services.jsonrpc.types.CallArguments;
+import org.tron.core.services.jsonrpc.types.TraceOptions;
 import org.tron.core.services.jsonrpc.types.TransactionReceipt;
 import org.tron.core.services.jsonrpc.types.TransactionResult;
 import org.tron.json.JSONObject;
@@ -169,6 +170,48 @@ public interface TronJsonRpc {
       throws JsonRpcInvalidParamsException, JsonRpcInvalidRequestException,
       JsonRpcInternalException;
 
+  @JsonRpcMethod("debug_traceTransaction")
+  @JsonRpcErrors({
+      @JsonRpcError(exception = JsonRpcMethodNotFoundException.class, code = -32601, data = "{}"),
+      @JsonRpcError(exception = JsonRpcInvalidParamsException.class, code = -32602, data = "{}"),
+      @JsonRpcError(exception = JsonRpcInternalException.class, code = -32000, data = "{}"),
+  })
+  Object traceTransaction(String txId)
+      throws JsonRpcInvalidParamsException, JsonRpcInternalException,
+      JsonRpcMethodNotFoundException;
+
+  @JsonRpcMethod("debug_traceTransaction")
+  @JsonRpcErrors({
+      @JsonRpcError(exception = JsonRpcMethodNotFoundException.class, code = -32601, data = "{}"),
+      @JsonRpcError(exception = JsonRpcInvalidParamsException.class, code = -32602, data = "{}"),
+      @JsonRpcError(exception = JsonRpcInternalException.class, code = -32000, data = "{}"),
+  })
+  Object traceTransaction(String txId, TraceOptions options)
+      throws JsonRpcInvalidParamsException, JsonRpcInternalException,
+      JsonRpcMethodNotFoundException;
+
+  @JsonRpcMethod("debug_traceCall")
+  @JsonRpcErrors({
+      @JsonRpcError(exception = JsonRpcInvalidRequestException.class, code = -32600, data = "{}"),
+      @JsonRpcError(exception = JsonRpcMethodNotFoundException.class, code = -32601, data = "{}"),
+      @JsonRpcError(exception = JsonRpcInvalidParamsException.class, code = -32602, data = "{}"),
+      @JsonRpcError(exception = JsonRpcInternalException.class, code = -32000, data = "{}"),
+  })
+  Object traceCall(CallArguments transactionCall, String blockNumOrTag)
+      throws JsonRpcInvalidParamsException, JsonRpcInvalidRequestException,
+      JsonRpcInternalException, JsonRpcMethodNotFoundException;
+
+  @JsonRpcMethod("debug_traceCall")
+  @JsonRpcErrors({
+      @JsonRpcError(exception = JsonRpcInvalidRequestException.class, code = -32600, data = "{}"),
+      @JsonRpcError(exception = JsonRpcMethodNotFoundException.class, code = -32601, data = "{}"),
+      @JsonRpcError(exception = JsonRpcInvalidParamsException.class, code = -32602, data = "{}"),
+      @JsonRpcError(exception = JsonRpcInternalException.class, code = -32000, data = "{}"),
+  })
+  Object traceCall(CallArguments transactionCall, String blockNumOrTag, TraceOptions options)
+      throws JsonRpcInvalidParamsException, JsonRpcInvalidRequestException,
+      JsonRpcInternalException, JsonRpcMethodNotFoundException;
+
   @JsonRpcMethod("net_peerCount")
   String getPeerCount();
 
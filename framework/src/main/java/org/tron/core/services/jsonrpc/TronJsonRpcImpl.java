@@ -63,6 +63,7 @@ import org.tron.core.capsule.BlockCapsule;
 import org.tron.core.capsule.TransactionCapsule;
 import org.tron.core.config.args.Args;
 import org.tron.core.db.Manager;
+import org.tron.core.db.TransactionReplayer;
 import org.tron.core.db2.core.Chainbase;
 import org.tron.core.exception.BadItemException;
 import org.tron.core.exception.ContractExeException;
@@ -88,11 +89,13 @@ import org.tron.core.services.jsonrpc.filters.LogMatch;
 import org.tron.core.services.jsonrpc.types.BlockResult;
 import org.tron.core.services.jsonrpc.types.BuildArguments;
 import org.tron.core.services.jsonrpc.types.CallArguments;
+import org.tron.core.services.jsonrpc.types.TraceOptions;
 import org.tron.core.services.jsonrpc.types.TransactionReceipt;
 import org.tron.core.services.jsonrpc.types.TransactionReceipt.TransactionContext;
 import org.tron.core.services.jsonrpc.types.TransactionResult;
 import org.tron.core.store.StorageRowStore;
 import org.tron.core.vm.program.Storage;
+import org.tron.core.vm.trace.ExecutionTracer;
 import org.tron.json.JSON;
 import org.tron.program.Version;
 import org.tron.protos.Protocol.Account;
@@ -1050,6 +1053,99 @@ public class TronJsonRpcImpl implements TronJsonRpc, Closeable {
         ByteArray.fromHexString(transactionCall.resolveData()));
   }
 
+  @Override
+  public Object traceTransaction(String txId) throws JsonRpcInvalidParamsException,
+      JsonRpcInternalException, JsonRpcMethodNotFoundException {
+    return traceTransaction(txId, null);
+  }
+
+  @Override
+  public Object traceTransaction(String txId, TraceOptions options)
+      throws JsonRpcInvalidParamsException, JsonRpcInternalException,
+      JsonRpcMethodNotFoundException {
+    TransactionReplayer replayer = manager.getTransactionReplayer();
+    requireTraceEnabled("debug_traceTransaction", replayer != null);
+    ExecutionTracer tracer = newTracer(options);
+
+    ByteString transactionId = ByteString.copyFrom(hashToByteArray(txId));
+    TransactionCapsule transactionCapsule = wallet.getTransactionCapsuleById(transactionId);
+    BlockCapsule blockCapsule = transactionCapsule == null ? null
+        : wallet.getBlockCapsuleByNum(transactionCapsule.getBlockNum());
+    int transactionIndex = blockCapsule == null ? -1 : getTransactionIndex(
+        ByteArray.toHexString(transactionCapsule.getTransactionId().getBytes()),
+        blockCapsule.getInstance().getTransactionsList());
+    if (transactionIndex == -1) {
+      throw new JsonRpcInternalException("transaction not found");
+    }
+
+    try {
+      replayer.trace(blockCapsule, transactionIndex, tracer);
+    } catch (ItemNotFoundException | ContractExeException e) {
+      throw new JsonRpcInternalException(e.getMessage());
+    }
+    return tracer.getResult();
+  }
+
+  @Override
+  public Object traceCall(CallArguments transactionCall, String blockNumOrTag)
+      throws JsonRpcInvalidParamsException, JsonRpcInvalidRequestException,
+      JsonRpcInternalException, JsonRpcMethodNotFoundException {
+    return traceCall(transactionCall, blockNumOrTag, null);
+  }
+
+  @Override
+  public Object traceCall(CallArguments transactionCall, String blockNumOrTag,
+      TraceOptions options) throws JsonRpcInvalidParamsException, JsonRpcInvalidRequestException,
+      JsonRpcInternalException, JsonRpcMethodNotFoundException {
+    requireTraceEnabled("debug_traceCall", true);
+    requireLatestBlockTag(blockNumOrTag);
+    ExecutionTracer tracer = newTracer(options);
+
+    byte[] addressData = addressCompatibleToByteArray(transactionCall.getFrom());
+    byte[] contractAddressData = addressCompatibleToByteArray(transactionCall.getTo());
+    TriggerSmartContract triggerContract = triggerCallContract(addressData,
+        contractAddressData, transactionCall.parseValue(),
+        ByteArray.fromHexString(transactionCall.resolveData()), 0, null);
+
+    try {
+      TransactionCapsule trxCap = wallet.createTransactionCapsule(triggerContract,
+          ContractType.TriggerSmartContract);
+      wallet.traceConstantContract(triggerContract, trxCap, tracer);
+    } catch (ContractValidateException | VMIllegalException e) {
+      String errString = CONTRACT_VALIDATE_ERROR;
+      if (e.getMessage() != null) {
+        errString = e.getMessage();
+      }
+      throw new JsonRpcInvalidRequestException(errString);
+    } catch (Exception e) {
+      String errString = JSON_ERROR;
+      if (e.getMessage() != null) {
+        errString = e.getMessage().replaceAll("[\"]", "'");
+      }
+      throw new JsonRpcInternalException(errString);
+    }
+    return tracer.getResult();
+  }
+
+  /**
+   * The debug methods re-execute what they trace, so they are only served by the full node, and
+   * only once enabled.
+   */
+  private void requireTraceEnabled(String method, boolean available)
+      throws JsonRpcMethodNotFoundException {
+    if (!Args.getInstance().isJsonRpcTraceEnable() || !available
+        || getSource() != RequestSource.FULLNODE) {
+      throw new JsonRpcMethodNotFoundException(
+          String.format("the method %s does not exist/is not available", method));
+    }
+  }
+
+  private static ExecutionTracer newTracer(TraceOptions options)
+      throws JsonRpcInvalidParamsException {
+    return (options == null ? new TraceOptions() : options)
+        .newTracer(Args.getInstance().getJsonRpcMaxTraceEntries());
+  }
+
   @Override
   public String getPeerCount() {
     // return the peer list count
@@ -0,0 +1,46 @@
+package org.tron.core.services.jsonrpc.types;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+import org.apache.commons.lang3.StringUtils;
+import org.tron.core.exception.jsonrpc.JsonRpcInvalidParamsException;
+import org.tron.core.vm.trace.CallTracer;
+import org.tron.core.vm.trace.ExecutionTracer;
+import org.tron.core.vm.trace.StructLogTracer;
+
+/**
+ * The options of debug_traceTransaction and debug_traceCall. The options of the tracers this
+ * node does not have, as the memory and storage of the struct logs, are ignored.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class TraceOptions {
+
+  public static final String CALL_TRACER = "callTracer";
+
+  @Getter
+  @Setter
+  private String tracer; // struct logs if not set
+  @Getter
+  @Setter
+  private boolean disableStack;
+
+  /**
+   * @param limit the most entries the tracer keeps
+   */
+  public ExecutionTracer newTracer(int limit) throws JsonRpcInvalidParamsException {
+    if (StringUtils.isEmpty(tracer)) {
+      return new StructLogTracer(limit, disableStack);
+    }
+    if (CALL_TRACER.equals(tracer)) {
+      return new CallTracer(limit);
+    }
+    throw new JsonRpcInvalidParamsException("tracer not supported: " + tracer);
+  }
+}
@@ -0,0 +1,99 @@
+package org.tron.common;
+
+import org.junit.Assume;
+import org.junit.rules.TestRule;
+import org.junit.runner.Description;
+import org.junit.runners.model.Statement;
+
+/**
+ * Harness of the manual benchmarks. They are not part of the regular test suite; a test class
+ * declares this as a {@code @Rule} and is skipped, before any of its setup runs, unless opted in
+ * with:
+ *
+ *   ./gradlew :framework:test -DrunBenchmark=true --tests &lt;benchmark class&gt; -i
+ *
+ * Results are printed as a table, one row per case and one column per implementation compared.
+ */
+public class ManualBenchmark implements TestRule {
+
+  public static final String RUN_PROPERTY = "runBenchmark";
+
+  private static final String LABEL = "  %-18s";
+  private static final String CELL = " %12s";
+
+  // keeps the results of the timed operations alive
+  private static volatile long sink;
+
+  /**
+   * An operation to time.
+   */
+  @FunctionalInterface
+  public interface Operation {
+
+    /**
+     * @param i the iteration, to pick the operands with
+     * @return anything derived from the result, so that it is not optimized away
+     */
+    long run(int i);
+  }
+
+  @Override
+  public Statement apply(Statement base, Description description) {
+    return new Statement() {
+      @Override
+      public void evaluate() throws Throwable {
+        Assume.assumeTrue("set -D" + RUN_PROPERTY + "=true to run manual benchmarks",
+            Boolean.getBoolean(RUN_PROPERTY));
+        base.evaluate();
+      }
+    };
+  }
+
+  /**
+   * Warms all of {@code operations} up together, then times each of them on its own.
+   *
+   * @return the nanoseconds per iteration of each operation, in order
+   */
+  public static double[] time(int warmupIters, int measureIters, Operation... operations) {
+    long acc = 0;
+    for (int i = 0; i < warmupIters; i++) {
+      for (Operation operation : operations) {
+        acc += operation.run(i);
+      }
+    }
+    double[] nanos = new double[operations.length];
+    for (int k = 0; k < operations.length; k++) {
+      long start = System.nanoTime();
+      for (int i = 0; i < measureIters; i++) {
+        acc += operations[k].run(i);
+      }
+      nanos[k] = (System.nanoTime() - start) / (double) measureIters;
+    }
+    sink += acc;
+    return nanos;
+  }
+
+  public static void header(String title, String... columns) {
+    System.out.printf("%n=== %s ===%n", title);
+    row("", (Object[]) columns);
+  }
+
+  public static void row(String label, Object... cells) {
+    StringBuilder line = new StringBuilder(String.format(LABEL, label));
+    for (Object cell : cells) {
+      line.append(String.format(CELL, cell));
+    }
+    System.out.println(line);
+  }
+
+  /**
+   * A row of the nanoseconds {@link #time} returned.
+   */
+  public static void report(String label, double... nanos) {
+    Object[] cells = new Object[nanos.length];
+    for (int i = 0; i < nanos.length; i++) {
+      cells[i] = String.format("%.0f ns", nanos[i]);
+    }
+    row(label, cells);
+  }
+}
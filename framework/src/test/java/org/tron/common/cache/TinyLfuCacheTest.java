@@ -0,0 +1,135 @@
+package org.tron.common.cache;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import com.google.common.cache.Weigher;
+import java.util.concurrent.ExecutionException;
+import org.junit.Test;
+import org.tron.common.parameter.CommonParameter;
+import org.tron.core.config.args.Storage;
+
+public class TinyLfuCacheTest {
+
+  private static final Weigher<String, byte[]> WEIGHER = (k, v) -> v.length;
+  private static final int ENTRY = 100;
+  private static final long ENTRY_WEIGHT = ENTRY + TinyLfuCache.ENTRY_OVERHEAD;
+
+  @Test
+  public void testWeightAccounting() throws ExecutionException {
+    TinyLfuCache<String, byte[]> cache = new TinyLfuCache<>(1 << 20, WEIGHER, null);
+    cache.put("a", new byte[ENTRY]);
+    cache.put("b", new byte[2 * ENTRY]);
+    assertEquals(3 * ENTRY + 2 * TinyLfuCache.ENTRY_OVERHEAD, cache.weightedSize());
+
+    cache.put("b", new byte[ENTRY]);
+    assertEquals(2 * ENTRY_WEIGHT, cache.weightedSize());
+    assertEquals(ENTRY, cache.getIfPresent("b").length);
+    assertEquals(ENTRY, cache.get("c", () -> new byte[ENTRY]).length);
+    assertEquals(3 * ENTRY_WEIGHT, cache.weightedSize());
+
+    cache.invalidate("a");
+    assertNull(cache.getIfPresent("a"));
+    assertEquals(2 * ENTRY_WEIGHT, cache.weightedSize());
+    cache.invalidateAll();
+    assertEquals(0, cache.size());
+    assertEquals(0, cache.weightedSize());
+    assertEquals(1, cache.stats().hitCount());
+    assertEquals(2, cache.stats().missCount());
+  }
+
+  @Test
+  public void testBoundedByWeight() {
+    TinyLfuCache<String, byte[]> cache = new TinyLfuCache<>(100 * ENTRY_WEIGHT, WEIGHER, null);
+    for (int i = 0; i < 1000; i++) {
+      cache.put("key" + i, new byte[ENTRY]);
+      assertTrue(cache.weightedSize() <= cache.maximumWeight());
+    }
+    assertTrue(cache.size() <= 100);
+    assertTrue(cache.stats().evictionCount() >= 900);
+
+    cache.setMaximumWeight(10 * ENTRY_WEIGHT);
+    assertTrue(cache.size() <= 10);
+    assertTrue(cache.weightedSize() <= 10 * ENTRY_WEIGHT);
+  }
+
+  @Test
+  public void testScanResistance() {
+    // 50 hot keys reused every 100 one-off keys, a reuse distance LRU could not hold
+    TinyLfuCache<String, byte[]> cache = new TinyLfuCache<>(100 * ENTRY_WEIGHT, WEIGHER, null);
+    int hotMisses = 0;
+    for (int round = 0; round < 100; round++) {
+      for (int i = 0; i < 50; i++) {
+        String key = "hot" + i;
+        if (cache.getIfPresent(key) == null) {
+          cache.put(key, new byte[ENTRY]);
+          hotMisses += round >= 10 ? 1 : 0;
+        }
+      }
+      for (int i = 0; i < 100; i++) {
+        cache.put("scan" + round + ":" + i, new byte[ENTRY]);
+      }
+    }
+    assertTrue("hot misses " + hotMisses, hotMisses < 90 * 50 / 10);
+  }
+
+  @Test
+  public void testLargeEntryMustOutrankVictims() {
+    TinyLfuCache<String, byte[]> cache = new TinyLfuCache<>(100 * ENTRY_WEIGHT, WEIGHER, null);
+    for (int i = 0; i < 90; i++) {
+      cache.put("key" + i, new byte[ENTRY]);
+      cache.getIfPresent("key" + i);
+    }
+    cache.put("large", new byte[40 * ENTRY]);
+    assertNull(cache.getIfPresent("large"));
+    assertTrue(cache.size() >= 89);
+
+    cache.put("huge", new byte[200 * ENTRY]);
+    assertNull(cache.getIfPresent("huge"));
+  }
+
+  @Test
+  public void testBudgetFollowsHitRatio() {
+    CacheBudget budget = new CacheBudget();
+    long total = 1000 * ENTRY_WEIGHT;
+    TinyLfuCache<String, byte[]> account = budget.register(CacheType.account, total, WEIGHER);
+    TinyLfuCache<String, byte[]> storage = budget.register(CacheType.storageRow, total, WEIGHER);
+    assertEquals(account.maximumWeight(), storage.maximumWeight());
+
+    account.put("key", new byte[ENTRY]);
+    for (int i = 0; i < 1000; i++) {
+      account.getIfPresent("key");
+      storage.getIfPresent("key" + i);
+    }
+    budget.rebalance();
+    assertTrue(account.maximumWeight() > storage.maximumWeight());
+    assertTrue(account.maximumWeight() + storage.maximumWeight() <= total);
+    assertTrue(storage.maximumWeight() > 0);
+  }
+
+  @Test
+  public void testAllocateFollowsBudget() throws ExecutionException {
+    CommonParameter parameter = CommonParameter.getInstance();
+    Storage previous = parameter.storage;
+    parameter.storage = new Storage();
+    try {
+      // no budget, the entry-count strategy of the type as before
+      TronCache<String, byte[]> cache = CacheManager.allocate(CacheType.code, WEIGHER);
+      assertNull(cache.weighted());
+      cache.put("a", new byte[ENTRY]);
+      assertEquals(ENTRY, cache.getIfPresent("a").length);
+      assertEquals(ENTRY, cache.get("b", () -> new byte[ENTRY]).length);
+      assertEquals(1, cache.stats().hitCount());
+
+      parameter.storage.setCacheBudget(1000 * ENTRY_WEIGHT);
+      cache = CacheManager.allocate(CacheType.code, WEIGHER);
+      assertNotNull(cache.weighted());
+      cache.put("a", new byte[ENTRY]);
+      assertEquals(ENTRY_WEIGHT, cache.weighted().weightedSize());
+    } finally {
+      parameter.storage = previous;
+    }
+  }
+}
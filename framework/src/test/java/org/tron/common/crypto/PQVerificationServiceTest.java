@@ -0,0 +1,104 @@
+package org.tron.common.crypto;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import org.junit.Test;
+import org.tron.common.cache.CacheManager;
+import org.tron.common.crypto.pqc.PQSchemeRegistry;
+import org.tron.common.crypto.pqc.PQSignature;
+import org.tron.common.utils.Sha256Hash;
+import org.tron.protos.Protocol.PQScheme;
+
+public class PQVerificationServiceTest {
+
+  private static long hits() {
+    return CacheManager.stats().get("pq-key").hitCount();
+  }
+
+  private static PQSignature signer(PQScheme scheme, int seed) {
+    byte[] bytes = new byte[PQSchemeRegistry.getSeedLength(scheme)];
+    bytes[0] = (byte) seed;
+    return PQSchemeRegistry.fromSeed(scheme, bytes);
+  }
+
+  @Test
+  public void testVerifiersAreReused() {
+    for (PQScheme scheme : PQSchemeRegistry.registeredSchemes()) {
+      PQSignature signer = signer(scheme, 1);
+      byte[] pk = signer.getPublicKey();
+      byte[] message = Sha256Hash.hash(true, scheme.name().getBytes());
+      byte[] signature = signer.sign(message);
+      byte[] forged = signature.clone();
+      forged[forged.length - 1] ^= 1;
+
+      assertTrue(PQVerificationService.verify(scheme, pk, message, signature));
+      long hits = hits();
+      // the same verifier, after a signature that failed and after one that is malformed
+      assertFalse(PQVerificationService.verify(scheme, pk, message, forged));
+      assertThrows(IllegalArgumentException.class,
+          () -> PQVerificationService.verify(scheme, pk, message, new byte[1]));
+      assertTrue(PQVerificationService.verify(scheme, pk, message, signature));
+      assertFalse(PQVerificationService.verify(scheme, pk, new byte[32], signature));
+      assertEquals(hits + 4, hits());
+    }
+  }
+
+  @Test
+  public void testFailsAsTheRegistry() {
+    PQSignature signer = signer(PQScheme.ML_DSA_44, 2);
+    byte[] message = new byte[32];
+    byte[] signature = signer.sign(message);
+    IllegalArgumentException expected = assertThrows(IllegalArgumentException.class,
+        () -> PQSchemeRegistry.verify(PQScheme.ML_DSA_44, new byte[1], message, signature));
+    IllegalArgumentException actual = assertThrows(IllegalArgumentException.class,
+        () -> PQVerificationService.verify(PQScheme.ML_DSA_44, new byte[1], message, signature));
+    assertEquals(expected.getMessage(), actual.getMessage());
+    expected = assertThrows(IllegalArgumentException.class,
+        () -> PQSchemeRegistry.verify(PQScheme.UNKNOWN_PQ_SCHEME, new byte[1], message,
+            signature));
+    actual = assertThrows(IllegalArgumentException.class,
+        () -> PQVerificationService.verify(PQScheme.UNKNOWN_PQ_SCHEME, new byte[1], message,
+            signature));
+    assertEquals(expected.getMessage(), actual.getMessage());
+  }
+
+  @Test
+  public void testBatches() throws Exception {
+    PQSignature signer = signer(PQScheme.FN_DSA_512, 3);
+    byte[] pk = signer.getPublicKey();
+    List<Callable<Boolean>> tasks = new ArrayList<>();
+    List<Boolean> expected = new ArrayList<>();
+    for (int i = 0; i < 8; i++) {
+      byte[] message = Sha256Hash.hash(true, new byte[] {(byte) i});
+      byte[] signature = signer.sign(message);
+      boolean valid = i % 3 != 0;
+      if (!valid) {
+        signature[signature.length - 1] ^= 1;
+      }
+      expected.add(valid);
+      tasks.add(() -> PQVerificationService.verify(PQScheme.FN_DSA_512, pk, message, signature));
+    }
+    assertEquals(expected, PQVerificationService.invokeAll(tasks));
+    assertEquals(expected.subList(0, 1), PQVerificationService.invokeAll(tasks.subList(0, 1)));
+    // a batch submitted from the pool runs where it is
+    List<Callable<List<Boolean>>> nested = Arrays.asList(
+        () -> PQVerificationService.invokeAll(tasks));
+    assertEquals(expected, PQVerificationService.submit(nested).get(0).get());
+
+    ExecutionException e = assertThrows(ExecutionException.class,
+        () -> PQVerificationService.invokeAll(Arrays.asList(() -> true, () -> {
+          throw new IllegalStateException("second");
+        }, () -> {
+          throw new IllegalStateException("third");
+        })));
+    assertEquals("second", e.getCause().getMessage());
+  }
+}
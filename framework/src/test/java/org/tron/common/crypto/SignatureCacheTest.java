@@ -0,0 +1,85 @@
+package org.tron.common.crypto;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import java.security.SignatureException;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Test;
+import org.tron.common.cache.CacheManager;
+import org.tron.common.crypto.ECKey.ECDSASignature;
+import org.tron.common.crypto.pqc.PQSchemeRegistry;
+import org.tron.common.crypto.pqc.PQSignature;
+import org.tron.common.utils.ByteUtil;
+import org.tron.common.utils.Sha256Hash;
+import org.tron.protos.Protocol.PQScheme;
+
+public class SignatureCacheTest {
+
+  private static long hits(String type) {
+    return CacheManager.stats().get(type).hitCount();
+  }
+
+  @Test
+  public void testRecoveredSignerIsCached() throws SignatureException {
+    ECKey key = new ECKey();
+    byte[] hash = Sha256Hash.hash(true, "signer".getBytes());
+    ECDSASignature signature = key.sign(hash);
+
+    byte[] address = SignUtils.signatureToAddress(hash, signature.toBase64(), true);
+    assertArrayEquals(key.getAddress(), address);
+    address[0] = 0;
+    long hits = hits("signer");
+    // the same signature, handed over as its components
+    assertArrayEquals(key.getAddress(), SignUtils.signatureToAddress(hash, signature, true));
+    assertArrayEquals(key.getAddress(), SignUtils.signatureToAddress(hash,
+        signature.toBase64(), true));
+    assertEquals(hits + 2, hits("signer"));
+  }
+
+  @Test
+  public void testFailuresAreNotCached() {
+    ECKey key = new ECKey();
+    byte[] hash = Sha256Hash.hash(true, "failure".getBytes());
+    ECDSASignature signature = key.sign(hash);
+    // a header byte recovery rejects, which toByteArray would not tell from the one it accepts
+    ECDSASignature unrecoverable = ECDSASignature.fromComponents(
+        ByteUtil.bigIntegerToBytes(signature.r, 32), ByteUtil.bigIntegerToBytes(signature.s, 32),
+        (byte) (signature.v - 27));
+    AtomicInteger recoveries = new AtomicInteger();
+    for (int i = 0; i < 2; i++) {
+      SignatureException e = assertThrows(SignatureException.class,
+          () -> SignatureCache.signatureToAddress(hash, unrecoverable.toBase64().getBytes(), true,
+              () -> {
+                recoveries.incrementAndGet();
+                return ECKey.signatureToAddress(hash, unrecoverable);
+              }));
+      assertTrue(e.getMessage().startsWith("Header byte out of range"));
+    }
+    assertEquals(2, recoveries.get());
+    assertThrows(SignatureException.class,
+        () -> SignUtils.signatureToAddress(hash, unrecoverable, true));
+  }
+
+  @Test
+  public void testPqVerificationIsCached() {
+    PQSignature signer = PQSchemeRegistry.fromSeed(PQScheme.ML_DSA_44,
+        new byte[PQSchemeRegistry.getSeedLength(PQScheme.ML_DSA_44)]);
+    byte[] message = Sha256Hash.hash(true, "pq".getBytes());
+    byte[] signature = signer.sign(message);
+
+    assertTrue(SignatureCache.verify(PQScheme.ML_DSA_44, signer.getPublicKey(), message,
+        signature));
+    long hits = hits("pq-verify");
+    assertTrue(SignatureCache.verify(PQScheme.ML_DSA_44, signer.getPublicKey(), message,
+        signature));
+    assertEquals(hits + 1, hits("pq-verify"));
+
+    signature[signature.length - 1] ^= 1;
+    assertFalse(SignatureCache.verify(PQScheme.ML_DSA_44, signer.getPublicKey(), message,
+        signature));
+  }
+}
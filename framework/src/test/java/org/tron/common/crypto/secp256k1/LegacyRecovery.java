@@ -0,0 +1,40 @@
+package org.tron.common.crypto.secp256k1;
+
+import static org.tron.common.crypto.ECKey.CURVE;
+
+import java.math.BigInteger;
+import org.bouncycastle.asn1.x9.X9IntegerConverter;
+import org.bouncycastle.math.ec.ECAlgorithms;
+import org.bouncycastle.math.ec.ECPoint;
+
+/**
+ * The BouncyCastle key recovery {@code ECKey.recoverPubBytesFromSignature} had before it moved
+ * to {@link Secp256k1}, kept as the reference the new one is checked and measured against.
+ */
+final class LegacyRecovery {
+
+  private LegacyRecovery() {
+  }
+
+  static byte[] recoverPubBytes(int recId, BigInteger r, BigInteger s, byte[] messageHash) {
+    BigInteger n = CURVE.getN();
+    BigInteger x = r.add(BigInteger.valueOf((long) recId / 2).multiply(n));
+    if (x.compareTo(CURVE.getCurve().getField().getCharacteristic()) >= 0) {
+      return null;
+    }
+    X9IntegerConverter x9 = new X9IntegerConverter();
+    byte[] compEnc = x9.integerToBytes(x, 1 + x9.getByteLength(CURVE.getCurve()));
+    compEnc[0] = (byte) ((recId & 1) == 1 ? 0x03 : 0x02);
+    ECPoint point = CURVE.getCurve().decodePoint(compEnc);
+    if (!point.multiply(n).isInfinity()) {
+      return null;
+    }
+    BigInteger e = new BigInteger(1, messageHash);
+    BigInteger eInv = BigInteger.ZERO.subtract(e).mod(n);
+    BigInteger rInv = r.modInverse(n);
+    BigInteger srInv = rInv.multiply(s).mod(n);
+    BigInteger eInvrInv = rInv.multiply(eInv).mod(n);
+    return ECAlgorithms.sumOfTwoMultiplies(CURVE.getG(), eInvrInv, point, srInv)
+        .getEncoded(false);
+  }
+}
@@ -0,0 +1,59 @@
+package org.tron.common.crypto.secp256k1;
+
+import java.math.BigInteger;
+import java.util.Random;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.tron.common.ManualBenchmark;
+import org.tron.common.crypto.ECKey;
+import org.tron.common.crypto.ECKey.ECDSASignature;
+
+/**
+ * Manual microbenchmark for public key recovery. Compares {@link Secp256k1} against the
+ * BouncyCastle recovery it replaced, kept in {@link LegacyRecovery}. Run as a
+ * {@link ManualBenchmark}.
+ *
+ * <p>Signatures are real ones over random hashes, recovered with the recId they were made with, as
+ * transaction and block signatures are.
+ */
+public class Secp256k1Benchmark {
+
+  private static final int SIGNATURES = 256;
+  private static final int WARMUP_ITERS = 20_000;
+  private static final int MEASURE_ITERS = 50_000;
+
+  private final byte[][] hashes = new byte[SIGNATURES][];
+  private final ECDSASignature[] signatures = new ECDSASignature[SIGNATURES];
+
+  @Rule
+  public final ManualBenchmark benchmark = new ManualBenchmark();
+
+  @Before
+  public void init() {
+    Random random = new Random(1);
+    for (int i = 0; i < SIGNATURES; i++) {
+      hashes[i] = new byte[32];
+      random.nextBytes(hashes[i]);
+      signatures[i] = ECKey.fromPrivate(new BigInteger(255, random).add(BigInteger.ONE))
+          .sign(hashes[i]);
+    }
+  }
+
+  @Test
+  public void compareEngines() {
+    ManualBenchmark.header("secp256k1 key recovery (measure " + MEASURE_ITERS + ")",
+        "BouncyCastle", "Secp256k1");
+    ManualBenchmark.report("recover", ManualBenchmark.time(WARMUP_ITERS, MEASURE_ITERS,
+        i -> run(true, i), i -> run(false, i)));
+  }
+
+  private int run(boolean legacy, int i) {
+    ECDSASignature signature = signatures[i % SIGNATURES];
+    byte[] hash = hashes[i % SIGNATURES];
+    int recId = signature.v - 27;
+    return (legacy
+        ? LegacyRecovery.recoverPubBytes(recId, signature.r, signature.s, hash)
+        : Secp256k1.recoverPubBytes(recId, signature.r, signature.s, hash))[64];
+  }
+}
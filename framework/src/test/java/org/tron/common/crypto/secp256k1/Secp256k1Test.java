@@ -0,0 +1,190 @@
+package org.tron.common.crypto.secp256k1;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.math.BigInteger;
+import java.util.Random;
+import org.bouncycastle.math.ec.ECPoint;
+import org.bouncycastle.util.BigIntegers;
+import org.junit.Test;
+import org.tron.common.crypto.ECKey;
+import org.tron.common.crypto.ECKey.ECDSASignature;
+
+public class Secp256k1Test {
+
+  private static final BigInteger P = Field.P;
+  private static final BigInteger N = Secp256k1.N;
+  private static final BigInteger TWO_256 = BigInteger.ONE.shiftLeft(256);
+
+  private final Random random = new Random(7);
+
+  private BigInteger randomBelow(BigInteger bound) {
+    BigInteger value;
+    do {
+      value = new BigInteger(bound.bitLength(), random);
+    } while (value.compareTo(bound) >= 0);
+    return value;
+  }
+
+  private static BigInteger value(long[] a) {
+    long[] t = Field.create();
+    Field.set(t, a);
+    Field.normalize(t);
+    byte[] bytes = new byte[32];
+    Field.toBytes(t, bytes, 0);
+    return new BigInteger(1, bytes);
+  }
+
+  @Test
+  public void testFieldArithmetic() {
+    BigInteger[] edges = {BigInteger.ZERO, BigInteger.ONE, P.subtract(BigInteger.ONE), P,
+        P.add(BigInteger.ONE), TWO_256.subtract(BigInteger.ONE)};
+    for (int i = 0; i < 2000; i++) {
+      boolean edge = i < edges.length * edges.length;
+      BigInteger a = edge ? edges[i / edges.length] : randomBelow(TWO_256);
+      BigInteger b = edge ? edges[i % edges.length] : randomBelow(TWO_256);
+      long[] fa = Field.fromBigInteger(a);
+      long[] fb = Field.fromBigInteger(b);
+      long[] r = Field.create();
+
+      Field.add(r, fa, fb);
+      assertEquals(a.add(b).mod(P), value(r));
+      // products of sums, the largest limbs mul and sqr take
+      long[] sum = r.clone();
+      Field.mul(r, sum, sum);
+      assertEquals(a.add(b).pow(2).mod(P), value(r));
+      Field.sqr(r, sum);
+      assertEquals(a.add(b).pow(2).mod(P), value(r));
+      Field.mul(r, fa, fb);
+      assertEquals(a.multiply(b).mod(P), value(r));
+      Field.sub(r, fa, fb);
+      assertEquals(a.subtract(b).mod(P), value(r));
+      Field.negate(r, fa);
+      assertEquals(a.negate().mod(P), value(r));
+      Field.mulInt(r, fa, 8);
+      assertEquals(a.shiftLeft(3).mod(P), value(r));
+      assertEquals(a.mod(P).signum() == 0, Field.isZero(fa));
+
+      Field.inv(r, fa);
+      BigInteger aModP = a.mod(P);
+      assertEquals(aModP.signum() == 0 ? BigInteger.ZERO : aModP.modInverse(P), value(r));
+      boolean square = Field.sqrt(r, fa);
+      assertEquals(aModP.modPow(P.subtract(BigInteger.ONE).shiftRight(1), P)
+          .compareTo(BigInteger.ONE) <= 0, square);
+      if (square) {
+        assertEquals(aModP, value(r).pow(2).mod(P));
+      }
+    }
+  }
+
+  @Test
+  public void testSplitAndWnaf() {
+    for (int i = 0; i < 2000; i++) {
+      BigInteger k = i == 0 ? N.subtract(BigInteger.ONE) : randomBelow(N);
+      BigInteger[] split = Secp256k1.split(k);
+      assertTrue(split[0].abs().bitLength() <= 128);
+      assertTrue(split[1].abs().bitLength() <= 128);
+      assertEquals(k, split[0].add(split[1].multiply(Secp256k1.LAMBDA)).mod(N));
+      for (int w : new int[] {5, 12}) {
+        assertWnaf(split[0], w);
+        assertWnaf(split[1], w);
+      }
+    }
+    assertEquals(0, Secp256k1.wnaf(BigInteger.ZERO, 5).length);
+  }
+
+  private static void assertWnaf(BigInteger k, int w) {
+    int[] wnaf = Secp256k1.wnaf(k, w);
+    BigInteger sum = BigInteger.ZERO;
+    int lastNonZero = -w;
+    for (int i = 0; i < wnaf.length; i++) {
+      if (wnaf[i] != 0) {
+        assertTrue(wnaf[i] % 2 != 0 && Math.abs(wnaf[i]) < 1 << (w - 1));
+        assertTrue(i - lastNonZero >= w);
+        lastNonZero = i;
+        sum = sum.add(BigInteger.valueOf(wnaf[i]).shiftLeft(i));
+      }
+    }
+    assertEquals(k, sum);
+  }
+
+  @Test
+  public void testRecoversSignatures() {
+    for (int i = 0; i < 50; i++) {
+      ECKey key = new ECKey();
+      byte[] hash = new byte[32];
+      random.nextBytes(hash);
+      ECDSASignature signature = key.sign(hash);
+      byte[] recovered = Secp256k1.recoverPubBytes(signature.v - 27, signature.r, signature.s,
+          hash);
+      assertArrayEquals(key.getPubKey(), recovered);
+      for (int recId = 0; recId < 4; recId++) {
+        assertSameOutcome(recId, signature.r, signature.s, hash);
+      }
+    }
+  }
+
+  @Test
+  public void testMatchesArbitraryInputs() {
+    for (int i = 0; i < 200; i++) {
+      byte[] hash = new byte[random.nextInt(3) == 0 ? 64 : 32];
+      random.nextBytes(hash);
+      assertSameOutcome(random.nextInt(4), new BigInteger(256, random),
+          new BigInteger(256, random), hash);
+    }
+  }
+
+  @Test
+  public void testEdgeCases() {
+    byte[] hash = new byte[32];
+    random.nextBytes(hash);
+    BigInteger s = randomBelow(N);
+    // 7 is no square, no point has x = 0
+    assertSameOutcome(0, BigInteger.ZERO, s, hash);
+    // x = r + n is not below p
+    assertNull(Secp256k1.recoverPubBytes(2, P.subtract(N), s, hash));
+    assertSameOutcome(2, P.subtract(N), s, hash);
+    for (int recId = 0; recId < 4; recId++) {
+      assertSameOutcome(recId, BigInteger.ONE, s, hash);
+      assertSameOutcome(recId, N, s, hash);
+      assertSameOutcome(recId, N.subtract(BigInteger.ONE), BigInteger.ZERO, hash);
+      assertSameOutcome(recId, P.subtract(N).subtract(BigInteger.ONE), s, new byte[0]);
+    }
+  }
+
+  @Test
+  public void testRecoversInfinity() {
+    // with s = 1 and e = k, the key r^-1 (R - k G) is infinity
+    for (int i = 0; i < 10; i++) {
+      BigInteger k = randomBelow(N);
+      ECPoint point = ECKey.CURVE.getG().multiply(k).normalize();
+      BigInteger r = point.getAffineXCoord().toBigInteger();
+      int recId = point.getAffineYCoord().toBigInteger().testBit(0) ? 1 : 0;
+      byte[] hash = BigIntegers.asUnsignedByteArray(32, k);
+      assertArrayEquals(new byte[1], Secp256k1.recoverPubBytes(recId, r, BigInteger.ONE, hash));
+      assertSameOutcome(recId, r, BigInteger.ONE, hash);
+    }
+  }
+
+  private static void assertSameOutcome(int recId, BigInteger r, BigInteger s, byte[] hash) {
+    byte[] expected = null;
+    RuntimeException expectedError = null;
+    try {
+      expected = LegacyRecovery.recoverPubBytes(recId, r, s, hash);
+    } catch (RuntimeException e) {
+      expectedError = e;
+    }
+    try {
+      byte[] actual = Secp256k1.recoverPubBytes(recId, r, s, hash);
+      assertNull(expectedError);
+      assertArrayEquals(expected, actual);
+    } catch (RuntimeException e) {
+      assertTrue(expectedError != null);
+      assertEquals(expectedError.getClass(), e.getClass());
+      assertEquals(expectedError.getMessage(), e.getMessage());
+    }
+  }
+}
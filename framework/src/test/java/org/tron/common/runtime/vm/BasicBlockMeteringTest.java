@@ -0,0 +1,182 @@
+package org.tron.common.runtime.vm;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import lombok.SneakyThrows;
+import org.bouncycastle.util.encoders.Hex;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.tron.common.BaseTest;
+import org.tron.common.TestConstants;
+import org.tron.common.parameter.CommonParameter;
+import org.tron.common.runtime.InternalTransaction;
+import org.tron.core.config.args.Args;
+import org.tron.core.store.StoreFactory;
+import org.tron.core.vm.BasicBlocks;
+import org.tron.core.vm.JumpTable;
+import org.tron.core.vm.Op;
+import org.tron.core.vm.OperationRegistry;
+import org.tron.core.vm.VM;
+import org.tron.core.vm.config.VMConfig;
+import org.tron.core.vm.program.Program;
+import org.tron.core.vm.program.invoke.ProgramInvokeMockImpl;
+import org.tron.protos.Protocol;
+
+public class BasicBlockMeteringTest extends BaseTest {
+
+  private static final int[] PLAIN_OPS = {
+      Op.ADD, Op.MUL, Op.SUB, Op.DIV, Op.SDIV, Op.MOD, Op.SMOD, Op.ADDMOD, Op.MULMOD,
+      Op.SIGNEXTEND, Op.LT, Op.GT, Op.SLT, Op.SGT, Op.EQ, Op.ISZERO, Op.AND, Op.OR, Op.XOR,
+      Op.NOT, Op.BYTE, Op.SHL, Op.SHR, Op.SAR, Op.POP, Op.PC, Op.PUSH0, Op.CALLVALUE,
+      Op.CALLDATASIZE, Op.CALLDATALOAD, Op.DUP1, Op.DUP2, Op.DUP4, Op.SWAP1, Op.SWAP3,
+      // opcodes that end a block
+      Op.GAS, Op.EXP, Op.MSTORE, Op.MLOAD, Op.MSIZE
+  };
+
+  private final JumpTable jumpTable = OperationRegistry.getTable();
+
+  @BeforeClass
+  public static void init() {
+    Args.setParam(new String[] {"--output-directory", dbPath(), "--debug"},
+        TestConstants.TEST_CONF);
+    CommonParameter.getInstance().setDebug(true);
+    VMConfig.initAllowTvmConstantinople(1);
+  }
+
+  @AfterClass
+  public static void destroy() {
+    VMConfig.setBasicBlockMetering(false);
+    VMConfig.initAllowTvmConstantinople(0);
+    VMConfig.initAllowTvmShangHai(0);
+    Args.clearParam();
+  }
+
+  @Test
+  public void testDecode() {
+    // PUSH1 1, PUSH1 2, ADD, JUMPDEST, PUSH2 0x5b5b, POP, GAS, DUP1, POP, JUMP, PC
+    BasicBlocks blocks = BasicBlocks.decode(Hex.decode("60016002015b615b5b505a80505658"),
+        jumpTable);
+    BasicBlocks.Block first = blocks.get(0);
+    assertNotNull(first);
+    assertEquals(3 + 3 + 3, first.getEnergy());
+    BasicBlocks.Block second = blocks.get(5);
+    assertNotNull(second);
+    assertEquals(1 + 3 + 2, second.getEnergy());
+    // the push data is not an opcode, a single opcode is not a block
+    assertNull(blocks.get(7));
+    assertNull(blocks.get(1));
+    assertEquals(2 + 3, blocks.get(11).getEnergy());
+    assertNull(blocks.get(14));
+    assertNull(blocks.get(-1));
+    assertNull(blocks.get(64));
+
+    // the stack the blocks need
+    assertTrue(first.fits(0, 1024));
+    assertTrue(first.fits(1022, 1024));
+    assertFalse(first.fits(1023, 1024));
+    assertFalse(blocks.get(11).fits(0, 1024));
+    assertTrue(blocks.get(11).fits(1, 1024));
+  }
+
+  @Test
+  public void testPenalty() {
+    BasicBlocks.Block block = BasicBlocks.decode(Hex.decode("5b6001600201600308"), jumpTable)
+        .get(0);
+    long[] costs = {1, 3, 3, 3, 3, 8};
+    for (long factor : new long[] {10_000, 10_001, 12_345, 34_000}) {
+      long expected = 0;
+      for (long cost : costs) {
+        expected += Math.max(0, cost * factor / 10_000 - cost);
+      }
+      assertEquals(expected, block.getPenalty(factor, 10_000));
+    }
+  }
+
+  @Test
+  public void testSameAsOpcodeByOpcode() {
+    Random random = new Random(15);
+    for (int n = 0; n < 2000; n++) {
+      byte[] code = randomCode(random);
+      long energyLimit = 20 + random.nextInt(600);
+      VMConfig.initAllowTvmShangHai(random.nextInt(2));
+      String plain = run(code, energyLimit, false);
+      String blocks = run(code, energyLimit, true);
+      assertEquals(Hex.toHexString(code) + " with " + energyLimit, plain, blocks);
+    }
+  }
+
+  @SneakyThrows
+  private String run(byte[] code, long energyLimit, boolean basicBlocks) {
+    VMConfig.setBasicBlockMetering(basicBlocks);
+    StoreFactory.init();
+    StoreFactory storeFactory = StoreFactory.getInstance();
+    storeFactory.setChainBaseManager(chainBaseManager);
+    ProgramInvokeMockImpl invoke = new ProgramInvokeMockImpl(storeFactory, code, code);
+    invoke.setEnergyLimit(energyLimit);
+    Program program = new Program(code, code, invoke, new InternalTransaction(
+        Protocol.Transaction.getDefaultInstance(),
+        InternalTransaction.TrxType.TRX_UNKNOWN_TYPE));
+    program.setRootTransactionId(new byte[32]);
+    VM.play(program, jumpTable);
+    RuntimeException e = program.getResult().getException();
+    StringBuilder stack = new StringBuilder();
+    for (int i = 0; i < program.getStack().size(); i++) {
+      stack.append(program.getStack().get(i)).append(' ');
+    }
+    return "energy " + program.getResult().getEnergyUsed()
+        + " penalty " + program.getResult().getEnergyPenaltyTotal()
+        + " pc " + program.getPC()
+        + " ops " + program.getLastOp() + "/" + program.getPreviouslyExecutedOp()
+        + " stack " + stack
+        + " memory " + program.getMemSize()
+        + " error " + (e == null ? null : e.getClass().getSimpleName() + ": " + e.getMessage())
+        + " return " + Hex.toHexString(program.getResult().getHReturn());
+  }
+
+  private static byte[] randomCode(Random random) {
+    ByteArrayOutputStream code = new ByteArrayOutputStream();
+    List<Integer> jumps = new ArrayList<>();
+    List<Integer> targets = new ArrayList<>();
+    int length = 1 + random.nextInt(60);
+    for (int i = 0; i < length; i++) {
+      int r = random.nextInt(10);
+      if (r < 3) {
+        int width = 1 + random.nextInt(3);
+        code.write(Op.PUSH1 + width - 1);
+        for (int j = 0; j < width; j++) {
+          code.write(random.nextInt(4) == 0 ? random.nextInt(256) : 0);
+        }
+      } else if (r < 4) {
+        targets.add(code.size());
+        code.write(Op.JUMPDEST);
+      } else if (r < 5) {
+        // PUSH2 target, JUMP or JUMPI
+        jumps.add(code.size() + 1);
+        code.write(Op.PUSH2);
+        code.write(0);
+        code.write(0);
+        code.write(random.nextBoolean() ? Op.JUMP : Op.JUMPI);
+      } else {
+        code.write(PLAIN_OPS[random.nextInt(PLAIN_OPS.length)]);
+      }
+    }
+    byte[] ops = code.toByteArray();
+    for (int jump : jumps) {
+      // mostly to a jump destination, sometimes anywhere
+      int target = targets.isEmpty() || random.nextInt(8) == 0
+          ? random.nextInt(ops.length) : targets.get(random.nextInt(targets.size()));
+      ops[jump] = (byte) (target >>> 8);
+      ops[jump + 1] = (byte) target;
+    }
+    return ops;
+  }
+}
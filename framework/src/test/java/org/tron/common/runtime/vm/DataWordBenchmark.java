@@ -0,0 +1,104 @@
+package org.tron.common.runtime.vm;
+
+import java.util.Random;
+import java.util.function.BinaryOperator;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.tron.common.ManualBenchmark;
+
+/**
+ * Manual microbenchmark for {@link DataWord} arithmetic. Compares every operation on
+ * {@link UInt256} limbs against the {@code BigInteger} implementation it replaced, kept in
+ * {@link LegacyWordMath}. Run as a {@link ManualBenchmark}.
+ *
+ * <p>Operands are full width random words, the worst case for the legacy path and the usual one
+ * for hashes and fixed point values in contracts.
+ */
+public class DataWordBenchmark {
+
+  private static final int WORDS = 1024;
+  private static final int WARMUP_ITERS = 500_000;
+  private static final int MEASURE_ITERS = 2_000_000;
+
+  private final byte[][] words = new byte[WORDS][];
+  private final byte[][] shifts = new byte[WORDS][];
+
+  @Rule
+  public final ManualBenchmark benchmark = new ManualBenchmark();
+
+  @Before
+  public void init() {
+    Random random = new Random(1);
+    for (int i = 0; i < WORDS; i++) {
+      words[i] = new byte[32];
+      random.nextBytes(words[i]);
+      shifts[i] = new DataWord(random.nextInt(256)).getData();
+    }
+  }
+
+  @Test
+  public void compareEngines() {
+    ManualBenchmark.header("DataWord arithmetic (measure " + MEASURE_ITERS + ")", "BigInteger",
+        "UInt256");
+    report("add", words, LegacyWordMath::add, (a, b) -> {
+      a.add(b);
+      return a;
+    });
+    report("sub", words, LegacyWordMath::sub, (a, b) -> {
+      a.sub(b);
+      return a;
+    });
+    report("mul", words, LegacyWordMath::mul, (a, b) -> {
+      a.mul(b);
+      return a;
+    });
+    report("div", words, LegacyWordMath::div, (a, b) -> {
+      a.div(b);
+      return a;
+    });
+    report("sdiv", words, LegacyWordMath::sdiv, (a, b) -> {
+      a.sDiv(b);
+      return a;
+    });
+    report("mod", words, LegacyWordMath::mod, (a, b) -> {
+      a.mod(b);
+      return a;
+    });
+    report("smod", words, LegacyWordMath::smod, (a, b) -> {
+      a.sMod(b);
+      return a;
+    });
+    report("addmod", words, (a, b) -> LegacyWordMath.addmod(a, b, a), (a, b) -> {
+      a.addmod(b, a.clone());
+      return a;
+    });
+    report("mulmod", words, (a, b) -> LegacyWordMath.mulmod(a, b, a), (a, b) -> {
+      a.mulmod(b, a.clone());
+      return a;
+    });
+    report("exp", words, LegacyWordMath::exp, (a, b) -> {
+      a.exp(b);
+      return a;
+    });
+    report("shl", shifts, LegacyWordMath::shl, DataWord::shiftLeft);
+    report("shr", shifts, LegacyWordMath::shr, DataWord::shiftRight);
+    report("sar", shifts, LegacyWordMath::sar, DataWord::shiftRightSigned);
+  }
+
+  private void report(String name, byte[][] right, BinaryOperator<byte[]> legacy,
+      BinaryOperator<DataWord> engine) {
+    ManualBenchmark.report(name, ManualBenchmark.time(WARMUP_ITERS, MEASURE_ITERS,
+        i -> runLegacy(legacy, right, i), i -> runEngine(engine, right, i)));
+  }
+
+  private int runLegacy(BinaryOperator<byte[]> legacy, byte[][] right, int i) {
+    return legacy.apply(words[i % WORDS], right[(i * 7 + 1) % WORDS])[31];
+  }
+
+  private int runEngine(BinaryOperator<DataWord> engine, byte[][] right, int i) {
+    // the operand words the stack hands over are fresh, the copy is part of both paths
+    return engine.apply(new DataWord(words[i % WORDS].clone()),
+        new DataWord(right[(i * 7 + 1) % WORDS])).getData()[31];
+  }
+}
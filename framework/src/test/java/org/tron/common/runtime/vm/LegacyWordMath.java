@@ -0,0 +1,105 @@
+package org.tron.common.runtime.vm;
+
+import static org.tron.common.runtime.vm.DataWord.MAX_POW;
+import static org.tron.common.runtime.vm.DataWord.MAX_VALUE;
+import static org.tron.common.runtime.vm.DataWord._2_256;
+
+import java.math.BigInteger;
+import org.tron.common.utils.ByteUtil;
+
+/**
+ * The {@code BigInteger} implementations {@link DataWord} arithmetic had before it moved to
+ * {@link UInt256}, kept as the reference the new engine is checked and measured against. Each
+ * method takes the 32-byte operands and returns the 32-byte result.
+ */
+final class LegacyWordMath {
+
+  private LegacyWordMath() {
+  }
+
+  static byte[] add(byte[] a, byte[] b) {
+    return wrap(u(a).add(u(b)));
+  }
+
+  static byte[] sub(byte[] a, byte[] b) {
+    return wrap(u(a).subtract(u(b)));
+  }
+
+  static byte[] mul(byte[] a, byte[] b) {
+    return wrap(u(a).multiply(u(b)));
+  }
+
+  static byte[] div(byte[] a, byte[] b) {
+    return isZero(b) ? new byte[32] : wrap(u(a).divide(u(b)));
+  }
+
+  static byte[] sdiv(byte[] a, byte[] b) {
+    return isZero(b) ? new byte[32] : wrap(s(a).divide(s(b)));
+  }
+
+  static byte[] mod(byte[] a, byte[] b) {
+    return isZero(b) ? new byte[32] : wrap(u(a).mod(u(b)));
+  }
+
+  static byte[] smod(byte[] a, byte[] b) {
+    if (isZero(b)) {
+      return new byte[32];
+    }
+    BigInteger result = s(a).abs().mod(s(b).abs());
+    return wrap(s(a).signum() == -1 ? result.negate() : result);
+  }
+
+  static byte[] addmod(byte[] a, byte[] b, byte[] m) {
+    return isZero(m) ? new byte[32] : wrap(u(a).add(u(b)).mod(u(m)));
+  }
+
+  static byte[] mulmod(byte[] a, byte[] b, byte[] m) {
+    return isZero(a) || isZero(b) || isZero(m) ? new byte[32]
+        : wrap(u(a).multiply(u(b)).mod(u(m)));
+  }
+
+  static byte[] exp(byte[] a, byte[] b) {
+    return ByteUtil.copyToArray(u(a).modPow(u(b), _2_256));
+  }
+
+  static byte[] not(byte[] a) {
+    return ByteUtil.copyToArray(MAX_VALUE.subtract(u(a)));
+  }
+
+  static byte[] negate(byte[] a) {
+    return isZero(a) ? a.clone() : add(not(a), DataWord.ONE().getData());
+  }
+
+  static byte[] shl(byte[] a, byte[] n) {
+    return u(n).compareTo(BigInteger.valueOf(MAX_POW)) >= 0 ? new byte[32]
+        : wrap(u(a).shiftLeft(u(n).intValue()));
+  }
+
+  static byte[] shr(byte[] a, byte[] n) {
+    return u(n).compareTo(BigInteger.valueOf(MAX_POW)) >= 0 ? new byte[32]
+        : wrap(u(a).shiftRight(u(n).intValue()));
+  }
+
+  static byte[] sar(byte[] a, byte[] n) {
+    if (u(n).compareTo(BigInteger.valueOf(MAX_POW)) >= 0) {
+      return s(a).signum() < 0 ? wrap(MAX_VALUE) : new byte[32];
+    }
+    return wrap(s(a).shiftRight(u(n).intValue()));
+  }
+
+  private static BigInteger u(byte[] a) {
+    return new BigInteger(1, a);
+  }
+
+  private static BigInteger s(byte[] a) {
+    return new BigInteger(a);
+  }
+
+  private static byte[] wrap(BigInteger value) {
+    return ByteUtil.copyToArray(value.and(MAX_VALUE));
+  }
+
+  private static boolean isZero(byte[] a) {
+    return u(a).signum() == 0;
+  }
+}
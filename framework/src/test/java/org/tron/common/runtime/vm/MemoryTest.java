@@ -19,6 +19,7 @@
 package org.tron.common.runtime.vm;
 
 import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 import static org.tron.common.math.Maths.ceil;
 
@@ -562,5 +563,31 @@ public class MemoryTest {
     assertTrue(zero == 10);
   }
 
+  @Test
+  public void testLargeMemory() {
+    Memory memory = new Memory();
+    int extended = 0;
+    // words written one after the other across many chunks, the way ABI encoding grows memory
+    for (int address = 0; address < 256 * CHUNK_SIZE; address += WORD_SIZE) {
+      memory.write(address, new DataWord(address).getData(), WORD_SIZE, false);
+      extended += WORD_SIZE;
+      assertEquals(extended, memory.size());
+      assertEquals(calcSize(extended, CHUNK_SIZE), memory.internalSize());
+    }
+    for (int address = 0; address < 256 * CHUNK_SIZE; address += 7 * WORD_SIZE) {
+      assertEquals(new DataWord(address), memory.readWord(address));
+    }
 
+    // a word straddling two chunks, and one past the end that extends the memory
+    int straddling = CHUNK_SIZE - 16;
+    byte[] expected = Arrays.copyOfRange(memory.read(0, 2 * CHUNK_SIZE), straddling,
+        straddling + WORD_SIZE);
+    assertArrayEquals(expected, memory.readWord(straddling).getData());
+    assertEquals(DataWord.ZERO(), memory.readWord(256 * CHUNK_SIZE + 1));
+    assertEquals(256 * CHUNK_SIZE + 2 * WORD_SIZE, memory.size());
+    assertEquals(257 * CHUNK_SIZE, memory.getChunks().size() * CHUNK_SIZE);
+
+    memory.copy(0, 256 * CHUNK_SIZE - WORD_SIZE, WORD_SIZE);
+    assertEquals(new DataWord(256 * CHUNK_SIZE - WORD_SIZE), memory.readWord(0));
+  }
 }
@@ -0,0 +1,72 @@
+package org.tron.common.runtime.vm;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import org.bouncycastle.util.encoders.Hex;
+import org.junit.Test;
+import org.tron.core.vm.Op;
+import org.tron.core.vm.program.ProgramPrecompile;
+
+public class ProgramPrecompileTest {
+
+  @Test
+  public void testPushDataIsSkipped() {
+    // JUMPDEST, PUSH2 0x5b5b, JUMPDEST, PUSH1 0x5b, JUMPDEST
+    ProgramPrecompile precompile = ProgramPrecompile.compile(Hex.decode("5b615b5b5b605b5b"));
+    assertEquals(8, precompile.getCodeLength());
+    assertTrue(precompile.hasJumpDest(0));
+    assertFalse(precompile.hasJumpDest(2));
+    assertFalse(precompile.hasJumpDest(3));
+    assertTrue(precompile.hasJumpDest(4));
+    assertFalse(precompile.hasJumpDest(6));
+    assertTrue(precompile.hasJumpDest(7));
+
+    // a push running past the end of the code
+    precompile = ProgramPrecompile.compile(Hex.decode("7f5b5b"));
+    assertFalse(precompile.hasJumpDest(1));
+    assertFalse(precompile.hasJumpDest(2));
+  }
+
+  @Test
+  public void testOutOfRange() {
+    ProgramPrecompile precompile = ProgramPrecompile.compile(Hex.decode("5b5b"));
+    assertFalse(precompile.hasJumpDest(-1));
+    assertFalse(precompile.hasJumpDest(2));
+    assertFalse(precompile.hasJumpDest(64));
+    assertFalse(precompile.hasJumpDest(Integer.MAX_VALUE));
+    assertFalse(ProgramPrecompile.compile(new byte[0]).hasJumpDest(0));
+  }
+
+  @Test
+  public void testRandomCode() {
+    Random random = new Random(14);
+    for (int n = 0; n < 200; n++) {
+      byte[] ops = new byte[random.nextInt(300)];
+      for (int i = 0; i < ops.length; i++) {
+        // mostly jump destinations and pushes, so both are well covered
+        int r = random.nextInt(4);
+        ops[i] = (byte) (r == 0 ? Op.JUMPDEST
+            : r == 1 ? Op.PUSH1 + random.nextInt(32) : random.nextInt(256));
+      }
+      Set<Integer> expected = new HashSet<>();
+      for (int i = 0; i < ops.length; ++i) {
+        int op = ops[i] & 0xff;
+        if (op == Op.JUMPDEST) {
+          expected.add(i);
+        }
+        if (op >= Op.PUSH1 && op <= Op.PUSH32) {
+          i += op - Op.PUSH1 + 1;
+        }
+      }
+      ProgramPrecompile precompile = ProgramPrecompile.compile(ops);
+      for (int pc = -1; pc <= ops.length + 64; pc++) {
+        assertEquals(expected.contains(pc), precompile.hasJumpDest(pc));
+      }
+    }
+  }
+}
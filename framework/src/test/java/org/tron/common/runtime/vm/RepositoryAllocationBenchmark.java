@@ -0,0 +1,172 @@
+package org.tron.common.runtime.vm;
+
+import com.google.protobuf.ByteString;
+import java.lang.management.ManagementFactory;
+import org.bouncycastle.util.encoders.Hex;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.tron.common.BaseTest;
+import org.tron.common.ManualBenchmark;
+import org.tron.common.TestConstants;
+import org.tron.common.runtime.TVMTestResult;
+import org.tron.common.runtime.TvmTestUtils;
+import org.tron.core.Wallet;
+import org.tron.core.capsule.ContractCapsule;
+import org.tron.core.config.args.Args;
+import org.tron.core.store.StoreFactory;
+import org.tron.core.vm.config.VMConfig;
+import org.tron.core.vm.repository.Repository;
+import org.tron.core.vm.repository.RepositoryImpl;
+import org.tron.protos.Protocol.AccountType;
+import org.tron.protos.contract.SmartContractOuterClass.SmartContract;
+
+/**
+ * Manual benchmark of the memory nested calls allocate in the repository. Run as a
+ * {@link ManualBenchmark}.
+ *
+ * <p>The first benchmark drives the repository directly the way a chain of calls does, the second
+ * one runs a contract that calls itself as deep as it is told to. Both report the bytes the
+ * running thread allocated per chain.
+ */
+public class RepositoryAllocationBenchmark extends BaseTest {
+
+  private static final int[] DEPTHS = {1, 8, 32, 63};
+  private static final int ACCOUNTS = 8;
+  private static final int SLOTS = 8;
+  private static final int WARMUP_ITERS = 200;
+  private static final int MEASURE_ITERS = 1_000;
+  private static final byte[] OWNER;
+
+  // CALLDATALOAD(0) is the depth; unless it is zero, stores it at slot depth and calls itself
+  // with depth - 1
+  private static final String RUNTIME = "600035801560215780805560019003600052600060006020"
+      + "6000600030" + "5af150005b00";
+  private static final String INIT = "6023600c60003960236000f3";
+
+  private final com.sun.management.ThreadMXBean threads =
+      (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+  static {
+    Args.setParam(new String[] {"--output-directory", dbPath(), "--debug"},
+        TestConstants.TEST_CONF);
+    OWNER = Hex.decode(Wallet.getAddressPreFixString()
+        + "abd4b9367799eaa3197fecb144eb71de1e049abc");
+  }
+
+  @Rule
+  public final ManualBenchmark benchmark = new ManualBenchmark();
+
+  @Before
+  public void init() {
+    VMConfig.initVmHardFork(true);
+    RepositoryImpl root = RepositoryImpl.createRoot(StoreFactory.getInstance());
+    root.createAccount(OWNER, AccountType.Normal);
+    root.addBalance(OWNER, 30_000_000_000_000L);
+    root.commit();
+  }
+
+  @After
+  public void resetHardFork() {
+    VMConfig.initVmHardFork(false);
+  }
+
+  private long allocated() {
+    return threads.getThreadAllocatedBytes(Thread.currentThread().getId());
+  }
+
+  @Test
+  public void nestedRepositories() {
+    byte[][] contracts = new byte[ACCOUNTS][];
+    RepositoryImpl setup = RepositoryImpl.createRoot(StoreFactory.getInstance());
+    for (int i = 0; i < ACCOUNTS; i++) {
+      contracts[i] = Hex.decode(Wallet.getAddressPreFixString()
+          + String.format("%040x", 0x1000 + i));
+      setup.createAccount(contracts[i], AccountType.Contract);
+      setup.createContract(contracts[i], new ContractCapsule(SmartContract.newBuilder()
+          .setContractAddress(ByteString.copyFrom(contracts[i])).build()));
+      setup.saveCode(contracts[i], Hex.decode(RUNTIME));
+      setup.addBalance(contracts[i], 1_000_000L);
+    }
+    setup.commit();
+
+    ManualBenchmark.header("nested repositories, " + MEASURE_ITERS + " iterations",
+        "bytes/chain", "us/chain");
+    for (int depth : DEPTHS) {
+      for (int i = 0; i < WARMUP_ITERS; i++) {
+        chain(contracts, depth);
+      }
+      long bytes = allocated();
+      long start = System.nanoTime();
+      for (int i = 0; i < MEASURE_ITERS; i++) {
+        chain(contracts, depth);
+      }
+      long nanos = System.nanoTime() - start;
+      bytes = allocated() - bytes;
+      ManualBenchmark.row("depth " + depth, bytes / MEASURE_ITERS,
+          String.format("%.1f", nanos / 1_000.0 / MEASURE_ITERS));
+    }
+  }
+
+  private void chain(byte[][] contracts, int depth) {
+    RepositoryImpl root = RepositoryImpl.createRoot(StoreFactory.getInstance());
+    call(root, contracts, 0, depth);
+  }
+
+  private void call(Repository caller, byte[][] contracts, int level, int depth) {
+    if (level == depth) {
+      return;
+    }
+    Repository deposit = caller.newRepositoryChild();
+    byte[] from = contracts[level % ACCOUNTS];
+    byte[] to = contracts[(level + 1) % ACCOUNTS];
+    deposit.getAccount(to);
+    deposit.getCode(to);
+    deposit.getContract(to).getContractVersion();
+    deposit.addBalance(from, -1);
+    deposit.addBalance(to, 1);
+    for (int slot = 0; slot < SLOTS; slot++) {
+      DataWord key = new DataWord(slot);
+      deposit.getStorageValue(to, key);
+      deposit.putStorageValue(to, key, new DataWord(level + 1));
+    }
+    call(deposit, contracts, level + 1, depth);
+    deposit.commit();
+  }
+
+  @Test
+  public void recursiveContract() throws Exception {
+    dbManager.getDynamicPropertiesStore().saveAllowTvmConstantinople(1);
+    long feeLimit = 1_000_000_000L;
+    TVMTestResult deployed = TvmTestUtils.deployContractAndReturnTvmTestResult("recursive",
+        OWNER, "[]", INIT + RUNTIME, 0, feeLimit, 100, null, dbManager, null);
+    byte[] contract = deployed.getContractAddress();
+
+    ManualBenchmark.header("recursive contract, " + MEASURE_ITERS / 10 + " iterations",
+        "bytes/call", "us/call");
+    for (int depth : DEPTHS) {
+      byte[] data = new DataWord(depth).getData();
+      TVMTestResult result = TvmTestUtils.triggerContractAndReturnTvmTestResult(OWNER,
+          contract, data, 0, feeLimit, dbManager, null);
+      Assert.assertNull(result.getRuntime().getRuntimeError());
+      Assert.assertEquals(new DataWord(depth), RepositoryImpl.createRoot(
+          StoreFactory.getInstance()).getStorageValue(contract, new DataWord(depth)));
+      for (int i = 0; i < WARMUP_ITERS / 10; i++) {
+        TvmTestUtils.triggerContractAndReturnTvmTestResult(OWNER, contract, data, 0, feeLimit,
+            dbManager, null);
+      }
+      long bytes = allocated();
+      long start = System.nanoTime();
+      for (int i = 0; i < MEASURE_ITERS / 10; i++) {
+        TvmTestUtils.triggerContractAndReturnTvmTestResult(OWNER, contract, data, 0, feeLimit,
+            dbManager, null);
+      }
+      long nanos = System.nanoTime() - start;
+      bytes = allocated() - bytes;
+      ManualBenchmark.row("depth " + depth, bytes / (MEASURE_ITERS / 10),
+          String.format("%.1f", nanos / 1_000.0 / (MEASURE_ITERS / 10)));
+    }
+  }
+}
@@ -0,0 +1,172 @@
+package org.tron.common.runtime.vm;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.bouncycastle.util.encoders.Hex;
+import org.junit.Before;
+import org.junit.Test;
+import org.tron.common.BaseTest;
+import org.tron.common.TestConstants;
+import org.tron.core.Wallet;
+import org.tron.core.capsule.AccountCapsule;
+import org.tron.core.capsule.BytesCapsule;
+import org.tron.core.config.args.Args;
+import org.tron.core.store.StoreFactory;
+import org.tron.core.vm.config.VMConfig;
+import org.tron.core.vm.repository.Repository;
+import org.tron.core.vm.repository.RepositoryImpl;
+import org.tron.protos.Protocol.AccountType;
+
+public class RepositoryJournalTest extends BaseTest {
+
+  private static final byte[] OWNER;
+  private static final byte[] OTHER;
+  private static final byte[] CONTRACT;
+  private static final byte[] PROPERTY = "REPOSITORY_JOURNAL_TEST".getBytes();
+
+  private RepositoryImpl root;
+
+  static {
+    Args.setParam(new String[] {"--output-directory", dbPath(), "--debug"},
+        TestConstants.TEST_CONF);
+    OWNER = Hex.decode(Wallet.getAddressPreFixString()
+        + "abd4b9367799eaa3197fecb144eb71de1e049abc");
+    OTHER = Hex.decode(Wallet.getAddressPreFixString()
+        + "548794500882809695a8a687866e76d4271a1abc");
+    CONTRACT = Hex.decode(Wallet.getAddressPreFixString()
+        + "1234500882809695a8a687866e76d4271a1a5678");
+  }
+
+  @Before
+  public void init() {
+    root = RepositoryImpl.createRoot(StoreFactory.getInstance());
+    root.createAccount(OWNER, AccountType.Normal);
+    root.addBalance(OWNER, 1_000L);
+    root.commit();
+    root = RepositoryImpl.createRoot(StoreFactory.getInstance());
+  }
+
+  private long stored(byte[] address) {
+    AccountCapsule account = chainBaseManager.getAccountStore().get(address);
+    return account == null ? -1 : account.getBalance();
+  }
+
+  @Test
+  public void testCommitAndRevert() {
+    Repository child = root.newRepositoryChild();
+    child.addBalance(OWNER, 1);
+    Repository grandchild = child.newRepositoryChild();
+    grandchild.addBalance(OWNER, 10);
+    assertEquals(1_011L, grandchild.getBalance(OWNER));
+    assertEquals(1_001L, child.getBalance(OWNER));
+    assertEquals(1_000L, root.getBalance(OWNER));
+    grandchild.commit();
+    assertEquals(1_011L, child.getBalance(OWNER));
+    assertEquals(1_000L, root.getBalance(OWNER));
+
+    // a failed call is never committed, the next one does not see it
+    Repository failed = child.newRepositoryChild();
+    failed.addBalance(OWNER, 100);
+    failed.createAccount(OTHER, AccountType.Normal);
+    assertEquals(1_111L, failed.getBalance(OWNER));
+    Repository next = child.newRepositoryChild();
+    assertEquals(1_011L, next.getBalance(OWNER));
+    assertNull(next.getAccount(OTHER));
+    next.addBalance(OWNER, 1_000);
+    next.commit();
+    child.commit();
+    assertEquals(2_011L, root.getBalance(OWNER));
+    assertEquals(1_000L, stored(OWNER));
+
+    root.commit();
+    assertEquals(2_011L, stored(OWNER));
+    assertEquals(-1, stored(OTHER));
+  }
+
+  @Test
+  public void testRootCommitDropsOpenChildren() {
+    Repository child = root.newRepositoryChild();
+    child.addBalance(OWNER, 1);
+    child.updateDynamicProperty(PROPERTY, new BytesCapsule(new byte[] {1}));
+    root.commit();
+    assertEquals(1_000L, stored(OWNER));
+    assertFalse(chainBaseManager.getDynamicPropertiesStore().has(PROPERTY));
+  }
+
+  @Test
+  public void testParentReadsWhileChildIsOpen() {
+    Repository child = root.newRepositoryChild();
+    child.createAccount(OTHER, AccountType.Normal);
+    child.addBalance(OTHER, 5);
+    // the parent does not see what the child wrote, before it commits
+    assertNull(root.getAccount(OTHER));
+    assertEquals(1_000L, root.getBalance(OWNER));
+    assertEquals(5L, child.getBalance(OTHER));
+    child.commit();
+    assertEquals(5L, root.getBalance(OTHER));
+    // a committed child reads through its parent
+    assertEquals(5L, child.getBalance(OTHER));
+    root.addBalance(OTHER, 1);
+    assertEquals(6L, child.getBalance(OTHER));
+  }
+
+  @Test
+  public void testDeepNesting() {
+    Repository[] levels = new Repository[64];
+    levels[0] = root;
+    for (int i = 1; i < levels.length; i++) {
+      levels[i] = levels[i - 1].newRepositoryChild();
+      levels[i].addBalance(OWNER, 1);
+      levels[i].putNewContract(new byte[] {(byte) i});
+    }
+    for (int i = levels.length - 1; i > 0; i--) {
+      assertEquals(1_000L + i, levels[i].getBalance(OWNER));
+      assertTrue(levels[i].isNewContract(new byte[] {(byte) i}));
+      assertFalse(levels[i - 1].isNewContract(new byte[] {(byte) i}));
+    }
+    // every other level fails
+    for (int i = levels.length - 1; i > 0; i--) {
+      if (i % 2 == 0) {
+        levels[i].commit();
+      }
+    }
+    // only the calls whose callers all committed too count, the first two
+    levels[1].commit();
+    assertEquals(1_002L, root.getBalance(OWNER));
+    assertTrue(root.isNewContract(new byte[] {1}));
+    assertTrue(root.isNewContract(new byte[] {2}));
+    assertFalse(root.isNewContract(new byte[] {3}));
+  }
+
+  @Test
+  public void testStorageCopiedOnWrite() {
+    VMConfig.initVmHardFork(true);
+    try {
+      root.createAccount(CONTRACT, AccountType.Contract);
+      DataWord key = new DataWord(1);
+      root.putStorageValue(CONTRACT, key, new DataWord(1));
+      Repository child = root.newRepositoryChild();
+      assertEquals(new DataWord(1), child.getStorageValue(CONTRACT, key));
+      child.putStorageValue(CONTRACT, key, new DataWord(2));
+      child.putStorageValue(CONTRACT, new DataWord(2), new DataWord(3));
+      assertEquals(new DataWord(1), root.getStorageValue(CONTRACT, key));
+      assertNull(root.getStorageValue(CONTRACT, new DataWord(2)));
+      child.commit();
+      assertEquals(new DataWord(2), root.getStorageValue(CONTRACT, key));
+      assertEquals(new DataWord(3), root.getStorageValue(CONTRACT, new DataWord(2)));
+
+      Repository failed = root.newRepositoryChild();
+      failed.putStorageValue(CONTRACT, key, new DataWord(4));
+      assertEquals(new DataWord(2), root.getStorageValue(CONTRACT, key));
+      root.commit();
+      assertArrayEquals(new DataWord(2).getData(), RepositoryImpl.createRoot(
+          StoreFactory.getInstance()).getStorageValue(CONTRACT, key).getData());
+    } finally {
+      VMConfig.initVmHardFork(false);
+    }
+  }
+}
@@ -0,0 +1,114 @@
+package org.tron.common.runtime.vm;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThrows;
+
+import java.util.ArrayList;
+import java.util.EmptyStackException;
+import java.util.List;
+import org.bouncycastle.util.encoders.Hex;
+import org.junit.Test;
+import org.tron.core.vm.program.Stack;
+import org.tron.core.vm.program.listener.ProgramListenerAdaptor;
+
+public class StackTest {
+
+  @Test
+  public void testOperateReusesWords() {
+    Stack stack = new Stack();
+    stack.push(new DataWord(3));
+    stack.push(new DataWord(4));
+    DataWord top = stack.peek();
+
+    stack.operate(2, (a, b, c) -> a.add(b));
+    assertEquals(1, stack.size());
+    assertSame(top, stack.peek());
+    assertEquals(new DataWord(7), stack.peek());
+
+    // the dropped operand is written again by the next push, nothing is allocated
+    stack.dup(1);
+    DataWord copy = stack.peek();
+    assertNotSame(top, copy);
+    stack.push(Hex.decode("01"), 0, 1);
+    stack.operate(2, (a, b, c) -> b.shl(a.intValueCapped(DataWord.MAX_POW)));
+    assertEquals(new DataWord(14), stack.peek());
+    stack.dup(1);
+    stack.push(new byte[0], 0, 2);
+    stack.operate(3, (a, b, c) -> a.addmod(b, c));
+    assertEquals(DataWord.ZERO(), stack.peek());
+    assertSame(top, stack.get(0));
+  }
+
+  @Test
+  public void testPoppedWordsAreNotReused() {
+    Stack stack = new Stack();
+    stack.push(new DataWord(1));
+    stack.push(new DataWord(2));
+    DataWord popped = stack.pop();
+    stack.dup(1);
+    stack.push(Hex.decode("ff"), 0, 1);
+    assertEquals(new DataWord(2), popped);
+    assertEquals(new DataWord(1), stack.get(1));
+    assertEquals(new DataWord(0xff), stack.get(2));
+  }
+
+  @Test
+  public void testPushCode() {
+    Stack stack = new Stack();
+    byte[] code = Hex.decode("60aabbcc");
+    stack.push(code, 1, 2);
+    assertEquals(new DataWord(0xaabb), stack.peek());
+    // past the end of the code the word is padded with zeros
+    stack.push(code, 2, 4);
+    assertEquals("bbcc0000", Hex.toHexString(stack.peek().getData(), 28, 4));
+    stack.push(new byte[32], 0, 32);
+    stack.pop();
+    stack.push(code, 0, 32);
+    assertEquals("60aabbcc", Hex.toHexString(stack.peek().getData(), 0, 4));
+    assertEquals(3, stack.size());
+  }
+
+  @Test
+  public void testListener() {
+    List<String> events = new ArrayList<>();
+    Stack stack = new Stack();
+    stack.setProgramListener(new ProgramListenerAdaptor() {
+      @Override
+      public void onStackPop() {
+        events.add("pop");
+      }
+
+      @Override
+      public void onStackPush(DataWord value) {
+        events.add("push " + value.intValue());
+      }
+
+      @Override
+      public void onStackSwap(int from, int to) {
+        events.add("swap " + from + " " + to);
+      }
+    });
+    stack.push(Hex.decode("05"), 0, 1);
+    stack.dup(1);
+    stack.swap(1, 0);
+    stack.operate(2, (a, b, c) -> a.mul(b));
+    stack.pop();
+    assertEquals(java.util.Arrays.asList("push 5", "push 5", "swap 1 0", "pop", "pop",
+        "push 25", "pop"), events);
+  }
+
+  @Test
+  public void testBounds() {
+    Stack stack = new Stack();
+    assertThrows(EmptyStackException.class, stack::pop);
+    assertThrows(EmptyStackException.class, stack::peek);
+    assertThrows(EmptyStackException.class, () -> stack.operate(1, (a, b, c) -> a));
+    for (int i = 0; i < Stack.MAX_SIZE; i++) {
+      stack.push(new DataWord(i));
+    }
+    assertThrows(ArrayIndexOutOfBoundsException.class, () -> stack.push(new DataWord(0)));
+    assertEquals(new DataWord(Stack.MAX_SIZE - 1), stack.peek());
+  }
+}
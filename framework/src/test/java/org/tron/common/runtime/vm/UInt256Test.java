@@ -0,0 +1,239 @@
+package org.tron.common.runtime.vm;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.BinaryOperator;
+import org.bouncycastle.util.encoders.Hex;
+import org.junit.Test;
+
+/**
+ * Checks {@link DataWord} arithmetic on {@link UInt256} against the {@link BigInteger}
+ * implementations it replaced, on the edge values of every operation and on random operands
+ * biased towards carries, borrows and the corner cases of long division.
+ */
+public class UInt256Test {
+
+  private static final int ROUNDS = 20_000;
+
+  private final Random random = new Random(20_250_101L);
+
+  @Test
+  public void testEdgeValues() {
+    List<byte[]> edges = edges();
+    for (byte[] a : edges) {
+      for (byte[] b : edges) {
+        checkBinary(a, b);
+        for (byte[] m : edges) {
+          checkModular(a, b, m);
+        }
+      }
+      checkUnary(a);
+    }
+  }
+
+  @Test
+  public void testRandomOperands() {
+    for (int i = 0; i < ROUNDS; i++) {
+      byte[] a = next();
+      byte[] b = next();
+      checkBinary(a, b);
+      checkModular(a, b, next());
+      checkUnary(a);
+    }
+  }
+
+  @Test
+  public void testKnownValues() {
+    // 2^255 / -1 stays 2^255, the one signed division that overflows
+    byte[] min = new byte[32];
+    min[0] = (byte) 0x80;
+    DataWord word = new DataWord(min);
+    DataWord minusOne = DataWord.ONE();
+    minusOne.negate();
+    word.sDiv(minusOne);
+    assertArrayEquals(min, word.getData());
+
+    // 3^200 wraps, 2^255 * 2 does too
+    DataWord three = new DataWord(3);
+    three.exp(new DataWord(200));
+    assertArrayEquals(LegacyWordMath.exp(new DataWord(3).getData(),
+        new DataWord(200).getData()), three.getData());
+    word = new DataWord(min.clone());
+    word.mul(new DataWord(2));
+    assertArrayEquals(new byte[32], word.getData());
+
+    // a quotient digit estimated one too high, only caught by adding the divisor back
+    checkBinary(
+        Hex.decode("000000000000000000000000000000007fffffff800000000000000000000000"),
+        Hex.decode("0000000000000000000000000000000000000000800000000000000000000001"));
+
+    UInt256 value = new UInt256().set(Hex.decode("0102"));
+    assertEquals(0x0102, value.intValueCapped(Integer.MAX_VALUE));
+    assertEquals(256, value.intValueCapped(256));
+  }
+
+  private void checkBinary(byte[] a, byte[] b) {
+    check("add", a, b, LegacyWordMath::add, DataWord::add);
+    check("sub", a, b, LegacyWordMath::sub, DataWord::sub);
+    check("mul", a, b, LegacyWordMath::mul, DataWord::mul);
+    check("div", a, b, LegacyWordMath::div, DataWord::div);
+    check("sdiv", a, b, LegacyWordMath::sdiv, DataWord::sDiv);
+    check("mod", a, b, LegacyWordMath::mod, DataWord::mod);
+    check("smod", a, b, LegacyWordMath::smod, DataWord::sMod);
+    check("exp", a, b, LegacyWordMath::exp, DataWord::exp);
+    byte[] n = shiftAmount(b);
+    checkShift("shl", a, n, LegacyWordMath::shl, (x, y) -> x.shiftLeft(y));
+    checkShift("shr", a, n, LegacyWordMath::shr, (x, y) -> x.shiftRight(y));
+    checkShift("sar", a, n, LegacyWordMath::sar, (x, y) -> x.shiftRightSigned(y));
+  }
+
+  @Test
+  public void testComparisons() {
+    for (int i = 0; i < ROUNDS; i++) {
+      byte[] a = next();
+      byte[] b = random.nextInt(8) == 0 ? a.clone() : next();
+      UInt256 x = new UInt256().set(a);
+      UInt256 y = new UInt256().set(b);
+      assertEquals(Integer.signum(new BigInteger(1, a).compareTo(new BigInteger(1, b))),
+          Integer.signum(x.compareTo(y)));
+      assertEquals(Integer.signum(new BigInteger(a).compareTo(new BigInteger(b))),
+          Integer.signum(x.signedCompareTo(y)));
+      DataWord word = new DataWord(a.clone());
+      assertArrayEquals(word.and(new DataWord(b)).getData(),
+          new UInt256().set(a).and(y).toBytes());
+      word = new DataWord(a.clone());
+      assertArrayEquals(word.or(new DataWord(b)).getData(),
+          new UInt256().set(a).or(y).toBytes());
+      word = new DataWord(a.clone());
+      assertArrayEquals(word.xor(new DataWord(b)).getData(),
+          new UInt256().set(a).xor(y).toBytes());
+    }
+  }
+
+  private void checkModular(byte[] a, byte[] b, byte[] m) {
+    DataWord word = new DataWord(a.clone());
+    word.addmod(new DataWord(b.clone()), new DataWord(m.clone()));
+    assertResult("addmod", LegacyWordMath.addmod(a, b, m), word.getData(), a, b, m);
+    word = new DataWord(a.clone());
+    word.mulmod(new DataWord(b.clone()), new DataWord(m.clone()));
+    assertResult("mulmod", LegacyWordMath.mulmod(a, b, m), word.getData(), a, b, m);
+  }
+
+  private void checkUnary(byte[] a) {
+    DataWord word = new DataWord(a.clone());
+    word.bnot();
+    assertResult("not", LegacyWordMath.not(a), word.getData(), a);
+    word = new DataWord(a.clone());
+    word.negate();
+    assertResult("negate", LegacyWordMath.negate(a), word.getData(), a);
+  }
+
+  private static void check(String op, byte[] a, byte[] b, BinaryOperator<byte[]> legacy,
+      WordOp engine) {
+    DataWord word = new DataWord(a.clone());
+    engine.apply(word, new DataWord(b.clone()));
+    assertResult(op, legacy.apply(a, b), word.getData(), a, b);
+  }
+
+  private static void checkShift(String op, byte[] a, byte[] n, BinaryOperator<byte[]> legacy,
+      BinaryOperator<DataWord> engine) {
+    DataWord result = engine.apply(new DataWord(a.clone()), new DataWord(n.clone()));
+    assertResult(op, legacy.apply(a, n), result.getData(), a, n);
+  }
+
+  private static void assertResult(String op, byte[] expected, byte[] actual,
+      byte[]... operands) {
+    StringBuilder message = new StringBuilder(op);
+    for (byte[] operand : operands) {
+      message.append(' ').append(Hex.toHexString(operand));
+    }
+    assertArrayEquals(message.toString(), expected, actual);
+  }
+
+  /**
+   * Shift amounts are mostly below 256, where the result depends on them.
+   */
+  private byte[] shiftAmount(byte[] b) {
+    if (random.nextInt(4) == 0) {
+      return b;
+    }
+    byte[] n = new byte[32];
+    n[31] = (byte) random.nextInt(256);
+    if (random.nextInt(8) == 0) {
+      n[30] = 1;
+    }
+    return n;
+  }
+
+  private byte[] next() {
+    byte[] word = new byte[32];
+    switch (random.nextInt(8)) {
+      case 0:
+        // few significant bytes, single digit divisors and short dividends
+        int length = 1 + random.nextInt(9);
+        for (int i = 32 - length; i < 32; i++) {
+          word[i] = (byte) random.nextInt();
+        }
+        break;
+      case 1:
+        // runs of ones and zeros, the carries and borrows of whole limbs
+        int from = random.nextInt(32);
+        int to = from + random.nextInt(32 - from) + 1;
+        for (int i = from; i < to; i++) {
+          word[i] = (byte) 0xff;
+        }
+        break;
+      case 2:
+        // a top 32-bit digit that needs no normalization shift
+        random.nextBytes(word);
+        int top = 4 * random.nextInt(8);
+        java.util.Arrays.fill(word, 0, top, (byte) 0);
+        word[top] |= (byte) 0x80;
+        break;
+      case 3:
+        // negative numbers close to zero
+        word = new byte[32];
+        java.util.Arrays.fill(word, (byte) 0xff);
+        word[31] = (byte) random.nextInt();
+        break;
+      case 4:
+        word[random.nextInt(32)] = (byte) (1 << random.nextInt(8));
+        break;
+      default:
+        random.nextBytes(word);
+        for (int i = 0, zeros = random.nextInt(32); i < zeros; i++) {
+          word[i] = 0;
+        }
+        break;
+    }
+    return word;
+  }
+
+  private static List<byte[]> edges() {
+    List<byte[]> edges = new ArrayList<>();
+    edges.add(new byte[32]);
+    edges.add(new DataWord(1).getData());
+    edges.add(new DataWord(2).getData());
+    edges.add(new DataWord(255).getData());
+    edges.add(new DataWord(256).getData());
+    edges.add(Hex.decode("00000000000000000000000000000000000000000000000000000000ffffffff"));
+    edges.add(Hex.decode("0000000000000000000000000000000000000000000000010000000000000000"));
+    edges.add(Hex.decode("00000000000000000000000000000000ffffffffffffffffffffffffffffffff"));
+    edges.add(Hex.decode("0000000000000000000000000000000100000000000000000000000000000000"));
+    edges.add(Hex.decode("7fffffffffffffffffffffffffffffffffffffffffffffffffffffffffffffff"));
+    edges.add(Hex.decode("8000000000000000000000000000000000000000000000000000000000000000"));
+    edges.add(Hex.decode("8000000000000000000000000000000000000000000000000000000000000001"));
+    edges.add(Hex.decode("fffffffffffffffffffffffffffffffffffffffffffffffffffffffffffffffe"));
+    edges.add(Hex.decode("ffffffffffffffffffffffffffffffffffffffffffffffffffffffffffffffff"));
+    return edges;
+  }
+
+  private interface WordOp {
+    void apply(DataWord word, DataWord other);
+  }
+}
@@ -5,10 +5,15 @@ import static org.junit.Assert.assertThrows;
 import static org.tron.common.TestConstants.TEST_CONF;
 import static org.tron.common.TestConstants.assumeLevelDbAvailable;
 
+import io.prometheus.client.Collector.MetricFamilySamples;
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
 import org.junit.AfterClass;
 import org.junit.Assert;
 import org.junit.BeforeClass;
@@ -18,12 +23,16 @@ import org.junit.Test;
 import org.junit.rules.ExpectedException;
 import org.junit.rules.TemporaryFolder;
 import org.rocksdb.RocksDBException;
+import org.rocksdb.TickerType;
 import org.tron.common.parameter.CommonParameter;
+import org.tron.common.setting.RocksDbSettings;
 import org.tron.common.storage.leveldb.LevelDbDataSourceImpl;
+import org.tron.common.storage.metric.RocksDbExports;
 import org.tron.common.utils.FileUtil;
 import org.tron.common.utils.PropUtil;
 import org.tron.common.utils.StorageUtils;
 import org.tron.core.config.args.Args;
+import org.tron.core.db2.common.WrappedByteArray;
 import org.tron.core.exception.TronError;
 
 /**
@@ -139,6 +148,63 @@ public class RocksDbDataSourceImplTest {
     dataSource.closeDB();
   }
 
+  @Test
+  public void prefixScanAndStatistics() {
+    RocksDbSettings settings = RocksDbSettings.getSettings();
+    Assert.assertEquals(RocksDbSettings.Profile.POINT_LOOKUP, settings.getProfile("account"));
+    Assert.assertEquals(RocksDbSettings.Profile.APPEND_ONLY, settings.getProfile("block"));
+    Assert.assertEquals(21, settings.getPrefixLength("account-asset"));
+    Assert.assertEquals(0, settings.getPrefixLength("account"));
+
+    settings.withEnableStatistics(true)
+        .withPrefixScan(Collections.singletonList("test_prefixScan:4"));
+    RocksDbDataSourceImpl dataSource;
+    try {
+      dataSource = new RocksDbDataSourceImpl(
+          Args.getInstance().getOutputDirectory(), "test_prefixScan");
+    } finally {
+      settings.withEnableStatistics(false);
+    }
+    for (String key : Arrays.asList("aa", "aaaa1", "aaaa2", "aaab1", "aaab2", "b")) {
+      dataSource.putData(key.getBytes(), key.getBytes());
+    }
+    assertKeys(dataSource.prefixQuery("aaaa".getBytes()), "aaaa1", "aaaa2");
+    assertKeys(dataSource.prefixQuery("aaab2".getBytes()), "aaab2");
+    // shorter than the prefix: has to iterate in total order, across prefixes
+    assertKeys(dataSource.prefixQuery("aa".getBytes()),
+        "aa", "aaaa1", "aaaa2", "aaab1", "aaab2");
+    Assert.assertEquals(3, dataSource.getValuesNext("aaaa2".getBytes(), 3).size());
+    Assert.assertArrayEquals("aaab1".getBytes(), dataSource.getData("aaab1".getBytes()));
+
+    Assert.assertTrue(dataSource.getTickers(Collections.singletonList(
+        TickerType.NUMBER_KEYS_WRITTEN)).get(TickerType.NUMBER_KEYS_WRITTEN) >= 6);
+    Assert.assertTrue(dataSource.getLongProperties(Collections.singletonList(
+        "rocksdb.estimate-num-keys")).containsKey("rocksdb.estimate-num-keys"));
+    Assert.assertTrue(dataSource.getLongProperties(Collections.singletonList(
+        "rocksdb.no-such-property")).isEmpty());
+
+    RocksDbExports exports = new RocksDbExports();
+    exports.add(dataSource);
+    List<MetricFamilySamples> samples = exports.collect();
+    Assert.assertTrue(samples.stream().filter(s -> s.name.equals("tron:rocksdb_ticker"))
+        .flatMap(s -> s.samples.stream())
+        .anyMatch(s -> s.labelValues.equals(Arrays.asList("test_prefixScan", "bytes_read"))));
+    Assert.assertTrue(samples.stream().filter(s -> s.name.equals("tron:rocksdb_property"))
+        .anyMatch(s -> !s.samples.isEmpty()));
+
+    dataSource.closeDB();
+    Assert.assertTrue(dataSource.getTickers(Collections.singletonList(
+        TickerType.NUMBER_KEYS_WRITTEN)).isEmpty());
+    Assert.assertNotNull(exports.collect());
+  }
+
+  private static void assertKeys(Map<WrappedByteArray, byte[]> result, String... keys) {
+    Assert.assertEquals(keys.length, result.size());
+    for (String key : keys) {
+      Assert.assertTrue(key, result.containsKey(WrappedByteArray.of(key.getBytes())));
+    }
+  }
+
   private void makeExceptionDb(String dbName) {
     RocksDbDataSourceImpl dataSource = new RocksDbDataSourceImpl(
         Args.getInstance().getOutputDirectory(), "test_initDb");
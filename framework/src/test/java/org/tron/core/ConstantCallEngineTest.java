@@ -0,0 +1,113 @@
+package org.tron.core;
+
+import com.google.protobuf.ByteString;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.annotation.Resource;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.tron.api.GrpcAPI.Return;
+import org.tron.api.GrpcAPI.TransactionExtention;
+import org.tron.common.BaseTest;
+import org.tron.common.TestConstants;
+import org.tron.common.utils.ByteArray;
+import org.tron.core.capsule.AccountCapsule;
+import org.tron.core.capsule.BlockCapsule;
+import org.tron.core.capsule.TransactionCapsule;
+import org.tron.core.capsule.TransactionResultCapsule;
+import org.tron.core.config.args.Args;
+import org.tron.core.db2.ISession;
+import org.tron.protos.Protocol.AccountType;
+import org.tron.protos.Protocol.Transaction.Contract.ContractType;
+import org.tron.protos.Protocol.Transaction.Result.code;
+import org.tron.protos.contract.SmartContractOuterClass.TriggerSmartContract;
+
+public class ConstantCallEngineTest extends BaseTest {
+
+  private static final byte[] OWNER = ByteArray.fromHexString(
+      "41548794500882809695a8a687866e76d4271a1abc");
+
+  @Resource
+  private ConstantCallEngine engine;
+  private final AtomicInteger runs = new AtomicInteger();
+
+  static {
+    Args.setParam(new String[] {"--output-directory", dbPath()}, TestConstants.TEST_CONF);
+    Args.getInstance().setConstantCallEnable(true);
+    Args.getInstance().setConstantCallThreads(2);
+    Args.getInstance().setConstantCallResultCacheSize(100);
+  }
+
+  @Before
+  public void init() {
+    putBalance(100);
+    engine.onHead(dbManager.getRevokingStore().getHeads());
+  }
+
+  private void putBalance(long balance) {
+    chainBaseManager.getAccountStore().put(OWNER, new AccountCapsule(ByteString.EMPTY,
+        ByteString.copyFrom(OWNER), AccountType.Normal, balance));
+  }
+
+  private TransactionCapsule call(String data) {
+    return new TransactionCapsule(TriggerSmartContract.newBuilder()
+        .setOwnerAddress(ByteString.copyFrom(OWNER))
+        .setContractAddress(ByteString.copyFrom(OWNER))
+        .setData(ByteString.copyFrom(ByteArray.fromHexString(data))).build(),
+        ContractType.TriggerSmartContract);
+  }
+
+  /**
+   * Stands in for a contract call: returns the balance of the owner.
+   */
+  private void balanceOf(BlockCapsule headBlock, TransactionCapsule trxCap,
+      TransactionExtention.Builder builder, Return.Builder retBuilder, boolean isEstimating) {
+    runs.incrementAndGet();
+    long balance = chainBaseManager.getAccountStore().get(OWNER).getBalance();
+    builder.addConstantResult(ByteString.copyFrom(ByteArray.fromLong(balance)));
+    TransactionResultCapsule ret = new TransactionResultCapsule();
+    ret.setStatus(0, code.SUCESS);
+    trxCap.setResult(ret);
+  }
+
+  private long run(TransactionCapsule trxCap, ConstantCallEngine.Call call) throws Exception {
+    TransactionExtention.Builder builder = TransactionExtention.newBuilder();
+    engine.call(trxCap, builder, Return.newBuilder(), false, null, call);
+    Assert.assertEquals(code.SUCESS, trxCap.getInstance().getRet(0).getRet());
+    return ByteArray.toLong(builder.getConstantResult(0).toByteArray());
+  }
+
+  @Test
+  public void testCallsReadTheHeadStateAndShareResults() throws Exception {
+    try (ISession pending = dbManager.getRevokingStore().buildSession()) {
+      // a pending transaction spent some of it
+      putBalance(50);
+      Assert.assertEquals(100, run(call("01"), this::balanceOf));
+      Assert.assertEquals(100, run(call("01"), this::balanceOf));
+      Assert.assertEquals(1, runs.get());
+      Assert.assertEquals(100, run(call("02"), this::balanceOf));
+      Assert.assertEquals(2, runs.get());
+    }
+
+    // a new head drops the results of the one before
+    putBalance(70);
+    engine.onHead(dbManager.getRevokingStore().getHeads());
+    Assert.assertEquals(70, run(call("01"), this::balanceOf));
+    Assert.assertEquals(3, runs.get());
+  }
+
+  @Test
+  public void testCallTheHeadStateCanNotServeRunsOnTheLatestState() throws Exception {
+    ConstantCallEngine.Call iterating = (headBlock, trxCap, builder, retBuilder, isEstimating) -> {
+      balanceOf(headBlock, trxCap, builder, retBuilder, isEstimating);
+      chainBaseManager.getAccountStore().iterator();
+    };
+    try (ISession pending = dbManager.getRevokingStore().buildSession()) {
+      putBalance(50);
+      Assert.assertEquals(50, run(call("03"), iterating));
+      Assert.assertEquals(50, run(call("03"), iterating));
+      // each one ran once against the head state, was aborted, and ran again
+      Assert.assertEquals(4, runs.get());
+    }
+  }
+}
@@ -0,0 +1,163 @@
+package org.tron.core;
+
+import com.google.protobuf.ByteString;
+import io.prometheus.client.CollectorRegistry;
+import javax.annotation.Resource;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.tron.api.GrpcAPI.EstimateEnergyMessage;
+import org.tron.api.GrpcAPI.Return;
+import org.tron.api.GrpcAPI.TransactionExtention;
+import org.tron.common.BaseTest;
+import org.tron.common.TestConstants;
+import org.tron.common.prometheus.MetricKeys;
+import org.tron.common.prometheus.MetricLabels;
+import org.tron.common.utils.ByteArray;
+import org.tron.core.capsule.AccountCapsule;
+import org.tron.core.capsule.BlockCapsule;
+import org.tron.core.capsule.CodeCapsule;
+import org.tron.core.capsule.ContractCapsule;
+import org.tron.core.capsule.TransactionCapsule;
+import org.tron.core.config.args.Args;
+import org.tron.protos.Protocol.AccountType;
+import org.tron.protos.Protocol.Transaction.Contract.ContractType;
+import org.tron.protos.Protocol.Transaction.Result.code;
+import org.tron.protos.contract.SmartContractOuterClass.SmartContract;
+import org.tron.protos.contract.SmartContractOuterClass.TriggerSmartContract;
+
+public class EstimateEnergyTest extends BaseTest {
+
+  private static final byte[] OWNER = ByteArray.fromHexString(
+      "41548794500882809695a8a687866e76d4271a1abc");
+  private static final String CALLEE = "00000000000000000000000000000000000000e1";
+  private static final String CALLER = "00000000000000000000000000000000000000e2";
+  private static final String GAS_READER = "00000000000000000000000000000000000000e3";
+
+  @Resource
+  private Wallet wallet;
+  @Resource
+  private ConstantCallEngine constantCallEngine;
+
+  static {
+    Args.setParam(new String[] {"--output-directory", dbPath()}, TestConstants.TEST_CONF);
+    Args.getInstance().setConstantCallEnable(true);
+    Args.getInstance().setConstantCallThreads(2);
+    Args.getInstance().setConstantCallResultCacheSize(100);
+  }
+
+  @Before
+  public void init() {
+    Args.getInstance().setEstimateEnergy(true);
+    chainBaseManager.getDynamicPropertiesStore().saveAllowTvmCompatibleEvm(1);
+    // constant calls run in the latest block, which the genesis block can not stand in for
+    BlockCapsule block = new BlockCapsule(1, chainBaseManager.getGenesisBlockId(),
+        System.currentTimeMillis(), ByteString.copyFrom(OWNER));
+    chainBaseManager.getBlockStore().put(block.getBlockId().getBytes(), block);
+    chainBaseManager.getAccountStore().put(OWNER, new AccountCapsule(ByteString.EMPTY,
+        ByteString.copyFrom(OWNER), AccountType.Normal, 1_000_000_000L));
+    // stores 1 in slot 0
+    deploy(CALLEE, "6001600055" + "00");
+    // calls the callee with all the energy there is, and reverts if the call failed
+    deploy(CALLER, "6000600060006000600073" + CALLEE + "5af1" + "15602657" + "00"
+        + "5b600080fd");
+    // stores the energy left in slot 0
+    deploy(GAS_READER, "5a600055" + "00");
+  }
+
+  @After
+  public void reset() {
+    Args.getInstance().setEstimateEnergy(false);
+    Args.getInstance().setEstimateEnergySinglePass(false);
+  }
+
+  private void deploy(String address, String code) {
+    byte[] tronAddress = ByteArray.fromHexString("41" + address);
+    chainBaseManager.getAccountStore().put(tronAddress, new AccountCapsule(ByteString.EMPTY,
+        ByteString.copyFrom(tronAddress), AccountType.Contract, 0));
+    chainBaseManager.getContractStore().put(tronAddress, new ContractCapsule(
+        SmartContract.newBuilder()
+            .setContractAddress(ByteString.copyFrom(tronAddress))
+            .setOriginAddress(ByteString.copyFrom(OWNER))
+            .setConsumeUserResourcePercent(100)
+            .setVersion(1)
+            .build()));
+    chainBaseManager.getCodeStore().put(tronAddress,
+        new CodeCapsule(ByteArray.fromHexString(code)));
+  }
+
+  private TriggerSmartContract trigger(String address) {
+    return TriggerSmartContract.newBuilder()
+        .setOwnerAddress(ByteString.copyFrom(OWNER))
+        .setContractAddress(ByteString.copyFrom(ByteArray.fromHexString("41" + address)))
+        .build();
+  }
+
+  private long estimate(String address, boolean singlePass) throws Exception {
+    Args.getInstance().setEstimateEnergySinglePass(singlePass);
+    TriggerSmartContract contract = trigger(address);
+    EstimateEnergyMessage.Builder estimate = EstimateEnergyMessage.newBuilder();
+    wallet.estimateEnergy(contract,
+        wallet.createTransactionCapsule(contract, ContractType.TriggerSmartContract),
+        TransactionExtention.newBuilder(), Return.newBuilder(), estimate);
+    return estimate.getEnergyRequired();
+  }
+
+  private boolean succeeds(String address, long energyLimit) throws Exception {
+    TriggerSmartContract contract = trigger(address);
+    TransactionCapsule trxCap = wallet.createTransactionCapsule(contract,
+        ContractType.TriggerSmartContract);
+    trxCap.setFeeLimit(energyLimit * chainBaseManager.getDynamicPropertiesStore().getEnergyFee());
+    wallet.triggerConstantContract(contract, trxCap, TransactionExtention.newBuilder(),
+        Return.newBuilder());
+    return trxCap.getInstance().getRet(0).getRet() == code.SUCESS;
+  }
+
+  @Test
+  public void testSinglePassFindsTheLeastLimit() throws Exception {
+    long required = estimate(CALLER, true);
+    // the callee only gets 63/64 of what the caller has left
+    Assert.assertTrue(succeeds(CALLER, required));
+    Assert.assertFalse(succeeds(CALLER, required - 1));
+    Assert.assertTrue(required <= estimate(CALLER, false));
+  }
+
+  @Test
+  public void testLimitDependentExecutionIsSearched() throws Exception {
+    Assert.assertEquals(estimate(GAS_READER, false), estimate(GAS_READER, true));
+  }
+
+  private static double count(String key, String label) {
+    Double value = CollectorRegistry.defaultRegistry.getSampleValue(key + "_total",
+        new String[] {"type"}, new String[] {label});
+    return value == null ? 0 : value;
+  }
+
+  @Test
+  public void testKeptResultStaysSinglePass() throws Exception {
+    // the engine keeps results for the head block
+    BlockCapsule head = new BlockCapsule(2, chainBaseManager.getGenesisBlockId(),
+        System.currentTimeMillis(), ByteString.copyFrom(OWNER));
+    chainBaseManager.getBlockStore().put(head.getBlockId().getBytes(), head);
+    chainBaseManager.getDynamicPropertiesStore().saveLatestBlockHeaderHash(
+        head.getBlockId().getByteString());
+    chainBaseManager.getDynamicPropertiesStore().saveLatestBlockHeaderNumber(head.getNum());
+    constantCallEngine.onHead(dbManager.getRevokingStore().getHeads());
+    Args.getInstance().setMetricsPrometheusEnable(true);
+    try {
+      // a call that calls no other contract, whose result is kept
+      long required = estimate(CALLEE, true);
+      double hits = count(MetricKeys.Counter.CONSTANT_CALL, MetricLabels.Counter.CACHE_HIT);
+      double singlePass = count(MetricKeys.Counter.ESTIMATE_ENERGY,
+          MetricLabels.Counter.ESTIMATE_SINGLE_PASS);
+      Assert.assertEquals(required, estimate(CALLEE, true));
+      Assert.assertEquals(hits + 1,
+          count(MetricKeys.Counter.CONSTANT_CALL, MetricLabels.Counter.CACHE_HIT), 0);
+      Assert.assertEquals(singlePass + 1, count(MetricKeys.Counter.ESTIMATE_ENERGY,
+          MetricLabels.Counter.ESTIMATE_SINGLE_PASS), 0);
+    } finally {
+      Args.getInstance().setMetricsPrometheusEnable(false);
+    }
+  }
+}
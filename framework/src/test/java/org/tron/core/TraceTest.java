@@ -0,0 +1,149 @@
+package org.tron.core;
+
+import com.google.protobuf.ByteString;
+import java.util.Arrays;
+import java.util.List;
+import javax.annotation.Resource;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.tron.common.BaseTest;
+import org.tron.common.TestConstants;
+import org.tron.common.utils.ByteArray;
+import org.tron.core.capsule.AccountCapsule;
+import org.tron.core.capsule.BlockCapsule;
+import org.tron.core.capsule.CodeCapsule;
+import org.tron.core.capsule.ContractCapsule;
+import org.tron.core.config.args.Args;
+import org.tron.core.db.TransactionReplayer;
+import org.tron.core.exception.ItemNotFoundException;
+import org.tron.core.vm.trace.CallTracer;
+import org.tron.core.vm.trace.CallTracer.Frame;
+import org.tron.core.vm.trace.ExecutionTracer;
+import org.tron.core.vm.trace.StructLogTracer;
+import org.tron.core.vm.trace.StructLogTracer.StructLog;
+import org.tron.protos.Protocol.AccountType;
+import org.tron.protos.Protocol.Transaction.Contract.ContractType;
+import org.tron.protos.contract.SmartContractOuterClass.SmartContract;
+import org.tron.protos.contract.SmartContractOuterClass.TriggerSmartContract;
+
+public class TraceTest extends BaseTest {
+
+  private static final byte[] OWNER = ByteArray.fromHexString(
+      "41548794500882809695a8a687866e76d4271a1abc");
+  private static final String CALLEE = "00000000000000000000000000000000000000e1";
+  private static final String CALLER = "00000000000000000000000000000000000000e2";
+
+  @Resource
+  private Wallet wallet;
+
+  static {
+    Args.setParam(new String[] {"--output-directory", dbPath()}, TestConstants.TEST_CONF);
+  }
+
+  @Before
+  public void init() {
+    // tracing slows the execution down, which a cold VM may not finish within the CPU limit
+    Args.getInstance().setDebug(true);
+    chainBaseManager.getDynamicPropertiesStore().saveAllowTvmCompatibleEvm(1);
+    // constant calls run in the latest block, which the genesis block can not stand in for
+    BlockCapsule block = new BlockCapsule(1, chainBaseManager.getGenesisBlockId(),
+        System.currentTimeMillis(), ByteString.copyFrom(OWNER));
+    chainBaseManager.getBlockStore().put(block.getBlockId().getBytes(), block);
+    chainBaseManager.getAccountStore().put(OWNER, new AccountCapsule(ByteString.EMPTY,
+        ByteString.copyFrom(OWNER), AccountType.Normal, 1_000_000_000L));
+    // stores 1 in slot 0
+    deploy(CALLEE, "6001600055" + "00");
+    // calls the callee with all the energy there is
+    deploy(CALLER, "6000600060006000600073" + CALLEE + "5af1" + "00");
+  }
+
+  @After
+  public void reset() {
+    Args.getInstance().setDebug(false);
+  }
+
+  private void deploy(String address, String code) {
+    byte[] tronAddress = ByteArray.fromHexString("41" + address);
+    chainBaseManager.getAccountStore().put(tronAddress, new AccountCapsule(ByteString.EMPTY,
+        ByteString.copyFrom(tronAddress), AccountType.Contract, 0));
+    chainBaseManager.getContractStore().put(tronAddress, new ContractCapsule(
+        SmartContract.newBuilder()
+            .setContractAddress(ByteString.copyFrom(tronAddress))
+            .setOriginAddress(ByteString.copyFrom(OWNER))
+            .setConsumeUserResourcePercent(100)
+            .setVersion(1)
+            .build()));
+    chainBaseManager.getCodeStore().put(tronAddress,
+        new CodeCapsule(ByteArray.fromHexString(code)));
+  }
+
+  private void trace(String address, ExecutionTracer tracer) throws Exception {
+    TriggerSmartContract contract = TriggerSmartContract.newBuilder()
+        .setOwnerAddress(ByteString.copyFrom(OWNER))
+        .setContractAddress(ByteString.copyFrom(ByteArray.fromHexString("41" + address)))
+        .build();
+    wallet.traceConstantContract(contract,
+        wallet.createTransactionCapsule(contract, ContractType.TriggerSmartContract), tracer);
+    Assert.assertNull(ExecutionTracer.current());
+  }
+
+  @Test
+  public void testStructLogs() throws Exception {
+    StructLogTracer tracer = new StructLogTracer(100, false);
+    trace(CALLEE, tracer);
+    StructLogTracer.Result result = tracer.getResult();
+    Assert.assertFalse(result.isFailed());
+    Assert.assertNull(result.getTruncated());
+    List<StructLog> logs = result.getStructLogs();
+    Assert.assertEquals(4, logs.size());
+    StructLog store = logs.get(2);
+    Assert.assertEquals("SSTORE", store.getOp());
+    Assert.assertEquals(4, store.getPc());
+    Assert.assertEquals(1, store.getDepth());
+    Assert.assertEquals(Arrays.asList("0x1", "0x0"), store.getStack());
+    Assert.assertEquals(logs.get(2).getGas() - store.getGasCost(), logs.get(3).getGas());
+  }
+
+  @Test
+  public void testStructLogsAreBounded() throws Exception {
+    StructLogTracer tracer = new StructLogTracer(2, true);
+    trace(CALLER, tracer);
+    StructLogTracer.Result result = tracer.getResult();
+    Assert.assertEquals(2, result.getStructLogs().size());
+    Assert.assertEquals(Boolean.TRUE, result.getTruncated());
+    Assert.assertNull(result.getStructLogs().get(0).getStack());
+  }
+
+  @Test
+  public void testCallTree() throws Exception {
+    CallTracer tracer = new CallTracer(100);
+    trace(CALLER, tracer);
+    Frame root = tracer.getResult();
+    Assert.assertEquals("CALL", root.getType());
+    Assert.assertEquals(ByteArray.toJsonHexAddress(OWNER), root.getFrom());
+    Assert.assertNull(root.getError());
+    Assert.assertEquals(1, root.getCalls().size());
+    Frame call = root.getCalls().get(0);
+    Assert.assertEquals("CALL", call.getType());
+    Assert.assertEquals(root.getTo(), call.getFrom());
+    Assert.assertEquals(ByteArray.toJsonHexAddress(ByteArray.fromHexString("41" + CALLEE)),
+        call.getTo());
+    Assert.assertNull(call.getCalls());
+
+    tracer = new CallTracer(1);
+    trace(CALLER, tracer);
+    Assert.assertNull(tracer.getResult().getCalls());
+    Assert.assertEquals(Boolean.TRUE, tracer.getResult().getTruncated());
+  }
+
+  @Test(expected = ItemNotFoundException.class)
+  public void testReplayNeedsTheStateBeforeTheBlock() throws Exception {
+    TransactionReplayer replayer = new TransactionReplayer((block, count, tracer) -> {
+      throw new AssertionError("replayed without the state");
+    });
+    replayer.trace(new BlockCapsule(2, chainBaseManager.getGenesisBlockId(),
+        System.currentTimeMillis(), ByteString.copyFrom(OWNER)), 0, new CallTracer(1));
+  }
+}
@@ -0,0 +1,137 @@
+package org.tron.core.db;
+
+import com.google.protobuf.Any;
+import com.google.protobuf.ByteString;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import org.junit.Assert;
+import org.junit.Test;
+import org.tron.common.BaseTest;
+import org.tron.common.TestConstants;
+import org.tron.common.runtime.vm.DataWord;
+import org.tron.core.capsule.AccountCapsule;
+import org.tron.core.capsule.ContractCapsule;
+import org.tron.core.capsule.TransactionCapsule;
+import org.tron.core.config.args.Args;
+import org.tron.core.db2.common.WrappedByteArray;
+import org.tron.core.store.HotStorageRows;
+import org.tron.core.store.StorageRowStore;
+import org.tron.core.vm.program.Storage;
+import org.tron.protos.Protocol.AccountType;
+import org.tron.protos.Protocol.Transaction;
+import org.tron.protos.Protocol.Transaction.Contract;
+import org.tron.protos.Protocol.Transaction.Contract.ContractType;
+import org.tron.protos.contract.BalanceContract.DelegateResourceContract;
+import org.tron.protos.contract.BalanceContract.TransferContract;
+import org.tron.protos.contract.SmartContractOuterClass.SmartContract;
+import org.tron.protos.contract.SmartContractOuterClass.TriggerSmartContract;
+import org.tron.protos.contract.WitnessContract.VoteWitnessContract;
+
+public class BlockStatePrefetcherTest extends BaseTest {
+
+  private static final byte[] OWNER = address(1);
+  private static final byte[] TO = address(2);
+  private static final byte[] CONTRACT = address(3);
+  private static final byte[] WITNESS = address(4);
+
+  static {
+    Args.setParam(new String[] {"--output-directory", dbPath()}, TestConstants.TEST_CONF);
+  }
+
+  @Test
+  public void testCollect() {
+    Set<WrappedByteArray> accounts = new HashSet<>();
+    Set<WrappedByteArray> contracts = new HashSet<>();
+    Set<WrappedByteArray> witnesses = new HashSet<>();
+    BlockStatePrefetcher.collect(transfer(), accounts, contracts, witnesses);
+    BlockStatePrefetcher.collect(trigger(), accounts, contracts, witnesses);
+    BlockStatePrefetcher.collect(contract(ContractType.DelegateResourceContract,
+        DelegateResourceContract.newBuilder().setOwnerAddress(ByteString.copyFrom(OWNER))
+            .setReceiverAddress(ByteString.copyFrom(WITNESS)).build()),
+        accounts, contracts, witnesses);
+    BlockStatePrefetcher.collect(contract(ContractType.VoteWitnessContract,
+        VoteWitnessContract.newBuilder().setOwnerAddress(ByteString.copyFrom(OWNER))
+            .addVotes(VoteWitnessContract.Vote.newBuilder()
+                .setVoteAddress(ByteString.copyFrom(WITNESS)).setVoteCount(1)).build()),
+        accounts, contracts, witnesses);
+
+    Assert.assertEquals(wrap(OWNER, TO, WITNESS), accounts);
+    Assert.assertEquals(wrap(CONTRACT), contracts);
+    Assert.assertEquals(wrap(WITNESS), witnesses);
+  }
+
+  @Test
+  public void testPrefetch() {
+    StorageRowStore rowStore = chainBaseManager.getStorageRowStore();
+    chainBaseManager.getAccountStore().put(OWNER, new AccountCapsule(
+        ByteString.copyFrom(OWNER), ByteString.copyFromUtf8("owner"), AccountType.Normal));
+    ContractCapsule contract = new ContractCapsule(SmartContract.newBuilder()
+        .setContractAddress(ByteString.copyFrom(CONTRACT))
+        .setTrxHash(ByteString.copyFromUtf8("create2")).build());
+    chainBaseManager.getContractStore().put(CONTRACT, contract);
+
+    // the rows the VM reads are recorded under the prefix the prefetcher derives
+    HotStorageRows hotRows = rowStore.getHotRows();
+    hotRows.setRowsPerContract(1);
+    Storage storage = new Storage(CONTRACT, rowStore);
+    storage.generateAddrHash(contract.getTrxHash());
+    storage.getValue(new DataWord(1));
+    hotRows.startRecording();
+    storage.getValue(new DataWord(2));
+    storage.getValue(new DataWord(3));
+    hotRows.stopRecording();
+    storage.getValue(new DataWord(4));
+
+    byte[] prefix = BlockStatePrefetcher.storagePrefix(contract);
+    Assert.assertArrayEquals(prefix,
+        Arrays.copyOf(storage.getAddrHash(), HotStorageRows.PREFIX_BYTES));
+    List<byte[]> rows = hotRows.get(prefix);
+    Assert.assertEquals(1, rows.size());
+    Assert.assertEquals(new DataWord(3).getData()[31], rows.get(0)[31]);
+
+    BlockStatePrefetcher prefetcher = new BlockStatePrefetcher(chainBaseManager, 2);
+    try {
+      prefetcher.prefetch(Collections.emptyList());
+      prefetcher.prefetch(Arrays.asList(new TransactionCapsule(Transaction.newBuilder()
+          .setRawData(Transaction.raw.newBuilder().addContract(transfer())
+              .addContract(trigger())).build())));
+    } finally {
+      prefetcher.close();
+    }
+    Assert.assertEquals(0, chainBaseManager.getAccountStore().get(OWNER).getBalance());
+  }
+
+  private static Contract transfer() {
+    return contract(ContractType.TransferContract, TransferContract.newBuilder()
+        .setOwnerAddress(ByteString.copyFrom(OWNER)).setToAddress(ByteString.copyFrom(TO))
+        .setAmount(1).build());
+  }
+
+  private static Contract trigger() {
+    return contract(ContractType.TriggerSmartContract, TriggerSmartContract.newBuilder()
+        .setOwnerAddress(ByteString.copyFrom(OWNER))
+        .setContractAddress(ByteString.copyFrom(CONTRACT)).build());
+  }
+
+  private static Contract contract(ContractType type, com.google.protobuf.Message parameter) {
+    return Contract.newBuilder().setType(type).setParameter(Any.pack(parameter)).build();
+  }
+
+  private static byte[] address(int i) {
+    byte[] address = new byte[21];
+    address[0] = 0x41;
+    address[20] = (byte) i;
+    return address;
+  }
+
+  private static Set<WrappedByteArray> wrap(byte[]... keys) {
+    Set<WrappedByteArray> set = new HashSet<>();
+    for (byte[] key : keys) {
+      set.add(WrappedByteArray.of(key));
+    }
+    return set;
+  }
+}
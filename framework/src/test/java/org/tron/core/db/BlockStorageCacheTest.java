@@ -0,0 +1,111 @@
+package org.tron.core.db;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.util.concurrent.atomic.AtomicReference;
+import javax.annotation.Resource;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.tron.common.BaseTest;
+import org.tron.common.TestConstants;
+import org.tron.core.capsule.StorageRowCapsule;
+import org.tron.core.config.args.Args;
+import org.tron.core.db2.ISession;
+import org.tron.core.store.BlockStorageCache;
+import org.tron.core.store.StorageRowStore;
+
+public class BlockStorageCacheTest extends BaseTest {
+
+  private static final byte[] KEY = "BLOCK_STORAGE_CACHE_KEY".getBytes();
+
+  @Resource
+  private StorageRowStore storageRowStore;
+  private BlockStorageCache cache;
+
+  static {
+    Args.setParam(new String[] {"--output-directory", dbPath()}, TestConstants.TEST_CONF);
+  }
+
+  @Before
+  public void start() {
+    cache = storageRowStore.getBlockCache();
+    cache.start();
+  }
+
+  @After
+  public void stop() {
+    cache.stop();
+  }
+
+  private void put(int value) {
+    storageRowStore.put(KEY.clone(), new StorageRowCapsule(new byte[] {(byte) value}));
+  }
+
+  private byte[] get() {
+    return storageRowStore.get(KEY).getData();
+  }
+
+  @Test
+  public void testTransactions() {
+    try (ISession block = dbManager.getRevokingStore().buildSession()) {
+      put(1);
+      try (ISession tx = dbManager.getRevokingStore().buildSession()) {
+        assertArrayEquals(new byte[] {1}, get());
+        put(2);
+        assertArrayEquals(new byte[] {2}, get());
+        tx.merge();
+      }
+      assertArrayEquals(new byte[] {2}, get());
+      try (ISession tx = dbManager.getRevokingStore().buildSession()) {
+        put(3);
+        assertArrayEquals(new byte[] {3}, get());
+        // a failed transaction is revoked
+      }
+      assertArrayEquals(new byte[] {2}, get());
+      try (ISession tx = dbManager.getRevokingStore().buildSession()) {
+        storageRowStore.delete(KEY);
+        assertNull(get());
+        tx.merge();
+      }
+      assertNull(get());
+      long hits = cache.getHits();
+      assertNull(get());
+      assertEquals(hits + 1, cache.getHits());
+      block.revoke();
+    }
+    assertNull(get());
+  }
+
+  @Test
+  public void testWritesAroundTheCache() {
+    try (ISession block = dbManager.getRevokingStore().buildSession()) {
+      put(4);
+      assertArrayEquals(new byte[] {4}, get());
+      storageRowStore.getRevokingDB().put(KEY, new byte[] {5});
+      assertArrayEquals(new byte[] {5}, get());
+
+      // other threads read the store
+      AtomicReference<byte[]> read = new AtomicReference<>();
+      long hits = cache.getHits();
+      long misses = cache.getMisses();
+      Thread other = new Thread(() -> read.set(get()));
+      other.start();
+      other.join();
+      assertArrayEquals(new byte[] {5}, read.get());
+      assertEquals(hits, cache.getHits());
+      assertEquals(misses, cache.getMisses());
+      block.revoke();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    assertNull(get());
+
+    cache.stop();
+    put(6);
+    assertArrayEquals(new byte[] {6}, get());
+    storageRowStore.delete(KEY);
+  }
+}
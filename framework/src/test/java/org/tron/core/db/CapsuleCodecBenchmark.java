@@ -0,0 +1,92 @@
+package org.tron.core.db;
+
+import com.google.protobuf.ByteString;
+import java.lang.reflect.Constructor;
+import java.util.function.ToLongFunction;
+import javax.annotation.Resource;
+import org.junit.Rule;
+import org.junit.Test;
+import org.tron.common.BaseTest;
+import org.tron.common.ManualBenchmark;
+import org.tron.common.TestConstants;
+import org.tron.core.capsule.AccountCapsule;
+import org.tron.core.capsule.ProtoCapsule;
+import org.tron.core.capsule.StorageRowCapsule;
+import org.tron.core.config.args.Args;
+import org.tron.core.store.AccountStore;
+import org.tron.core.store.StorageRowStore;
+import org.tron.protos.Protocol.AccountType;
+
+/**
+ * Manual microbenchmark for typed store reads. Compares the registered codecs of
+ * {@link AccountStore} and {@link StorageRowStore} against the per read constructor lookup
+ * {@link TronStoreWithRevoking#of(byte[])} used to do. Run as a {@link ManualBenchmark}.
+ *
+ * <p>Accounts are read twice, once touching a single field and once only passing the bytes on,
+ * the case the lazy account codec skips parsing for.
+ */
+public class CapsuleCodecBenchmark extends BaseTest {
+
+  private static final int KEYS = 1024;
+  private static final int WARMUP_ITERS = 500_000;
+  private static final int MEASURE_ITERS = 2_000_000;
+
+  @Resource
+  private AccountStore accountStore;
+  @Resource
+  private StorageRowStore storageRowStore;
+
+  static {
+    Args.setParam(new String[] {"--output-directory", dbPath()}, TestConstants.TEST_CONF);
+  }
+
+  @Rule
+  public final ManualBenchmark benchmark = new ManualBenchmark();
+
+  @Test
+  public void compareCodecs() throws Exception {
+    byte[][] accountKeys = new byte[KEYS][];
+    byte[][] rowKeys = new byte[KEYS][];
+    for (int i = 0; i < KEYS; i++) {
+      accountKeys[i] = ("account" + i).getBytes();
+      AccountCapsule account = new AccountCapsule(ByteString.copyFrom(accountKeys[i]),
+          ByteString.copyFromUtf8("name" + i), AccountType.Normal);
+      account.setBalance(i + 1);
+      accountStore.put(accountKeys[i], account);
+      rowKeys[i] = ("row" + i).getBytes();
+      storageRowStore.put(rowKeys[i], new StorageRowCapsule(rowKeys[i], new byte[32]));
+    }
+
+    ManualBenchmark.header("typed store reads (measure " + MEASURE_ITERS + ")", "reflective",
+        "codec");
+    report("account balance", accountKeys,
+        key -> legacyOf(AccountCapsule.class, accountStore, key).getBalance(),
+        key -> accountStore.getUnchecked(key).getBalance());
+    report("account bytes", accountKeys,
+        key -> legacyOf(AccountCapsule.class, accountStore, key).getData().length,
+        key -> accountStore.getUnchecked(key).getData().length);
+    report("storage row", rowKeys,
+        key -> legacyOf(StorageRowCapsule.class, storageRowStore, key).getValue().length,
+        key -> storageRowStore.getUnchecked(key).getValue().length);
+  }
+
+  private static void report(String name, byte[][] keys, ToLongFunction<byte[]> reflective,
+      ToLongFunction<byte[]> codec) {
+    ManualBenchmark.report(name, ManualBenchmark.time(WARMUP_ITERS, MEASURE_ITERS,
+        i -> reflective.applyAsLong(keys[i % keys.length]),
+        i -> codec.applyAsLong(keys[i % keys.length])));
+  }
+
+  /**
+   * The read path before codecs: look the constructor up and call it reflectively.
+   */
+  private static <T extends ProtoCapsule> T legacyOf(Class<T> type,
+      TronStoreWithRevoking<T> store, byte[] key) {
+    try {
+      Constructor<T> constructor = type.getConstructor(byte[].class);
+      return constructor.newInstance((Object) store.getRevokingDB().getUnchecked(key));
+    } catch (ReflectiveOperationException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+}
@@ -0,0 +1,55 @@
+package org.tron.core.db;
+
+import com.google.protobuf.ByteString;
+import org.junit.Assert;
+import org.junit.Test;
+import org.tron.core.capsule.AccountCapsule;
+import org.tron.core.capsule.BytesCapsule;
+import org.tron.core.capsule.ProtoCapsule;
+import org.tron.core.exception.BadItemException;
+import org.tron.protos.Protocol.AccountType;
+
+public class CapsuleCodecTest {
+
+  @Test
+  public void testReflective() throws BadItemException {
+    CapsuleCodec<BytesCapsule> codec = CapsuleCodec.reflective(BytesCapsule.class);
+    Assert.assertArrayEquals("value".getBytes(), codec.decode("value".getBytes()).getData());
+    Assert.assertNull(codec.decode(null).getData());
+
+    CapsuleCodec<NoBytesConstructor> missing = CapsuleCodec.reflective(NoBytesConstructor.class);
+    Assert.assertThrows(BadItemException.class, () -> missing.decode(new byte[0]));
+  }
+
+  @Test
+  public void testLazyAccount() {
+    AccountCapsule account = new AccountCapsule(ByteString.copyFromUtf8("address"),
+        ByteString.copyFromUtf8("name"), AccountType.Normal);
+    account.setBalance(100);
+    byte[] data = account.getData();
+
+    AccountCapsule lazy = AccountCapsule.lazy(data);
+    Assert.assertSame(data, lazy.getData());
+    Assert.assertEquals(account.getInstance(), lazy.getInstance());
+    Assert.assertEquals(100, lazy.getBalance());
+
+    lazy = AccountCapsule.lazy(data);
+    lazy.setBalance(200);
+    Assert.assertEquals(200, new AccountCapsule(lazy.getData()).getBalance());
+
+    Assert.assertNull(AccountCapsule.lazy(new byte[] {1, 2, 3}).getInstance());
+  }
+
+  public static class NoBytesConstructor implements ProtoCapsule<Object> {
+
+    @Override
+    public byte[] getData() {
+      return new byte[0];
+    }
+
+    @Override
+    public Object getInstance() {
+      return null;
+    }
+  }
+}
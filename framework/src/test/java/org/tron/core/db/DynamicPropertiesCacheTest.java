@@ -0,0 +1,107 @@
+package org.tron.core.db;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import javax.annotation.Resource;
+import org.junit.Test;
+import org.tron.common.BaseTest;
+import org.tron.common.TestConstants;
+import org.tron.common.utils.ByteArray;
+import org.tron.core.capsule.BytesCapsule;
+import org.tron.core.config.args.Args;
+import org.tron.core.db2.ISession;
+import org.tron.core.db2.core.Chainbase;
+import org.tron.core.store.DynamicPropertiesStore;
+
+public class DynamicPropertiesCacheTest extends BaseTest {
+
+  private static final byte[] TOTAL_ENERGY_WEIGHT = "TOTAL_ENERGY_WEIGHT".getBytes();
+
+  @Resource
+  private DynamicPropertiesStore dynamicPropertiesStore;
+
+  static {
+    Args.setParam(new String[] {"--output-directory", dbPath()}, TestConstants.TEST_CONF);
+  }
+
+  @Test
+  public void testSessions() {
+    dynamicPropertiesStore.saveTotalEnergyWeight(1);
+    assertEquals(1, dynamicPropertiesStore.getTotalEnergyWeight());
+
+    try (ISession session = dbManager.getRevokingStore().buildSession()) {
+      assertEquals(1, dynamicPropertiesStore.getTotalEnergyWeight());
+      dynamicPropertiesStore.saveTotalEnergyWeight(2);
+      assertEquals(2, dynamicPropertiesStore.getTotalEnergyWeight());
+      session.revoke();
+    }
+    assertEquals(1, dynamicPropertiesStore.getTotalEnergyWeight());
+
+    try (ISession block = dbManager.getRevokingStore().buildSession()) {
+      dynamicPropertiesStore.saveTotalEnergyWeight(3);
+      try (ISession tx = dbManager.getRevokingStore().buildSession()) {
+        dynamicPropertiesStore.saveTotalEnergyWeight(4);
+        assertEquals(4, dynamicPropertiesStore.getTotalEnergyWeight());
+        tx.merge();
+      }
+      assertEquals(4, dynamicPropertiesStore.getTotalEnergyWeight());
+      try (ISession tx = dbManager.getRevokingStore().buildSession()) {
+        dynamicPropertiesStore.saveTotalEnergyWeight(5);
+        assertEquals(5, dynamicPropertiesStore.getTotalEnergyWeight());
+      }
+      assertEquals(4, dynamicPropertiesStore.getTotalEnergyWeight());
+      block.revoke();
+    }
+    assertEquals(1, dynamicPropertiesStore.getTotalEnergyWeight());
+
+    try (ISession session = dbManager.getRevokingStore().buildSession()) {
+      dynamicPropertiesStore.saveTotalEnergyWeight(6);
+      session.commit();
+    }
+    assertEquals(6, dynamicPropertiesStore.getTotalEnergyWeight());
+    dbManager.getRevokingStore().pop();
+    assertEquals(1, dynamicPropertiesStore.getTotalEnergyWeight());
+  }
+
+  @Test
+  public void testWritesAroundTheStore() {
+    dynamicPropertiesStore.saveTotalEnergyWeight(7);
+    assertEquals(7, dynamicPropertiesStore.getTotalEnergyWeight());
+    dynamicPropertiesStore.getRevokingDB().put(TOTAL_ENERGY_WEIGHT, ByteArray.fromLong(8));
+    assertEquals(8, dynamicPropertiesStore.getTotalEnergyWeight());
+
+    dynamicPropertiesStore.delete(TOTAL_ENERGY_WEIGHT);
+    assertThrows(IllegalArgumentException.class, dynamicPropertiesStore::getTotalEnergyWeight);
+    dynamicPropertiesStore.put(TOTAL_ENERGY_WEIGHT.clone(),
+        new BytesCapsule(ByteArray.fromLong(9)));
+    assertEquals(9, dynamicPropertiesStore.getTotalEnergyWeight());
+
+    dynamicPropertiesStore.getRevokingDB().setCursor(Chainbase.Cursor.SOLIDITY);
+    try {
+      assertEquals(9, dynamicPropertiesStore.getTotalEnergyWeight());
+    } finally {
+      dynamicPropertiesStore.getRevokingDB().setCursor(Chainbase.Cursor.HEAD);
+    }
+  }
+
+  @Test
+  public void testReadsFromOtherThreads() throws Exception {
+    dynamicPropertiesStore.saveTotalEnergyWeight(9);
+    ExecutorService reader = Executors.newSingleThreadExecutor();
+    try {
+      try (ISession session = dbManager.getRevokingStore().buildSession()) {
+        dynamicPropertiesStore.saveTotalEnergyWeight(10);
+        assertEquals(10L, (long) reader.submit(dynamicPropertiesStore::getTotalEnergyWeight).get());
+        dynamicPropertiesStore.saveTotalEnergyWeight(11);
+        assertEquals(11L, (long) reader.submit(dynamicPropertiesStore::getTotalEnergyWeight).get());
+        session.revoke();
+      }
+      assertEquals(9L, (long) reader.submit(dynamicPropertiesStore::getTotalEnergyWeight).get());
+    } finally {
+      reader.shutdown();
+    }
+  }
+}
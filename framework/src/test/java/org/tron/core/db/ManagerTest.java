@@ -6,6 +6,8 @@ import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.tron.common.utils.Commons.adjustAssetBalanceV2;
 import static org.tron.common.utils.Commons.adjustTotalShieldedPoolValue;
@@ -1911,6 +1913,53 @@ public class ManagerTest extends BaseMethodTest {
         hasBlockFilterCapsule(queue, b2));
   }
 
+  @Test
+  public void onHeadFollowsTheHeadAcrossSwitchFork() throws Exception {
+    String key = PublicMethod.getRandomPrivateKey();
+    byte[] privateKey = ByteArray.fromHexString(key);
+    byte[] address = ECKey.fromPrivate(privateKey).getAddress();
+    ByteString addressByte = ByteString.copyFrom(address);
+    chainManager.getAccountStore().put(address,
+        new AccountCapsule(Protocol.Account.newBuilder().setAddress(addressByte).build()));
+    WitnessCapsule witnessCapsule = new WitnessCapsule(addressByte);
+    chainManager.getWitnessScheduleStore().saveActiveWitnesses(new ArrayList<>());
+    chainManager.addWitness(addressByte);
+    chainManager.getWitnessStore().put(address, witnessCapsule);
+    long t = 1533529947843L;
+    dbManager.pushBlock(new BlockCapsule(blockGenerate.getSignedBlock(
+        witnessCapsule.getAddress(), t, privateKey)));
+    Map<ByteString, String> keys = addTestWitnessAndAccount();
+    keys.put(addressByte, key);
+    long base = chainManager.getDynamicPropertiesStore().getLatestBlockHeaderNumber();
+    BlockCapsule p = createTestBlockCapsule(t + 3000, base + 1,
+        chainManager.getDynamicPropertiesStore().getLatestBlockHeaderHash().getByteString(), keys);
+    dbManager.pushBlock(p);
+
+    PendingTransactionSpeculator speculator = mock(PendingTransactionSpeculator.class);
+    ReflectUtils.setFieldValue(dbManager, "pendingSpeculator", speculator);
+    try {
+      BlockCapsule a = createTestBlockCapsule(t + 6000, base + 2,
+          p.getBlockId().getByteString(), keys);
+      dbManager.pushBlock(a);
+      verify(speculator, times(1)).onHead(any());
+      dbManager.pushBlock(a);
+      // a block of a lighter fork is only kept, the head stays
+      BlockCapsule b1 = createTestBlockCapsule(t + 6001, base + 2,
+          p.getBlockId().getByteString(), keys);
+      dbManager.pushBlock(b1);
+      verify(speculator, times(1)).onHead(any());
+
+      BlockCapsule b2 = createTestBlockCapsule(t + 9000, base + 3,
+          b1.getBlockId().getByteString(), keys);
+      dbManager.pushBlock(b2);
+      Assert.assertEquals(b2.getBlockId(),
+          chainManager.getDynamicPropertiesStore().getLatestBlockHeaderHash());
+      verify(speculator, times(2)).onHead(any());
+    } finally {
+      ReflectUtils.setFieldValue(dbManager, "pendingSpeculator", null);
+    }
+  }
+
   private TransactionCapsule transfer(byte[] owner, byte[] to, long amount,
       BlockCapsule refBlock, long expiration) {
     TransferContract contract = TransferContract.newBuilder()
@@ -0,0 +1,144 @@
+package org.tron.core.db;
+
+import com.google.protobuf.ByteString;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+import javax.annotation.Resource;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.tron.common.BaseTest;
+import org.tron.common.TestConstants;
+import org.tron.core.capsule.AccountCapsule;
+import org.tron.core.capsule.BlockCapsule;
+import org.tron.core.capsule.TransactionCapsule;
+import org.tron.core.config.args.Args;
+import org.tron.core.db.accountstate.callback.AccountStateCallBack;
+import org.tron.core.db2.ISession;
+import org.tron.core.store.DynamicPropertiesStore;
+import org.tron.protos.Protocol.AccountType;
+import org.tron.protos.Protocol.Transaction.Contract.ContractType;
+import org.tron.protos.Protocol.TransactionInfo;
+import org.tron.protos.contract.BalanceContract.TransferContract;
+
+public class ParallelTransactionExecutorTest extends BaseTest {
+
+  private static final byte[][] ACCOUNTS = new byte[6][];
+
+  @Resource
+  private AccountStateCallBack accountStateCallBack;
+  private ParallelTransactionExecutor executor;
+
+  static {
+    Args.setParam(new String[] {"--output-directory", dbPath()}, TestConstants.TEST_CONF);
+    for (int i = 0; i < ACCOUNTS.length; i++) {
+      ACCOUNTS[i] = address(0x10 + i);
+    }
+  }
+
+  private static byte[] address(int i) {
+    byte[] address = new byte[21];
+    address[0] = 0x41;
+    address[20] = (byte) i;
+    return address;
+  }
+
+  @Before
+  public void init() {
+    DynamicPropertiesStore properties = chainBaseManager.getDynamicPropertiesStore();
+    // bandwidth is paid for by burning, which only adds to a counter; the shared free bandwidth
+    // would make every transaction depend on the one before it
+    properties.saveFreeNetLimit(0);
+    properties.saveAllowBlackHoleOptimization(1);
+    for (byte[] address : ACCOUNTS) {
+      chainBaseManager.getAccountStore().put(address, new AccountCapsule(ByteString.EMPTY,
+          ByteString.copyFrom(address), AccountType.Normal, 1_000_000_000L));
+    }
+    executor = new ParallelTransactionExecutor(chainBaseManager, accountStateCallBack, 4);
+  }
+
+  @After
+  public void close() {
+    executor.close();
+  }
+
+  private TransactionCapsule transfer(int from, int to, long amount) {
+    TransactionCapsule tx = new TransactionCapsule(TransferContract.newBuilder()
+        .setOwnerAddress(ByteString.copyFrom(ACCOUNTS[from]))
+        .setToAddress(ByteString.copyFrom(ACCOUNTS[to]))
+        .setAmount(amount).build(), ContractType.TransferContract);
+    chainBaseManager.setBlockReference(tx);
+    tx.setExpiration(chainBaseManager.getDynamicPropertiesStore()
+        .getLatestBlockHeaderTimestamp() + 60_000);
+    tx.setVerified(true);
+    return tx;
+  }
+
+  private BlockCapsule block(List<TransactionCapsule> txs) {
+    BlockCapsule block = new BlockCapsule(1, chainBaseManager.getGenesisBlockId(),
+        chainBaseManager.getDynamicPropertiesStore().getLatestBlockHeaderTimestamp() + 3_000,
+        ByteString.copyFrom(ACCOUNTS[0]));
+    for (TransactionCapsule tx : txs) {
+      tx.setBlockNum(block.getNum());
+    }
+    return block;
+  }
+
+  /**
+   * Executes {@code txs} as a block, in parallel or one by one, and reverts it.
+   *
+   * @return the balance of every account, the burnt TRX and the fee of every transaction
+   */
+  private List<Long> execute(List<TransactionCapsule> txs, boolean parallel,
+      List<Boolean> committed) throws Exception {
+    List<Long> state = new ArrayList<>();
+    try (ISession session = dbManager.getRevokingStore().buildSession()) {
+      BlockCapsule block = block(txs);
+      ParallelTransactionExecutor.Speculation speculation = parallel
+          ? executor.speculate(txs, block, dbManager::processTransaction) : null;
+      for (int i = 0; i < txs.size(); i++) {
+        TransactionInfo result = speculation == null ? null : speculation.commit(i);
+        committed.add(result != null);
+        if (result == null) {
+          result = dbManager.processTransaction(txs.get(i), block);
+        }
+        state.add(result.getFee());
+      }
+      for (byte[] address : ACCOUNTS) {
+        state.add(chainBaseManager.getAccountStore().get(address).getBalance());
+      }
+      state.add(chainBaseManager.getDynamicPropertiesStore().getBurnTrxAmount());
+    }
+    return state;
+  }
+
+  private void assertSameAsSequential(Supplier<List<TransactionCapsule>> txs,
+      Boolean... committed) throws Exception {
+    List<Long> expected = execute(txs.get(), false, new ArrayList<>());
+    List<Boolean> speculated = new ArrayList<>();
+    Assert.assertEquals(expected, execute(txs.get(), true, speculated));
+    Assert.assertEquals(Arrays.asList(committed), speculated);
+  }
+
+  @Test
+  public void testIndependentTransfers() throws Exception {
+    assertSameAsSequential(() -> Arrays.asList(transfer(0, 1, 10), transfer(2, 3, 20),
+        transfer(4, 5, 30)), true, true, true);
+  }
+
+  @Test
+  public void testDependentTransfersExecuteAgain() throws Exception {
+    // the second one spends what the first one received, the third one is independent again
+    assertSameAsSequential(() -> Arrays.asList(transfer(0, 1, 10), transfer(1, 2, 100),
+        transfer(3, 4, 30)), true, false, true);
+  }
+
+  @Test
+  public void testSameOwnerExecutesAgain() throws Exception {
+    assertSameAsSequential(() -> Arrays.asList(transfer(0, 1, 10), transfer(0, 2, 20)),
+        true, false);
+  }
+}
@@ -0,0 +1,148 @@
+package org.tron.core.db;
+
+import com.google.protobuf.ByteString;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import javax.annotation.Resource;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.tron.common.BaseTest;
+import org.tron.common.TestConstants;
+import org.tron.core.capsule.AccountCapsule;
+import org.tron.core.capsule.BlockCapsule;
+import org.tron.core.capsule.TransactionCapsule;
+import org.tron.core.config.args.Args;
+import org.tron.core.db.accountstate.callback.AccountStateCallBack;
+import org.tron.core.db2.ISession;
+import org.tron.core.store.DynamicPropertiesStore;
+import org.tron.protos.Protocol.AccountType;
+import org.tron.protos.Protocol.Transaction.Contract.ContractType;
+import org.tron.protos.contract.BalanceContract.TransferContract;
+
+public class PendingTransactionSpeculatorTest extends BaseTest {
+
+  private static final byte[][] ACCOUNTS = new byte[5][];
+
+  @Resource
+  private AccountStateCallBack accountStateCallBack;
+  private final LinkedBlockingQueue<TransactionCapsule> pending = new LinkedBlockingQueue<>();
+  private PendingTransactionSpeculator speculator;
+
+  static {
+    Args.setParam(new String[] {"--output-directory", dbPath()}, TestConstants.TEST_CONF);
+    for (int i = 0; i < ACCOUNTS.length; i++) {
+      ACCOUNTS[i] = new byte[21];
+      ACCOUNTS[i][0] = 0x41;
+      ACCOUNTS[i][20] = (byte) (0x30 + i);
+    }
+  }
+
+  @Before
+  public void init() {
+    DynamicPropertiesStore properties = chainBaseManager.getDynamicPropertiesStore();
+    properties.saveFreeNetLimit(0);
+    properties.saveAllowBlackHoleOptimization(1);
+    for (byte[] address : ACCOUNTS) {
+      chainBaseManager.getAccountStore().put(address, new AccountCapsule(ByteString.EMPTY,
+          ByteString.copyFrom(address), AccountType.Normal, 1_000_000_000L));
+    }
+    speculator = new PendingTransactionSpeculator(chainBaseManager, accountStateCallBack,
+        dbManager::processTransaction, pending, new LinkedBlockingQueue<>());
+    speculator.onHead(dbManager.getRevokingStore().getHeads());
+  }
+
+  @After
+  public void close() {
+    speculator.close();
+  }
+
+  private TransactionCapsule transfer(int from, int to, long amount) {
+    TransactionCapsule tx = new TransactionCapsule(TransferContract.newBuilder()
+        .setOwnerAddress(ByteString.copyFrom(ACCOUNTS[from]))
+        .setToAddress(ByteString.copyFrom(ACCOUNTS[to]))
+        .setAmount(amount).build(), ContractType.TransferContract);
+    chainBaseManager.setBlockReference(tx);
+    tx.setExpiration(chainBaseManager.getDynamicPropertiesStore()
+        .getLatestBlockHeaderTimestamp() + 60_000);
+    tx.setVerified(true);
+    return tx;
+  }
+
+  /**
+   * Packs {@code txs} into a block as generating one does, and reverts it.
+   *
+   * @return the balance of every account and the burnt TRX
+   */
+  private List<Long> generate(List<TransactionCapsule> txs, List<Boolean> committed)
+      throws Exception {
+    BlockCapsule block = new BlockCapsule(chainBaseManager.getHeadBlockNum() + 1,
+        chainBaseManager.getHeadBlockId(), chainBaseManager.getHeadBlockTimeStamp() + 3_000,
+        ByteString.copyFrom(ACCOUNTS[0]));
+    block.generatedByMyself = true;
+    List<Long> state = new ArrayList<>();
+    try (ISession session = dbManager.getRevokingStore().buildSession()) {
+      for (TransactionCapsule tx : txs) {
+        try (ISession tmpSession = dbManager.getRevokingStore().buildSession()) {
+          boolean speculated = committed != null && speculator.commit(tx);
+          if (!speculated) {
+            dbManager.processTransaction(tx, block);
+          }
+          tmpSession.merge();
+          if (committed != null) {
+            committed.add(speculated);
+          }
+        }
+      }
+      for (byte[] address : ACCOUNTS) {
+        state.add(chainBaseManager.getAccountStore().get(address).getBalance());
+      }
+      state.add(chainBaseManager.getDynamicPropertiesStore().getBurnTrxAmount());
+    }
+    return state;
+  }
+
+  private void assertSameAsExecuting(Supplier<List<TransactionCapsule>> txs,
+      Boolean... committed) throws Exception {
+    List<Long> expected = generate(txs.get(), null);
+
+    List<TransactionCapsule> packed = txs.get();
+    // pushing the transactions executes them into the pending session over the head, which the
+    // speculations must not see
+    try (ISession session = dbManager.getRevokingStore().buildSession()) {
+      for (TransactionCapsule tx : packed) {
+        dbManager.processTransaction(tx, null);
+        tx.setTrxTrace(null);
+        pending.add(tx);
+      }
+      long deadline = System.currentTimeMillis() + 10_000;
+      while (speculator.speculatedCount() < packed.size()
+          && System.currentTimeMillis() < deadline) {
+        TimeUnit.MILLISECONDS.sleep(10);
+      }
+    }
+    pending.clear();
+
+    List<Boolean> speculated = new ArrayList<>();
+    Assert.assertEquals(expected, generate(packed, speculated));
+    Assert.assertEquals(Arrays.asList(committed), speculated);
+  }
+
+  @Test
+  public void testIndependentTransfersAreCommitted() throws Exception {
+    assertSameAsExecuting(() -> Arrays.asList(transfer(0, 1, 10), transfer(2, 3, 20)),
+        true, true);
+  }
+
+  @Test
+  public void testTransferOfAPackedOneExecutesAgain() throws Exception {
+    // the third one spends from an account the first one paid
+    assertSameAsExecuting(() -> Arrays.asList(transfer(0, 1, 10), transfer(2, 3, 20),
+        transfer(1, 4, 5)), true, true, false);
+  }
+}
@@ -160,6 +160,64 @@ public class TransactionStoreTest extends BaseTest {
         trxStore.get(trx.getTransactionId().getBytes()).getInstance(), trx.getInstance());
   }
 
+  @Test
+  public void getTransactionByLocatorTest() throws BadItemException {
+    BlockCapsule blockCapsule = new BlockCapsule(2,
+        Sha256Hash.wrap(chainBaseManager.getGenesisBlockId().getByteString()), 2,
+        ByteString.copyFromUtf8("witness"));
+    for (int i = 0; i < 4; i++) {
+      TransferContract tc = TransferContract.newBuilder()
+          .setAmount(20 + i)
+          .setOwnerAddress(ByteString.copyFromUtf8("aaa"))
+          .setToAddress(ByteString.copyFromUtf8("bbb"))
+          .build();
+      blockCapsule.addTransaction(new TransactionCapsule(tc, ContractType.TransferContract));
+    }
+    chainBaseManager.getBlockStore().put(blockCapsule.getBlockId().getBytes(), blockCapsule);
+
+    int[] offsets = TransactionLocator.offsets(blockCapsule.getInstance());
+    for (int i = 0; i < offsets.length; i++) {
+      TransactionCapsule trx = blockCapsule.getTransactions().get(i);
+      trx.setBlockNum(blockCapsule.getNum());
+      if (i == 2) {
+        // entries written before locators, only the block number
+        trx.setBlockOffset(-1);
+      } else if (i == 3) {
+        // a stale offset still resolves by walking the block
+        trx.setBlockOffset(offsets[1]);
+      } else {
+        trx.setBlockOffset(offsets[i]);
+      }
+      byte[] id = trx.getTransactionId().getBytes();
+      transactionStore.put(id, trx);
+      TransactionCapsule stored = transactionStore.get(id);
+      Assert.assertEquals(trx.getInstance(), stored.getInstance());
+      Assert.assertEquals(blockCapsule.getNum(), stored.getBlockNum());
+      Assert.assertEquals(blockCapsule.getNum(), transactionStore.getBlockNumber(id));
+    }
+  }
+
+  @Test
+  public void transactionLocatorTest() {
+    byte[] locator = TransactionLocator.encode(Long.MAX_VALUE - 1, 1 << 20);
+    Assert.assertEquals(TransactionLocator.LENGTH, locator.length);
+    Assert.assertEquals(Long.MAX_VALUE - 1, TransactionLocator.blockNum(locator));
+    Assert.assertEquals(1 << 20, TransactionLocator.offset(locator));
+
+    BlockCapsule blockCapsule = new BlockCapsule(3, Sha256Hash.ZERO_HASH, 3,
+        ByteString.copyFromUtf8("witness"));
+    TransactionCapsule trx = new TransactionCapsule(TransferContract.newBuilder()
+        .setAmount(30).build(), ContractType.TransferContract);
+    blockCapsule.addTransaction(trx);
+    byte[] block = blockCapsule.getData();
+    byte[] id = trx.getTransactionId().getBytes();
+    Assert.assertEquals(trx.getInstance(), TransactionLocator.slice(block, 0, id));
+    Assert.assertNull(TransactionLocator.slice(block, 1, id));
+    Assert.assertNull(TransactionLocator.slice(block, block.length, id));
+    Assert.assertNull(TransactionLocator.scan(block, new byte[32]));
+    Assert.assertNull(TransactionLocator.scan(new byte[] {10, 100, 1}, id));
+  }
+
   /**
    * put and get CreateAccountTransaction.
    */
@@ -0,0 +1,84 @@
+package org.tron.core.db2;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import org.junit.Assert;
+import org.junit.Test;
+import org.tron.core.db2.common.ArenaDB;
+import org.tron.core.db2.common.Key;
+import org.tron.core.db2.common.Value;
+import org.tron.core.db2.common.WrappedByteArray;
+
+public class ArenaDBTest {
+
+  @Test
+  public void testPutGetRemove() {
+    ArenaDB db = new ArenaDB("test", false);
+    Assert.assertTrue(db.isEmpty());
+    db.put(Key.of("a".getBytes()), Value.of(Value.Operator.PUT, "1".getBytes()));
+    db.put(Key.of("b".getBytes()), Value.of(Value.Operator.DELETE, null));
+    Assert.assertEquals(2, db.size());
+
+    Value a = db.get(Key.of("a".getBytes()));
+    Assert.assertEquals(Value.Operator.PUT, a.getOperator());
+    Assert.assertArrayEquals("1".getBytes(), a.getBytes());
+    Value b = db.get(Key.of("b".getBytes()));
+    Assert.assertEquals(Value.Operator.DELETE, b.getOperator());
+    Assert.assertNull(b.getBytes());
+    Assert.assertNull(db.get(Key.of("c".getBytes())));
+
+    db.put(Key.of("a".getBytes()), Value.of(Value.Operator.PUT, "2".getBytes()));
+    Assert.assertEquals(2, db.size());
+    Assert.assertArrayEquals("2".getBytes(), db.get(Key.of("a".getBytes())).getBytes());
+
+    db.remove(Key.of("a".getBytes()));
+    Assert.assertNull(db.get(Key.of("a".getBytes())));
+    Assert.assertEquals(1, db.size());
+    db.close();
+    Assert.assertTrue(db.isEmpty());
+  }
+
+  @Test
+  public void testLargeRecords() {
+    ArenaDB db = new ArenaDB("test", true);
+    byte[] large = new byte[1024 * 1024];
+    new Random(1).nextBytes(large);
+    db.put(Key.of("small".getBytes()), Value.of(Value.Operator.PUT, "s".getBytes()));
+    db.put(Key.of("large".getBytes()), Value.of(Value.Operator.PUT, large));
+    db.put(Key.of("after".getBytes()), Value.of(Value.Operator.PUT, "t".getBytes()));
+    Assert.assertArrayEquals(large, db.get(Key.of("large".getBytes())).getBytes());
+    Assert.assertArrayEquals("s".getBytes(), db.get(Key.of("small".getBytes())).getBytes());
+    Assert.assertArrayEquals("t".getBytes(), db.get(Key.of("after".getBytes())).getBytes());
+  }
+
+  @Test
+  public void testMatchesHashMap() {
+    ArenaDB db = new ArenaDB("test", false);
+    Map<WrappedByteArray, WrappedByteArray> expected = new HashMap<>();
+    Random random = new Random(20240601L);
+    for (int i = 0; i < 50_000; i++) {
+      byte[] key = new byte[1 + random.nextInt(32)];
+      random.nextBytes(key);
+      key[0] = (byte) random.nextInt(64);
+      WrappedByteArray wrapped = WrappedByteArray.copyOf(key);
+      if (random.nextInt(4) == 0) {
+        db.remove(Key.of(key));
+        expected.remove(wrapped);
+      } else {
+        byte[] value = new byte[random.nextInt(256)];
+        random.nextBytes(value);
+        db.put(Key.of(key), Value.of(Value.Operator.PUT, value));
+        expected.put(wrapped, WrappedByteArray.copyOf(value));
+      }
+    }
+
+    Assert.assertEquals(expected.size(), db.size());
+    expected.forEach((k, v) ->
+        Assert.assertArrayEquals(v.getBytes(), db.get(Key.of(k.getBytes())).getBytes()));
+    Map<WrappedByteArray, WrappedByteArray> iterated = new HashMap<>();
+    db.forEach(e -> iterated.put(WrappedByteArray.of(e.getKey().getBytes()),
+        WrappedByteArray.of(e.getValue().getBytes())));
+    Assert.assertEquals(expected, iterated);
+  }
+}
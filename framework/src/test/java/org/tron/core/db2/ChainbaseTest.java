@@ -2,7 +2,9 @@ package org.tron.core.db2;
 
 import static org.tron.common.TestConstants.assumeLevelDbAvailable;
 
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import lombok.extern.slf4j.Slf4j;
 import org.junit.Assert;
@@ -15,6 +17,7 @@ import org.tron.common.utils.ByteArray;
 import org.tron.core.config.args.Args;
 import org.tron.core.db.common.DbSourceInter;
 import org.tron.core.db2.common.LevelDB;
+import org.tron.core.db2.common.WrappedByteArray;
 import org.tron.core.db2.core.Chainbase;
 import org.tron.core.db2.core.Snapshot;
 import org.tron.core.db2.core.SnapshotRoot;
@@ -81,6 +84,55 @@ public class ChainbaseTest extends BaseMethodTest {
     chainbase.close();
   }
 
+  @Test
+  public void testGetAllForLeveldb() {
+    assumeLevelDbAvailable();
+    LevelDbDataSourceImpl dataSource = new LevelDbDataSourceImpl(
+        Args.getInstance().getOutputDirectory(), "testGetAllForLeveldb");
+    this.chainbase = new Chainbase(new SnapshotRoot(new LevelDB(dataSource)));
+    testGetAll(chainbase);
+    chainbase.reset();
+    chainbase.close();
+  }
+
+  @Test
+  public void testGetAllForRocksdb() {
+    RocksDbDataSourceImpl dataSource = new RocksDbDataSourceImpl(
+        Args.getInstance().getOutputDirectory(), "testGetAllForRocksdb");
+    this.chainbase = new Chainbase(new SnapshotRoot(
+        new org.tron.core.db2.common.RocksDB(dataSource)));
+    testGetAll(chainbase);
+    chainbase.reset();
+    chainbase.close();
+  }
+
+  private void testGetAll(Chainbase chainbase) {
+    Snapshot root = chainbase.getHead();
+    root.put(key1, value1);
+    root.put(key2, value2);
+    root.put(key3, value3);
+    Snapshot head = root.advance();
+    head.put(key2, value4);
+    head.remove(key3);
+    head.put(key5, value5);
+    head = head.advance();
+    head.put(key3, value6);
+    head.remove(key5);
+    chainbase.setHead(head);
+
+    List<byte[]> keys = Arrays.asList(key0, key1, key2, key3, key5, key9, key1);
+    Map<WrappedByteArray, byte[]> all = chainbase.getAll(keys);
+    Assert.assertEquals(3, all.size());
+    for (byte[] key : keys) {
+      Assert.assertArrayEquals(chainbase.getUnchecked(key), all.get(WrappedByteArray.of(key)));
+    }
+    Assert.assertArrayEquals(value4, all.get(WrappedByteArray.of(key2)));
+    Assert.assertTrue(chainbase.getAll(Arrays.asList()).isEmpty());
+
+    Map<WrappedByteArray, byte[]> fromRoot = root.getAll(keys);
+    Assert.assertEquals(3, fromRoot.size());
+    Assert.assertArrayEquals(value3, fromRoot.get(WrappedByteArray.of(key3)));
+  }
 
   private void testRoot(DbSourceInter<byte[]> dbSource) {
     Map<String,String> result = new HashMap<>();
@@ -0,0 +1,139 @@
+package org.tron.core.db2;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import com.google.protobuf.ByteString;
+import org.junit.After;
+import org.junit.Test;
+import org.tron.common.BaseTest;
+import org.tron.common.TestConstants;
+import org.tron.core.capsule.AccountCapsule;
+import org.tron.core.config.args.Args;
+import org.tron.core.db2.core.ReadWriteSet;
+import org.tron.core.store.AccountStore;
+import org.tron.core.store.DynamicPropertiesStore;
+import org.tron.protos.Protocol.AccountType;
+
+public class ReadWriteSetTest extends BaseTest {
+
+  private static final byte[] OWNER = "READ_WRITE_SET_OWNER".getBytes();
+  private static final byte[] OTHER = "READ_WRITE_SET_OTHER".getBytes();
+  private static final byte[] CREATED = "READ_WRITE_SET_CREATED".getBytes();
+
+  private ReadWriteSet set;
+
+  static {
+    Args.setParam(new String[] {"--output-directory", dbPath()}, TestConstants.TEST_CONF);
+  }
+
+  @After
+  public void close() {
+    ReadWriteSet open = ReadWriteSet.current();
+    if (open != null) {
+      open.close();
+    }
+  }
+
+  private AccountStore accounts() {
+    return chainBaseManager.getAccountStore();
+  }
+
+  private DynamicPropertiesStore properties() {
+    return chainBaseManager.getDynamicPropertiesStore();
+  }
+
+  private AccountCapsule account(byte[] address, long balance) {
+    return new AccountCapsule(ByteString.EMPTY, ByteString.copyFrom(address),
+        AccountType.Normal, balance);
+  }
+
+  private long balance(byte[] address) {
+    return accounts().has(address) ? accounts().get(address).getBalance() : -1;
+  }
+
+  @Test
+  public void testWritesStayInTheSetUntilApplied() {
+    accounts().put(OWNER, account(OWNER, 100));
+    set = ReadWriteSet.open();
+    accounts().put(OWNER, account(OWNER, 60));
+    accounts().put(OTHER, account(OTHER, 40));
+    // the transaction sees its own writes
+    assertEquals(60, balance(OWNER));
+    assertEquals(40, balance(OTHER));
+    set.close();
+
+    assertEquals(100, balance(OWNER));
+    assertEquals(-1, balance(OTHER));
+    assertTrue(set.validate());
+    set.apply();
+    assertEquals(60, balance(OWNER));
+    assertEquals(40, balance(OTHER));
+  }
+
+  @Test
+  public void testChangedReadFailsValidation() {
+    accounts().put(OWNER, account(OWNER, 100));
+    set = ReadWriteSet.open();
+    long balance = balance(OWNER);
+    set.close();
+    assertTrue(set.validate());
+
+    accounts().put(OWNER, account(OWNER, 101));
+    assertFalse(set.validate());
+
+    // a key read while it was missing conflicts with creating it
+    ReadWriteSet missing = ReadWriteSet.open();
+    assertFalse(accounts().has(CREATED));
+    missing.close();
+    accounts().put(CREATED, account(CREATED, balance));
+    assertFalse(missing.validate());
+  }
+
+  @Test
+  public void testCounterDeltasDoNotConflict() {
+    long burnt = properties().getBurnTrxAmount();
+    ReadWriteSet first = ReadWriteSet.open();
+    properties().burnTrx(10);
+    first.close();
+    set = ReadWriteSet.open();
+    properties().burnTrx(5);
+    set.close();
+
+    assertTrue(first.validate());
+    first.apply();
+    assertTrue(set.validate());
+    set.apply();
+    assertEquals(burnt + 15, properties().getBurnTrxAmount());
+
+    // reading the counter back sees the delta, but depends on the value it was added to
+    ReadWriteSet reader = ReadWriteSet.open();
+    properties().burnTrx(1);
+    assertEquals(burnt + 16, properties().getBurnTrxAmount());
+    reader.close();
+    properties().burnTrx(1);
+    assertFalse(reader.validate());
+  }
+
+  @Test
+  public void testUnrecordedReadAborts() {
+    set = ReadWriteSet.open();
+    try {
+      accounts().iterator();
+      fail("an iterator can not be recorded");
+    } catch (IllegalStateException e) {
+      assertNotNull(set.getAborted());
+    }
+    set.close();
+    assertFalse(set.validate());
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testOneSetPerThread() {
+    set = ReadWriteSet.open();
+    ReadWriteSet.open();
+  }
+}
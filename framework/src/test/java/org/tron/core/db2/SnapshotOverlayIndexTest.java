@@ -0,0 +1,171 @@
+package org.tron.core.db2;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import org.junit.Assert;
+import org.junit.Test;
+import org.tron.common.BaseMethodTest;
+import org.tron.common.parameter.CommonParameter;
+import org.tron.core.config.args.Storage;
+import org.tron.core.db2.RevokingDbWithCacheNewValueTest.TestRevokingTronStore;
+import org.tron.core.db2.common.IRevokingDB;
+import org.tron.core.db2.core.Chainbase;
+import org.tron.core.db2.core.SnapshotManager;
+
+/**
+ * Checks that reads served through the overlay index match the layered stack
+ * through every stack operation.
+ */
+public class SnapshotOverlayIndexTest extends BaseMethodTest {
+
+  private static final int KEYS = 16;
+  private static final int MAX_SIZE = 5;
+
+  private SnapshotManager revokingDatabase;
+  private TestRevokingTronStore tronDatabase;
+  private IRevokingDB db;
+
+  @Override
+  protected void afterInit() {
+    revokingDatabase = context.getBean(SnapshotManager.class);
+    revokingDatabase.enable();
+    tronDatabase = new TestRevokingTronStore("testSnapshotOverlayIndex");
+    revokingDatabase.add(tronDatabase.getRevokingDB());
+    db = tronDatabase.getRevokingDB();
+    while (revokingDatabase.size() != 0) {
+      revokingDatabase.pop();
+    }
+  }
+
+  @Override
+  protected void beforeDestroy() {
+    tronDatabase.close();
+  }
+
+  @Test
+  public void testCursorReads() {
+    byte[] key = "key".getBytes();
+    List<ISession> sessions = new ArrayList<>();
+    for (int i = 1; i <= 3; i++) {
+      ISession session = revokingDatabase.buildSession();
+      db.put(key, ("value" + i).getBytes());
+      session.commit();
+      sessions.add(session);
+    }
+    revokingDatabase.updateSolidity(1);
+
+    Assert.assertEquals("value3", new String(db.getUnchecked(key)));
+    db.setCursor(Chainbase.Cursor.SOLIDITY);
+    Assert.assertEquals("value1", new String(db.getUnchecked(key)));
+    db.setCursor(Chainbase.Cursor.PBFT, 1L);
+    Assert.assertEquals("value2", new String(db.getUnchecked(key)));
+    db.setCursor(Chainbase.Cursor.HEAD);
+
+    revokingDatabase.pop();
+    Assert.assertEquals("value2", new String(db.getUnchecked(key)));
+    ISession session = revokingDatabase.buildSession();
+    db.delete(key);
+    Assert.assertNull(db.getUnchecked(key));
+    session.revoke();
+    Assert.assertEquals("value2", new String(db.getUnchecked(key)));
+  }
+
+  @Test
+  public void testRandomOperations() {
+    randomOperations();
+  }
+
+  @Test
+  public void testRandomOperationsOnArena() {
+    Storage storage = CommonParameter.getInstance().getStorage();
+    storage.setSnapshotLayerDb(Storage.SNAPSHOT_LAYER_ARENA);
+    try {
+      randomOperations();
+    } finally {
+      storage.setSnapshotLayerDb(Storage.SNAPSHOT_LAYER_HASH);
+    }
+  }
+
+  private void randomOperations() {
+    revokingDatabase.setMaxFlushCount(0);
+    revokingDatabase.setUnChecked(false);
+    revokingDatabase.setMaxSize(MAX_SIZE);
+
+    Random random = new Random(20240601L);
+    Map<String, String> root = new HashMap<>();
+    Deque<Map<String, String>> layers = new ArrayDeque<>();
+    Deque<ISession> sessions = new ArrayDeque<>();
+
+    for (int round = 0; round < 3000; round++) {
+      int op = random.nextInt(100);
+      String key = "key" + random.nextInt(KEYS);
+      Map<String, String> target = layers.isEmpty() ? root : layers.peekLast();
+      if (op < 35) {
+        String value = "value" + round;
+        db.put(key.getBytes(), value.getBytes());
+        target.put(key, value);
+      } else if (op < 45) {
+        db.delete(key.getBytes());
+        if (target == root) {
+          root.remove(key);
+        } else {
+          target.put(key, null);
+        }
+      } else if (op < 60 && sessions.size() < MAX_SIZE - 1) {
+        // open sessions never reach the layers a flush folds into the root
+        if (layers.size() > MAX_SIZE) {
+          for (int i = layers.size() - MAX_SIZE; i > 0; i--) {
+            layers.pollFirst().forEach((k, v) -> {
+              if (v == null) {
+                root.remove(k);
+              } else {
+                root.put(k, v);
+              }
+            });
+          }
+        }
+        sessions.addLast(revokingDatabase.buildSession());
+        layers.addLast(new HashMap<>());
+      } else if (op < 70 && sessions.size() == 1) {
+        sessions.pollLast().commit();
+      } else if (op < 80 && !sessions.isEmpty()) {
+        sessions.pollLast().revoke();
+        layers.pollLast();
+      } else if (op < 90 && !sessions.isEmpty() && layers.size() >= 2) {
+        sessions.pollLast().merge();
+        Map<String, String> top = layers.pollLast();
+        layers.peekLast().putAll(top);
+      } else if (sessions.isEmpty() && !layers.isEmpty()) {
+        revokingDatabase.pop();
+        layers.pollLast();
+      }
+
+      Assert.assertEquals(layers.size(), revokingDatabase.size());
+      for (int i = 0; i < KEYS; i++) {
+        String k = "key" + i;
+        byte[] actual = db.getUnchecked(k.getBytes());
+        String expected = get(root, layers, k);
+        Assert.assertEquals("round " + round + ", " + k,
+            expected, actual == null ? null : new String(actual));
+      }
+    }
+  }
+
+  private static String get(Map<String, String> root, Deque<Map<String, String>> layers,
+      String key) {
+    Iterator<Map<String, String>> it = layers.descendingIterator();
+    while (it.hasNext()) {
+      Map<String, String> layer = it.next();
+      if (layer.containsKey(key)) {
+        return layer.get(key);
+      }
+    }
+    return root.get(key);
+  }
+}
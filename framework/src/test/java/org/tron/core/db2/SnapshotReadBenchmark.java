@@ -0,0 +1,96 @@
+package org.tron.core.db2;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.tron.common.BaseMethodTest;
+import org.tron.common.ManualBenchmark;
+import org.tron.core.db2.RevokingDbWithCacheNewValueTest.TestRevokingTronStore;
+import org.tron.core.db2.common.IRevokingDB;
+import org.tron.core.db2.common.Key;
+import org.tron.core.db2.common.Value;
+import org.tron.core.db2.core.Chainbase;
+import org.tron.core.db2.core.Snapshot;
+import org.tron.core.db2.core.SnapshotImpl;
+import org.tron.core.db2.core.SnapshotManager;
+
+/**
+ * Manual microbenchmark for reads through the revoking stack at depths of 1, 32 and 256.
+ * Compares {@link Snapshot#get(byte[])}, served by the overlay index, against walking every
+ * layer the way lookups used to. Run as a {@link ManualBenchmark}.
+ *
+ * <p>Each layer holds {@code KEYS_PER_LAYER} keys. Three reads are timed per depth: a key in
+ * the newest layer, a key in the oldest layer and a key that only lives in the root.
+ */
+public class SnapshotReadBenchmark extends BaseMethodTest {
+
+  private static final int[] DEPTHS = {1, 32, 256};
+  private static final int KEYS_PER_LAYER = 64;
+  private static final int WARMUP_ITERS = 200_000;
+  private static final int MEASURE_ITERS = 1_000_000;
+
+  private SnapshotManager revokingDatabase;
+  private TestRevokingTronStore tronDatabase;
+
+  @Rule
+  public final ManualBenchmark benchmark = new ManualBenchmark();
+
+  @Override
+  protected void afterInit() {
+    revokingDatabase = context.getBean(SnapshotManager.class);
+    revokingDatabase.enable();
+    revokingDatabase.setMaxSize(1024);
+    tronDatabase = new TestRevokingTronStore("benchmarkSnapshotRead");
+    revokingDatabase.add(tronDatabase.getRevokingDB());
+  }
+
+  @Override
+  protected void beforeDestroy() {
+    tronDatabase.close();
+  }
+
+  @Test
+  public void compareStackDepths() {
+    IRevokingDB db = tronDatabase.getRevokingDB();
+    byte[] rootKey = "root".getBytes();
+    db.put(rootKey, rootKey);
+
+    ManualBenchmark.header("snapshot read latency (measure " + MEASURE_ITERS + ")", "overlay",
+        "walk");
+    for (int depth : DEPTHS) {
+      while (revokingDatabase.size() != 0) {
+        revokingDatabase.pop();
+      }
+      for (int layer = 0; layer < depth; layer++) {
+        try (ISession session = revokingDatabase.buildSession()) {
+          for (int i = 0; i < KEYS_PER_LAYER; i++) {
+            byte[] key = (layer + ":" + i).getBytes();
+            db.put(key, key);
+          }
+          session.commit();
+        }
+      }
+
+      Snapshot head = ((Chainbase) db).getHead();
+      report(depth, "newest", head, ((depth - 1) + ":0").getBytes());
+      report(depth, "oldest", head, "0:0".getBytes());
+      report(depth, "root", head, rootKey);
+    }
+  }
+
+  private static void report(int depth, String name, Snapshot head, byte[] key) {
+    ManualBenchmark.report("depth " + depth + " " + name, ManualBenchmark.time(WARMUP_ITERS,
+        MEASURE_ITERS, i -> head.get(key).length, i -> walk(head, key).length));
+  }
+
+  private static byte[] walk(Snapshot head, byte[] key) {
+    Snapshot snapshot = head;
+    while (Snapshot.isImpl(snapshot)) {
+      Value value = ((SnapshotImpl) snapshot).getDb().get(Key.of(key));
+      if (value != null) {
+        return value.getBytes();
+      }
+      snapshot = snapshot.getPrevious();
+    }
+    return snapshot.get(key);
+  }
+}
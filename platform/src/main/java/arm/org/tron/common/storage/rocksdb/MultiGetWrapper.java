@@ -0,0 +1,23 @@
+package org.tron.common.storage.rocksdb;
+
+import java.util.List;
+import org.rocksdb.ReadOptions;
+import org.rocksdb.RocksDB;
+import org.rocksdb.RocksDBException;
+
+/**
+ * RocksDB MultiGet across the JNI versions of the supported platforms.
+ */
+public class MultiGetWrapper {
+
+  private MultiGetWrapper() {
+  }
+
+  /**
+   * @return the value of each key, in the order of {@code keys}, null for missing keys
+   */
+  public static List<byte[]> multiGet(RocksDB database, ReadOptions readOptions,
+      List<byte[]> keys) throws RocksDBException {
+    return database.multiGetAsList(readOptions, keys);
+  }
+}
@@ -0,0 +1,29 @@
+package org.tron.common.storage.rocksdb;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.rocksdb.ReadOptions;
+import org.rocksdb.RocksDB;
+import org.rocksdb.RocksDBException;
+
+/**
+ * RocksDB MultiGet across the JNI versions of the supported platforms.
+ */
+public class MultiGetWrapper {
+
+  private MultiGetWrapper() {
+  }
+
+  /**
+   * @return the value of each key, in the order of {@code keys}, null for missing keys
+   */
+  public static List<byte[]> multiGet(RocksDB database, ReadOptions readOptions,
+      List<byte[]> keys) throws RocksDBException {
+    // keyed by the very arrays passed in, looked up by identity
+    Map<byte[], byte[]> found = database.multiGet(readOptions, keys);
+    List<byte[]> values = new ArrayList<>(keys.size());
+    keys.forEach(key -> values.add(found.get(key)));
+    return values;
+  }
+}